@@ -0,0 +1,81 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.benchmark.rm;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.rm.datasource.sql.SQLVisitorFactory;
+import io.seata.sqlparser.SQLRecognizer;
+import io.seata.sqlparser.util.JdbcConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of the {@link SQLVisitorFactory} parsing of the statements an AT branch executes.
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SQLParserBenchmark {
+
+    @Param({JdbcConstants.MYSQL, JdbcConstants.ORACLE, JdbcConstants.POSTGRESQL})
+    private String dbType;
+
+    @Param({"insert", "update", "delete", "selectForUpdate"})
+    private String sqlType;
+
+    private String sql;
+
+    @Setup
+    public void setup() {
+        switch (sqlType) {
+            case "insert":
+                sql = "INSERT INTO order_tbl (id, user_id, commodity_code, amount, money) VALUES (?, ?, ?, ?, ?)";
+                break;
+            case "update":
+                sql = "UPDATE stock_tbl SET amount = amount - ?, gmt_modified = ? WHERE commodity_code = ?";
+                break;
+            case "delete":
+                sql = "DELETE FROM order_tbl WHERE id = ? AND user_id = ?";
+                break;
+            case "selectForUpdate":
+                sql = "SELECT id, amount FROM stock_tbl WHERE commodity_code = ? FOR UPDATE";
+                break;
+            default:
+                throw new IllegalArgumentException("unknown sql type: " + sqlType);
+        }
+    }
+
+    @Benchmark
+    public List<SQLRecognizer> parse() {
+        return SQLVisitorFactory.get(sql, dbType);
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.benchmark.rm;
+
+import java.math.BigDecimal;
+import java.sql.JDBCType;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.rm.datasource.sql.struct.Field;
+import io.seata.rm.datasource.sql.struct.KeyType;
+import io.seata.rm.datasource.sql.struct.Row;
+import io.seata.rm.datasource.sql.struct.TableMeta;
+import io.seata.rm.datasource.sql.struct.TableRecords;
+import io.seata.rm.datasource.undo.BranchUndoLog;
+import io.seata.rm.datasource.undo.SQLUndoLog;
+import io.seata.rm.datasource.undo.UndoLogParser;
+import io.seata.rm.datasource.undo.UndoLogParserFactory;
+import io.seata.sqlparser.SQLType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of the {@link UndoLogParser} implementations with the undo log of an update statement.
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UndoLogParserBenchmark {
+
+    private static final String TABLE_NAME = "stock_tbl";
+
+    @Param({"jackson", "fastjson", "kryo", "protostuff"})
+    private String parserName;
+
+    @Param({"1", "100"})
+    private int rowCount;
+
+    private UndoLogParser parser;
+
+    private BranchUndoLog branchUndoLog;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        parser = UndoLogParserFactory.getInstance(parserName);
+
+        TableMeta tableMeta = new TableMeta();
+        tableMeta.setTableName(TABLE_NAME);
+        SQLUndoLog sqlUndoLog = new SQLUndoLog();
+        sqlUndoLog.setSqlType(SQLType.UPDATE);
+        sqlUndoLog.setTableName(TABLE_NAME);
+        sqlUndoLog.setTableMeta(tableMeta);
+        sqlUndoLog.setBeforeImage(buildImage(tableMeta, rowCount, 100));
+        sqlUndoLog.setAfterImage(buildImage(tableMeta, rowCount, 99));
+
+        branchUndoLog = new BranchUndoLog();
+        branchUndoLog.setXid("192.168.0.1:8091:2000042948");
+        branchUndoLog.setBranchId(2000042950L);
+        branchUndoLog.setSqlUndoLogs(Collections.singletonList(sqlUndoLog));
+        bytes = parser.encode(branchUndoLog);
+    }
+
+    private static TableRecords buildImage(TableMeta tableMeta, int rowCount, int amount) {
+        Timestamp timestamp = new Timestamp(1577836800000L);
+        List<Row> rows = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            Row row = new Row();
+            Field pk = new Field("id", JDBCType.BIGINT.getVendorTypeNumber(), (long)i);
+            pk.setKeyType(KeyType.PRIMARY_KEY);
+            row.add(pk);
+            row.add(new Field("commodity_code", JDBCType.VARCHAR.getVendorTypeNumber(), "C" + i));
+            row.add(new Field("count", JDBCType.INTEGER.getVendorTypeNumber(), amount));
+            row.add(new Field("price", JDBCType.DECIMAL.getVendorTypeNumber(), BigDecimal.valueOf(1999, 2)));
+            row.add(new Field("gmt_modified", JDBCType.TIMESTAMP.getVendorTypeNumber(), timestamp));
+            rows.add(row);
+        }
+        TableRecords records = new TableRecords(tableMeta);
+        records.setRows(rows);
+        return records;
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return parser.encode(branchUndoLog);
+    }
+
+    @Benchmark
+    public BranchUndoLog decode() {
+        return parser.decode(bytes);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.benchmark.rpc;
+
+import io.seata.core.model.BranchType;
+import io.seata.core.protocol.AbstractMessage;
+import io.seata.core.protocol.ProtocolConstants;
+import io.seata.core.protocol.ResultCode;
+import io.seata.core.protocol.transaction.BranchCommitRequest;
+import io.seata.core.protocol.transaction.BranchRegisterRequest;
+import io.seata.core.protocol.transaction.GlobalBeginRequest;
+import io.seata.core.protocol.transaction.GlobalBeginResponse;
+import io.seata.core.protocol.transaction.GlobalCommitRequest;
+
+/**
+ * Typical messages of the transaction hot path, every field is filled so that all serializers can handle them.
+ *
+ * @author agent
+ */
+final class MessageSamples {
+
+    static final String GLOBAL_BEGIN = "globalBegin";
+
+    static final String GLOBAL_BEGIN_RESPONSE = "globalBeginResponse";
+
+    static final String BRANCH_REGISTER = "branchRegister";
+
+    static final String BRANCH_COMMIT = "branchCommit";
+
+    static final String GLOBAL_COMMIT = "globalCommit";
+
+    private static final String XID = "192.168.0.1:8091:2000042948";
+
+    private static final String RESOURCE_ID = "jdbc:mysql://192.168.0.2:3306/seata_order";
+
+    private MessageSamples() {
+    }
+
+    static AbstractMessage create(String messageType) {
+        switch (messageType) {
+            case GLOBAL_BEGIN: {
+                GlobalBeginRequest request = new GlobalBeginRequest();
+                request.setTransactionName("purchase(java.lang.String, java.lang.String, int)");
+                request.setTimeout(60000);
+                return request;
+            }
+            case GLOBAL_BEGIN_RESPONSE: {
+                GlobalBeginResponse response = new GlobalBeginResponse();
+                response.setResultCode(ResultCode.Success);
+                response.setXid(XID);
+                response.setExtraData("");
+                response.setMsg("");
+                return response;
+            }
+            case BRANCH_REGISTER: {
+                BranchRegisterRequest request = new BranchRegisterRequest();
+                request.setXid(XID);
+                request.setBranchType(BranchType.AT);
+                request.setResourceId(RESOURCE_ID);
+                request.setLockKey("order_tbl:1001,1002,1003;stock_tbl:2001");
+                request.setApplicationData("");
+                return request;
+            }
+            case BRANCH_COMMIT: {
+                BranchCommitRequest request = new BranchCommitRequest();
+                request.setXid(XID);
+                request.setBranchId(2000042950L);
+                request.setBranchType(BranchType.AT);
+                request.setResourceId(RESOURCE_ID);
+                request.setApplicationData("");
+                return request;
+            }
+            case GLOBAL_COMMIT: {
+                GlobalCommitRequest request = new GlobalCommitRequest();
+                request.setXid(XID);
+                request.setExtraData("");
+                return request;
+            }
+            default:
+                throw new IllegalArgumentException("unknown message type: " + messageType);
+        }
+    }
+
+    static byte rpcMessageType(String messageType) {
+        return GLOBAL_BEGIN_RESPONSE.equals(messageType) ? ProtocolConstants.MSGTYPE_RESPONSE
+            : ProtocolConstants.MSGTYPE_RESQUEST;
+    }
+}
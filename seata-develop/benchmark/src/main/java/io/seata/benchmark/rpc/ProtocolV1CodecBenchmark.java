@@ -0,0 +1,110 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.benchmark.rpc;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.seata.core.compressor.CompressorType;
+import io.seata.core.protocol.ProtocolConstants;
+import io.seata.core.protocol.RpcMessage;
+import io.seata.core.rpc.netty.v1.ProtocolV1Decoder;
+import io.seata.core.rpc.netty.v1.ProtocolV1Encoder;
+import io.seata.core.serializer.SerializerType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of {@link ProtocolV1Encoder} and {@link ProtocolV1Decoder} per message type, serializer and
+ * compressor. Hessian has no protocol codec code, see {@link SerializerBenchmark}.
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProtocolV1CodecBenchmark {
+
+    @Param({MessageSamples.GLOBAL_BEGIN, MessageSamples.GLOBAL_BEGIN_RESPONSE, MessageSamples.BRANCH_REGISTER,
+        MessageSamples.BRANCH_COMMIT, MessageSamples.GLOBAL_COMMIT})
+    private String messageType;
+
+    @Param({"SEATA", "PROTOBUF", "KRYO", "FST"})
+    private String serializer;
+
+    @Param({"NONE", "GZIP", "ZIP", "SEVENZ", "BZIP2", "LZ4"})
+    private String compressor;
+
+    private final ProtocolV1Encoder encoder = new ProtocolV1Encoder();
+
+    private final ProtocolV1Decoder decoder = new ProtocolV1Decoder();
+
+    private RpcMessage rpcMessage;
+
+    private ByteBuf buffer;
+
+    private byte[] frame;
+
+    @Setup
+    public void setup() {
+        rpcMessage = new RpcMessage();
+        rpcMessage.setId(1);
+        rpcMessage.setMessageType(MessageSamples.rpcMessageType(messageType));
+        rpcMessage.setCodec(SerializerType.getByName(serializer).getCode());
+        rpcMessage.setCompressor(CompressorType.getByName(compressor).getCode());
+        rpcMessage.setBody(MessageSamples.create(messageType));
+
+        buffer = Unpooled.buffer(1024);
+        encoder.encode(null, rpcMessage, buffer);
+        // the encoder only logs the errors
+        if (buffer.readableBytes() <= ProtocolConstants.V1_HEAD_LENGTH) {
+            throw new IllegalStateException("encode " + messageType + " by " + serializer + " failed");
+        }
+        frame = new byte[buffer.readableBytes()];
+        buffer.readBytes(frame);
+    }
+
+    @TearDown
+    public void tearDown() {
+        buffer.release();
+    }
+
+    @Benchmark
+    public ByteBuf encode() {
+        buffer.clear();
+        encoder.encode(null, rpcMessage, buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public Object decode() {
+        return decoder.decodeFrame(Unpooled.wrappedBuffer(frame));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.benchmark.rpc;
+
+import java.util.concurrent.TimeUnit;
+
+import io.seata.common.loader.EnhancedServiceLoader;
+import io.seata.core.protocol.AbstractMessage;
+import io.seata.core.serializer.Serializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of the message serializers without the protocol framing, including hessian.
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+
+    @Param({MessageSamples.GLOBAL_BEGIN, MessageSamples.GLOBAL_BEGIN_RESPONSE, MessageSamples.BRANCH_REGISTER,
+        MessageSamples.BRANCH_COMMIT, MessageSamples.GLOBAL_COMMIT})
+    private String messageType;
+
+    @Param({"SEATA", "PROTOBUF", "KRYO", "HESSIAN", "FST"})
+    private String serializerName;
+
+    private Serializer serializer;
+
+    private AbstractMessage message;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setup() {
+        serializer = EnhancedServiceLoader.load(Serializer.class, serializerName);
+        message = MessageSamples.create(messageType);
+        bytes = serializer.serialize(message);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(message);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializer.deserialize(bytes);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.benchmark.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.common.XID;
+import io.seata.core.constants.ConfigurationKeys;
+import io.seata.server.session.GlobalSession;
+import io.seata.server.storage.file.store.FileTransactionStoreManager;
+import io.seata.server.store.TransactionStoreManager;
+import io.seata.server.store.TransactionStoreManager.LogOperation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of {@link FileTransactionStoreManager#writeSession(LogOperation, io.seata.server.store.SessionStorable)}
+ * in the async and sync flush disk modes, with several TC worker threads writing concurrently.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class FileTransactionStoreBenchmark {
+
+    @Param({"async", "sync"})
+    private String flushDiskMode;
+
+    private File storeDir;
+
+    private TransactionStoreManager transactionStoreManager;
+
+    private GlobalSession globalSession;
+
+    @Setup
+    public void setup() throws IOException {
+        // the flush disk mode is read once when the store manager class is initialized,
+        // JMH forks a new JVM for each param so it must be set before the first use
+        System.setProperty(ConfigurationKeys.STORE_FILE_PREFIX + "flushDiskMode", flushDiskMode);
+        XID.setIpAddress("127.0.0.1");
+        XID.setPort(8091);
+        storeDir = Files.createTempDirectory("seata-benchmark").toFile();
+        // the session manager is only used to roll the history file after 30 minutes
+        transactionStoreManager = new FileTransactionStoreManager(
+            storeDir.getAbsolutePath() + File.separator + "root.data", null);
+        globalSession = GlobalSession.createGlobalSession("benchmark-app", "my_test_tx_group",
+            "purchase(java.lang.String, java.lang.String, int)", 60000);
+    }
+
+    @TearDown
+    public void tearDown() {
+        transactionStoreManager.shutdown();
+        File[] files = storeDir.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        storeDir.delete();
+    }
+
+    @Benchmark
+    public boolean writeSession() {
+        return transactionStoreManager.writeSession(LogOperation.GLOBAL_ADD, globalSession);
+    }
+}
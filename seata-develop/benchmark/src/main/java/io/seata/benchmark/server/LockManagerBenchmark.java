@@ -0,0 +1,121 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.benchmark.server;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.seata.config.ConfigurationFactory;
+import io.seata.core.constants.ConfigurationKeys;
+import io.seata.core.exception.TransactionException;
+import io.seata.server.lock.LockManager;
+import io.seata.server.session.BranchSession;
+import io.seata.server.storage.db.lock.DataBaseLockManager;
+import io.seata.server.storage.file.lock.FileLockManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of the lock acquire and release of the {@link io.seata.server.storage.file.lock.FileLocker}
+ * and the {@link io.seata.server.storage.db.lock.DataBaseLocker} on an embedded h2 database.
+ * Each thread locks its own rows, so the numbers show the locker overhead without conflicts.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class LockManagerBenchmark {
+
+    private static final AtomicLong TRANSACTION_ID = new AtomicLong();
+
+    @Param({"file", "db"})
+    private String storeMode;
+
+    @Param({"1", "10"})
+    private int rowCount;
+
+    private LockManager lockManager;
+
+    @Setup
+    public void setup() throws SQLException {
+        if ("db".equals(storeMode)) {
+            createLockTable();
+            DataBaseLockManager dataBaseLockManager = new DataBaseLockManager();
+            dataBaseLockManager.init();
+            lockManager = dataBaseLockManager;
+        } else {
+            lockManager = new FileLockManager();
+        }
+    }
+
+    private static void createLockTable() throws SQLException {
+        String url = ConfigurationFactory.getInstance().getConfig(ConfigurationKeys.STORE_DB_URL);
+        try (Connection conn = DriverManager.getConnection(url, "sa", "");
+             Statement statement = conn.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS lock_table");
+            statement.execute("CREATE TABLE lock_table (row_key VARCHAR(128) NOT NULL PRIMARY KEY, "
+                + "xid VARCHAR(96), transaction_id BIGINT, branch_id BIGINT NOT NULL, resource_id VARCHAR(256), "
+                + "table_name VARCHAR(32), pk VARCHAR(36), gmt_create TIMESTAMP, gmt_modified TIMESTAMP)");
+            statement.execute("CREATE INDEX idx_branch_id ON lock_table (branch_id)");
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BranchState {
+
+        private BranchSession branchSession;
+
+        @Setup
+        public void setup(LockManagerBenchmark benchmark) {
+            long transactionId = TRANSACTION_ID.incrementAndGet();
+            StringJoiner pks = new StringJoiner(",", "stock_tbl:", "");
+            for (int i = 0; i < benchmark.rowCount; i++) {
+                pks.add(transactionId + "_" + i);
+            }
+            branchSession = new BranchSession();
+            branchSession.setXid("127.0.0.1:8091:" + transactionId);
+            branchSession.setTransactionId(transactionId);
+            branchSession.setBranchId(transactionId);
+            branchSession.setResourceId("jdbc:h2:mem:seata_stock");
+            branchSession.setLockKey(pks.toString());
+        }
+    }
+
+    @Benchmark
+    public boolean acquireAndRelease(BranchState state) throws TransactionException {
+        return lockManager.acquireLock(state.branchSession) && lockManager.releaseLock(state.branchSession);
+    }
+}
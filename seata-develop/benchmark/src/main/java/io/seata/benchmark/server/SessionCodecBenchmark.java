@@ -0,0 +1,94 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.benchmark.server;
+
+import java.util.concurrent.TimeUnit;
+
+import io.seata.common.XID;
+import io.seata.core.model.BranchType;
+import io.seata.server.session.BranchSession;
+import io.seata.server.session.GlobalSession;
+import io.seata.server.session.SessionHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmark of the {@link GlobalSession} and {@link BranchSession} encode and decode,
+ * which every file store write goes through.
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SessionCodecBenchmark {
+
+    private GlobalSession globalSession;
+
+    private BranchSession branchSession;
+
+    private byte[] globalSessionBytes;
+
+    private byte[] branchSessionBytes;
+
+    @Setup
+    public void setup() {
+        XID.setIpAddress("127.0.0.1");
+        XID.setPort(8091);
+        globalSession = GlobalSession.createGlobalSession("benchmark-app", "my_test_tx_group",
+            "purchase(java.lang.String, java.lang.String, int)", 60000);
+        branchSession = SessionHelper.newBranchByGlobal(globalSession, BranchType.AT,
+            "jdbc:mysql://192.168.0.2:3306/seata_order", "{\"autoCommit\":false}",
+            "order_tbl:1001,1002,1003;stock_tbl:2001", "benchmark-app:192.168.0.3:51234");
+        globalSessionBytes = globalSession.encode();
+        branchSessionBytes = branchSession.encode();
+    }
+
+    @Benchmark
+    public byte[] encodeGlobalSession() {
+        return globalSession.encode();
+    }
+
+    @Benchmark
+    public GlobalSession decodeGlobalSession() {
+        GlobalSession session = new GlobalSession();
+        session.decode(globalSessionBytes);
+        return session;
+    }
+
+    @Benchmark
+    public byte[] encodeBranchSession() {
+        return branchSession.encode();
+    }
+
+    @Benchmark
+    public BranchSession decodeBranchSession() {
+        BranchSession session = new BranchSession();
+        session.decode(branchSessionBytes);
+        return session;
+    }
+}
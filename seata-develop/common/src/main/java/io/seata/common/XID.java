@@ -69,6 +69,21 @@ public class XID {
         return Long.parseLong(xid.substring(idx + 1));
     }
 
+    /**
+     * Gets the address of the server which generated the xid.
+     *
+     * @param xid the xid
+     * @return the server address in ip:port form, null if the xid is malformed
+     */
+    public static String getServerAddress(String xid) {
+        if (xid == null) {
+            return null;
+        }
+
+        int idx = xid.lastIndexOf(":");
+        return idx > 0 ? xid.substring(0, idx) : null;
+    }
+
     /**
      * Gets port.
      *
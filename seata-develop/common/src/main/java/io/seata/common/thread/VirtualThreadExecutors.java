@@ -0,0 +1,92 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.common.thread;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Factory of virtual-thread-per-task executors.
+ * The build targets Java 8, so the JDK 21 API is looked up reflectively,
+ * {@link #isSupported()} is false on older runtimes.
+ *
+ * @author agent
+ */
+public final class VirtualThreadExecutors {
+
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_FACTORY;
+    private static final Method NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderFactory = null;
+        Method newThreadPerTaskExecutor = null;
+        try {
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            builderName = builderClass.getMethod("name", String.class, long.class);
+            builderFactory = builderClass.getMethod("factory");
+            newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            // virtual threads are a preview feature before JDK 21
+            ofVirtual.invoke(null);
+        } catch (Throwable t) {
+            ofVirtual = null;
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_FACTORY = builderFactory;
+        NEW_THREAD_PER_TASK_EXECUTOR = newThreadPerTaskExecutor;
+    }
+
+    private VirtualThreadExecutors() {
+    }
+
+    /**
+     * Whether the current runtime supports virtual threads
+     *
+     * @return true if supported
+     */
+    public static boolean isSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Create an executor that starts a new named virtual thread for each task
+     *
+     * @param prefix the thread name prefix
+     * @return the executor service
+     * @throws UnsupportedOperationException if the runtime does not support virtual threads
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor(String prefix) {
+        if (!isSupported()) {
+            throw new UnsupportedOperationException(
+                "Virtual threads are not supported by the current java runtime: " + System.getProperty("java.version"));
+        }
+        try {
+            Object builder = OF_VIRTUAL.invoke(null);
+            builder = BUILDER_NAME.invoke(builder, prefix + "_", 0L);
+            ThreadFactory threadFactory = (ThreadFactory)BUILDER_FACTORY.invoke(builder);
+            return (ExecutorService)NEW_THREAD_PER_TASK_EXECUTOR.invoke(null, threadFactory);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("Create virtual thread executor failed", e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.common.util;
+
+/**
+ * Parse the data size like 512, 4k, 64m and 1g to bytes
+ *
+ * @author agent
+ */
+public class SizeUtil {
+
+    private static final long RADIX = 1024;
+
+    public static long size2Long(String size) {
+        if (StringUtils.isBlank(size)) {
+            throw new IllegalArgumentException("size must not be blank");
+        }
+        String str = size.trim().toLowerCase();
+        char unit = str.charAt(str.length() - 1);
+        long multiplier;
+        switch (unit) {
+            case 'k':
+                multiplier = RADIX;
+                break;
+            case 'm':
+                multiplier = RADIX * RADIX;
+                break;
+            case 'g':
+                multiplier = RADIX * RADIX * RADIX;
+                break;
+            default:
+                multiplier = 1;
+                break;
+        }
+        String number = multiplier == 1 ? str : str.substring(0, str.length() - 1);
+        try {
+            return Long.parseLong(number.trim()) * multiplier;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("\"" + size + "\" can't parse to size", e);
+        }
+    }
+}
@@ -65,4 +65,14 @@ public class XIDTest {
         assertThat(XID.getTransactionId(null)).isEqualTo(-1);
         assertThat(XID.getTransactionId("127.0.0.1:8080:8577662204289747564")).isEqualTo(8577662204289747564L);
     }
+
+    /**
+     * Test get server address.
+     */
+    @Test
+    public void testGetServerAddress() {
+        assertThat(XID.getServerAddress(null)).isNull();
+        assertThat(XID.getServerAddress("8577662204289747564")).isNull();
+        assertThat(XID.getServerAddress("127.0.0.1:8080:8577662204289747564")).isEqualTo("127.0.0.1:8080");
+    }
 }
@@ -0,0 +1,39 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.common.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ */
+public class SizeUtilTest {
+
+    @Test
+    public void testSize2Long() {
+        Assertions.assertEquals(512L, SizeUtil.size2Long("512"));
+        Assertions.assertEquals(4L * 1024, SizeUtil.size2Long("4k"));
+        Assertions.assertEquals(64L * 1024 * 1024, SizeUtil.size2Long("64M"));
+        Assertions.assertEquals(1024L * 1024 * 1024, SizeUtil.size2Long(" 1g "));
+    }
+
+    @Test
+    public void testSize2LongWithIllegalValue() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SizeUtil.size2Long(""));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> SizeUtil.size2Long("4kb"));
+    }
+}
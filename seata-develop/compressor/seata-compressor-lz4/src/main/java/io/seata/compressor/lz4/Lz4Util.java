@@ -15,61 +15,183 @@
  */
 package io.seata.compressor.lz4;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.util.Arrays;
 
-import net.jpountz.lz4.LZ4BlockInputStream;
-import net.jpountz.lz4.LZ4BlockOutputStream;
 import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Exception;
 import net.jpountz.lz4.LZ4Factory;
 import net.jpountz.lz4.LZ4FastDecompressor;
+import net.jpountz.xxhash.XXHash32;
+import net.jpountz.xxhash.XXHashFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * the Lz4 Util
+ * <p>
+ * The bytes are in the frame format of {@code LZ4BlockOutputStream}, so they stay readable by
+ * {@code LZ4BlockInputStream} and the bytes compressed by it can be decompressed here. The blocks are
+ * written and read directly with the shared compressor, decompressor and hash instances and a scratch buffer
+ * per thread, instead of a pair of streams and buffers per call.
  *
  * @author diguage
  */
 public class Lz4Util {
     private static final Logger LOGGER = LoggerFactory.getLogger(Lz4Util.class);
-    private static final int ARRAY_SIZE = 1024;
+
+    private static final byte[] MAGIC = {'L', 'Z', '4', 'B', 'l', 'o', 'c', 'k'};
+    private static final int MAGIC_LENGTH = MAGIC.length;
+    /**
+     * magic, token, compressed length, original length, checksum
+     */
+    private static final int HEADER_LENGTH = MAGIC_LENGTH + 1 + 4 + 4 + 4;
+    private static final int COMPRESSION_LEVEL_BASE = 10;
+    private static final int COMPRESSION_METHOD_RAW = 0x10;
+    private static final int COMPRESSION_METHOD_LZ4 = 0x20;
+    private static final int DEFAULT_SEED = 0x9747b28c;
+    private static final int CHECKSUM_MASK = 0xFFFFFFF;
+
+    private static final int BLOCK_SIZE = 64 * 1024;
+    private static final int COMPRESSION_LEVEL = 32 - Integer.numberOfLeadingZeros(BLOCK_SIZE - 1)
+        - COMPRESSION_LEVEL_BASE;
+    /**
+     * larger scratch buffers are not kept by the thread
+     */
+    private static final int MAX_CACHED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final LZ4Compressor COMPRESSOR = LZ4Factory.fastestInstance().fastCompressor();
+    private static final LZ4FastDecompressor DECOMPRESSOR = LZ4Factory.fastestInstance().fastDecompressor();
+    private static final XXHash32 HASH = XXHashFactory.fastestInstance().hash32();
+
+    private static final ThreadLocal<byte[]> BUFFER_LOCAL = ThreadLocal.withInitial(() -> new byte[BLOCK_SIZE]);
 
     public static byte[] compress(byte[] bytes) {
         if (bytes == null) {
             throw new NullPointerException("bytes is null");
         }
-        LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        try (LZ4BlockOutputStream lz4BlockOutputStream
-                     = new LZ4BlockOutputStream(outputStream, ARRAY_SIZE, compressor)) {
-            lz4BlockOutputStream.write(bytes);
-        } catch (IOException e) {
-            LOGGER.error("compress bytes error", e);
+        // the end mark is an empty block
+        int maxLength = HEADER_LENGTH;
+        for (int offset = 0; offset < bytes.length; offset += BLOCK_SIZE) {
+            maxLength += HEADER_LENGTH + COMPRESSOR.maxCompressedLength(Math.min(BLOCK_SIZE, bytes.length - offset));
+        }
+        byte[] buffer = getBuffer(maxLength);
+        int length = 0;
+        for (int offset = 0; offset < bytes.length; offset += BLOCK_SIZE) {
+            int originalLength = Math.min(BLOCK_SIZE, bytes.length - offset);
+            int check = HASH.hash(bytes, offset, originalLength, DEFAULT_SEED) & CHECKSUM_MASK;
+            int compressedLength = COMPRESSOR.compress(bytes, offset, originalLength, buffer, length + HEADER_LENGTH,
+                maxLength - length - HEADER_LENGTH);
+            int compressionMethod = COMPRESSION_METHOD_LZ4;
+            if (compressedLength >= originalLength) {
+                compressionMethod = COMPRESSION_METHOD_RAW;
+                compressedLength = originalLength;
+                System.arraycopy(bytes, offset, buffer, length + HEADER_LENGTH, originalLength);
+            }
+            writeHeader(buffer, length, compressionMethod, compressedLength, originalLength, check);
+            length += HEADER_LENGTH + compressedLength;
         }
-        return outputStream.toByteArray();
+        writeHeader(buffer, length, COMPRESSION_METHOD_RAW, 0, 0, 0);
+        length += HEADER_LENGTH;
+        return Arrays.copyOf(buffer, length);
     }
 
     public static byte[] decompress(byte[] bytes) {
         if (bytes == null) {
             throw new NullPointerException("bytes is null");
         }
-
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(ARRAY_SIZE);
-
-        LZ4FastDecompressor decompressor = LZ4Factory.fastestInstance().fastDecompressor();
-        ByteArrayInputStream inputStream = new ByteArrayInputStream(bytes);
-        try (LZ4BlockInputStream decompressedInputStream
-                     = new LZ4BlockInputStream(inputStream, decompressor)) {
-            int count;
-            byte[] buffer = new byte[ARRAY_SIZE];
-            while ((count = decompressedInputStream.read(buffer)) != -1) {
-                outputStream.write(buffer, 0, count);
+        byte[] buffer = getBuffer(BLOCK_SIZE);
+        int length = 0;
+        try {
+            int offset = 0;
+            while (offset < bytes.length) {
+                if (bytes.length - offset < HEADER_LENGTH) {
+                    throw new IOException("Stream ended prematurely");
+                }
+                for (int i = 0; i < MAGIC_LENGTH; i++) {
+                    if (bytes[offset + i] != MAGIC[i]) {
+                        throw new IOException("Stream is corrupted");
+                    }
+                }
+                int token = bytes[offset + MAGIC_LENGTH] & 0xFF;
+                int compressionMethod = token & 0xF0;
+                int compressionLevel = COMPRESSION_LEVEL_BASE + (token & 0x0F);
+                int compressedLength = readIntLE(bytes, offset + MAGIC_LENGTH + 1);
+                int originalLength = readIntLE(bytes, offset + MAGIC_LENGTH + 5);
+                int check = readIntLE(bytes, offset + MAGIC_LENGTH + 9);
+                offset += HEADER_LENGTH;
+                if ((compressionMethod != COMPRESSION_METHOD_RAW && compressionMethod != COMPRESSION_METHOD_LZ4)
+                    || originalLength > 1 << compressionLevel || originalLength < 0 || compressedLength < 0
+                    || (originalLength == 0) != (compressedLength == 0)
+                    || (compressionMethod == COMPRESSION_METHOD_RAW && originalLength != compressedLength)
+                    || compressedLength > bytes.length - offset) {
+                    throw new IOException("Stream is corrupted");
+                }
+                if (originalLength == 0) {
+                    if (check != 0) {
+                        throw new IOException("Stream is corrupted");
+                    }
+                    break;
+                }
+                if (buffer.length - length < originalLength) {
+                    buffer = growBuffer(buffer, length, length + originalLength);
+                }
+                if (compressionMethod == COMPRESSION_METHOD_RAW) {
+                    System.arraycopy(bytes, offset, buffer, length, originalLength);
+                } else if (DECOMPRESSOR.decompress(bytes, offset, buffer, length, originalLength)
+                    != compressedLength) {
+                    throw new IOException("Stream is corrupted");
+                }
+                if ((HASH.hash(buffer, length, originalLength, DEFAULT_SEED) & CHECKSUM_MASK) != check) {
+                    throw new IOException("Stream is corrupted");
+                }
+                length += originalLength;
+                offset += compressedLength;
             }
-        } catch (IOException e) {
+        } catch (IOException | LZ4Exception e) {
             LOGGER.error("decompress bytes error", e);
         }
-        return outputStream.toByteArray();
+        return Arrays.copyOf(buffer, length);
+    }
+
+    private static byte[] getBuffer(int minLength) {
+        byte[] buffer = BUFFER_LOCAL.get();
+        if (buffer.length >= minLength) {
+            return buffer;
+        }
+        buffer = new byte[minLength];
+        if (minLength <= MAX_CACHED_BUFFER_SIZE) {
+            BUFFER_LOCAL.set(buffer);
+        }
+        return buffer;
+    }
+
+    private static byte[] growBuffer(byte[] buffer, int length, int minLength) {
+        byte[] newBuffer = getBuffer(Math.max(minLength, buffer.length << 1));
+        if (newBuffer != buffer) {
+            System.arraycopy(buffer, 0, newBuffer, 0, length);
+        }
+        return newBuffer;
+    }
+
+    private static void writeHeader(byte[] buffer, int offset, int compressionMethod, int compressedLength,
+                                    int originalLength, int check) {
+        System.arraycopy(MAGIC, 0, buffer, offset, MAGIC_LENGTH);
+        buffer[offset + MAGIC_LENGTH] = (byte)(compressionMethod | COMPRESSION_LEVEL);
+        writeIntLE(compressedLength, buffer, offset + MAGIC_LENGTH + 1);
+        writeIntLE(originalLength, buffer, offset + MAGIC_LENGTH + 5);
+        writeIntLE(check, buffer, offset + MAGIC_LENGTH + 9);
+    }
+
+    private static void writeIntLE(int value, byte[] buffer, int offset) {
+        buffer[offset] = (byte)value;
+        buffer[offset + 1] = (byte)(value >>> 8);
+        buffer[offset + 2] = (byte)(value >>> 16);
+        buffer[offset + 3] = (byte)(value >>> 24);
+    }
+
+    private static int readIntLE(byte[] buffer, int offset) {
+        return (buffer[offset] & 0xFF) | ((buffer[offset + 1] & 0xFF) << 8) | ((buffer[offset + 2] & 0xFF) << 16)
+            | ((buffer[offset + 3] & 0xFF) << 24);
     }
 }
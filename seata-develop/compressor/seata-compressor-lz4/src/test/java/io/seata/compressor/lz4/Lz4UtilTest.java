@@ -15,6 +15,13 @@
  */
 package io.seata.compressor.lz4;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import net.jpountz.lz4.LZ4BlockInputStream;
+import net.jpountz.lz4.LZ4BlockOutputStream;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -36,4 +43,44 @@ class Lz4UtilTest {
         });
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testCompressAndDecompress() {
+        for (byte[] bytes : samples()) {
+            Assertions.assertArrayEquals(bytes, Lz4Util.decompress(Lz4Util.compress(bytes)));
+        }
+    }
+
+    @Test
+    public void testCompatibleWithBlockStream() throws IOException {
+        for (byte[] bytes : samples()) {
+            LZ4BlockInputStream inputStream = new LZ4BlockInputStream(
+                new ByteArrayInputStream(Lz4Util.compress(bytes)));
+            ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int count;
+            while ((count = inputStream.read(buffer)) != -1) {
+                decompressed.write(buffer, 0, count);
+            }
+            Assertions.assertArrayEquals(bytes, decompressed.toByteArray());
+
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (LZ4BlockOutputStream outputStream = new LZ4BlockOutputStream(compressed, 1024)) {
+                outputStream.write(bytes);
+            }
+            Assertions.assertArrayEquals(bytes, Lz4Util.decompress(compressed.toByteArray()));
+        }
+    }
+
+    /**
+     * empty, compressible across several blocks and incompressible bytes
+     */
+    private static byte[][] samples() {
+        byte[] repeated = new byte[200 * 1024];
+        for (int i = 0; i < repeated.length; i++) {
+            repeated[i] = (byte)('a' + i % 7);
+        }
+        byte[] random = new byte[100 * 1024];
+        new Random(1).nextBytes(random);
+        return new byte[][] {new byte[0], "a0123456789".getBytes(), repeated, random};
+    }
+}
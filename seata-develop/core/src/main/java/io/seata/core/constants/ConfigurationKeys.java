@@ -89,6 +89,16 @@ public class ConfigurationKeys {
      * The constant CLIENT_ASYNC_COMMIT_BUFFER_LIMIT.
      */
     public static final String CLIENT_ASYNC_COMMIT_BUFFER_LIMIT = CLIENT_RM_PREFIX + "asyncCommitBufferLimit";
+
+    /**
+     * The constant CLIENT_ASYNC_COMMIT_PARALLELISM, the parallel undo log deleters of each datasource.
+     */
+    public static final String CLIENT_ASYNC_COMMIT_PARALLELISM = CLIENT_RM_PREFIX + "asyncCommitParallelism";
+
+    /**
+     * The constant CLIENT_ASYNC_COMMIT_FLUSH_INTERVAL, in milliseconds.
+     */
+    public static final String CLIENT_ASYNC_COMMIT_FLUSH_INTERVAL = CLIENT_RM_PREFIX + "asyncCommitFlushInterval";
     /**
      * The constant CLIENT_RM_LOCK_PREFIX.
      */
@@ -133,6 +143,16 @@ public class ConfigurationKeys {
      */
     public static final String CLIENT_TABLE_META_CHECK_ENABLE = CLIENT_RM_PREFIX + "tableMetaCheckEnable";
 
+    /**
+     * The constant CLIENT_TABLE_META_WARM_UP_ENABLE.
+     */
+    public static final String CLIENT_TABLE_META_WARM_UP_ENABLE = CLIENT_RM_PREFIX + "tableMetaWarmUpEnable";
+
+    /**
+     * The constant CLIENT_LOCK_KEY_DEDUP_ENABLE.
+     */
+    public static final String CLIENT_LOCK_KEY_DEDUP_ENABLE = CLIENT_RM_PREFIX + "lockKeyDedupEnable";
+
     /**
      * The constant CLIENT_TM_PREFIX.
      */
@@ -159,6 +179,11 @@ public class ConfigurationKeys {
      */
     public static final String COMPRESSOR_FOR_RPC = TRANSPORT_PREFIX + "compressor";
 
+    /**
+     * The constant COMPRESSOR_THRESHOLD_FOR_RPC.
+     */
+    public static final String COMPRESSOR_THRESHOLD_FOR_RPC = TRANSPORT_PREFIX + "compressorThreshold";
+
     /**
      * The constant STORE_DB_PREFIX.
      */
@@ -243,6 +268,11 @@ public class ConfigurationKeys {
      */
     public static final String ASYN_COMMITING_RETRY_PERIOD = RECOVERY_PREFIX + "asynCommittingRetryPeriod";
 
+    /**
+     * The constant ASYN_COMMITTING_PARALLELISM.
+     */
+    public static final String ASYN_COMMITTING_PARALLELISM = RECOVERY_PREFIX + "asynCommittingParallelism";
+
     /**
      * The constant ROLLBACKING_RETRY_PERIOD.
      */
@@ -272,6 +302,31 @@ public class ConfigurationKeys {
      */
     public static final String TRANSACTION_UNDO_ONLY_CARE_UPDATE_COLUMNS = CLIENT_UNDO_PREFIX + "onlyCareUpdateColumns";
 
+    /**
+     * The constant TRANSACTION_UNDO_DERIVE_AFTER_IMAGE.
+     */
+    public static final String TRANSACTION_UNDO_DERIVE_AFTER_IMAGE = CLIENT_UNDO_PREFIX + "deriveAfterImage";
+
+    /**
+     * The constant CLIENT_UNDO_COMPRESS_PREFIX.
+     */
+    public static final String CLIENT_UNDO_COMPRESS_PREFIX = CLIENT_UNDO_PREFIX + "compress.";
+
+    /**
+     * The constant CLIENT_UNDO_COMPRESS_ENABLE.
+     */
+    public static final String CLIENT_UNDO_COMPRESS_ENABLE = CLIENT_UNDO_COMPRESS_PREFIX + "enable";
+
+    /**
+     * The constant CLIENT_UNDO_COMPRESS_TYPE.
+     */
+    public static final String CLIENT_UNDO_COMPRESS_TYPE = CLIENT_UNDO_COMPRESS_PREFIX + "type";
+
+    /**
+     * The constant CLIENT_UNDO_COMPRESS_THRESHOLD.
+     */
+    public static final String CLIENT_UNDO_COMPRESS_THRESHOLD = CLIENT_UNDO_COMPRESS_PREFIX + "threshold";
+
     /**
      * The constant METRICS_PREFIX.
      */
@@ -296,6 +351,11 @@ public class ConfigurationKeys {
      */
     public static final String METRICS_EXPORTER_PROMETHEUS_PORT = "exporterPrometheusPort";
 
+    /**
+     * The constant METRICS_SNAPSHOT_INTERVAL
+     */
+    public static final String METRICS_SNAPSHOT_INTERVAL = "snapshotInterval";
+
     /**
      * The constant SERVER_UNDO_PREFIX.
      */
@@ -315,6 +375,11 @@ public class ConfigurationKeys {
      * The constant TRANSACTION_UNDO_LOG_TABLE
      */
     public static final String TRANSACTION_UNDO_LOG_TABLE = CLIENT_UNDO_PREFIX + "logTable";
+
+    /**
+     * The constant CLIENT_UNDO_LOG_STORAGE_MODE, table or timePartition
+     */
+    public static final String CLIENT_UNDO_LOG_STORAGE_MODE = CLIENT_UNDO_PREFIX + "logStorageMode";
     /**
      * The constant CLIENT_LOG_PREFIX
      */
@@ -325,6 +390,36 @@ public class ConfigurationKeys {
      */
     public static final String TRANSACTION_LOG_EXCEPTION_RATE = CLIENT_LOG_PREFIX + "exceptionRate";
 
+    /**
+     * The constant CLIENT_METRICS_PREFIX
+     */
+    public static final String CLIENT_METRICS_PREFIX = CLIENT_PREFIX + "metrics.";
+
+    /**
+     * The constant CLIENT_METRICS_ENABLED
+     */
+    public static final String CLIENT_METRICS_ENABLED = CLIENT_METRICS_PREFIX + METRICS_ENABLED;
+
+    /**
+     * The constant CLIENT_HTTP_PREFIX
+     */
+    public static final String CLIENT_HTTP_PREFIX = CLIENT_PREFIX + "http.";
+
+    /**
+     * The constant CLIENT_HTTP_MAX_TOTAL
+     */
+    public static final String CLIENT_HTTP_MAX_TOTAL = CLIENT_HTTP_PREFIX + "maxTotal";
+
+    /**
+     * The constant CLIENT_HTTP_MAX_PER_ROUTE
+     */
+    public static final String CLIENT_HTTP_MAX_PER_ROUTE = CLIENT_HTTP_PREFIX + "maxPerRoute";
+
+    /**
+     * The constant CLIENT_HTTP_CONNECTION_REQUEST_TIMEOUT
+     */
+    public static final String CLIENT_HTTP_CONNECTION_REQUEST_TIMEOUT = CLIENT_HTTP_PREFIX + "connectionRequestTimeout";
+
     /**
      * The constant MAX_COMMIT_RETRY_TIMEOUT.
      */
@@ -340,6 +435,46 @@ public class ConfigurationKeys {
      */
     public static final String ROLLBACK_RETRY_TIMEOUT_UNLOCK_ENABLE = SERVER_PREFIX + "rollbackRetryTimeoutUnlockEnable";
 
+    /**
+     * The constant SERVER_LOCK_WAIT_TIMEOUT.
+     */
+    public static final String SERVER_LOCK_WAIT_TIMEOUT = SERVER_PREFIX + "lock.waitTimeout";
+
+    /**
+     * The constant SERVER_LOCK_MAX_WAITERS.
+     */
+    public static final String SERVER_LOCK_MAX_WAITERS = SERVER_PREFIX + "lock.maxWaiters";
+
+    /**
+     * The constant SERVER_LOCK_HOT_ROW_THRESHOLD.
+     */
+    public static final String SERVER_LOCK_HOT_ROW_THRESHOLD = SERVER_PREFIX + "lock.hotRow.threshold";
+
+    /**
+     * The constant SERVER_LOCK_HOT_ROW_WINDOW.
+     */
+    public static final String SERVER_LOCK_HOT_ROW_WINDOW = SERVER_PREFIX + "lock.hotRow.window";
+
+    /**
+     * The constant SERVER_LOCK_HOT_ROW_FAST_FAIL.
+     */
+    public static final String SERVER_LOCK_HOT_ROW_FAST_FAIL = SERVER_PREFIX + "lock.hotRow.fastFail";
+
+    /**
+     * The constant SERVER_SESSION_OWNER_CACHE_ENABLE.
+     */
+    public static final String SERVER_SESSION_OWNER_CACHE_ENABLE = SERVER_PREFIX + "session.ownerCacheEnable";
+
+    /**
+     * The constant SERVER_ADMIN_PORT.
+     */
+    public static final String SERVER_ADMIN_PORT = SERVER_PREFIX + "admin.port";
+
+    /**
+     * The constant SERVER_ADMIN_HOST.
+     */
+    public static final String SERVER_ADMIN_HOST = SERVER_PREFIX + "admin.host";
+
     /**
      * The constant TRANSPORT_TYPE
      */
@@ -422,6 +557,13 @@ public class ConfigurationKeys {
      */
     public static final String ENABLE_CLIENT_BATCH_SEND_REQUEST = TRANSPORT_PREFIX + "enableClientBatchSendRequest";
 
+    /**
+     * The constant ENABLE_SERVER_BATCH_SEND_REQUEST
+     *
+     * transport.enableServerBatchSendRequest = false
+     */
+    public static final String ENABLE_SERVER_BATCH_SEND_REQUEST = TRANSPORT_PREFIX + "enableServerBatchSendRequest";
+
     /**
      * The constant DISABLE_GLOBAL_TRANSACTION.
      */
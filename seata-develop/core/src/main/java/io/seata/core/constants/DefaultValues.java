@@ -24,10 +24,60 @@ public class DefaultValues {
     public static final boolean DEFAULT_CLIENT_LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT = true;
     public static final int DEFAULT_LOG_EXCEPTION_RATE = 100;
     public static final int DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT = 10000;
+    public static final int DEFAULT_CLIENT_ASYNC_COMMIT_PARALLELISM = 2;
+    public static final long DEFAULT_CLIENT_ASYNC_COMMIT_FLUSH_INTERVAL = 100L;
     public static final int DEFAULT_CLIENT_REPORT_RETRY_COUNT = 5;
     public static final boolean DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE = false;
     public static final boolean DEFAULT_CLIENT_TABLE_META_CHECK_ENABLE = false;
+    public static final boolean DEFAULT_CLIENT_TABLE_META_WARM_UP_ENABLE = false;
+    public static final boolean DEFAULT_CLIENT_LOCK_KEY_DEDUP_ENABLE = false;
     public static final boolean DEFAULT_CLIENT_SAGA_BRANCH_REGISTER_ENABLE = false;
+    public static final boolean DEFAULT_CLIENT_METRICS_ENABLED = false;
+    /**
+     * Global transactions the TC async commits at once, the branch commits of them to the same RM are batched
+     */
+    public static final int DEFAULT_SERVER_ASYNC_COMMITTING_PARALLELISM = 8;
+    /**
+     * Lock wait timeout of the TC default 0, a conflicting branch register fails at once
+     */
+    public static final long DEFAULT_SERVER_LOCK_WAIT_TIMEOUT = 0L;
+    /**
+     * Core worker threads of the TC, the pool does not grow past them before its task queue is full
+     */
+    public static final int DEFAULT_SERVER_MIN_POOL_SIZE = 50;
+    /**
+     * Max waiting branch registers of the TC, each parks a TC worker thread, capped at a quarter of the core
+     * worker threads
+     */
+    public static final int DEFAULT_SERVER_LOCK_MAX_WAITERS = 10;
+    /**
+     * Conflicts of a row within the window to be a hot row, 0 disables the hot row detection
+     */
+    public static final int DEFAULT_SERVER_LOCK_HOT_ROW_THRESHOLD = 20;
+    public static final long DEFAULT_SERVER_LOCK_HOT_ROW_WINDOW = 10000L;
+    public static final boolean DEFAULT_SERVER_LOCK_HOT_ROW_FAST_FAIL = false;
+    /**
+     * Whether a db mode TC keeps the active sessions it began in memory, needs the XidLoadBalance on every client
+     */
+    public static final boolean DEFAULT_SERVER_SESSION_OWNER_CACHE_ENABLE = false;
+    /**
+     * Port of the TC admin http endpoint, 0 disables it
+     */
+    public static final int DEFAULT_SERVER_ADMIN_PORT = 0;
+    /**
+     * Host the TC admin http endpoint binds to, the endpoint has no authentication
+     */
+    public static final String DEFAULT_SERVER_ADMIN_HOST = "127.0.0.1";
+    public static final int DEFAULT_CLIENT_HTTP_MAX_TOTAL = 200;
+    public static final int DEFAULT_CLIENT_HTTP_MAX_PER_ROUTE = 50;
+    /**
+     * Wait at most 3s for a pooled http connection
+     */
+    public static final int DEFAULT_CLIENT_HTTP_CONNECTION_REQUEST_TIMEOUT = 3000;
+    /**
+     * Metrics snapshot interval default 15s, 0 lets the exporters measure the registry on each scrape
+     */
+    public static final long DEFAULT_METRICS_SNAPSHOT_INTERVAL = 15000L;
     /**
      * Shutdown timeout default 3s
      */
@@ -39,6 +89,7 @@ public class DefaultValues {
     public static final String DEFAULT_SELECTOR_THREAD_PREFIX = "NettyClientSelector";
     public static final String DEFAULT_WORKER_THREAD_PREFIX = "NettyClientWorkerThread";
     public static final boolean DEFAULT_ENABLE_CLIENT_BATCH_SEND_REQUEST = true;
+    public static final boolean DEFAULT_ENABLE_SERVER_BATCH_SEND_REQUEST = false;
 
 
     public static final String DEFAULT_BOSS_THREAD_PREFIX = "NettyBoss";
@@ -46,13 +97,22 @@ public class DefaultValues {
     public static final String DEFAULT_EXECUTOR_THREAD_PREFIX = "NettyServerBizHandler";
 
     public static final boolean DEFAULT_TRANSPORT_HEARTBEAT = true;
+    public static final String DEFAULT_RPC_COMPRESSOR_THRESHOLD = "4k";
     public static final boolean DEFAULT_TRANSACTION_UNDO_DATA_VALIDATION = true;
     public static final String DEFAULT_TRANSACTION_UNDO_LOG_SERIALIZATION = "jackson";
     public static final boolean DEFAULT_ONLY_CARE_UPDATE_COLUMNS = true;
+    public static final boolean DEFAULT_TRANSACTION_UNDO_DERIVE_AFTER_IMAGE = false;
+    public static final boolean DEFAULT_CLIENT_UNDO_COMPRESS_ENABLE = false;
+    public static final String DEFAULT_CLIENT_UNDO_COMPRESS_TYPE = "zip";
+    public static final String DEFAULT_CLIENT_UNDO_COMPRESS_THRESHOLD = "4k";
     /**
      * The constant  DEFAULT_TRANSACTION_UNDO_LOG_TABLE.
      */
     public static final String DEFAULT_TRANSACTION_UNDO_LOG_TABLE = "undo_log";
+    /**
+     * The constant DEFAULT_CLIENT_UNDO_LOG_STORAGE_MODE.
+     */
+    public static final String DEFAULT_CLIENT_UNDO_LOG_STORAGE_MODE = "table";
     /**
      * The constant DEFAULT_STORE_DB_GLOBAL_TABLE.
      */
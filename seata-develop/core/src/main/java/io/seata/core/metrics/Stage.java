@@ -0,0 +1,186 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.metrics;
+
+/**
+ * The instrumented stages of the TC and client hot paths.
+ *
+ * @author agent
+ */
+public enum Stage {
+    /**
+     * decode of a protocol frame
+     */
+    DECODE("decode"),
+    /**
+     * wait of a request in the message executor queue
+     */
+    WORKER_QUEUE_WAIT("workerQueueWait"),
+    /**
+     * acquire of the row locks of a branch, failure means lock conflict
+     */
+    LOCK_ACQUIRE("lockAcquire"),
+    /**
+     * wait of a branch register on the TC lock wait queue of its conflicting rows, the subject is the table,
+     * failure means the wait timed out
+     */
+    LOCK_WAIT("lockWait", Stage.SUBJECT_TABLE, true),
+    /**
+     * waiters ahead of a branch register when it joins the lock wait queue of a row, the subject is the table
+     */
+    LOCK_WAIT_QUEUE_DEPTH("lockWaitQueueDepth", Stage.SUBJECT_TABLE, false),
+    /**
+     * conflicts of a row within the hot row detection window, recorded on each conflict, the subject is the table
+     */
+    LOCK_CONFLICT("lockConflict", Stage.SUBJECT_TABLE, false),
+    /**
+     * write of a global or branch session to the transaction store
+     */
+    SESSION_WRITE("sessionWrite"),
+    /**
+     * phase two commit RPC of a branch
+     */
+    BRANCH_COMMIT("branchCommit"),
+    /**
+     * phase two rollback RPC of a branch
+     */
+    BRANCH_ROLLBACK("branchRollback"),
+    /**
+     * age of a global transaction when it is retried by the retry committing task
+     */
+    RETRY_COMMIT_LAG("retryCommitLag"),
+    /**
+     * age of a global transaction when it is retried by the retry rollbacking task
+     */
+    RETRY_ROLLBACK_LAG("retryRollbackLag"),
+    /**
+     * age of a global transaction when it is committed by the async committing task
+     */
+    ASYNC_COMMIT_LAG("asyncCommitLag"),
+    /**
+     * parse of the sql of an AT statement
+     */
+    SQL_PARSE("sqlParse"),
+    /**
+     * query of the before image of an AT statement
+     */
+    BEFORE_IMAGE("beforeImage"),
+    /**
+     * query of the after image of an AT statement
+     */
+    AFTER_IMAGE("afterImage"),
+    /**
+     * encode and insert of the undo log of a branch
+     */
+    UNDO_LOG_FLUSH("undoLogFlush"),
+    /**
+     * size in bytes of the flushed rollback info of a branch
+     */
+    UNDO_LOG_SIZE("undoLogSize", Stage.SUBJECT_RESOURCE, false),
+    /**
+     * bytes saved by the compression of the rollback info of a branch, recorded only for the compressed ones
+     */
+    UNDO_LOG_COMPRESS_SAVED("undoLogCompressSaved", Stage.SUBJECT_RESOURCE, false),
+    /**
+     * retries of a local commit or statement on global lock conflict, recorded only when a conflict happened,
+     * failure means the retries were exhausted
+     */
+    LOCK_RETRY("lockRetry"),
+    /**
+     * occupancy of the async commit queue of a resource of the RM, sampled every flush interval of the async worker
+     */
+    ASYNC_WORKER_BUFFER("asyncWorkerBuffer", Stage.SUBJECT_RESOURCE, false),
+    /**
+     * branches rejected by the full async commit buffer of the RM, recorded as 1 for each rejected branch
+     */
+    ASYNC_WORKER_REJECT("asyncWorkerReject", Stage.SUBJECT_RESOURCE, false),
+    /**
+     * batch delete of the undo logs of the committed branches of a resource by the async worker
+     */
+    ASYNC_WORKER_DELETE("asyncWorkerDelete"),
+    /**
+     * wait of a synchronous RPC for its response, the subject is the message type
+     */
+    RPC_WAIT("rpcWait", Stage.SUBJECT_MESSAGE_TYPE, true),
+    /**
+     * compressed size in percent of the serialized size of an RPC body, the subject is the compressor,
+     * recorded only for the bodies reaching the compressor threshold
+     */
+    RPC_COMPRESS_RATIO("rpcCompressRatio", Stage.SUBJECT_COMPRESSOR, false);
+
+    /**
+     * the subject tag key of the stages bound to a resource
+     */
+    public static final String SUBJECT_RESOURCE = "resource";
+
+    /**
+     * the subject tag key of the stages bound to a message type
+     */
+    public static final String SUBJECT_MESSAGE_TYPE = "messageType";
+
+    /**
+     * the subject tag key of the stages bound to a compressor
+     */
+    public static final String SUBJECT_COMPRESSOR = "compressor";
+
+    /**
+     * the subject tag key of the stages bound to a table
+     */
+    public static final String SUBJECT_TABLE = "table";
+
+    private final String value;
+
+    private final String subjectKey;
+
+    private final boolean timed;
+
+    Stage(String value) {
+        this(value, SUBJECT_RESOURCE, true);
+    }
+
+    Stage(String value, String subjectKey, boolean timed) {
+        this.value = value;
+        this.subjectKey = subjectKey;
+        this.timed = timed;
+    }
+
+    /**
+     * Gets the value used as metrics tag.
+     *
+     * @return the value
+     */
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Gets the tag key of the subject of the stage.
+     *
+     * @return the subject key
+     */
+    public String getSubjectKey() {
+        return subjectKey;
+    }
+
+    /**
+     * Whether the stage records elapsed times, otherwise it records values.
+     *
+     * @return true if timed
+     */
+    public boolean isTimed() {
+        return timed;
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.metrics;
+
+import io.seata.common.loader.EnhancedServiceLoader;
+import io.seata.core.model.BranchType;
+
+/**
+ * The entry of the stage instrumentation, a no-op until a {@link StageRecorder} is installed.
+ * <pre>
+ * long begin = StageMetrics.begin();
+ * ...
+ * StageMetrics.end(Stage.LOCK_ACQUIRE, branchType, resourceId, begin, success);
+ * </pre>
+ * Without a recorder it costs a volatile read per call and no clock access.
+ *
+ * @author agent
+ */
+public final class StageMetrics {
+
+    private static volatile StageRecorder recorder;
+
+    private StageMetrics() {
+    }
+
+    /**
+     * Install the recorder, null to disable the instrumentation.
+     *
+     * @param stageRecorder the stage recorder
+     */
+    public static void setRecorder(StageRecorder stageRecorder) {
+        recorder = stageRecorder;
+    }
+
+    /**
+     * Install the first recorder given by the {@link StageRecorderProvider} implements on the classpath,
+     * does nothing if a recorder is already installed.
+     */
+    public static synchronized void loadRecorder() {
+        if (recorder != null) {
+            return;
+        }
+        for (StageRecorderProvider provider : EnhancedServiceLoader.loadAll(StageRecorderProvider.class)) {
+            StageRecorder stageRecorder = provider.provide();
+            if (stageRecorder != null) {
+                recorder = stageRecorder;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Whether a recorder is installed.
+     *
+     * @return true if enabled
+     */
+    public static boolean isEnabled() {
+        return recorder != null;
+    }
+
+    /**
+     * Begin a stage.
+     *
+     * @return the begin time in nanoseconds, 0 if disabled
+     */
+    public static long begin() {
+        return recorder != null ? System.nanoTime() : 0L;
+    }
+
+    /**
+     * End a stage without branch.
+     *
+     * @param stage   the stage
+     * @param begin   the value returned by {@link #begin()}
+     * @param success false if the stage failed
+     */
+    public static void end(Stage stage, long begin, boolean success) {
+        end(stage, null, null, begin, success);
+    }
+
+    /**
+     * End a stage of a branch or a message type.
+     *
+     * @param stage      the stage
+     * @param branchType the branch type
+     * @param subject    the resource id or the message type
+     * @param begin      the value returned by {@link #begin()}
+     * @param success    false if the stage failed
+     */
+    public static void end(Stage stage, BranchType branchType, String subject, long begin, boolean success) {
+        StageRecorder stageRecorder = recorder;
+        if (stageRecorder != null && begin != 0L) {
+            stageRecorder.record(stage, branchType, subject, System.nanoTime() - begin, success);
+        }
+    }
+
+    /**
+     * Record a stage with a known elapsed time.
+     *
+     * @param stage        the stage
+     * @param elapsedNanos the elapsed time in nanoseconds
+     */
+    public static void record(Stage stage, long elapsedNanos) {
+        StageRecorder stageRecorder = recorder;
+        if (stageRecorder != null) {
+            stageRecorder.record(stage, null, null, elapsedNanos, true);
+        }
+    }
+
+    /**
+     * Record a value of a stage which is not timed.
+     *
+     * @param stage      the stage
+     * @param branchType the branch type
+     * @param subject    the resource id or the message type
+     * @param value      the value
+     */
+    public static void recordValue(Stage stage, BranchType branchType, String subject, long value) {
+        StageRecorder stageRecorder = recorder;
+        if (stageRecorder != null) {
+            stageRecorder.recordValue(stage, branchType, subject, value);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.metrics;
+
+import io.seata.core.model.BranchType;
+
+/**
+ * The recorder of the stage elapsed times and values, it is called on the hot path and must not block.
+ *
+ * @author agent
+ */
+public interface StageRecorder {
+
+    /**
+     * Record an execution of a timed stage.
+     *
+     * @param stage        the stage
+     * @param branchType   the branch type, null if the stage is not bound to a branch
+     * @param subject      the resource id or the message type, see {@link Stage#getSubjectKey()}, null if none
+     * @param elapsedNanos the elapsed time in nanoseconds
+     * @param success      false if the stage failed
+     */
+    void record(Stage stage, BranchType branchType, String subject, long elapsedNanos, boolean success);
+
+    /**
+     * Record a value of a stage which is not timed, such as a size.
+     *
+     * @param stage      the stage
+     * @param branchType the branch type, null if the stage is not bound to a branch
+     * @param subject    the resource id or the message type, see {@link Stage#getSubjectKey()}, null if none
+     * @param value      the value
+     */
+    void recordValue(Stage stage, BranchType branchType, String subject, long value);
+}
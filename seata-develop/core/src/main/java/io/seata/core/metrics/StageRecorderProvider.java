@@ -0,0 +1,32 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.metrics;
+
+/**
+ * The SPI which provides the stage recorder of the clients, which do not depend on the metrics modules.
+ * Implements are loaded by {@link StageMetrics#loadRecorder()}.
+ *
+ * @author agent
+ */
+public interface StageRecorderProvider {
+
+    /**
+     * Provide the stage recorder.
+     *
+     * @return the recorder, null if this provider is disabled
+     */
+    StageRecorder provide();
+}
@@ -0,0 +1,77 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.protocol;
+
+import io.seata.common.util.StringUtils;
+
+/**
+ * The negotiation of the batched phase two requests.
+ * <p>
+ * An RM able to handle a {@link MergedWarpMessage} of branch commit and rollback requests from the TC declares it in
+ * the extra data of its {@link RegisterRMRequest}, and answers the batch with one {@link MergeResultMessage}. The TC
+ * only batches the phase two requests of the channels declaring it, the older RMs keep getting single requests.
+ *
+ * @author agent
+ */
+public final class PhaseTwoBatchProtocol {
+
+    /**
+     * The split of the extra data entries.
+     */
+    private static final String ENTRY_SPLIT = "\n";
+
+    /**
+     * The split of the key and the value of an extra data entry.
+     */
+    private static final String KEY_VALUE_SPLIT = "=";
+
+    private static final String PHASE_TWO_BATCH_KEY = "phaseTwoBatch";
+
+    private static final String ENABLED = "true";
+
+    private PhaseTwoBatchProtocol() {
+    }
+
+    /**
+     * Append the declaration to the extra data of the register request
+     *
+     * @param extraData the extra data of the register request, may be null
+     * @return the extra data
+     */
+    public static String appendRequestExtraData(String extraData) {
+        String entry = PHASE_TWO_BATCH_KEY + KEY_VALUE_SPLIT + ENABLED;
+        return StringUtils.isBlank(extraData) ? entry : extraData + ENTRY_SPLIT + entry;
+    }
+
+    /**
+     * Whether the register request declares the batched phase two support
+     *
+     * @param extraData the extra data of the register request
+     * @return true if declared
+     */
+    public static boolean isSupported(String extraData) {
+        if (StringUtils.isBlank(extraData)) {
+            return false;
+        }
+        for (String entry : extraData.split(ENTRY_SPLIT)) {
+            int idx = entry.indexOf(KEY_VALUE_SPLIT);
+            if (idx > 0 && PHASE_TWO_BATCH_KEY.equals(entry.substring(0, idx))) {
+                return ENABLED.equals(entry.substring(idx + 1));
+            }
+        }
+        return false;
+    }
+}
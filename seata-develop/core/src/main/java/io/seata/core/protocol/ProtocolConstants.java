@@ -15,10 +15,12 @@
  */
 package io.seata.core.protocol;
 
+import io.seata.common.util.SizeUtil;
 import io.seata.config.ConfigurationFactory;
 import io.seata.core.serializer.SerializerType;
 import io.seata.core.compressor.CompressorType;
 import io.seata.core.constants.ConfigurationKeys;
+import io.seata.core.constants.DefaultValues;
 
 /**
  * @author Geng Zhang
@@ -86,4 +88,10 @@ public class ProtocolConstants {
     public static final byte CONFIGURED_COMPRESSOR = CompressorType.getByName(ConfigurationFactory.getInstance()
             .getConfig(ConfigurationKeys.COMPRESSOR_FOR_RPC, CompressorType.NONE.name())).getCode();
 
+    /**
+     * Bodies smaller than the threshold are never compressed, whatever the configured compressor is
+     */
+    public static final long CONFIGURED_COMPRESSOR_THRESHOLD = SizeUtil.size2Long(ConfigurationFactory.getInstance()
+            .getConfig(ConfigurationKeys.COMPRESSOR_THRESHOLD_FOR_RPC, DefaultValues.DEFAULT_RPC_COMPRESSOR_THRESHOLD));
+
 }
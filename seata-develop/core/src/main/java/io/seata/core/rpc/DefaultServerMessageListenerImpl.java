@@ -31,6 +31,7 @@ import io.seata.core.protocol.AbstractResultMessage;
 import io.seata.core.protocol.HeartbeatMessage;
 import io.seata.core.protocol.MergeResultMessage;
 import io.seata.core.protocol.MergedWarpMessage;
+import io.seata.core.protocol.PhaseTwoBatchProtocol;
 import io.seata.core.protocol.RegisterRMRequest;
 import io.seata.core.protocol.RegisterRMResponse;
 import io.seata.core.protocol.RegisterTMRequest;
@@ -130,6 +131,8 @@ public class DefaultServerMessageListenerImpl implements ServerMessageListener {
                 /** 注册RM通道 */
                 ChannelManager.registerRMChannel(message, ctx.channel());
                 Version.putChannelVersion(ctx.channel(), message.getVersion());
+                ChannelManager.getContextFromIdentified(ctx.channel()).setPhaseTwoBatchEnabled(
+                    PhaseTwoBatchProtocol.isSupported(message.getExtraData()));
                 isSuccess = true;
                 if (LOGGER.isDebugEnabled()) {
                     LOGGER.debug("checkAuth for client:{},vgroup:{},applicationId:{}",
@@ -50,6 +50,8 @@ public class RpcContext {
 
     private Set<String> resourceSets;
 
+    private volatile boolean phaseTwoBatchEnabled;
+
     /**
      * id
      */
@@ -263,6 +265,24 @@ public class RpcContext {
         this.version = version;
     }
 
+    /**
+     * Whether the client accepts batched phase two requests.
+     *
+     * @return the boolean
+     */
+    public boolean isPhaseTwoBatchEnabled() {
+        return phaseTwoBatchEnabled;
+    }
+
+    /**
+     * Sets phase two batch enabled.
+     *
+     * @param phaseTwoBatchEnabled the phase two batch enabled
+     */
+    public void setPhaseTwoBatchEnabled(boolean phaseTwoBatchEnabled) {
+        this.phaseTwoBatchEnabled = phaseTwoBatchEnabled;
+    }
+
     /**
      * Gets get resource sets.
      *
@@ -25,12 +25,16 @@ import io.seata.common.exception.FrameworkErrorCode;
 import io.seata.common.exception.FrameworkException;
 import io.seata.common.thread.NamedThreadFactory;
 import io.seata.common.thread.PositiveAtomicCounter;
+import io.seata.core.metrics.Stage;
+import io.seata.core.metrics.StageMetrics;
 import io.seata.core.protocol.HeartbeatMessage;
 import io.seata.core.protocol.MergeMessage;
 import io.seata.core.protocol.MessageFuture;
 import io.seata.core.protocol.ProtocolConstants;
 import io.seata.core.protocol.RpcMessage;
 import io.seata.core.rpc.Disposable;
+import io.seata.discovery.loadbalance.LoadBalanceFactory;
+import io.seata.discovery.loadbalance.RpcStatus;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -214,6 +218,7 @@ public abstract class AbstractRpcRemoting implements Disposable {
             LOGGER.warn("sendAsyncRequestWithResponse nothing, caused by null channel.");
             return null;
         }
+        long begin = timeout > 0 ? StageMetrics.begin() : 0L;
         // 构建一个rpc消息
         final RpcMessage rpcMessage = new RpcMessage();
         // 设置消息id，从0开始递增
@@ -277,16 +282,34 @@ public abstract class AbstractRpcRemoting implements Disposable {
             sendSingleRequest(channel, msg, rpcMessage);
         }
         if (timeout > 0) {
+            boolean success = false;
+            boolean timedOut = false;
+            // the in-flight requests and response time per TC node, only read by the latency-aware load balance
+            boolean trackStatus = address != null && LoadBalanceFactory.isRpcStatusRequired();
+            long sendNanos = trackStatus ? System.nanoTime() : 0L;
+            if (trackStatus) {
+                RpcStatus.beginCount(address);
+            }
             try {
                 // 获取响应并返回
-                return messageFuture.get(timeout, TimeUnit.MILLISECONDS);
+                Object response = messageFuture.get(timeout, TimeUnit.MILLISECONDS);
+                success = true;
+                return response;
             } catch (Exception exx) {
                 LOGGER.error("wait response error:{},ip:{},request:{}", exx.getMessage(), address, msg);
                 if (exx instanceof TimeoutException) {
+                    timedOut = true;
                     throw (TimeoutException) exx;
                 } else {
                     throw new RuntimeException(exx);
                 }
+            } finally {
+                if (trackStatus) {
+                    RpcStatus.endCount(address, System.nanoTime() - sendNanos, timedOut);
+                }
+                if (begin != 0L) {
+                    StageMetrics.end(Stage.RPC_WAIT, null, msg.getClass().getSimpleName(), begin, success);
+                }
             }
         } else {
             return null;
@@ -507,9 +530,11 @@ public abstract class AbstractRpcRemoting implements Disposable {
                         LOGGER.debug(String.format("%s msgId:%s, body:%s", this, rpcMessage.getId(), rpcMessage.getBody()));
                     }
                     try {
+                        final long enqueueTime = StageMetrics.begin();
                         messageExecutor.execute(new Runnable() {
                             @Override
                             public void run() {
+                                StageMetrics.end(Stage.WORKER_QUEUE_WAIT, enqueueTime, true);
                                 try {
                                     /** dispatch是抽象类，由具体的子类实现 */
                                     dispatch(rpcMessage, ctx);
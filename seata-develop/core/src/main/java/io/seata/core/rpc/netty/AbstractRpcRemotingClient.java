@@ -35,6 +35,7 @@ import io.seata.common.exception.FrameworkErrorCode;
 import io.seata.common.exception.FrameworkException;
 import io.seata.common.thread.NamedThreadFactory;
 import io.seata.common.util.NetUtil;
+import io.seata.core.metrics.StageMetrics;
 import io.seata.core.protocol.AbstractMessage;
 import io.seata.core.protocol.HeartbeatMessage;
 import io.seata.core.protocol.MergeResultMessage;
@@ -42,9 +43,12 @@ import io.seata.core.protocol.MergedWarpMessage;
 import io.seata.core.protocol.MessageFuture;
 import io.seata.core.protocol.RpcMessage;
 import io.seata.core.rpc.ClientMessageListener;
+import io.seata.core.protocol.transaction.AbstractGlobalEndRequest;
+import io.seata.core.protocol.transaction.BranchRegisterRequest;
+import io.seata.core.protocol.transaction.BranchReportRequest;
 import io.seata.core.rpc.ClientMessageSender;
 import io.seata.discovery.loadbalance.LoadBalanceFactory;
-import io.seata.discovery.registry.RegistryFactory;
+import io.seata.discovery.registry.ServiceAddressBook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -121,6 +125,7 @@ public abstract class AbstractRpcRemotingClient extends AbstractRpcRemoting
      */
     @Override
     public void init() {
+        StageMetrics.loadRecorder();
         /** 创建客户端处理器 */
         clientBootstrap.setChannelHandlers(new ClientHandler());
         // 开启客户端服务
@@ -171,7 +176,7 @@ public abstract class AbstractRpcRemotingClient extends AbstractRpcRemoting
     @Override
     public Object sendMsgWithResponse(Object msg, long timeout) throws TimeoutException {
         /** 从服务组里面选择一个 */
-        String validAddress = loadBalance(getTransactionServiceGroup());
+        String validAddress = loadBalance(getTransactionServiceGroup(), getXid(msg));
         /** 获取客户端连接到服务端后的channel */
         Channel channel = clientChannelManager.acquireChannel(validAddress);
         /** 客户端异步发送请求给TC */
@@ -229,15 +234,16 @@ public abstract class AbstractRpcRemotingClient extends AbstractRpcRemoting
     /**
      * 负载均衡选择一个地址
      * @param transactionServiceGroup
+     * @param xid the xid of the request, null if it has none
      * @return
      */
-    private String loadBalance(String transactionServiceGroup) {
+    private String loadBalance(String transactionServiceGroup, String xid) {
         InetSocketAddress address = null;
         try {
             /** 从注册中心通过serviceGroup拿到所有的TC服务的地址 */
-            List<InetSocketAddress> inetSocketAddressList = RegistryFactory.getInstance().lookup(transactionServiceGroup);
+            List<InetSocketAddress> inetSocketAddressList = ServiceAddressBook.lookup(transactionServiceGroup);
             /** 负载均衡选择一个地址  LoadBalanceFactory.getInstance()，获取负载均衡策略，轮询和随机两种 */
-            address = LoadBalanceFactory.getInstance().select(inetSocketAddressList);
+            address = LoadBalanceFactory.getInstance().select(inetSocketAddressList, xid);
         } catch (Exception ex) {
             LOGGER.error(ex.getMessage());
         }
@@ -248,6 +254,19 @@ public abstract class AbstractRpcRemotingClient extends AbstractRpcRemoting
         return NetUtil.toStringAddress(address);
     }
 
+    private static String getXid(Object msg) {
+        if (msg instanceof BranchRegisterRequest) {
+            return ((BranchRegisterRequest)msg).getXid();
+        }
+        if (msg instanceof BranchReportRequest) {
+            return ((BranchReportRequest)msg).getXid();
+        }
+        if (msg instanceof AbstractGlobalEndRequest) {
+            return ((AbstractGlobalEndRequest)msg).getXid();
+        }
+        return null;
+    }
+
     private String getThreadPrefix() {
         return AbstractRpcRemotingClient.MERGE_THREAD_PREFIX + THREAD_PREFIX_SPLIT_CHAR + transactionRole.name();
     }
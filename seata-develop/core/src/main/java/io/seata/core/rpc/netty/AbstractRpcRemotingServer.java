@@ -20,8 +20,16 @@ import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.timeout.IdleState;
 import io.netty.handler.timeout.IdleStateEvent;
+import io.seata.common.exception.FrameworkErrorCode;
+import io.seata.common.exception.FrameworkException;
+import io.seata.common.thread.NamedThreadFactory;
 import io.seata.common.util.NetUtil;
+import io.seata.core.protocol.AbstractMessage;
 import io.seata.core.protocol.HeartbeatMessage;
+import io.seata.core.protocol.MergeMessage;
+import io.seata.core.protocol.MergeResultMessage;
+import io.seata.core.protocol.MergedWarpMessage;
+import io.seata.core.protocol.MessageFuture;
 import io.seata.core.protocol.RegisterRMRequest;
 import io.seata.core.protocol.RegisterTMRequest;
 import io.seata.core.protocol.RpcMessage;
@@ -33,7 +41,14 @@ import io.seata.core.rpc.TransactionMessageHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * The type Rpc remoting server.
@@ -56,6 +71,25 @@ public abstract class AbstractRpcRemotingServer extends AbstractRpcRemoting impl
 
     private RegisterCheckAuthHandler checkAuthHandler;
 
+    private static final int MAX_MERGE_SEND_MILLS = 1;
+
+    /**
+     * the max requests of a batch, the RM answers a batch only after its last request,
+     * a small batch keeps one slow branch from delaying many others
+     */
+    private static final int MAX_BATCH_SIZE = 64;
+
+    private static final long MERGE_MSG_CHECK_INTERVAL = 3000L;
+
+    private static final String MERGE_THREAD_PREFIX = "rpcServerMergeMessageSend";
+
+    /**
+     * The batched phase two requests waiting to be sent per RM channel.
+     */
+    private final ConcurrentHashMap<Channel, BlockingQueue<RpcMessage>> channelBasketMap = new ConcurrentHashMap<>();
+
+    private ExecutorService mergeSendExecutorService;
+
     /**
      * 构建rpc服务端
      * Instantiates a new Rpc remoting server.
@@ -143,6 +177,13 @@ public abstract class AbstractRpcRemotingServer extends AbstractRpcRemoting impl
     public void init() {
         /** 调用父类（AbstractRpcRemoting）的构造函数 清除超时的future */
         super.init();
+        if (NettyServerConfig.isEnableServerBatchSendRequest()) {
+            mergeSendExecutorService = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new NamedThreadFactory(MERGE_THREAD_PREFIX, 1));
+            mergeSendExecutorService.submit(new MergedSendRunnable());
+            timerExecutor.scheduleAtFixedRate(this::clearUnansweredMergeMessages, MERGE_MSG_CHECK_INTERVAL,
+                MERGE_MSG_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+        }
         /** 启动TC服务 */
         serverBootstrap.start();
     }
@@ -150,9 +191,124 @@ public abstract class AbstractRpcRemotingServer extends AbstractRpcRemoting impl
     @Override
     public void destroy() {
         serverBootstrap.shutdown();
+        if (mergeSendExecutorService != null) {
+            mergeSendExecutorService.shutdownNow();
+        }
         super.destroy();
     }
 
+    /**
+     * Send a request merged with the other requests to the same channel, and wait for its response.
+     * The requests are sent as one {@link MergedWarpMessage} and answered with one {@link MergeResultMessage}.
+     *
+     * @param channel the channel
+     * @param msg     the msg
+     * @param timeout the timeout
+     * @return the response
+     * @throws TimeoutException the timeout exception
+     */
+    protected Object sendMergedRequestWithResponse(Channel channel, AbstractMessage msg, long timeout)
+        throws TimeoutException {
+        RpcMessage rpcMessage = new RpcMessage();
+        rpcMessage.setId(getNextMessageId());
+        rpcMessage.setBody(msg);
+        MessageFuture messageFuture = new MessageFuture();
+        messageFuture.setRequestMessage(rpcMessage);
+        messageFuture.setTimeout(timeout);
+        futures.put(rpcMessage.getId(), messageFuture);
+
+        channelBasketMap.computeIfAbsent(channel, k -> new LinkedBlockingQueue<>()).offer(rpcMessage);
+        if (!isSending) {
+            synchronized (mergeLock) {
+                mergeLock.notifyAll();
+            }
+        }
+        try {
+            return messageFuture.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            LOGGER.error("wait merged response timeout, channel:{}, request:{}", channel, msg);
+            throw e;
+        } catch (Exception e) {
+            LOGGER.error("wait merged response error:{}, channel:{}, request:{}", e.getMessage(), channel, msg);
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Remove the batches whose requests were all answered or timed out, the RM may never answer a batch
+     * (channel closed, RM restarted), the timeout check of the futures does not know about the batch.
+     */
+    private void clearUnansweredMergeMessages() {
+        for (Map.Entry<Integer, MergeMessage> entry : mergeMsgMap.entrySet()) {
+            boolean waiting = false;
+            for (Integer msgId : ((MergedWarpMessage)entry.getValue()).msgIds) {
+                if (futures.containsKey(msgId)) {
+                    waiting = true;
+                    break;
+                }
+            }
+            if (!waiting) {
+                mergeMsgMap.remove(entry.getKey());
+            }
+        }
+    }
+
+    private class MergedSendRunnable implements Runnable {
+
+        @Override
+        public void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                synchronized (mergeLock) {
+                    try {
+                        mergeLock.wait(MAX_MERGE_SEND_MILLS);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                isSending = true;
+                for (Map.Entry<Channel, BlockingQueue<RpcMessage>> entry : channelBasketMap.entrySet()) {
+                    Channel channel = entry.getKey();
+                    BlockingQueue<RpcMessage> basket = entry.getValue();
+                    if (!channel.isActive()) {
+                        channelBasketMap.remove(channel);
+                    }
+                    while (!basket.isEmpty()) {
+                        MergedWarpMessage mergeMessage = new MergedWarpMessage();
+                        RpcMessage msg;
+                        while (mergeMessage.msgIds.size() < MAX_BATCH_SIZE && (msg = basket.poll()) != null) {
+                            mergeMessage.msgs.add((AbstractMessage)msg.getBody());
+                            mergeMessage.msgIds.add(msg.getId());
+                        }
+                        sendMergeMessage(channel, mergeMessage);
+                    }
+                }
+                isSending = false;
+            }
+        }
+
+        private void sendMergeMessage(Channel channel, MergedWarpMessage mergeMessage) {
+            try {
+                if (!channel.isActive()) {
+                    throw new FrameworkException("rm channel is inactive:" + channel,
+                        FrameworkErrorCode.ChannelIsNotWritable);
+                }
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("merge msg size:{}, channel:{}", mergeMessage.msgIds.size(), channel);
+                }
+                defaultSendRequest(channel, mergeMessage);
+            } catch (FrameworkException e) {
+                // fast fail
+                for (Integer msgId : mergeMessage.msgIds) {
+                    MessageFuture messageFuture = futures.remove(msgId);
+                    if (messageFuture != null) {
+                        messageFuture.setResultMessage(e);
+                    }
+                }
+                LOGGER.error("server merge call failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
     /**
      * Debug log.
      *
@@ -251,6 +407,21 @@ public abstract class AbstractRpcRemotingServer extends AbstractRpcRemoting impl
                     serverMessageListener.onCheckMessage(rpcMessage, ctx);
                     return;
                 }
+                // the results of the batched phase two requests
+                if (rpcMessage.getBody() instanceof MergeResultMessage) {
+                    MergeResultMessage results = (MergeResultMessage) rpcMessage.getBody();
+                    MergedWarpMessage mergeMessage = (MergedWarpMessage) mergeMsgMap.remove(rpcMessage.getId());
+                    if (mergeMessage == null) {
+                        return;
+                    }
+                    for (int i = 0; i < mergeMessage.msgIds.size(); i++) {
+                        MessageFuture future = futures.remove(mergeMessage.msgIds.get(i));
+                        if (future != null) {
+                            future.setResultMessage(results.getMsgs()[i]);
+                        }
+                    }
+                    return;
+                }
             }
             /** 调用父类的通道处理方法 */
             super.channelRead(ctx, msg);
@@ -22,6 +22,7 @@ import io.seata.common.util.CollectionUtils;
 import io.seata.common.util.NetUtil;
 import io.seata.core.protocol.RegisterRMRequest;
 import io.seata.discovery.registry.RegistryFactory;
+import io.seata.discovery.registry.ServiceAddressBook;
 import org.apache.commons.pool.impl.GenericKeyedObjectPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -233,8 +234,8 @@ class NettyClientChannelManager {
      */
     private List<String> getAvailServerList(String transactionServiceGroup) throws Exception {
         // 从适配的注册中心中获取可用的服务端（ip + port）列表
-        List<InetSocketAddress> availInetSocketAddressList = RegistryFactory.getInstance()
-                                                                            .lookup(transactionServiceGroup);
+        List<InetSocketAddress> availInetSocketAddressList = ServiceAddressBook.lookup(
+            transactionServiceGroup);
         if (CollectionUtils.isEmpty(availInetSocketAddressList)) {
             return Collections.emptyList();
         }
@@ -22,6 +22,7 @@ import io.seata.core.constants.ConfigurationKeys;
 
 import static io.seata.core.constants.DefaultValues.DEFAULT_BOSS_THREAD_PREFIX;
 import static io.seata.core.constants.DefaultValues.DEFAULT_BOSS_THREAD_SIZE;
+import static io.seata.core.constants.DefaultValues.DEFAULT_ENABLE_SERVER_BATCH_SEND_REQUEST;
 import static io.seata.core.constants.DefaultValues.DEFAULT_EXECUTOR_THREAD_PREFIX;
 import static io.seata.core.constants.DefaultValues.DEFAULT_NIO_WORKER_THREAD_PREFIX;
 import static io.seata.core.constants.DefaultValues.DEFAULT_SHUTDOWN_TIMEOUT_SEC;
@@ -44,6 +45,9 @@ public class NettyServerConfig extends NettyBaseConfig {
     private static final int RPC_REQUEST_TIMEOUT = 30 * 1000;
     private int serverChannelMaxIdleTimeSeconds = 30;
     private static final String EPOLL_WORKER_THREAD_PREFIX = "NettyServerEPollWorker";
+    // transport.enableServerBatchSendRequest = false
+    private static final boolean ENABLE_SERVER_BATCH_SEND_REQUEST = CONFIG.getBoolean(
+        ConfigurationKeys.ENABLE_SERVER_BATCH_SEND_REQUEST, DEFAULT_ENABLE_SERVER_BATCH_SEND_REQUEST);
 
     /**
      * The Server channel clazz.
@@ -224,6 +228,15 @@ public class NettyServerConfig extends NettyBaseConfig {
         return RPC_REQUEST_TIMEOUT;
     }
 
+    /**
+     * Whether the phase two requests to the same RM channel are batched.
+     *
+     * @return the boolean
+     */
+    public static boolean isEnableServerBatchSendRequest() {
+        return ENABLE_SERVER_BATCH_SEND_REQUEST;
+    }
+
     /**
      * Get boss thread prefix string.
      *
@@ -15,9 +15,20 @@
  */
 package io.seata.core.rpc.netty;
 
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import io.seata.common.exception.FrameworkErrorCode;
+import io.seata.core.protocol.AbstractMessage;
+import io.seata.core.protocol.AbstractResultMessage;
+import io.seata.core.protocol.MergeResultMessage;
+import io.seata.core.protocol.MergedWarpMessage;
 import io.seata.core.protocol.ResultCode;
 import io.seata.core.protocol.RpcMessage;
+import io.seata.core.model.BranchStatus;
+import io.seata.core.protocol.transaction.AbstractBranchEndResponse;
+import io.seata.core.protocol.transaction.AbstractBranchEndRequest;
 import io.seata.core.protocol.transaction.BranchCommitRequest;
 import io.seata.core.protocol.transaction.BranchCommitResponse;
 import io.seata.core.protocol.transaction.BranchRollbackRequest;
@@ -39,10 +50,18 @@ public class RmMessageListener implements ClientMessageListener {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(RmMessageListener.class);
 
+    /**
+     * the time spent on a batch before its remaining requests are answered as retryable,
+     * well below the 30s the TC waits for a response
+     */
+    private static final long MAX_BATCH_HANDLE_MILLS = 10 * 1000L;
+
     private TransactionMessageHandler handler;
 
     private ClientMessageSender sender;
 
+    private Executor branchEndExecutor;
+
     /**
      * 初始化RmMessageListener
      * Instantiates a new Rm message listener.
@@ -65,6 +84,16 @@ public class RmMessageListener implements ClientMessageListener {
         return sender;
     }
 
+    /**
+     * Sets the executor the batched phase two requests are handled on, without it a batch is handled on the
+     * calling thread one by one.
+     *
+     * @param branchEndExecutor the branch end executor
+     */
+    public void setBranchEndExecutor(Executor branchEndExecutor) {
+        this.branchEndExecutor = branchEndExecutor;
+    }
+
     /**
      * 这里放的是 DefaultRMHandler
      * Sets handler.
@@ -98,7 +127,85 @@ public class RmMessageListener implements ClientMessageListener {
         } else if (msg instanceof UndoLogDeleteRequest) {
             /** 处理undolog删除 */
             handleUndoLogDelete((UndoLogDeleteRequest) msg);
+        } else if (msg instanceof MergedWarpMessage) {
+            handleBatchBranchEnd(request, serverAddress, (MergedWarpMessage)msg);
+        }
+    }
+
+    /**
+     * Handle the batched phase two requests of the TC and answer them with one merged result.
+     * The requests of a batch are handled in parallel on the branch end executor, as the individual requests
+     * would be, and the last one to finish sends the merged result, no thread waits for the batch. The commits are
+     * only queued by the resource managers, whose async worker deletes the undo logs per resource, each rollback
+     * keeps its own local transaction.
+     * The TC waits for the whole batch, so the requests not started within {@link #MAX_BATCH_HANDLE_MILLS}
+     * are answered as retryable without being handled, the TC retries them later.
+     *
+     * @param request       the request
+     * @param serverAddress the server address
+     * @param mergeMessage  the batched branch commit and rollback requests
+     */
+    private void handleBatchBranchEnd(RpcMessage request, String serverAddress, MergedWarpMessage mergeMessage) {
+        AbstractResultMessage[] results = new AbstractResultMessage[mergeMessage.msgs.size()];
+        AtomicInteger remaining = new AtomicInteger(results.length);
+        long deadline = System.currentTimeMillis() + MAX_BATCH_HANDLE_MILLS;
+        for (int i = 0; i < results.length; i++) {
+            int index = i;
+            Runnable task = () -> {
+                results[index] = handleBatchedBranchEnd(mergeMessage.msgs.get(index), deadline);
+                if (remaining.decrementAndGet() == 0) {
+                    sendBatchResponse(request, serverAddress, results);
+                }
+            };
+            if (branchEndExecutor == null) {
+                task.run();
+                continue;
+            }
+            try {
+                branchEndExecutor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        }
+    }
+
+    private AbstractResultMessage handleBatchedBranchEnd(AbstractMessage subMessage, long deadline) {
+        if (System.currentTimeMillis() > deadline) {
+            return retryableResponse(subMessage, "batch handle timeout, retry later");
+        }
+        try {
+            return handler.onRequest(subMessage, null);
+        } catch (Exception e) {
+            LOGGER.error(FrameworkErrorCode.NetOnMessage.getErrCode(), e.getMessage(), e);
+            return retryableResponse(subMessage, e.getMessage());
+        }
+    }
+
+    private void sendBatchResponse(RpcMessage request, String serverAddress, AbstractResultMessage[] results) {
+        MergeResultMessage resultMessage = new MergeResultMessage();
+        resultMessage.setMsgs(results);
+        try {
+            getSender().sendResponse(request, serverAddress, resultMessage);
+        } catch (Throwable throwable) {
+            LOGGER.error("send response error: {}", throwable.getMessage(), throwable);
+        }
+    }
+
+    private AbstractBranchEndResponse retryableResponse(AbstractMessage subMessage, String msg) {
+        AbstractBranchEndResponse response;
+        if (subMessage instanceof BranchRollbackRequest) {
+            response = new BranchRollbackResponse();
+            response.setBranchStatus(BranchStatus.PhaseTwo_RollbackFailed_Retryable);
+        } else {
+            response = new BranchCommitResponse();
+            response.setBranchStatus(BranchStatus.PhaseTwo_CommitFailed_Retryable);
         }
+        AbstractBranchEndRequest endRequest = (AbstractBranchEndRequest)subMessage;
+        response.setXid(endRequest.getXid());
+        response.setBranchId(endRequest.getBranchId());
+        response.setResultCode(ResultCode.Failed);
+        response.setMsg(msg);
+        return response;
     }
 
     /**
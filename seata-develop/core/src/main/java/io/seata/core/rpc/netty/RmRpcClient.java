@@ -33,8 +33,12 @@ import io.seata.common.thread.NamedThreadFactory;
 import io.seata.core.model.Resource;
 import io.seata.core.model.ResourceManager;
 import io.seata.core.protocol.AbstractMessage;
+import io.seata.core.protocol.PhaseTwoBatchProtocol;
+import io.seata.core.protocol.ProtocolConstants;
 import io.seata.core.protocol.RegisterRMRequest;
 import io.seata.core.protocol.RegisterRMResponse;
+import io.seata.core.serializer.SerializerType;
+import io.seata.core.rpc.ClientMessageListener;
 import io.seata.core.rpc.netty.NettyPoolKey.TransactionRole;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -139,6 +143,15 @@ public final class RmRpcClient extends AbstractRpcRemotingClient {
         this.resourceManager = resourceManager;
     }
 
+    @Override
+    public void setClientMessageListener(ClientMessageListener clientMessageListener) {
+        if (clientMessageListener instanceof RmMessageListener) {
+            // the batched phase two requests run in parallel on the same threads as the individual ones
+            ((RmMessageListener)clientMessageListener).setBranchEndExecutor(messageExecutor);
+        }
+        super.setClientMessageListener(clientMessageListener);
+    }
+
     /**
      * 初始化 RM Client
      */
@@ -165,7 +178,7 @@ public final class RmRpcClient extends AbstractRpcRemotingClient {
             if (null != resourceIds && LOGGER.isInfoEnabled()) {
                 LOGGER.info("RM will register :{}", resourceIds);
             }
-            RegisterRMRequest message = new RegisterRMRequest(applicationId, transactionServiceGroup);
+            RegisterRMRequest message = newRegisterRMRequest();
             message.setResourceIds(resourceIds);
             return new NettyPoolKey(NettyPoolKey.TransactionRole.RMROLE, serverAddress, message);
         };
@@ -194,6 +207,15 @@ public final class RmRpcClient extends AbstractRpcRemotingClient {
 
     }
 
+    private RegisterRMRequest newRegisterRMRequest() {
+        RegisterRMRequest message = new RegisterRMRequest(applicationId, transactionServiceGroup);
+        if (ProtocolConstants.CONFIGURED_CODEC == SerializerType.SEATA.getCode()) {
+            // RmMessageListener answers the batched phase two requests
+            message.setExtraData(PhaseTwoBatchProtocol.appendRequestExtraData(message.getExtraData()));
+        }
+        return message;
+    }
+
     @Override
     public void onRegisterMsgFail(String serverAddress, Channel channel, Object response,
                                   AbstractMessage requestMessage) {
@@ -229,7 +251,7 @@ public final class RmRpcClient extends AbstractRpcRemotingClient {
     }
 
     public void sendRegisterMessage(String serverAddress, Channel channel, String resourceId) {
-        RegisterRMRequest message = new RegisterRMRequest(applicationId, transactionServiceGroup);
+        RegisterRMRequest message = newRegisterRMRequest();
         message.setResourceIds(resourceId);
         try {
             super.sendAsyncRequestWithoutResponse(channel, message);
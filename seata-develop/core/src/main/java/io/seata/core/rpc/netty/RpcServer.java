@@ -19,10 +19,13 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeoutException;
 
 import io.netty.channel.Channel;
+import io.seata.core.protocol.AbstractMessage;
 import io.seata.core.protocol.HeartbeatMessage;
 import io.seata.core.protocol.RpcMessage;
+import io.seata.core.protocol.transaction.AbstractBranchEndRequest;
 import io.seata.core.rpc.ChannelManager;
 import io.seata.core.rpc.DefaultServerMessageListenerImpl;
+import io.seata.core.rpc.RpcContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -122,6 +125,12 @@ public class RpcServer extends AbstractRpcRemotingServer {
                 + ",clientId:" + clientId);
 
         }
+        if (message instanceof AbstractBranchEndRequest && NettyServerConfig.isEnableServerBatchSendRequest()) {
+            RpcContext rpcContext = ChannelManager.getContextFromIdentified(clientChannel);
+            if (rpcContext != null && rpcContext.isPhaseTwoBatchEnabled()) {
+                return sendMergedRequestWithResponse(clientChannel, (AbstractMessage)message, timeout);
+            }
+        }
         /** 发送请求 */
         return sendAsyncRequestWithResponse(null, clientChannel, message, timeout);
     }
@@ -22,6 +22,8 @@ import io.seata.core.serializer.Serializer;
 import io.seata.core.serializer.SerializerFactory;
 import io.seata.core.compressor.Compressor;
 import io.seata.core.compressor.CompressorFactory;
+import io.seata.core.metrics.Stage;
+import io.seata.core.metrics.StageMetrics;
 import io.seata.core.protocol.HeartbeatMessage;
 import io.seata.core.protocol.ProtocolConstants;
 import io.seata.core.protocol.RpcMessage;
@@ -82,13 +84,18 @@ public class ProtocolV1Decoder extends LengthFieldBasedFrameDecoder {
         Object decoded = super.decode(ctx, in);
         if (decoded instanceof ByteBuf) {
             ByteBuf frame = (ByteBuf) decoded;
+            long begin = StageMetrics.begin();
+            boolean success = false;
             try {
-                return decodeFrame(frame);
+                Object message = decodeFrame(frame);
+                success = true;
+                return message;
             } catch (Exception e) {
                 LOGGER.error("Decode frame error!", e);
                 throw e;
             } finally {
                 frame.release();
+                StageMetrics.end(Stage.DECODE, begin, success);
             }
         }
         return decoded;
@@ -22,6 +22,9 @@ import io.seata.core.serializer.Serializer;
 import io.seata.core.serializer.SerializerFactory;
 import io.seata.core.compressor.Compressor;
 import io.seata.core.compressor.CompressorFactory;
+import io.seata.core.compressor.CompressorType;
+import io.seata.core.metrics.Stage;
+import io.seata.core.metrics.StageMetrics;
 import io.seata.core.protocol.ProtocolConstants;
 import io.seata.core.protocol.RpcMessage;
 import org.slf4j.Logger;
@@ -76,6 +79,8 @@ public class ProtocolV1Encoder extends MessageToByteEncoder {
                 out.writerIndex(out.writerIndex() + 6);
                 out.writeByte(messageType);
                 out.writeByte(rpcMessage.getCodec());
+                // the compressor may fall back to NONE after the body is serialized
+                int compressorIndex = out.writerIndex();
                 out.writeByte(rpcMessage.getCompressor());
                 out.writeInt(rpcMessage.getId());
 
@@ -93,8 +98,15 @@ public class ProtocolV1Encoder extends MessageToByteEncoder {
                     // heartbeat has no body
                     Serializer serializer = SerializerFactory.getSerializer(rpcMessage.getCodec());
                     bodyBytes = serializer.serialize(rpcMessage.getBody());
-                    Compressor compressor = CompressorFactory.getCompressor(rpcMessage.getCompressor());
-                    bodyBytes = compressor.compress(bodyBytes);
+                    byte compressorType = rpcMessage.getCompressor();
+                    if (compressorType != CompressorType.NONE.getCode()) {
+                        byte[] compressedBytes = compress(compressorType, bodyBytes);
+                        if (compressedBytes == null) {
+                            out.setByte(compressorIndex, CompressorType.NONE.getCode());
+                        } else {
+                            bodyBytes = compressedBytes;
+                        }
+                    }
                     fullLength += bodyBytes.length;
                 }
 
@@ -116,4 +128,23 @@ public class ProtocolV1Encoder extends MessageToByteEncoder {
             LOGGER.error("Encode request error!", e);
         }
     }
+
+    /**
+     * Compress the body when it reaches the threshold and the compressed body is smaller.
+     *
+     * @return the compressed body, null if the body should be sent uncompressed
+     */
+    private byte[] compress(byte compressorType, byte[] bodyBytes) {
+        if (bodyBytes.length == 0 || bodyBytes.length < ProtocolConstants.CONFIGURED_COMPRESSOR_THRESHOLD) {
+            return null;
+        }
+        Compressor compressor = CompressorFactory.getCompressor(compressorType);
+        byte[] compressedBytes = compressor.compress(bodyBytes);
+        if (StageMetrics.isEnabled()) {
+            // tagged by the compressor, a tag per channel would grow with the clients
+            StageMetrics.recordValue(Stage.RPC_COMPRESS_RATIO, null, CompressorType.getByCode(compressorType).name(),
+                compressedBytes.length * 100L / bodyBytes.length);
+        }
+        return compressedBytes.length < bodyBytes.length ? compressedBytes : null;
+    }
 }
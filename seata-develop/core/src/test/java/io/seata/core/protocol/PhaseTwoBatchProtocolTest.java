@@ -0,0 +1,42 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.protocol;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Phase two batch protocol test.
+ *
+ * @author agent
+ */
+public class PhaseTwoBatchProtocolTest {
+
+    @Test
+    public void testNegotiate() {
+        Assertions.assertFalse(PhaseTwoBatchProtocol.isSupported(null));
+        Assertions.assertFalse(PhaseTwoBatchProtocol.isSupported("capability=other"));
+
+        Assertions.assertTrue(PhaseTwoBatchProtocol.isSupported(PhaseTwoBatchProtocol.appendRequestExtraData(null)));
+    }
+
+    @Test
+    public void testAppendToExtraData() {
+        String extraData = PhaseTwoBatchProtocol.appendRequestExtraData("capability=other");
+        Assertions.assertTrue(PhaseTwoBatchProtocol.isSupported(extraData));
+        Assertions.assertTrue(extraData.startsWith("capability=other\n"));
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.core.rpc.netty;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.core.model.BranchStatus;
+import io.seata.core.protocol.MergeResultMessage;
+import io.seata.core.protocol.MergedWarpMessage;
+import io.seata.core.protocol.RpcMessage;
+import io.seata.core.protocol.transaction.BranchRollbackRequest;
+import io.seata.core.protocol.transaction.BranchRollbackResponse;
+import io.seata.core.rpc.ClientMessageSender;
+import io.seata.core.rpc.TransactionMessageHandler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The type Rm message listener test.
+ *
+ * @author agent
+ */
+public class RmMessageListenerTest {
+
+    private static final String SERVER_ADDRESS = "127.0.0.1:8091";
+
+    @Test
+    public void testBatchBranchEndInParallel() {
+        TransactionMessageHandler handler = mock(TransactionMessageHandler.class);
+        ClientMessageSender sender = mock(ClientMessageSender.class);
+        // each rollback only finishes once the other one runs too
+        CountDownLatch running = new CountDownLatch(2);
+        when(handler.onRequest(any(BranchRollbackRequest.class), any())).thenAnswer(invocation -> {
+            running.countDown();
+            BranchRollbackRequest request = invocation.getArgument(0);
+            BranchRollbackResponse response = new BranchRollbackResponse();
+            response.setXid(request.getXid());
+            response.setBranchId(request.getBranchId());
+            response.setBranchStatus(running.await(5, TimeUnit.SECONDS)
+                ? BranchStatus.PhaseTwo_Rollbacked : BranchStatus.PhaseTwo_RollbackFailed_Retryable);
+            return response;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            RmMessageListener listener = new RmMessageListener(handler, sender);
+            listener.setBranchEndExecutor(executor);
+            MergedWarpMessage mergeMessage = new MergedWarpMessage();
+            mergeMessage.msgs.add(rollbackRequest(1L));
+            mergeMessage.msgs.add(rollbackRequest(2L));
+            RpcMessage request = new RpcMessage();
+            request.setBody(mergeMessage);
+
+            listener.onMessage(request, SERVER_ADDRESS);
+
+            ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+            verify(sender, timeout(5000)).sendResponse(eq(request), eq(SERVER_ADDRESS), captor.capture());
+            MergeResultMessage result = (MergeResultMessage)captor.getValue();
+            Assertions.assertEquals(2, result.getMsgs().length);
+            for (int i = 0; i < 2; i++) {
+                BranchRollbackResponse response = (BranchRollbackResponse)result.getMsgs()[i];
+                Assertions.assertEquals(i + 1L, response.getBranchId());
+                Assertions.assertEquals(BranchStatus.PhaseTwo_Rollbacked, response.getBranchStatus());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static BranchRollbackRequest rollbackRequest(long branchId) {
+        BranchRollbackRequest request = new BranchRollbackRequest();
+        request.setXid("127.0.0.1:8091:1");
+        request.setBranchId(branchId);
+        request.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        return request;
+    }
+}
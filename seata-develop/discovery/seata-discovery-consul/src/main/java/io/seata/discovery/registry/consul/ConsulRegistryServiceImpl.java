@@ -26,6 +26,7 @@ import io.seata.common.util.NetUtil;
 import io.seata.config.Configuration;
 import io.seata.config.ConfigurationFactory;
 import io.seata.discovery.registry.RegistryService;
+import io.seata.discovery.registry.ServiceAddressBook;
 
 import java.net.InetSocketAddress;
 import java.util.Collections;
@@ -154,7 +155,10 @@ public class ConsulRegistryServiceImpl implements RegistryService<ConsulListener
             //1.refresh cluster
             refreshCluster(cluster);
             //2. subscribe
-            subscribe(cluster, services -> refreshCluster(cluster, services));
+            subscribe(cluster, services -> {
+                refreshCluster(cluster, services);
+                ServiceAddressBook.clusterChanged(cluster);
+            });
         }
         return clusterAddressMap.get(cluster);
     }
@@ -313,6 +317,11 @@ public class ConsulRegistryServiceImpl implements RegistryService<ConsulListener
         }
     }
 
+    @Override
+    public boolean isChangeNotified() {
+        return true;
+    }
+
     @Override
     public void close() throws Exception {
         client = null;
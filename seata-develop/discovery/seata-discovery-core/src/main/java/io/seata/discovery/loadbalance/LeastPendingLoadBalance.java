@@ -0,0 +1,105 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.discovery.loadbalance;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.common.loader.LoadLevel;
+import io.seata.common.util.NetUtil;
+
+/**
+ * The type Least pending load balance.
+ * Picks two random TC nodes and takes the one with the lower cost, i.e. EWMA response time times the
+ * requests in flight (power of two choices). A node without a completed request yet is costed at the mean EWMA of
+ * the nodes, so a new node is not flooded before its first response. Nodes whose requests timed out recently are
+ * skipped while any other node is available.
+ *
+ * @author agent
+ * @see RpcStatus
+ */
+@LoadLevel(name = "LeastPendingLoadBalance", order = 4)
+public class LeastPendingLoadBalance extends AbstractLoadBalance {
+
+    /**
+     * The EWMA of a new node when no node has completed a request yet.
+     */
+    private static final double MIN_EWMA_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Override
+    protected <T> T doSelect(List<T> invokers) {
+        List<T> available = invokers;
+        for (int i = 0; i < invokers.size(); i++) {
+            if (getStatus(invokers.get(i)).isEjected()) {
+                if (available == invokers) {
+                    available = new ArrayList<>(invokers.subList(0, i));
+                }
+            } else if (available != invokers) {
+                available.add(invokers.get(i));
+            }
+        }
+        if (available.isEmpty()) {
+            // every node timed out recently, don't fail the request on the client side
+            available = invokers;
+        }
+        int size = available.size();
+        if (size == 1) {
+            return available.get(0);
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = random.nextInt(size - 1);
+        if (second >= first) {
+            second++;
+        }
+        T firstInvoker = available.get(first);
+        T secondInvoker = available.get(second);
+        RpcStatus firstStatus = getStatus(firstInvoker);
+        RpcStatus secondStatus = getStatus(secondInvoker);
+        if (firstStatus.getEwma() == 0D || secondStatus.getEwma() == 0D) {
+            double meanEwma = meanEwma(available);
+            return cost(firstStatus, meanEwma) <= cost(secondStatus, meanEwma) ? firstInvoker : secondInvoker;
+        }
+        return cost(firstStatus, 0D) <= cost(secondStatus, 0D) ? firstInvoker : secondInvoker;
+    }
+
+    private static double cost(RpcStatus status, double seedEwma) {
+        double ewma = status.getEwma();
+        return (ewma == 0D ? seedEwma : ewma) * (status.getActive() + 1);
+    }
+
+    private static <T> double meanEwma(List<T> invokers) {
+        double sum = 0D;
+        int count = 0;
+        for (T invoker : invokers) {
+            double ewma = getStatus(invoker).getEwma();
+            if (ewma > 0D) {
+                sum += ewma;
+                count++;
+            }
+        }
+        return count == 0 ? MIN_EWMA_NANOS : Math.max(sum / count, MIN_EWMA_NANOS);
+    }
+
+    private static RpcStatus getStatus(Object invoker) {
+        String address = invoker instanceof InetSocketAddress ? NetUtil.toStringAddress((InetSocketAddress)invoker)
+            : String.valueOf(invoker);
+        return RpcStatus.getStatus(address);
+    }
+}
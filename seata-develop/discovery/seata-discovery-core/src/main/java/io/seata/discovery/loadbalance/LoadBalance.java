@@ -33,4 +33,17 @@ public interface LoadBalance {
      * @throws Exception the exception
      */
     <T> T select(List<T> invokers) throws Exception;
+
+    /**
+     * Select t for a request of the global transaction.
+     *
+     * @param <T>      the type parameter
+     * @param invokers the invokers
+     * @param xid      the xid of the request, null if the request does not belong to a global transaction yet
+     * @return the t
+     * @throws Exception the exception
+     */
+    default <T> T select(List<T> invokers, String xid) throws Exception {
+        return select(invokers);
+    }
 }
@@ -16,6 +16,7 @@
 package io.seata.discovery.loadbalance;
 
 import io.seata.common.loader.EnhancedServiceLoader;
+import io.seata.config.ConfigurationFactory;
 
 /**
  * The type Load balance factory.
@@ -24,13 +25,53 @@ import io.seata.common.loader.EnhancedServiceLoader;
  */
 public class LoadBalanceFactory {
 
+    /**
+     * The constant LOAD_BALANCE_PREFIX.
+     */
+    public static final String LOAD_BALANCE_PREFIX = "client.loadBalance.";
+
+    /**
+     * The constant LOAD_BALANCE_TYPE.
+     */
+    public static final String LOAD_BALANCE_TYPE = LOAD_BALANCE_PREFIX + "type";
+
+    /**
+     * The constant RANDOM_LOAD_BALANCE.
+     */
+    public static final String RANDOM_LOAD_BALANCE = "RandomLoadBalance";
+
+    /**
+     * The constant XID_LOAD_BALANCE.
+     */
+    public static final String XID_LOAD_BALANCE = "XidLoadBalance";
+
+    private static volatile LoadBalance instance = null;
+
     /**
      * Gets instance.
      *
      * @return the instance
      */
     public static LoadBalance getInstance() {
-        // \seata-develop\discovery\seata-discovery-core\src\main\resources\META-INF\services\io.seata.discovery.loadbalance.LoadBalance
-        return EnhancedServiceLoader.load(LoadBalance.class);
+        if (instance == null) {
+            synchronized (LoadBalanceFactory.class) {
+                if (instance == null) {
+                    // \seata-develop\discovery\seata-discovery-core\src\main\resources\META-INF\services\io.seata.discovery.loadbalance.LoadBalance
+                    String loadBalanceType = ConfigurationFactory.getInstance().getConfig(LOAD_BALANCE_TYPE,
+                        RANDOM_LOAD_BALANCE);
+                    instance = EnhancedServiceLoader.load(LoadBalance.class, loadBalanceType);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Whether the selected load balance reads the {@link RpcStatus} of the nodes, the rpc client only feeds it then.
+     *
+     * @return true if the rpc status is required
+     */
+    public static boolean isRpcStatusRequired() {
+        return getInstance() instanceof LeastPendingLoadBalance;
     }
 }
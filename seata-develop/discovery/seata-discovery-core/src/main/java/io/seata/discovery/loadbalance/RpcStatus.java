@@ -0,0 +1,138 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.discovery.loadbalance;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The rpc status of the TC nodes seen by this client: the requests in flight, the EWMA of the response time,
+ * and whether the node is temporarily ejected after a timeout.
+ * It is fed by the rpc client and read by the load balances.
+ *
+ * @author agent
+ */
+public class RpcStatus {
+
+    /**
+     * The weight of the latest sample in the response time EWMA.
+     */
+    private static final double EWMA_ALPHA = 0.3D;
+
+    /**
+     * How long a node is skipped after a request to it timed out, unless a response arrives in between.
+     */
+    private static final long EJECT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private static final ConcurrentMap<String, RpcStatus> SERVICE_STATUS_MAP = new ConcurrentHashMap<>();
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    private final AtomicLong ewmaBits = new AtomicLong(Double.doubleToLongBits(0D));
+
+    private volatile long ejectedUntil;
+
+    private RpcStatus() {
+    }
+
+    /**
+     * Gets the status of the address.
+     *
+     * @param address the address in ip:port form
+     * @return the status
+     */
+    public static RpcStatus getStatus(String address) {
+        RpcStatus status = SERVICE_STATUS_MAP.get(address);
+        if (status == null) {
+            status = SERVICE_STATUS_MAP.computeIfAbsent(address, key -> new RpcStatus());
+        }
+        return status;
+    }
+
+    /**
+     * Removes the status of the address.
+     *
+     * @param address the address in ip:port form
+     */
+    public static void removeStatus(String address) {
+        SERVICE_STATUS_MAP.remove(address);
+    }
+
+    /**
+     * Begin a request to the address.
+     *
+     * @param address the address in ip:port form
+     */
+    public static void beginCount(String address) {
+        getStatus(address).active.incrementAndGet();
+    }
+
+    /**
+     * End a request to the address.
+     *
+     * @param address      the address in ip:port form
+     * @param elapsedNanos the response time of the request
+     * @param timeout      whether the request timed out
+     */
+    public static void endCount(String address, long elapsedNanos, boolean timeout) {
+        RpcStatus status = getStatus(address);
+        status.active.decrementAndGet();
+        status.updateEwma(elapsedNanos);
+        status.ejectedUntil = timeout ? System.nanoTime() + EJECT_NANOS : 0L;
+    }
+
+    private void updateEwma(long elapsedNanos) {
+        while (true) {
+            long currentBits = ewmaBits.get();
+            double current = Double.longBitsToDouble(currentBits);
+            double next = current == 0D ? elapsedNanos : current + EWMA_ALPHA * (elapsedNanos - current);
+            if (ewmaBits.compareAndSet(currentBits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Gets the requests in flight.
+     *
+     * @return the active
+     */
+    public int getActive() {
+        return active.get();
+    }
+
+    /**
+     * Gets the EWMA of the response time in nanoseconds, 0 if no request has completed yet.
+     *
+     * @return the ewma
+     */
+    public double getEwma() {
+        return Double.longBitsToDouble(ewmaBits.get());
+    }
+
+    /**
+     * Whether the node is ejected since a request to it timed out recently.
+     *
+     * @return true if ejected
+     */
+    public boolean isEjected() {
+        long until = ejectedUntil;
+        return until != 0L && until - System.nanoTime() > 0;
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.discovery.loadbalance;
+
+import java.net.InetSocketAddress;
+import java.util.List;
+
+import io.seata.common.XID;
+import io.seata.common.loader.LoadLevel;
+import io.seata.common.util.CollectionUtils;
+import io.seata.common.util.NetUtil;
+
+/**
+ * The type Xid load balance.
+ * Requests of a global transaction are routed to the TC node which began it (the address the xid carries),
+ * so the whole transaction stays on one node. Requests without xid, and requests whose node has left the
+ * registry, fall back to round robin.
+ * <p>
+ * With every client on this load balance, a db mode TC can keep the active sessions it began in memory and skip the
+ * store reads, see server.session.ownerCacheEnable.
+ *
+ * @author agent
+ */
+@LoadLevel(name = "XidLoadBalance", order = 3)
+public class XidLoadBalance extends RoundRobinLoadBalance {
+
+    @Override
+    public <T> T select(List<T> invokers, String xid) {
+        if (CollectionUtils.isEmpty(invokers)) {
+            return null;
+        }
+        String serverAddress = XID.getServerAddress(xid);
+        if (serverAddress != null) {
+            for (T invoker : invokers) {
+                if (invoker instanceof InetSocketAddress && isServerAddress((InetSocketAddress)invoker, serverAddress)) {
+                    return invoker;
+                }
+            }
+        }
+        return select(invokers);
+    }
+
+    private static boolean isServerAddress(InetSocketAddress address, String serverAddress) {
+        return address.getAddress() != null && serverAddress.equals(NetUtil.toStringAddress(address));
+    }
+}
@@ -19,11 +19,15 @@ package io.seata.discovery.registry;
 import io.seata.common.util.StringUtils;
 import io.seata.config.ConfigChangeListener;
 import io.seata.config.Configuration;
+import io.seata.config.ConfigurationChangeEvent;
+import io.seata.config.ConfigurationChangeListener;
 import io.seata.config.ConfigurationFactory;
 
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The type File registry service.
@@ -36,6 +40,7 @@ public class FileRegistryServiceImpl implements RegistryService<ConfigChangeList
     private static final String POSTFIX_GROUPLIST = ".grouplist";
     private static final String ENDPOINT_SPLIT_CHAR = ";";
     private static final String IP_PORT_SPLIT_CHAR = ":";
+    private static final Set<String> LISTENED_CLUSTERS = ConcurrentHashMap.newKeySet();
 
     private FileRegistryServiceImpl() {
     }
@@ -82,8 +87,16 @@ public class FileRegistryServiceImpl implements RegistryService<ConfigChangeList
         if (null == clusterName) {
             return null;
         }
-        String endpointStr = CONFIG.getConfig(
-            PREFIX_SERVICE_ROOT + CONFIG_SPLIT_CHAR + clusterName + POSTFIX_GROUPLIST);
+        String grouplistKey = PREFIX_SERVICE_ROOT + CONFIG_SPLIT_CHAR + clusterName + POSTFIX_GROUPLIST;
+        if (LISTENED_CLUSTERS.add(clusterName)) {
+            CONFIG.addConfigListener(grouplistKey, new ConfigurationChangeListener() {
+                @Override
+                public void onChangeEvent(ConfigurationChangeEvent event) {
+                    ServiceAddressBook.clusterChanged(clusterName);
+                }
+            });
+        }
+        String endpointStr = CONFIG.getConfig(grouplistKey);
         if (StringUtils.isNullOrEmpty(endpointStr)) {
             throw new IllegalArgumentException(clusterName + POSTFIX_GROUPLIST + " is required");
         }
@@ -99,6 +112,11 @@ public class FileRegistryServiceImpl implements RegistryService<ConfigChangeList
         return inetSocketAddresses;
     }
 
+    @Override
+    public boolean isChangeNotified() {
+        return true;
+    }
+
     @Override
     public void close() throws Exception {
 
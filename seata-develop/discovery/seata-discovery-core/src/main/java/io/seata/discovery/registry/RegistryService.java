@@ -91,6 +91,16 @@ public interface RegistryService<T> {
      */
     void close() throws Exception;
 
+    /**
+     * Whether the registry calls {@link ServiceAddressBook#clusterChanged(String)} on every address change
+     * of the clusters it looked up, so the lookups can be cached by the address book.
+     *
+     * @return true if the changes are notified
+     */
+    default boolean isChangeNotified() {
+        return false;
+    }
+
     /**
      * Get current service group name
      *
@@ -0,0 +1,216 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.discovery.registry;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.common.thread.NamedThreadFactory;
+import io.seata.common.util.CollectionUtils;
+import io.seata.common.util.NetUtil;
+import io.seata.config.ConfigurationChangeEvent;
+import io.seata.config.ConfigurationChangeListener;
+import io.seata.config.ConfigurationFactory;
+import io.seata.discovery.loadbalance.RpcStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The client side address book of the TC clusters.
+ * It keeps an immutable list of the resolved addresses per transaction service group, the request routing reads
+ * it without lock instead of looking up the registry for every request. A list is refreshed only when the
+ * registry reports an address change of its cluster by {@link #clusterChanged(String)}, or when the vgroupMapping
+ * of its group changes.
+ * <p>
+ * The lookups are not cached for the registries that do not report the changes,
+ * see {@link RegistryService#isChangeNotified()}. An empty lookup is cached for {@link #EMPTY_LOOKUP_CACHE_MILLIS}
+ * only, so a TC outage does not turn every request into a registry lookup, the concurrent lookups of an expired
+ * group wait for one registry lookup.
+ *
+ * @author agent
+ */
+public final class ServiceAddressBook {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServiceAddressBook.class);
+
+    private static final ConcurrentMap<String, GroupAddresses> GROUP_ADDRESSES = new ConcurrentHashMap<>();
+
+    private static final Set<String> WATCHED_GROUPS = ConcurrentHashMap.newKeySet();
+
+    /**
+     * the clusters with a change waiting for the refresh, repeated changes of a cluster are refreshed once
+     */
+    private static final Set<String> PENDING_CLUSTERS = ConcurrentHashMap.newKeySet();
+
+    private static final String ALL_CLUSTERS = "";
+
+    /**
+     * how long an empty lookup is cached, a cluster change reported in the meantime refreshes it at once
+     */
+    private static final long EMPTY_LOOKUP_CACHE_MILLIS = 1000L;
+
+    /**
+     * serializes the lookups of the loads and refreshes, so an older lookup never replaces a newer one
+     */
+    private static final Object LOAD_LOCK = new Object();
+
+    private static final ExecutorService REFRESH_EXECUTOR = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(), new NamedThreadFactory("ServiceAddressBookRefresh", 1, true));
+
+    private ServiceAddressBook() {
+    }
+
+    /**
+     * Lookup the addresses of the TC cluster of the transaction service group.
+     *
+     * @param transactionServiceGroup the transaction service group
+     * @return the unmodifiable addresses, null or empty if none
+     * @throws Exception the exception of the registry lookup
+     */
+    public static List<InetSocketAddress> lookup(String transactionServiceGroup) throws Exception {
+        GroupAddresses groupAddresses = GROUP_ADDRESSES.get(transactionServiceGroup);
+        if (groupAddresses != null && !groupAddresses.isExpired()) {
+            return groupAddresses.addresses;
+        }
+        RegistryService<?> registryService = RegistryFactory.getInstance();
+        if (!registryService.isChangeNotified()) {
+            return registryService.lookup(transactionServiceGroup);
+        }
+        return load(transactionServiceGroup, registryService, false);
+    }
+
+    /**
+     * Called by the registries when the addresses of a cluster changed,
+     * the groups of the cluster are refreshed asynchronously.
+     *
+     * @param clusterName the cluster name, null if the change may involve any cluster
+     */
+    public static void clusterChanged(String clusterName) {
+        String cluster = clusterName == null ? ALL_CLUSTERS : clusterName;
+        if (PENDING_CLUSTERS.add(cluster)) {
+            REFRESH_EXECUTOR.execute(() -> {
+                PENDING_CLUSTERS.remove(cluster);
+                refresh(cluster);
+            });
+        }
+    }
+
+    private static void refresh(String cluster) {
+        for (Map.Entry<String, GroupAddresses> entry : GROUP_ADDRESSES.entrySet()) {
+            if (ALL_CLUSTERS.equals(cluster) || cluster.equalsIgnoreCase(entry.getValue().cluster)) {
+                refreshGroup(entry.getKey());
+            }
+        }
+    }
+
+    private static void refreshGroup(String transactionServiceGroup) {
+        try {
+            load(transactionServiceGroup, RegistryFactory.getInstance(), true);
+        } catch (Exception e) {
+            LOGGER.error("refresh the addresses of {} error:{}", transactionServiceGroup, e.getMessage(), e);
+        }
+    }
+
+    private static List<InetSocketAddress> load(String transactionServiceGroup, RegistryService<?> registryService,
+                                                boolean refresh) throws Exception {
+        synchronized (LOAD_LOCK) {
+            if (!refresh) {
+                // loaded by another request while this one was waiting
+                GroupAddresses loaded = GROUP_ADDRESSES.get(transactionServiceGroup);
+                if (loaded != null && !loaded.isExpired()) {
+                    return loaded.addresses;
+                }
+            }
+            List<InetSocketAddress> addresses = registryService.lookup(transactionServiceGroup);
+            String cluster = registryService.getServiceGroup(transactionServiceGroup);
+            if (CollectionUtils.isEmpty(addresses) || cluster == null) {
+                GROUP_ADDRESSES.put(transactionServiceGroup, new GroupAddresses(cluster, Collections.emptyList(),
+                    System.currentTimeMillis() + EMPTY_LOOKUP_CACHE_MILLIS));
+                return Collections.emptyList();
+            }
+            List<InetSocketAddress> immutableAddresses = Collections.unmodifiableList(new ArrayList<>(addresses));
+            GroupAddresses previous = GROUP_ADDRESSES.put(transactionServiceGroup,
+                new GroupAddresses(cluster, immutableAddresses, Long.MAX_VALUE));
+            removeDepartedStatus(previous);
+            watchServiceGroup(transactionServiceGroup);
+            return immutableAddresses;
+        }
+    }
+
+    /**
+     * Drop the rpc status of the nodes which left the registry and are not listed by any group.
+     */
+    private static void removeDepartedStatus(GroupAddresses previous) {
+        if (previous == null) {
+            return;
+        }
+        for (InetSocketAddress address : previous.addresses) {
+            boolean listed = false;
+            for (GroupAddresses groupAddresses : GROUP_ADDRESSES.values()) {
+                if (groupAddresses.addresses.contains(address)) {
+                    listed = true;
+                    break;
+                }
+            }
+            if (!listed) {
+                RpcStatus.removeStatus(NetUtil.toStringAddress(address));
+            }
+        }
+    }
+
+    private static void watchServiceGroup(String transactionServiceGroup) {
+        if (!WATCHED_GROUPS.add(transactionServiceGroup)) {
+            return;
+        }
+        String dataId = RegistryService.PREFIX_SERVICE_ROOT + RegistryService.CONFIG_SPLIT_CHAR
+            + RegistryService.PREFIX_SERVICE_MAPPING + transactionServiceGroup;
+        ConfigurationFactory.getInstance().addConfigListener(dataId, new ConfigurationChangeListener() {
+            @Override
+            public void onChangeEvent(ConfigurationChangeEvent event) {
+                REFRESH_EXECUTOR.execute(() -> refreshGroup(transactionServiceGroup));
+            }
+        });
+    }
+
+    private static class GroupAddresses {
+
+        private final String cluster;
+
+        private final List<InetSocketAddress> addresses;
+
+        private final long expireMillis;
+
+        private GroupAddresses(String cluster, List<InetSocketAddress> addresses, long expireMillis) {
+            this.cluster = cluster;
+            this.addresses = addresses;
+            this.expireMillis = expireMillis;
+        }
+
+        private boolean isExpired() {
+            return expireMillis != Long.MAX_VALUE && System.currentTimeMillis() > expireMillis;
+        }
+    }
+}
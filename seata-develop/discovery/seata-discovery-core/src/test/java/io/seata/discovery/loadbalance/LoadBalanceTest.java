@@ -16,6 +16,7 @@
 package io.seata.discovery.loadbalance;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
@@ -64,6 +65,94 @@ public class LoadBalanceTest {
         }
     }
 
+    /**
+     * Test xid load balance select.
+     *
+     * @param addresses the addresses
+     */
+    @ParameterizedTest
+    @MethodSource("addressProvider")
+    public void testXidLoadBalance_select(List<InetSocketAddress> addresses) throws Exception {
+        XidLoadBalance loadBalance = new XidLoadBalance();
+        for (InetSocketAddress address : addresses) {
+            String xid = "127.0.0.1:" + address.getPort() + ":2000042948";
+            for (int i = 0; i < 10; i++) {
+                Assertions.assertEquals(address, loadBalance.select(addresses, xid));
+            }
+        }
+        // the node of the xid left the registry, fall back to round robin
+        String xid = "127.0.0.1:8099:2000042948";
+        Map<InetSocketAddress, AtomicLong> counter = new ConcurrentHashMap<>();
+        for (int i = 0; i < addresses.size(); i++) {
+            counter.computeIfAbsent(loadBalance.select(addresses, xid), k -> new AtomicLong()).incrementAndGet();
+        }
+        Assertions.assertEquals(addresses.size(), counter.size());
+        Assertions.assertNotNull(loadBalance.select(addresses, null));
+    }
+
+    /**
+     * Test least pending load balance select.
+     */
+    @Test
+    public void testLeastPendingLoadBalance_select() {
+        List<InetSocketAddress> addresses = Arrays.asList(new InetSocketAddress("127.0.0.1", 9091),
+            new InetSocketAddress("127.0.0.1", 9092),
+            new InetSocketAddress("127.0.0.1", 9093),
+            new InetSocketAddress("127.0.0.1", 9094));
+        // 9091 is slow, 9092 is slow and busy, 9093 timed out, 9094 is fast
+        RpcStatus.beginCount("127.0.0.1:9091");
+        RpcStatus.endCount("127.0.0.1:9091", 50_000_000L, false);
+        for (int i = 0; i < 10; i++) {
+            RpcStatus.beginCount("127.0.0.1:9092");
+        }
+        RpcStatus.endCount("127.0.0.1:9092", 50_000_000L, false);
+        RpcStatus.beginCount("127.0.0.1:9093");
+        RpcStatus.endCount("127.0.0.1:9093", 1_000_000L, true);
+        RpcStatus.beginCount("127.0.0.1:9094");
+        RpcStatus.endCount("127.0.0.1:9094", 1_000_000L, false);
+        try {
+            Assertions.assertTrue(RpcStatus.getStatus("127.0.0.1:9093").isEjected());
+            Map<InetSocketAddress, AtomicLong> counter = getSelectedCounter(10000, addresses,
+                new LeastPendingLoadBalance());
+            Assertions.assertEquals(0, counter.get(addresses.get(1)).get());
+            Assertions.assertEquals(0, counter.get(addresses.get(2)).get());
+            Assertions.assertTrue(counter.get(addresses.get(3)).get() > counter.get(addresses.get(0)).get());
+
+            // a response clears the ejection
+            RpcStatus.beginCount("127.0.0.1:9093");
+            RpcStatus.endCount("127.0.0.1:9093", 1_000_000L, false);
+            Assertions.assertFalse(RpcStatus.getStatus("127.0.0.1:9093").isEjected());
+        } finally {
+            for (InetSocketAddress address : addresses) {
+                RpcStatus.removeStatus("127.0.0.1:" + address.getPort());
+            }
+        }
+    }
+
+    /**
+     * A node without a response yet is costed at the mean response time of the others, it is not flooded.
+     */
+    @Test
+    public void testLeastPendingLoadBalance_newNode() {
+        List<InetSocketAddress> addresses = Arrays.asList(new InetSocketAddress("127.0.0.1", 9095),
+            new InetSocketAddress("127.0.0.1", 9096));
+        // 9095 answers in 1ms, 9096 has 3 requests in flight and no response yet
+        RpcStatus.beginCount("127.0.0.1:9095");
+        RpcStatus.endCount("127.0.0.1:9095", 1_000_000L, false);
+        for (int i = 0; i < 3; i++) {
+            RpcStatus.beginCount("127.0.0.1:9096");
+        }
+        try {
+            Map<InetSocketAddress, AtomicLong> counter = getSelectedCounter(1000, addresses,
+                new LeastPendingLoadBalance());
+            Assertions.assertEquals(0, counter.get(addresses.get(1)).get());
+        } finally {
+            for (InetSocketAddress address : addresses) {
+                RpcStatus.removeStatus("127.0.0.1:" + address.getPort());
+            }
+        }
+    }
+
     /**
      * Gets selected counter.
      *
@@ -34,6 +34,7 @@ import io.seata.common.util.StringUtils;
 import io.seata.config.Configuration;
 import io.seata.config.ConfigurationFactory;
 import io.seata.discovery.registry.RegistryService;
+import io.seata.discovery.registry.ServiceAddressBook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -190,6 +191,7 @@ public class EtcdRegistryServiceImpl implements RegistryService<Watch.Listener>
                 public void onNext(WatchResponse response) {
                     try {
                         refreshCluster(cluster);
+                        ServiceAddressBook.clusterChanged(cluster);
                     } catch (Exception e) {
                         LOGGER.error("etcd watch listener", e);
                         throw new RuntimeException(e.getMessage());
@@ -212,6 +214,11 @@ public class EtcdRegistryServiceImpl implements RegistryService<Watch.Listener>
         return Objects.isNull(pair) ? Collections.emptyList() : pair.getValue();
     }
 
+    @Override
+    public boolean isChangeNotified() {
+        return true;
+    }
+
     @Override
     public void close() throws Exception {
         if (null != lifeKeeper) {
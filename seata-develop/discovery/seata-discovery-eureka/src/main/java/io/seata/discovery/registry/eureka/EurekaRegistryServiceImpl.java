@@ -31,6 +31,7 @@ import io.seata.common.util.StringUtils;
 import io.seata.config.Configuration;
 import io.seata.config.ConfigurationFactory;
 import io.seata.discovery.registry.RegistryService;
+import io.seata.discovery.registry.ServiceAddressBook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -133,6 +134,8 @@ public class EurekaRegistryServiceImpl implements RegistryService<EurekaEventLis
             subscribe(null, event -> {
                 try {
                     refreshCluster();
+                    // the event carries all the applications
+                    ServiceAddressBook.clusterChanged(null);
                 } catch (Exception e) {
                     LOGGER.error("Eureka event listener refreshCluster error:{}", e.getMessage(), e);
                 }
@@ -141,6 +144,11 @@ public class EurekaRegistryServiceImpl implements RegistryService<EurekaEventLis
         return new ArrayList<>(clusterAddressMap.getOrDefault(clusterName.toUpperCase(), Collections.emptySet()));
     }
 
+    @Override
+    public boolean isChangeNotified() {
+        return true;
+    }
+
     @Override
     public void close() throws Exception {
         if (eurekaClient != null) {
@@ -35,6 +35,7 @@ import io.seata.config.Configuration;
 import io.seata.config.ConfigurationFactory;
 import io.seata.config.ConfigurationKeys;
 import io.seata.discovery.registry.RegistryService;
+import io.seata.discovery.registry.ServiceAddressBook;
 
 /**
  * The type Nacos registry service.
@@ -143,6 +144,7 @@ public class NacosRegistryServiceImpl implements RegistryService<EventListener>
                                     .collect(Collectors.toList());
                             CLUSTER_ADDRESS_MAP.put(clusterName, newAddressList);
                         }
+                        ServiceAddressBook.clusterChanged(clusterName);
                     });
                 }
             }
@@ -150,6 +152,11 @@ public class NacosRegistryServiceImpl implements RegistryService<EventListener>
         return CLUSTER_ADDRESS_MAP.get(clusterName);
     }
 
+    @Override
+    public boolean isChangeNotified() {
+        return true;
+    }
+
     @Override
     public void close() throws Exception {
 
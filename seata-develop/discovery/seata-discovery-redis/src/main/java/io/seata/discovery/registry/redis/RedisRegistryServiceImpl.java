@@ -35,6 +35,7 @@ import io.seata.common.util.StringUtils;
 import io.seata.config.Configuration;
 import io.seata.config.ConfigurationFactory;
 import io.seata.discovery.registry.RegistryService;
+import io.seata.discovery.registry.ServiceAddressBook;
 import org.apache.commons.pool2.impl.GenericObjectPoolConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -209,11 +210,17 @@ public class RedisRegistryServiceImpl implements RegistryService<RedisListener>
                     default:
                         throw new ShouldNeverHappenException("unknown redis msg:" + msg);
                 }
+                ServiceAddressBook.clusterChanged(clusterName);
             });
         }
         return new ArrayList<>(CLUSTER_ADDRESS_MAP.getOrDefault(clusterName, Collections.emptySet()));
     }
 
+    @Override
+    public boolean isChangeNotified() {
+        return true;
+    }
+
     @Override
     public void close() throws Exception {
         jedisPool.destroy();
@@ -38,6 +38,7 @@ import io.seata.common.util.NetUtil;
 import io.seata.config.Configuration;
 import io.seata.config.ConfigurationFactory;
 import io.seata.discovery.registry.RegistryService;
+import io.seata.discovery.registry.ServiceAddressBook;
 import org.apache.commons.lang.StringUtils;
 
 import static io.seata.config.ConfigurationKeys.FILE_CONFIG_SPLIT_CHAR;
@@ -173,6 +174,7 @@ public class SofaRegistryServiceImpl implements RegistryService<SubscriberDataOb
                     List<InetSocketAddress> newAddressList = new ArrayList<>(tranformData);
                     CLUSTER_ADDRESS_MAP.put(clusterName, newAddressList);
                 }
+                ServiceAddressBook.clusterChanged(clusterName);
                 respondRegistries.countDown();
             });
 
@@ -198,6 +200,11 @@ public class SofaRegistryServiceImpl implements RegistryService<SubscriberDataOb
         return result;
     }
 
+    @Override
+    public boolean isChangeNotified() {
+        return true;
+    }
+
     @Override
     public void close() throws Exception {
     }
@@ -34,6 +34,7 @@ import io.seata.common.util.StringUtils;
 import io.seata.config.Configuration;
 import io.seata.config.ConfigurationFactory;
 import io.seata.discovery.registry.RegistryService;
+import io.seata.discovery.registry.ServiceAddressBook;
 import org.I0Itec.zkclient.IZkChildListener;
 import org.I0Itec.zkclient.IZkStateListener;
 import org.I0Itec.zkclient.ZkClient;
@@ -200,6 +201,11 @@ public class ZookeeperRegisterServiceImpl implements RegistryService<IZkChildLis
         return CLUSTER_ADDRESS_MAP.get(clusterName);
     }
 
+    @Override
+    public boolean isChangeNotified() {
+        return true;
+    }
+
     @Override
     public void close() throws Exception {
         getClientInstance().close();
@@ -280,6 +286,7 @@ public class ZookeeperRegisterServiceImpl implements RegistryService<IZkChildLis
             } else if (!CollectionUtils.isEmpty(currentChilds)) {
                 refreshClusterAddressMap(clusterName, currentChilds);
             }
+            ServiceAddressBook.clusterChanged(clusterName);
         });
     }
 
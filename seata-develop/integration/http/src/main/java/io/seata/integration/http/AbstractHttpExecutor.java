@@ -29,22 +29,26 @@ import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.entity.ContentType;
 import org.apache.http.entity.StringEntity;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.Args;
+import org.apache.http.util.EntityUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 /**
  * Abstract http executor.
+ * All requests share the pooled client of {@link HttpClientFactory}. The connection goes back to the pool
+ * once the response is converted, except when the {@link HttpResponse} itself is returned: the caller
+ * must consume its entity then.
  *
  * @author wangxb
  */
-public abstract class AbstractHttpExecutor implements HttpExecutor {
+public abstract class AbstractHttpExecutor implements HttpExecutor, AsyncHttpExecutor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractHttpExecutor.class);
 
@@ -55,7 +59,64 @@ public abstract class AbstractHttpExecutor implements HttpExecutor {
         Args.notNull(host, "host");
         Args.notNull(path, "path");
 
-        CloseableHttpClient httpClient = initHttpClientInstance(paramObject);
+        HttpPost httpPost = initPost(host, path, paramObject);
+        Map<String, String> headers = new HashMap<>();
+
+        buildPostHeaders(headers, paramObject);
+        return wrapHttpExecute(returnType, initHttpClientInstance(paramObject), httpPost, headers,
+            RootContext.getXID());
+    }
+
+    @Override
+    public <K> K executeGet(String host, String path, Map<String, String> paramObject, Class<K> returnType) throws IOException {
+
+        Args.notNull(returnType, "returnType");
+        Args.notNull(host, "host");
+        Args.notNull(path, "path");
+
+        HttpGet httpGet = new HttpGet(initGetUrl(host, path, paramObject));
+        Map<String, String> headers = new HashMap<>();
+
+        buildGetHeaders(headers, paramObject);
+        return wrapHttpExecute(returnType, initHttpClientInstance(paramObject), httpGet, headers,
+            RootContext.getXID());
+    }
+
+    @Override
+    public <T, K> CompletableFuture<K> executePostAsync(String host, String path, T paramObject, Class<K> returnType) {
+
+        Args.notNull(returnType, "returnType");
+        Args.notNull(host, "host");
+        Args.notNull(path, "path");
+
+        HttpPost httpPost = initPost(host, path, paramObject);
+        Map<String, String> headers = new HashMap<>();
+
+        buildPostHeaders(headers, paramObject);
+        // the xid is bound to the calling thread, not to the one executing the request
+        String xid = RootContext.getXID();
+        return supplyAsync(() -> wrapHttpExecute(returnType, initHttpClientInstance(paramObject), httpPost, headers,
+            xid));
+    }
+
+    @Override
+    public <K> CompletableFuture<K> executeGetAsync(String host, String path, Map<String, String> paramObject,
+                                                    Class<K> returnType) {
+
+        Args.notNull(returnType, "returnType");
+        Args.notNull(host, "host");
+        Args.notNull(path, "path");
+
+        HttpGet httpGet = new HttpGet(initGetUrl(host, path, paramObject));
+        Map<String, String> headers = new HashMap<>();
+
+        buildGetHeaders(headers, paramObject);
+        String xid = RootContext.getXID();
+        return supplyAsync(() -> wrapHttpExecute(returnType, initHttpClientInstance(paramObject), httpGet, headers,
+            xid));
+    }
+
+    private <T> HttpPost initPost(String host, String path, T paramObject) {
         HttpPost httpPost = new HttpPost(host + path);
         StringEntity entity = null;
         if (paramObject != null) {
@@ -84,39 +145,32 @@ public abstract class AbstractHttpExecutor implements HttpExecutor {
         if (entity != null) {
             httpPost.setEntity(entity);
         }
-        Map<String, String> headers = new HashMap<>();
-
-        buildPostHeaders(headers, paramObject);
-        return wrapHttpExecute(returnType, httpClient, httpPost, headers);
+        return httpPost;
     }
 
-    @Override
-    public <K> K executeGet(String host, String path, Map<String, String> paramObject, Class<K> returnType) throws IOException {
-
-        Args.notNull(returnType, "returnType");
-        Args.notNull(host, "host");
-        Args.notNull(path, "path");
-
-        CloseableHttpClient httpClient = initHttpClientInstance(paramObject);
-
-        HttpGet httpGet = new HttpGet(initGetUrl(host, path, paramObject));
-        Map<String, String> headers = new HashMap<>();
-
-        buildGetHeaders(headers, paramObject);
-        return wrapHttpExecute(returnType, httpClient, httpGet, headers);
+    private <K> CompletableFuture<K> supplyAsync(HttpCall<K> httpCall) {
+        CompletableFuture<K> future = new CompletableFuture<>();
+        HttpClientFactory.getAsyncExecutor().execute(() -> {
+            try {
+                future.complete(httpCall.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
     }
 
     private <T> CloseableHttpClient initHttpClientInstance(T paramObject) {
-        CloseableHttpClient httpClient = HttpClients.createDefault();
+        CloseableHttpClient httpClient = HttpClientFactory.getHttpClient();
         buildClientEntity(httpClient, paramObject);
         return httpClient;
     }
 
     protected abstract <T> void buildClientEntity(CloseableHttpClient httpClient, T paramObject);
 
-    private <K> K wrapHttpExecute(Class<K> returnType, CloseableHttpClient httpClient, HttpUriRequest httpUriRequest, Map<String, String> headers) throws IOException {
+    private <K> K wrapHttpExecute(Class<K> returnType, CloseableHttpClient httpClient, HttpUriRequest httpUriRequest,
+                                  Map<String, String> headers, String xid) throws IOException {
         CloseableHttpResponse response;
-        String xid = RootContext.getXID();
         if (xid != null) {
             headers.put(RootContext.KEY_XID, xid);
         }
@@ -124,15 +178,24 @@ public abstract class AbstractHttpExecutor implements HttpExecutor {
             headers.keySet().forEach(key -> httpUriRequest.addHeader(key, headers.get(key)));
         }
         response = httpClient.execute(httpUriRequest);
-        int statusCode = response.getStatusLine().getStatusCode();
-        /** 2xx is success. */
-        if (statusCode < HttpStatus.SC_OK || statusCode > HttpStatus.SC_MULTI_STATUS) {
-            throw new RuntimeException("Failed to invoke the http method "
-                    + httpUriRequest.getURI() + " in the service "
-                    + ". return status by: " + response.getStatusLine().getStatusCode());
-        }
+        K result = null;
+        try {
+            int statusCode = response.getStatusLine().getStatusCode();
+            /** 2xx is success. */
+            if (statusCode < HttpStatus.SC_OK || statusCode > HttpStatus.SC_MULTI_STATUS) {
+                throw new RuntimeException("Failed to invoke the http method "
+                        + httpUriRequest.getURI() + " in the service "
+                        + ". return status by: " + response.getStatusLine().getStatusCode());
+            }
 
-        return convertResult(response, returnType);
+            result = convertResult(response, returnType);
+            return result;
+        } finally {
+            if (result != response) {
+                // release the connection back to the pool
+                EntityUtils.consumeQuietly(response.getEntity());
+            }
+        }
     }
 
     protected abstract <T> void buildGetHeaders(Map<String, String> headers, T paramObject);
@@ -158,4 +221,10 @@ public abstract class AbstractHttpExecutor implements HttpExecutor {
     public static Map<String, String> convert(Map<String, Object> param) {
         return param.keySet().stream().filter(key -> param.get(key) != null && param.get(key) != null).collect(Collectors.toMap(key -> key, key -> param.get(key).toString()));
     }
+
+    @FunctionalInterface
+    private interface HttpCall<K> {
+
+        K call() throws IOException;
+    }
 }
@@ -0,0 +1,40 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.integration.http;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Async http executor.
+ * The xid bound to the calling thread is captured when the request is submitted and sent in the header,
+ * the request runs on the shared pooled client without blocking the caller.
+ *
+ * @author agent
+ */
+public interface AsyncHttpExecutor {
+
+    <T, K> CompletableFuture<K> executePostAsync(String host, String path, T paramObject, Class<K> returnType);
+
+    /**
+     * get method only support param type of Map<String,String>
+     *
+     * @return the future of K
+     */
+    <K> CompletableFuture<K> executeGetAsync(String host, String path, Map<String, String> paramObject,
+                                             Class<K> returnType);
+
+}
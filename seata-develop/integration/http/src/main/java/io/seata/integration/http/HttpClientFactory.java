@@ -0,0 +1,124 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.integration.http;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.common.thread.NamedThreadFactory;
+import io.seata.config.Configuration;
+import io.seata.config.ConfigurationFactory;
+import io.seata.core.constants.ConfigurationKeys;
+import io.seata.core.rpc.netty.ShutdownHook;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_HTTP_CONNECTION_REQUEST_TIMEOUT;
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_HTTP_MAX_PER_ROUTE;
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_HTTP_MAX_TOTAL;
+
+/**
+ * The shared http client of the http executors.
+ * Connections are pooled and kept alive across requests, the limits come from the client.http.* settings.
+ *
+ * @author agent
+ */
+public class HttpClientFactory {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpClientFactory.class);
+
+    private static final long KEEP_ALIVE_TIME = 60L;
+
+    private static volatile CloseableHttpClient httpClient = null;
+
+    private static volatile ExecutorService asyncExecutor = null;
+
+    private HttpClientFactory() {
+    }
+
+    /**
+     * Gets the shared pooled http client.
+     *
+     * @return the http client
+     */
+    public static CloseableHttpClient getHttpClient() {
+        if (httpClient == null) {
+            synchronized (HttpClientFactory.class) {
+                if (httpClient == null) {
+                    httpClient = buildHttpClient();
+                    ShutdownHook.getInstance().addDisposable(HttpClientFactory::destroy);
+                }
+            }
+        }
+        return httpClient;
+    }
+
+    /**
+     * Gets the executor of the async requests, it has as many threads as the pool has connections.
+     *
+     * @return the executor
+     */
+    public static ExecutorService getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            synchronized (HttpClientFactory.class) {
+                if (asyncExecutor == null) {
+                    int maxTotal = ConfigurationFactory.getInstance().getInt(ConfigurationKeys.CLIENT_HTTP_MAX_TOTAL,
+                        DEFAULT_CLIENT_HTTP_MAX_TOTAL);
+                    ThreadPoolExecutor executor = new ThreadPoolExecutor(maxTotal, maxTotal, KEEP_ALIVE_TIME,
+                        TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new NamedThreadFactory("httpAsyncExecutor",
+                        maxTotal, true));
+                    executor.allowCoreThreadTimeOut(true);
+                    asyncExecutor = executor;
+                }
+            }
+        }
+        return asyncExecutor;
+    }
+
+    private static CloseableHttpClient buildHttpClient() {
+        Configuration configuration = ConfigurationFactory.getInstance();
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(configuration.getInt(ConfigurationKeys.CLIENT_HTTP_MAX_TOTAL,
+            DEFAULT_CLIENT_HTTP_MAX_TOTAL));
+        connectionManager.setDefaultMaxPerRoute(configuration.getInt(ConfigurationKeys.CLIENT_HTTP_MAX_PER_ROUTE,
+            DEFAULT_CLIENT_HTTP_MAX_PER_ROUTE));
+        RequestConfig requestConfig = RequestConfig.custom().setConnectionRequestTimeout(configuration.getInt(
+            ConfigurationKeys.CLIENT_HTTP_CONNECTION_REQUEST_TIMEOUT, DEFAULT_CLIENT_HTTP_CONNECTION_REQUEST_TIMEOUT))
+            .build();
+        return HttpClients.custom().setConnectionManager(connectionManager).setDefaultRequestConfig(requestConfig)
+            .evictExpiredConnections().evictIdleConnections(KEEP_ALIVE_TIME, TimeUnit.SECONDS).build();
+    }
+
+    private static void destroy() {
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdown();
+        }
+        if (httpClient != null) {
+            try {
+                httpClient.close();
+            } catch (IOException e) {
+                LOGGER.warn("close http client failed: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -31,6 +31,8 @@ import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static io.seata.integration.http.AbstractHttpExecutor.convertParamOfBean;
 import static io.seata.integration.http.AbstractHttpExecutor.convertParamOfJsonString;
@@ -75,6 +77,21 @@ class HttpTest {
         RootContext.unbind();
     }
 
+    @Test
+    void testPostProviderXIDAsync() throws Exception {
+        RootContext.bind(XID);
+        providerStart();
+        Map<String, Object> map = new HashMap<>();
+        map.put("name", "zhangsan");
+        map.put("age", 15);
+        CompletableFuture<HttpResponse> future = DefaultHttpExecutor.getInstance().executePostAsync(host, postPath,
+            map, HttpResponse.class);
+        // the xid is taken when the request is submitted
+        RootContext.unbind();
+        String result = readStreamAsStr(future.get(10, TimeUnit.SECONDS).getEntity().getContent());
+        Assertions.assertEquals("Person{name='zhangsan', age=15}", result);
+    }
+
     public void providerStart() {
         new MockWebServer().start(8081);
     }
@@ -23,6 +23,8 @@ package io.seata.metrics;
 public class IdConstants {
     public static final String SEATA_TRANSACTION = "seata.transaction";
 
+    public static final String SEATA_STAGE = "seata.stage";
+
     public static final String NAME_KEY = "name";
 
     public static final String ROLE_KEY = "role";
@@ -33,12 +35,20 @@ public class IdConstants {
 
     public static final String STATUS_KEY = "status";
 
+    public static final String STAGE_KEY = "stage";
+
+    public static final String BRANCH_TYPE_KEY = "branchType";
+
+    public static final String RESOURCE_KEY = "resource";
+
     public static final String ROLE_VALUE_TC = "tc";
 
     public static final String ROLE_VALUE_TM = "tm";
 
     public static final String ROLE_VALUE_RM = "rm";
 
+    public static final String ROLE_VALUE_CLIENT = "client";
+
     public static final String METER_VALUE_GAUGE = "gauge";
 
     public static final String METER_VALUE_COUNTER = "counter";
@@ -57,9 +67,17 @@ public class IdConstants {
 
     public static final String STATISTIC_VALUE_AVERAGE = "average";
 
+    public static final String STATISTIC_VALUE_P50 = "p50";
+
+    public static final String STATISTIC_VALUE_P99 = "p99";
+
+    public static final String STATISTIC_VALUE_P999 = "p999";
+
     public static final String STATUS_VALUE_ACTIVE = "active";
 
     public static final String STATUS_VALUE_COMMITTED = "committed";
 
     public static final String STATUS_VALUE_ROLLBACKED = "rollbacked";
+
+    public static final String STATUS_VALUE_FAILED = "failed";
 }
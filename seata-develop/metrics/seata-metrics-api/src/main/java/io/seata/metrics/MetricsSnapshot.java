@@ -0,0 +1,46 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.metrics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable measurements of a registry taken at one time, shared by all exporters
+ *
+ * @author agent
+ */
+public class MetricsSnapshot {
+    private final long timestamp;
+
+    private final List<Measurement> measurements;
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public List<Measurement> getMeasurements() {
+        return measurements;
+    }
+
+    public MetricsSnapshot(long timestamp, Iterable<Measurement> measurements) {
+        this.timestamp = timestamp;
+        List<Measurement> list = new ArrayList<>();
+        measurements.forEach(list::add);
+        this.measurements = Collections.unmodifiableList(list);
+    }
+}
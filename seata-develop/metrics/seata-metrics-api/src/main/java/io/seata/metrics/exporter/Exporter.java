@@ -17,6 +17,7 @@ package io.seata.metrics.exporter;
 
 import java.io.Closeable;
 
+import io.seata.metrics.MetricsSnapshot;
 import io.seata.metrics.registry.Registry;
 
 /**
@@ -26,4 +27,13 @@ import io.seata.metrics.registry.Registry;
  */
 public interface Exporter extends Closeable {
     void setRegistry(Registry registry);
+
+    /**
+     * Receive the snapshot published at the configured interval,
+     * pull exporters keep the latest one for their scrapes and push exporters send it out
+     *
+     * @param snapshot the snapshot
+     */
+    default void export(MetricsSnapshot snapshot) {
+    }
 }
\ No newline at end of file
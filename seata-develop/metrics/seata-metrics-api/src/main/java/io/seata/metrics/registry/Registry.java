@@ -38,5 +38,27 @@ public interface Registry {
 
     Timer getTimer(Id id);
 
+    /**
+     * Get a summary which also measures the percentiles of the increased values,
+     * registries without histogram support return the plain summary
+     *
+     * @param id the id
+     * @return the summary
+     */
+    default Summary getHistogramSummary(Id id) {
+        return getSummary(id);
+    }
+
+    /**
+     * Get a timer which also measures the latency percentiles,
+     * registries without histogram support return the plain timer
+     *
+     * @param id the id
+     * @return the timer
+     */
+    default Timer getHistogramTimer(Id id) {
+        return getTimer(id);
+    }
+
     Iterable<Measurement> measure();
 }
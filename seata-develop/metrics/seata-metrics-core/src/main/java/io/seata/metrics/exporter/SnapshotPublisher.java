@@ -0,0 +1,103 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.metrics.exporter;
+
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.common.thread.NamedThreadFactory;
+import io.seata.config.ConfigurationFactory;
+import io.seata.core.constants.ConfigurationKeys;
+import io.seata.core.rpc.Disposable;
+import io.seata.metrics.MetricsSnapshot;
+import io.seata.metrics.registry.Registry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static io.seata.core.constants.DefaultValues.DEFAULT_METRICS_SNAPSHOT_INTERVAL;
+
+/**
+ * Measure the registry at a fixed interval and publish the snapshot to all exporters.
+ * The registry is measured by this single thread only, so the resetting meters are not split
+ * across several scrapers, and scrapes do not allocate measurements.
+ *
+ * @author agent
+ */
+public class SnapshotPublisher implements Disposable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SnapshotPublisher.class);
+
+    private final Registry registry;
+
+    private final List<Exporter> exporters;
+
+    private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1,
+        new NamedThreadFactory("MetricsSnapshotPublisher", 1, true));
+
+    public SnapshotPublisher(Registry registry, List<Exporter> exporters) {
+        this.registry = registry;
+        this.exporters = exporters;
+    }
+
+    /**
+     * Start publishing if the snapshot interval is positive
+     *
+     * @param registry  the registry
+     * @param exporters the exporters
+     * @return the started publisher, null if the exporters measure the registry by themselves
+     */
+    public static SnapshotPublisher start(Registry registry, List<Exporter> exporters) {
+        long interval = ConfigurationFactory.getInstance().getLong(
+            ConfigurationKeys.METRICS_PREFIX + ConfigurationKeys.METRICS_SNAPSHOT_INTERVAL,
+            DEFAULT_METRICS_SNAPSHOT_INTERVAL);
+        if (interval <= 0) {
+            return null;
+        }
+        SnapshotPublisher publisher = new SnapshotPublisher(registry, exporters);
+        publisher.executor.scheduleAtFixedRate(publisher::publish, interval, interval, TimeUnit.MILLISECONDS);
+        return publisher;
+    }
+
+    /**
+     * Measure the registry and export the snapshot
+     */
+    public void publish() {
+        MetricsSnapshot snapshot;
+        try {
+            snapshot = new MetricsSnapshot(System.currentTimeMillis(), registry.measure());
+        } catch (Throwable t) {
+            LOGGER.error("measure metrics registry failed", t);
+            return;
+        }
+        for (Exporter exporter : exporters) {
+            try {
+                exporter.export(snapshot);
+            } catch (Throwable t) {
+                LOGGER.error("export metrics snapshot by {} failed", exporter.getClass().getSimpleName(), t);
+            }
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public void destroy() {
+        shutdown();
+    }
+}
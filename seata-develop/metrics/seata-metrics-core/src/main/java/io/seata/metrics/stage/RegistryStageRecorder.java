@@ -0,0 +1,123 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.metrics.stage;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.core.metrics.Stage;
+import io.seata.core.metrics.StageRecorder;
+import io.seata.core.model.BranchType;
+import io.seata.metrics.Counter;
+import io.seata.metrics.Id;
+import io.seata.metrics.IdConstants;
+import io.seata.metrics.Summary;
+import io.seata.metrics.Timer;
+import io.seata.metrics.registry.Registry;
+
+/**
+ * Stage recorder backed by the metrics registry.
+ * Every timed stage, branch type and subject has a histogram timer and a failed counter, every value stage a
+ * histogram summary. They are resolved once and then looked up by stage and branch type index and subject,
+ * so a record does not allocate.
+ *
+ * @author agent
+ */
+public class RegistryStageRecorder implements StageRecorder {
+
+    private static final String NO_SUBJECT = "";
+
+    private final Registry registry;
+
+    private final String role;
+
+    /**
+     * [stage][branch type ordinal + 1, 0 for no branch] -> subject -> meters
+     */
+    private final ConcurrentMap<String, StageMeters>[][] stageMeters;
+
+    @SuppressWarnings("unchecked")
+    public RegistryStageRecorder(Registry registry, String role) {
+        this.registry = registry;
+        this.role = role;
+        this.stageMeters = new ConcurrentMap[Stage.values().length][BranchType.values().length + 1];
+        for (ConcurrentMap<String, StageMeters>[] branchTypeMeters : stageMeters) {
+            for (int i = 0; i < branchTypeMeters.length; i++) {
+                branchTypeMeters[i] = new ConcurrentHashMap<>();
+            }
+        }
+    }
+
+    @Override
+    public void record(Stage stage, BranchType branchType, String subject, long elapsedNanos, boolean success) {
+        StageMeters meters = getStageMeters(stage, branchType, subject);
+        meters.timer.record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos), TimeUnit.MICROSECONDS);
+        if (!success) {
+            meters.failed.increase(1);
+        }
+    }
+
+    @Override
+    public void recordValue(Stage stage, BranchType branchType, String subject, long value) {
+        getStageMeters(stage, branchType, subject).summary.increase(value);
+    }
+
+    private StageMeters getStageMeters(Stage stage, BranchType branchType, String subject) {
+        ConcurrentMap<String, StageMeters> subjectMeters =
+            stageMeters[stage.ordinal()][branchType == null ? 0 : branchType.ordinal() + 1];
+        String key = subject == null ? NO_SUBJECT : subject;
+        StageMeters meters = subjectMeters.get(key);
+        if (meters == null) {
+            meters = subjectMeters.computeIfAbsent(key, k -> new StageMeters(stage, branchType, k));
+        }
+        return meters;
+    }
+
+    private class StageMeters {
+
+        private final Timer timer;
+
+        private final Counter failed;
+
+        private final Summary summary;
+
+        private StageMeters(Stage stage, BranchType branchType, String subject) {
+            Id id = new Id(IdConstants.SEATA_STAGE)
+                .withTag(IdConstants.ROLE_KEY, role)
+                .withTag(IdConstants.STAGE_KEY, stage.getValue());
+            if (branchType != null) {
+                id.withTag(IdConstants.BRANCH_TYPE_KEY, branchType.name());
+            }
+            if (!NO_SUBJECT.equals(subject)) {
+                id.withTag(stage.getSubjectKey(), subject);
+            }
+            if (stage.isTimed()) {
+                this.timer = registry.getHistogramTimer(new Id(id.getName()).withTag(id.getTags())
+                    .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_TIMER));
+                this.failed = registry.getCounter(new Id(id.getName()).withTag(id.getTags())
+                    .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_COUNTER)
+                    .withTag(IdConstants.STATUS_KEY, IdConstants.STATUS_VALUE_FAILED));
+                this.summary = null;
+            } else {
+                this.timer = null;
+                this.failed = null;
+                this.summary = registry.getHistogramSummary(new Id(id.getName()).withTag(id.getTags())
+                    .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_SUMMARY));
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.metrics.stage;
+
+import java.util.List;
+
+import io.seata.common.loader.LoadLevel;
+import io.seata.config.ConfigurationFactory;
+import io.seata.core.constants.ConfigurationKeys;
+import io.seata.core.metrics.StageRecorder;
+import io.seata.core.metrics.StageRecorderProvider;
+import io.seata.core.rpc.netty.ShutdownHook;
+import io.seata.metrics.IdConstants;
+import io.seata.metrics.exporter.Exporter;
+import io.seata.metrics.exporter.ExporterFactory;
+import io.seata.metrics.exporter.SnapshotPublisher;
+import io.seata.metrics.registry.Registry;
+import io.seata.metrics.registry.RegistryFactory;
+
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_METRICS_ENABLED;
+
+/**
+ * Provide the registry-backed stage recorder to the TM and RM clients when client.metrics.enabled is true.
+ * The registry and the exporters are configured by the same metrics.registryType and metrics.exporterList
+ * as the server.
+ *
+ * @author agent
+ */
+@LoadLevel(name = "registry", order = 1)
+public class RegistryStageRecorderProvider implements StageRecorderProvider {
+
+    @Override
+    public StageRecorder provide() {
+        boolean enabled = ConfigurationFactory.getInstance().getBoolean(ConfigurationKeys.CLIENT_METRICS_ENABLED,
+            DEFAULT_CLIENT_METRICS_ENABLED);
+        if (!enabled) {
+            return null;
+        }
+        Registry registry = RegistryFactory.getInstance();
+        if (registry == null) {
+            return null;
+        }
+        List<Exporter> exporters = ExporterFactory.getInstanceList();
+        exporters.forEach(exporter -> exporter.setRegistry(registry));
+        if (!exporters.isEmpty()) {
+            SnapshotPublisher snapshotPublisher = SnapshotPublisher.start(registry, exporters);
+            if (snapshotPublisher != null) {
+                ShutdownHook.getInstance().addDisposable(snapshotPublisher);
+            }
+        }
+        return new RegistryStageRecorder(registry, IdConstants.ROLE_VALUE_CLIENT);
+    }
+}
@@ -17,8 +17,12 @@ package io.seata.metrics.exporter.prometheus;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import io.prometheus.client.Collector;
 import io.prometheus.client.Collector.MetricFamilySamples.Sample;
@@ -26,14 +30,18 @@ import io.prometheus.client.exporter.HTTPServer;
 import io.seata.common.loader.LoadLevel;
 import io.seata.config.ConfigurationFactory;
 import io.seata.core.constants.ConfigurationKeys;
+import io.seata.metrics.Id;
 import io.seata.metrics.Measurement;
+import io.seata.metrics.MetricsSnapshot;
 import io.seata.metrics.exporter.Exporter;
 import io.seata.metrics.registry.Registry;
 
 import static io.seata.core.constants.ConfigurationKeys.METRICS_EXPORTER_PROMETHEUS_PORT;
 
 /**
- * Exporter for Prometheus
+ * Exporter for Prometheus.
+ * When snapshots are published, every scrape returns the samples converted from the latest snapshot,
+ * otherwise each scrape measures the registry. The label names and values are converted once per meter id.
  *
  * @author zhengyangyong
  */
@@ -42,6 +50,10 @@ public class PrometheusExporter extends Collector implements Collector.Describab
 
     private final HTTPServer server;
 
+    private final ConcurrentMap<UUID, Labels> labelsCache = new ConcurrentHashMap<>();
+
+    private volatile List<MetricFamilySamples> snapshotSamples;
+
     private Registry registry;
 
     public PrometheusExporter() throws IOException {
@@ -56,30 +68,36 @@ public class PrometheusExporter extends Collector implements Collector.Describab
         this.registry = registry;
     }
 
+    @Override
+    public void export(MetricsSnapshot snapshot) {
+        this.snapshotSamples = convertMeasurementsToFamilySamples(snapshot.getMeasurements());
+    }
+
     @Override
     public List<MetricFamilySamples> collect() {
-        List<MetricFamilySamples> familySamples = new ArrayList<>();
+        List<MetricFamilySamples> familySamples = snapshotSamples;
+        if (familySamples != null) {
+            return familySamples;
+        }
         if (registry != null) {
-            Iterable<Measurement> measurements = registry.measure();
-            List<Sample> samples = new ArrayList<>();
-            measurements.forEach(measurement -> samples.add(convertMeasurementToSample(measurement)));
+            return convertMeasurementsToFamilySamples(registry.measure());
+        }
+        return Collections.emptyList();
+    }
 
-            if (!samples.isEmpty()) {
-                familySamples.add(new MetricFamilySamples("seata", Type.UNTYPED, "seata", samples));
-            }
+    private List<MetricFamilySamples> convertMeasurementsToFamilySamples(Iterable<Measurement> measurements) {
+        List<Sample> samples = new ArrayList<>();
+        measurements.forEach(measurement -> samples.add(convertMeasurementToSample(measurement)));
+        if (samples.isEmpty()) {
+            return Collections.emptyList();
         }
-        return familySamples;
+        return Collections.singletonList(new MetricFamilySamples("seata", Type.UNTYPED, "seata", samples));
     }
 
     private Sample convertMeasurementToSample(Measurement measurement) {
-        String prometheusName = measurement.getId().getName().replace(".", "_");
-        List<String> labelNames = new ArrayList<>();
-        List<String> labelValues = new ArrayList<>();
-        for (Entry<String, String> tag : measurement.getId().getTags()) {
-            labelNames.add(tag.getKey());
-            labelValues.add(tag.getValue());
-        }
-        return new Sample(prometheusName, labelNames, labelValues, measurement.getValue(),
+        Id id = measurement.getId();
+        Labels labels = labelsCache.computeIfAbsent(id.getId(), key -> new Labels(id));
+        return new Sample(labels.prometheusName, labels.labelNames, labels.labelValues, measurement.getValue(),
             (long)measurement.getTimestamp());
     }
 
@@ -93,4 +111,23 @@ public class PrometheusExporter extends Collector implements Collector.Describab
         server.stop();
     }
 
-}
\ No newline at end of file
+    private static class Labels {
+        private final String prometheusName;
+
+        private final List<String> labelNames;
+
+        private final List<String> labelValues;
+
+        private Labels(Id id) {
+            this.prometheusName = id.getName().replace(".", "_");
+            List<String> names = new ArrayList<>(id.getTagCount());
+            List<String> values = new ArrayList<>(id.getTagCount());
+            for (Entry<String, String> tag : id.getTags()) {
+                names.add(tag.getKey());
+                values.add(tag.getValue());
+            }
+            this.labelNames = Collections.unmodifiableList(names);
+            this.labelValues = Collections.unmodifiableList(values);
+        }
+    }
+}
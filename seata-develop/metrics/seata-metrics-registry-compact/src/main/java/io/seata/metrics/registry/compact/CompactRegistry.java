@@ -61,6 +61,16 @@ public class CompactRegistry implements Registry {
         return (Timer)CompactRegistry.METERS.computeIfAbsent(id.getId(), key -> new CompactTimer(id));
     }
 
+    @Override
+    public Summary getHistogramSummary(Id id) {
+        return (Summary)CompactRegistry.METERS.computeIfAbsent(id.getId(), key -> new HistogramSummary(id));
+    }
+
+    @Override
+    public Timer getHistogramTimer(Id id) {
+        return (Timer)CompactRegistry.METERS.computeIfAbsent(id.getId(), key -> new HistogramTimer(id));
+    }
+
     @Override
     public Iterable<Measurement> measure() {
         List<Measurement> measurements = new ArrayList<>();
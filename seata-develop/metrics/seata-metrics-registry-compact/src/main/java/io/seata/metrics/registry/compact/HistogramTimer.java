@@ -0,0 +1,124 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.metrics.registry.compact;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.metrics.Clock;
+import io.seata.metrics.Id;
+import io.seata.metrics.IdConstants;
+import io.seata.metrics.Measurement;
+import io.seata.metrics.SystemClock;
+import io.seata.metrics.Timer;
+
+/**
+ * Timer implement with HistogramValue, measures the p50, p99 and p999 latency besides the CompactTimer statistics
+ *
+ * @author agent
+ */
+public class HistogramTimer implements Timer {
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+
+    private final Id id;
+
+    private final Id countId;
+
+    private final Id totalId;
+
+    private final Id maxId;
+
+    private final Id averageId;
+
+    private final Id p50Id;
+
+    private final Id p99Id;
+
+    private final Id p999Id;
+
+    private final HistogramValue value;
+
+    private final Clock clock;
+
+    public HistogramTimer(Id id) {
+        this(id, SystemClock.INSTANCE);
+    }
+
+    public HistogramTimer(Id id, Clock clock) {
+        this.id = id;
+        this.countId = new Id(id.getName()).withTag(id.getTags())
+            .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_COUNT);
+        this.totalId = new Id(id.getName()).withTag(id.getTags())
+            .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_TOTAL);
+        this.maxId = new Id(id.getName()).withTag(id.getTags())
+            .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_MAX);
+        this.averageId = new Id(id.getName()).withTag(id.getTags())
+            .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_AVERAGE);
+        this.p50Id = new Id(id.getName()).withTag(id.getTags())
+            .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_P50);
+        this.p99Id = new Id(id.getName()).withTag(id.getTags())
+            .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_P99);
+        this.p999Id = new Id(id.getName()).withTag(id.getTags())
+            .withTag(IdConstants.STATISTIC_KEY, IdConstants.STATISTIC_VALUE_P999);
+        this.value = new HistogramValue();
+        this.clock = clock;
+    }
+
+    @Override
+    public Id getId() {
+        return id;
+    }
+
+    @Override
+    public void record(long value, TimeUnit unit) {
+        this.value.record(unit == TimeUnit.MICROSECONDS ? value : TimeUnit.MICROSECONDS.convert(value, unit));
+    }
+
+    @Override
+    public long count() {
+        return this.value.getCount();
+    }
+
+    @Override
+    public long total() {
+        return this.value.getTotal();
+    }
+
+    @Override
+    public long max() {
+        return this.value.getMax();
+    }
+
+    @Override
+    public double average() {
+        return this.value.getAverage();
+    }
+
+    @Override
+    public Iterable<Measurement> measure() {
+        //reset value when measure
+        double time = clock.getCurrentMilliseconds();
+        HistogramValue.Snapshot snapshot = this.value.drain(time, QUANTILES);
+        long[] percentiles = snapshot.getPercentiles();
+        return Arrays.asList(new Measurement(countId, time, snapshot.getCount()),
+            new Measurement(totalId, time, snapshot.getTotal() * 0.001),
+            new Measurement(maxId, time, snapshot.getMax() * 0.001),
+            new Measurement(averageId, time, snapshot.getAverage() * 0.001),
+            new Measurement(p50Id, time, percentiles[0] * 0.001),
+            new Measurement(p99Id, time, percentiles[1] * 0.001),
+            new Measurement(p999Id, time, percentiles[2] * 0.001));
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.metrics.registry.compact;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Record container for HistogramTimer and HistogramSummary.
+ * Values are counted in log-linear buckets: values below 64 have their own bucket, above that every power of two
+ * is split into 32 linear sub buckets, so a percentile is reported with a relative error of about 3%.
+ * The buckets are striped by thread to keep concurrent recording lock-free and mostly uncontended,
+ * the stripes are only merged when percentiles are computed.
+ * <p>
+ * The buckets cover the values up to {@link #MAX_TRACKABLE_VALUE} with 1024 counters, 8KB per stripe. A stripe is
+ * allocated when a thread first records into it, so a meter recorded from few threads stays small, and the
+ * stripes are kept across the measures by {@link #drain(double, double...)} instead of a new value each interval.
+ *
+ * @author agent
+ */
+public class HistogramValue {
+    private static final int SUB_BUCKET_BITS = 6;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT >> 1;
+
+    /**
+     * larger values are counted in the last bucket, the max and total still keep the exact value,
+     * about 19 hours for the microseconds of a timer
+     */
+    public static final long MAX_TRACKABLE_VALUE = (1L << 36) - 1;
+
+    private static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_VALUE) + 1;
+
+    private static final int STRIPE_COUNT = Math.min(
+        Integer.highestOneBit(Math.max(Runtime.getRuntime().availableProcessors(), 1)), 8);
+
+    private static final int STRIPE_MASK = STRIPE_COUNT - 1;
+
+    private final AtomicReferenceArray<AtomicLongArray> stripes;
+
+    private final LongAdder total;
+
+    private final AtomicLong max;
+
+    private volatile double startMilliseconds;
+
+    public HistogramValue() {
+        this(0);
+    }
+
+    public HistogramValue(double startMilliseconds) {
+        this.stripes = new AtomicReferenceArray<>(STRIPE_COUNT);
+        this.total = new LongAdder();
+        this.max = new AtomicLong(0);
+        this.startMilliseconds = startMilliseconds;
+    }
+
+    public void record(long value) {
+        if (value < 0) {
+            return;
+        }
+        int index = bucketIndex(Math.min(value, MAX_TRACKABLE_VALUE));
+        getStripe((int)Thread.currentThread().getId() & STRIPE_MASK).getAndIncrement(index);
+        this.total.add(value);
+        long currentMax = this.max.get();
+        while (value > currentMax && !this.max.compareAndSet(currentMax, value)) {
+            currentMax = this.max.get();
+        }
+    }
+
+    private AtomicLongArray getStripe(int stripeIndex) {
+        AtomicLongArray stripe = stripes.get(stripeIndex);
+        if (stripe == null) {
+            stripes.compareAndSet(stripeIndex, null, new AtomicLongArray(BUCKET_COUNT));
+            stripe = stripes.get(stripeIndex);
+        }
+        return stripe;
+    }
+
+    public long getCount() {
+        long count = 0;
+        for (int s = 0; s < STRIPE_COUNT; s++) {
+            AtomicLongArray stripe = stripes.get(s);
+            if (stripe == null) {
+                continue;
+            }
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                count += stripe.get(i);
+            }
+        }
+        return count;
+    }
+
+    public long getTotal() {
+        return total.longValue();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getAverage() {
+        long count = getCount();
+        return count == 0 ? 0 : total.doubleValue() / count;
+    }
+
+    public double getTps(double currentMilliseconds) {
+        return tps(total.doubleValue(), startMilliseconds, currentMilliseconds);
+    }
+
+    /**
+     * Compute the percentiles with a single merge of the stripes.
+     * Each percentile is the upper bound of the bucket holding it, capped by the recorded max.
+     *
+     * @param quantiles the quantiles in [0, 1]
+     * @return the percentile values in the order of the quantiles, 0 if nothing was recorded
+     */
+    public long[] getPercentiles(double... quantiles) {
+        return mergeStripes(false).getPercentiles(getMax(), quantiles);
+    }
+
+    /**
+     * Take the statistics recorded so far and start over, the buckets are drained in place.
+     * A value recorded concurrently goes either into the returned snapshot or into the next one.
+     *
+     * @param currentMilliseconds the current time, the start of the next interval
+     * @param quantiles           the quantiles in [0, 1]
+     * @return the snapshot of the drained statistics
+     */
+    public Snapshot drain(double currentMilliseconds, double... quantiles) {
+        double start = this.startMilliseconds;
+        this.startMilliseconds = currentMilliseconds;
+        long total = this.total.sumThenReset();
+        long max = this.max.getAndSet(0);
+        MergedBuckets buckets = mergeStripes(true);
+        return new Snapshot(buckets.count, total, max, tps(total, start, currentMilliseconds),
+            buckets.getPercentiles(max, quantiles));
+    }
+
+    private MergedBuckets mergeStripes(boolean reset) {
+        MergedBuckets buckets = new MergedBuckets();
+        for (int s = 0; s < STRIPE_COUNT; s++) {
+            AtomicLongArray stripe = stripes.get(s);
+            if (stripe == null) {
+                continue;
+            }
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                long bucketCount = reset ? stripe.getAndSet(i, 0) : stripe.get(i);
+                buckets.counts[i] += bucketCount;
+                buckets.count += bucketCount;
+            }
+        }
+        return buckets;
+    }
+
+    private static double tps(double total, double startMilliseconds, double currentMilliseconds) {
+        if (currentMilliseconds <= startMilliseconds) {
+            return 0;
+        }
+        return total / (currentMilliseconds - startMilliseconds) * 1000.0;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int)value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return shift * SUB_BUCKET_HALF_COUNT + (int)(value >>> shift);
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF_COUNT - 1;
+        long subBucket = index - (long)shift * SUB_BUCKET_HALF_COUNT;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    private static class MergedBuckets {
+
+        private final long[] counts = new long[BUCKET_COUNT];
+
+        private long count;
+
+        private long[] getPercentiles(long max, double... quantiles) {
+            long[] percentiles = new long[quantiles.length];
+            if (count == 0) {
+                return percentiles;
+            }
+            for (int q = 0; q < quantiles.length; q++) {
+                long rank = Math.max((long)Math.ceil(quantiles[q] * count), 1);
+                long cumulative = 0;
+                for (int i = 0; i < BUCKET_COUNT; i++) {
+                    cumulative += counts[i];
+                    if (cumulative >= rank) {
+                        percentiles[q] = Math.min(bucketUpperBound(i), max);
+                        break;
+                    }
+                }
+            }
+            return percentiles;
+        }
+    }
+
+    /**
+     * The statistics of a measure interval.
+     */
+    public static class Snapshot {
+
+        private final long count;
+
+        private final long total;
+
+        private final long max;
+
+        private final double tps;
+
+        private final long[] percentiles;
+
+        Snapshot(long count, long total, long max, double tps, long[] percentiles) {
+            this.count = count;
+            this.total = total;
+            this.max = max;
+            this.tps = tps;
+            this.percentiles = percentiles;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotal() {
+            return total;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        public double getAverage() {
+            return count == 0 ? 0 : (double)total / count;
+        }
+
+        public double getTps() {
+            return tps;
+        }
+
+        public long[] getPercentiles() {
+            return percentiles;
+        }
+    }
+}
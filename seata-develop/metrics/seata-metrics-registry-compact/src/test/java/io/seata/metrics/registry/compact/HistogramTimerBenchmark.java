@@ -0,0 +1,94 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.metrics.registry.compact;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.metrics.Id;
+import io.seata.metrics.IdConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of the record cost of {@link HistogramTimer} against {@link CompactTimer},
+ * from a single thread and from 8 threads sharing the timer like the TC event subscribers do.
+ * The histogram record is expected to stay under 50ns.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HistogramTimerBenchmark {
+
+    private HistogramTimer histogramTimer;
+
+    private CompactTimer compactTimer;
+
+    @Setup
+    public void setup() {
+        Id id = new Id(IdConstants.SEATA_TRANSACTION)
+            .withTag(IdConstants.METER_KEY, IdConstants.METER_VALUE_TIMER);
+        histogramTimer = new HistogramTimer(id);
+        compactTimer = new CompactTimer(id);
+    }
+
+    private static long latency() {
+        return ThreadLocalRandom.current().nextLong(100, 200_000);
+    }
+
+    @Benchmark
+    public void recordHistogram() {
+        histogramTimer.record(latency(), TimeUnit.MICROSECONDS);
+    }
+
+    @Benchmark
+    public void recordCompact() {
+        compactTimer.record(latency(), TimeUnit.MICROSECONDS);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void recordHistogramConcurrently() {
+        histogramTimer.record(latency(), TimeUnit.MICROSECONDS);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void recordCompactConcurrently() {
+        compactTimer.record(latency(), TimeUnit.MICROSECONDS);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(HistogramTimerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
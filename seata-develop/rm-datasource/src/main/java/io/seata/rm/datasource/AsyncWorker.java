@@ -17,37 +17,48 @@ package io.seata.rm.datasource;
 
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.LinkedHashSet;
-import java.util.List;
-import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.seata.common.exception.NotSupportYetException;
-import io.seata.common.exception.ShouldNeverHappenException;
 import io.seata.common.thread.NamedThreadFactory;
-import io.seata.common.util.CollectionUtils;
 import io.seata.config.ConfigurationFactory;
 import io.seata.core.exception.TransactionException;
+import io.seata.core.metrics.Stage;
+import io.seata.core.metrics.StageMetrics;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
 import io.seata.core.model.ResourceManagerInbound;
 import io.seata.rm.DefaultResourceManager;
+import io.seata.rm.datasource.undo.UndoLogManager;
 import io.seata.rm.datasource.undo.UndoLogManagerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static io.seata.core.constants.ConfigurationKeys.CLIENT_ASYNC_COMMIT_BUFFER_LIMIT;
+import static io.seata.core.constants.ConfigurationKeys.CLIENT_ASYNC_COMMIT_FLUSH_INTERVAL;
+import static io.seata.core.constants.ConfigurationKeys.CLIENT_ASYNC_COMMIT_PARALLELISM;
 import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT;
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_ASYNC_COMMIT_FLUSH_INTERVAL;
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_ASYNC_COMMIT_PARALLELISM;
 
 /**
  * The type Async worker.
+ * The committed branches are queued per resource, each queue is drained by at most
+ * {@link #ASYNC_COMMIT_PARALLELISM} parallel deleters, started when the queue reaches a full batch
+ * or at the latest every {@link #ASYNC_COMMIT_FLUSH_INTERVAL} milliseconds.
  *
  * @author sharajava
  */
@@ -55,8 +66,6 @@ public class AsyncWorker implements ResourceManagerInbound {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AsyncWorker.class);
 
-    private static final int DEFAULT_RESOURCE_SIZE = 16;
-
     private static final int UNDOLOG_DELETE_LIMIT_SIZE = 1000;
 
 
@@ -103,17 +112,58 @@ public class AsyncWorker implements ResourceManagerInbound {
         BranchType branchType;
     }
 
-    private static int ASYNC_COMMIT_BUFFER_LIMIT = ConfigurationFactory.getInstance().getInt(
+    /**
+     * The committed branches of a resource waiting for their undo logs to be deleted.
+     */
+    private static class CommitQueue {
+
+        private final String resourceId;
+
+        private final Queue<Phase2Context> contexts = new ConcurrentLinkedQueue<>();
+
+        /**
+         * the size of the contexts, {@link ConcurrentLinkedQueue#size()} is not constant time
+         */
+        private final AtomicInteger size = new AtomicInteger();
+
+        private final AtomicInteger deleters = new AtomicInteger();
+
+        private CommitQueue(String resourceId) {
+            this.resourceId = resourceId;
+        }
+    }
+
+    private static final int ASYNC_COMMIT_BUFFER_LIMIT = ConfigurationFactory.getInstance().getInt(
         CLIENT_ASYNC_COMMIT_BUFFER_LIMIT, DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT);
 
-    private static final BlockingQueue<Phase2Context> ASYNC_COMMIT_BUFFER = new LinkedBlockingQueue<>(
-        ASYNC_COMMIT_BUFFER_LIMIT);
+    private static final int ASYNC_COMMIT_PARALLELISM = Math.max(1, ConfigurationFactory.getInstance().getInt(
+        CLIENT_ASYNC_COMMIT_PARALLELISM, DEFAULT_CLIENT_ASYNC_COMMIT_PARALLELISM));
+
+    private static final long ASYNC_COMMIT_FLUSH_INTERVAL = Math.max(1L, ConfigurationFactory.getInstance().getLong(
+        CLIENT_ASYNC_COMMIT_FLUSH_INTERVAL, DEFAULT_CLIENT_ASYNC_COMMIT_FLUSH_INTERVAL));
+
+    private final ConcurrentMap<String, CommitQueue> commitQueueMap = new ConcurrentHashMap<>();
+
+    /**
+     * the queued branches of all the resources, bounded by {@link #ASYNC_COMMIT_BUFFER_LIMIT}
+     */
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private volatile ExecutorService deleteExecutor;
 
     @Override
     public BranchStatus branchCommit(BranchType branchType, String xid, long branchId, String resourceId,
                                      String applicationData) throws TransactionException {
-        if (!ASYNC_COMMIT_BUFFER.offer(new Phase2Context(branchType, xid, branchId, resourceId, applicationData))) {
+        if (pendingCount.incrementAndGet() > ASYNC_COMMIT_BUFFER_LIMIT) {
+            pendingCount.decrementAndGet();
+            StageMetrics.recordValue(Stage.ASYNC_WORKER_REJECT, BranchType.AT, resourceId, 1);
             LOGGER.warn("Async commit buffer is FULL. Rejected branch [{}/{}] will be handled by housekeeping later.", branchId, xid);
+            return BranchStatus.PhaseTwo_Committed;
+        }
+        CommitQueue commitQueue = commitQueueMap.computeIfAbsent(resourceId, CommitQueue::new);
+        commitQueue.contexts.offer(new Phase2Context(branchType, xid, branchId, resourceId, applicationData));
+        if (commitQueue.size.incrementAndGet() >= UNDOLOG_DELETE_LIMIT_SIZE) {
+            dispatch(commitQueue);
         }
         return BranchStatus.PhaseTwo_Committed;
     }
@@ -122,98 +172,164 @@ public class AsyncWorker implements ResourceManagerInbound {
      * Init.
      */
     public synchronized void init() {
-        LOGGER.info("Async Commit Buffer Limit: {}", ASYNC_COMMIT_BUFFER_LIMIT);
+        LOGGER.info("Async Commit Buffer Limit: {}, Parallelism: {}, Flush Interval: {}ms", ASYNC_COMMIT_BUFFER_LIMIT,
+            ASYNC_COMMIT_PARALLELISM, ASYNC_COMMIT_FLUSH_INTERVAL);
+        // the deleters are bounded by the parallelism of each resource
+        deleteExecutor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS,
+            new SynchronousQueue<>(), new NamedThreadFactory("AsyncWorkerDelete", true));
         ScheduledExecutorService timerExecutor = new ScheduledThreadPoolExecutor(1, new NamedThreadFactory("AsyncWorker", 1, true));
         timerExecutor.scheduleAtFixedRate(() -> {
             try {
-
                 doBranchCommits();
-
             } catch (Throwable e) {
                 LOGGER.info("Failed at async committing ... {}", e.getMessage());
 
             }
-        }, 10, 1000 * 1, TimeUnit.MILLISECONDS);
+        }, 10, ASYNC_COMMIT_FLUSH_INTERVAL, TimeUnit.MILLISECONDS);
     }
 
-    private void doBranchCommits() {
-        if (ASYNC_COMMIT_BUFFER.isEmpty()) {
-            return;
+    /**
+     * Flush the queues of all the resources.
+     */
+    void doBranchCommits() {
+        for (CommitQueue commitQueue : commitQueueMap.values()) {
+            int size = commitQueue.size.get();
+            StageMetrics.recordValue(Stage.ASYNC_WORKER_BUFFER, BranchType.AT, commitQueue.resourceId, size);
+            if (size > 0) {
+                dispatch(commitQueue);
+            }
         }
+    }
 
-        Map<String, List<Phase2Context>> mappedContexts = new HashMap<>(DEFAULT_RESOURCE_SIZE);
-        while (!ASYNC_COMMIT_BUFFER.isEmpty()) {
-            Phase2Context commitContext = ASYNC_COMMIT_BUFFER.poll();
-            List<Phase2Context> contextsGroupedByResourceId = mappedContexts.computeIfAbsent(commitContext.resourceId, k -> new ArrayList<>());
-            contextsGroupedByResourceId.add(commitContext);
-        }
+    /**
+     * Gets the count of the queued branches of all the resources.
+     *
+     * @return the pending count
+     */
+    int getPendingCount() {
+        return pendingCount.get();
+    }
 
-        for (Map.Entry<String, List<Phase2Context>> entry : mappedContexts.entrySet()) {
-            Connection conn = null;
-            DataSourceProxy dataSourceProxy;
-            try {
+    /**
+     * Start a deleter of the queue unless it already has enough running.
+     */
+    private void dispatch(CommitQueue commitQueue) {
+        ExecutorService executor = deleteExecutor;
+        if (executor == null) {
+            return;
+        }
+        int running;
+        do {
+            running = commitQueue.deleters.get();
+            if (running >= ASYNC_COMMIT_PARALLELISM) {
+                return;
+            }
+        } while (!commitQueue.deleters.compareAndSet(running, running + 1));
+        try {
+            executor.execute(() -> {
                 try {
-                    DataSourceManager resourceManager = (DataSourceManager) DefaultResourceManager.get()
-                        .getResourceManager(BranchType.AT);
-                    dataSourceProxy = resourceManager.get(entry.getKey());
-                    if (dataSourceProxy == null) {
-                        throw new ShouldNeverHappenException("Failed to find resource on " + entry.getKey());
-                    }
-                    conn = dataSourceProxy.getPlainConnection();
-                } catch (SQLException sqle) {
-                    LOGGER.warn("Failed to get connection for async committing on " + entry.getKey(), sqle);
-                    continue;
+                    deleteUndoLogs(commitQueue);
+                } catch (Throwable e) {
+                    LOGGER.error("Failed at async committing on {} ... {}", commitQueue.resourceId, e.getMessage(), e);
+                } finally {
+                    commitQueue.deleters.decrementAndGet();
                 }
-                List<Phase2Context> contextsGroupedByResourceId = entry.getValue();
-                Set<String> xids = new LinkedHashSet<>(UNDOLOG_DELETE_LIMIT_SIZE);
-                Set<Long> branchIds = new LinkedHashSet<>(UNDOLOG_DELETE_LIMIT_SIZE);
-                for (Phase2Context commitContext : contextsGroupedByResourceId) {
+            });
+        } catch (RejectedExecutionException e) {
+            commitQueue.deleters.decrementAndGet();
+        }
+    }
+
+    /**
+     * Delete the undo logs of the queue in batches until it is empty.
+     */
+    private void deleteUndoLogs(CommitQueue commitQueue) {
+        String resourceId = commitQueue.resourceId;
+        DataSourceProxy dataSourceProxy = getDataSourceProxy(resourceId);
+        if (dataSourceProxy == null) {
+            int dropped = 0;
+            while (poll(commitQueue) != null) {
+                dropped++;
+            }
+            LOGGER.warn("Failed to find resource on {}, {} branches will be handled by housekeeping later.",
+                resourceId, dropped);
+            return;
+        }
+        Connection conn;
+        try {
+            conn = dataSourceProxy.getPlainConnection();
+        } catch (SQLException sqle) {
+            // keep the queued branches for the next flush
+            LOGGER.warn("Failed to get connection for async committing on " + resourceId, sqle);
+            return;
+        }
+        try {
+            UndoLogManager undoLogManager = UndoLogManagerFactory.getUndoLogManager(dataSourceProxy.getDbType());
+            Set<String> xids = new LinkedHashSet<>(UNDOLOG_DELETE_LIMIT_SIZE);
+            Set<Long> branchIds = new LinkedHashSet<>(UNDOLOG_DELETE_LIMIT_SIZE);
+            while (true) {
+                Phase2Context commitContext;
+                while (Math.max(xids.size(), branchIds.size()) < UNDOLOG_DELETE_LIMIT_SIZE
+                    && (commitContext = poll(commitQueue)) != null) {
                     xids.add(commitContext.xid);
                     branchIds.add(commitContext.branchId);
-                    int maxSize = Math.max(xids.size(), branchIds.size());
-                    if (maxSize == UNDOLOG_DELETE_LIMIT_SIZE) {
-                        try {
-                            UndoLogManagerFactory.getUndoLogManager(dataSourceProxy.getDbType()).batchDeleteUndoLog(
-                                xids, branchIds, conn);
-                        } catch (Exception ex) {
-                            LOGGER.warn("Failed to batch delete undo log [" + branchIds + "/" + xids + "]", ex);
-                        }
-                        xids.clear();
-                        branchIds.clear();
-                    }
                 }
-
-                if (CollectionUtils.isEmpty(xids) || CollectionUtils.isEmpty(branchIds)) {
+                if (xids.isEmpty()) {
                     return;
                 }
-
+                long begin = StageMetrics.begin();
+                boolean success = false;
                 try {
-                    UndoLogManagerFactory.getUndoLogManager(dataSourceProxy.getDbType()).batchDeleteUndoLog(xids,
-                        branchIds, conn);
+                    undoLogManager.batchDeleteUndoLog(xids, branchIds, conn);
+                    if (!conn.getAutoCommit()) {
+                        conn.commit();
+                    }
+                    success = true;
                 } catch (Exception ex) {
                     LOGGER.warn("Failed to batch delete undo log [" + branchIds + "/" + xids + "]", ex);
-                }
-
-                if (!conn.getAutoCommit()) {
-                    conn.commit();
-                }
-            } catch (Throwable e) {
-                LOGGER.error(e.getMessage(), e);
-                try {
-                    conn.rollback();
-                } catch (SQLException rollbackEx) {
-                    LOGGER.warn("Failed to rollback JDBC resource while deleting undo_log ", rollbackEx);
-                }
-            } finally {
-                if (conn != null) {
                     try {
-                        conn.close();
-                    } catch (SQLException closeEx) {
-                        LOGGER.warn("Failed to close JDBC resource while deleting undo_log ", closeEx);
+                        if (!conn.getAutoCommit()) {
+                            conn.rollback();
+                        }
+                    } catch (SQLException rollbackEx) {
+                        LOGGER.warn("Failed to rollback JDBC resource while deleting undo_log ", rollbackEx);
+                    }
+                } finally {
+                    if (begin != 0L) {
+                        StageMetrics.end(Stage.ASYNC_WORKER_DELETE, BranchType.AT, resourceId, begin, success);
                     }
                 }
+                xids.clear();
+                branchIds.clear();
             }
+        } finally {
+            try {
+                conn.close();
+            } catch (SQLException closeEx) {
+                LOGGER.warn("Failed to close JDBC resource while deleting undo_log ", closeEx);
+            }
+        }
+    }
+
+    private Phase2Context poll(CommitQueue commitQueue) {
+        Phase2Context commitContext = commitQueue.contexts.poll();
+        if (commitContext != null) {
+            commitQueue.size.decrementAndGet();
+            pendingCount.decrementAndGet();
         }
+        return commitContext;
+    }
+
+    /**
+     * Gets the data source proxy of the resource.
+     *
+     * @param resourceId the resource id
+     * @return the data source proxy, null if not registered
+     */
+    DataSourceProxy getDataSourceProxy(String resourceId) {
+        DataSourceManager resourceManager = (DataSourceManager) DefaultResourceManager.get()
+            .getResourceManager(BranchType.AT);
+        return resourceManager.get(resourceId);
     }
 
     @Override
@@ -24,6 +24,8 @@ import io.seata.config.ConfigurationFactory;
 import io.seata.core.constants.ConfigurationKeys;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.exception.TransactionExceptionCode;
+import io.seata.core.metrics.Stage;
+import io.seata.core.metrics.StageMetrics;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
 import io.seata.rm.DefaultResourceManager;
@@ -34,6 +36,7 @@ import io.seata.rm.datasource.undo.UndoLogManagerFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_LOCK_KEY_DEDUP_ENABLE;
 import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT;
 import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_REPORT_RETRY_COUNT;
 import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE;
@@ -55,6 +58,9 @@ public class ConnectionProxy extends AbstractConnectionProxy {
     public static final boolean IS_REPORT_SUCCESS_ENABLE = ConfigurationFactory.getInstance().getBoolean(
         ConfigurationKeys.CLIENT_REPORT_SUCCESS_ENABLE, DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE);
 
+    private static final boolean LOCK_KEY_DEDUP_ENABLE = ConfigurationFactory.getInstance().getBoolean(
+        ConfigurationKeys.CLIENT_LOCK_KEY_DEDUP_ENABLE, DEFAULT_CLIENT_LOCK_KEY_DEDUP_ENABLE);
+
     private final static LockRetryPolicy LOCK_RETRY_POLICY = new LockRetryPolicy();
 
     /**
@@ -260,9 +266,16 @@ public class ConnectionProxy extends AbstractConnectionProxy {
         if (!context.hasUndoLog() || context.getLockKeysBuffer().isEmpty()) {
             return;
         }
-        Long branchId = DefaultResourceManager.get().branchRegister(BranchType.AT, getDataSourceProxy().getResourceId(),
-            null, context.getXid(), null, context.buildLockKeys());
+        String resourceId = getDataSourceProxy().getResourceId();
+        String lockKeys = LOCK_KEY_DEDUP_ENABLE
+            ? GrantedLockKeyCache.filterGranted(context.getXid(), resourceId, context.getLockKeysBuffer())
+            : context.buildLockKeys();
+        Long branchId = DefaultResourceManager.get().branchRegister(BranchType.AT, resourceId, null, context.getXid(),
+            null, lockKeys);
         context.setBranchId(branchId);
+        if (LOCK_KEY_DEDUP_ENABLE) {
+            GrantedLockKeyCache.addGranted(context.getXid(), resourceId, lockKeys);
+        }
     }
 
     @Override
@@ -319,19 +332,42 @@ public class ConnectionProxy extends AbstractConnectionProxy {
 
         protected <T> T doRetryOnLockConflict(Callable<T> callable) throws Exception {
             LockRetryController lockRetryController = new LockRetryController();
-            while (true) {
-                try {
-                    return callable.call();
-                } catch (LockConflictException lockConflict) {
-                    onException(lockConflict);
-                    lockRetryController.sleep(lockConflict);
-                } catch (Exception e) {
-                    onException(e);
-                    throw e;
+            // only the executions which met a conflict are recorded
+            long conflictBegin = 0L;
+            boolean success = false;
+            try {
+                while (true) {
+                    try {
+                        T result = callable.call();
+                        success = true;
+                        return result;
+                    } catch (LockConflictException lockConflict) {
+                        if (conflictBegin == 0L) {
+                            conflictBegin = StageMetrics.begin();
+                        }
+                        onException(lockConflict);
+                        lockRetryController.sleep(lockConflict);
+                    } catch (Exception e) {
+                        onException(e);
+                        throw e;
+                    }
+                }
+            } finally {
+                if (conflictBegin != 0L) {
+                    StageMetrics.end(Stage.LOCK_RETRY, BranchType.AT, getResourceId(), conflictBegin, success);
                 }
             }
         }
 
+        /**
+         * The resource id the lock retries are recorded for.
+         *
+         * @return the resource id, null if unknown
+         */
+        protected String getResourceId() {
+            return null;
+        }
+
         /**
          * Callback on exception in doLockRetryOnConflict.
          *
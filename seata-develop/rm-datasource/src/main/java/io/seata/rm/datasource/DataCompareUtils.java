@@ -28,6 +28,7 @@ import io.seata.rm.datasource.undo.parser.FastjsonUndoLogParser;
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.sql.Types;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -152,6 +153,158 @@ public class DataCompareUtils {
     }
 
     private static Result<Boolean> compareRows(TableMeta tableMetaData, List<Row> oldRows, List<Row> newRows) {
+        if (oldRows.isEmpty()) {
+            return Result.ok();
+        }
+        // resolve column positions once, images of one table share the layout of their result set
+        Row firstOldRow = oldRows.get(0);
+        Row firstNewRow = newRows.get(0);
+        int[] columnIndexes = resolveColumnIndexes(firstOldRow.getFields(), firstNewRow.getFields());
+        int oldPkIndex = indexOfColumn(firstOldRow.getFields(), tableMetaData.getPkName());
+        int newPkIndex = indexOfColumn(firstNewRow.getFields(), tableMetaData.getPkName());
+        if (columnIndexes == null || oldPkIndex < 0 || newPkIndex < 0) {
+            return compareRowsByPkMap(tableMetaData, oldRows, newRows);
+        }
+        int oldColumnCount = firstOldRow.getFields().size();
+        int newColumnCount = firstNewRow.getFields().size();
+        // built lazily, only when the row order of the images differs
+        Map<String, Row> newRowsPkIndex = null;
+        for (int i = 0; i < oldRows.size(); i++) {
+            List<Field> oldFields = oldRows.get(i).getFields();
+            if (oldFields.size() != oldColumnCount) {
+                return compareRowsByPkMap(tableMetaData, oldRows, newRows);
+            }
+            Object oldPk = oldFields.get(oldPkIndex).getValue();
+            List<Field> newFields = newRows.get(i).getFields();
+            if (newFields.size() != newColumnCount || !isPkValueEquals(oldPk, newFields.get(newPkIndex).getValue())) {
+                if (newRowsPkIndex == null) {
+                    newRowsPkIndex = buildPkIndex(newRows, newPkIndex, newColumnCount);
+                    if (newRowsPkIndex == null) {
+                        return compareRowsByPkMap(tableMetaData, oldRows, newRows);
+                    }
+                }
+                Row newRow = newRowsPkIndex.get(String.valueOf(oldPk));
+                if (newRow == null) {
+                    return Result.buildWithParams(false, "compare row failed, rowKey {}, reason [newRow is null]",
+                        String.valueOf(oldPk));
+                }
+                newFields = newRow.getFields();
+            }
+            for (int j = 0; j < oldColumnCount; j++) {
+                Field oldField = oldFields.get(j);
+                Field newField = newFields.get(columnIndexes[j]);
+                if (!isFieldEqualsFast(oldField, newField)) {
+                    // build the detailed result on the slow path only
+                    Result<Boolean> oldEqualsNewFieldResult = isFieldEquals(oldField, newField);
+                    if (!oldEqualsNewFieldResult.getResult()) {
+                        return oldEqualsNewFieldResult;
+                    }
+                }
+            }
+        }
+        return Result.ok();
+    }
+
+    /**
+     * Resolve the position in the new fields of each old field, by name, ignoring case.
+     *
+     * @return the positions, or null if any old field is missing in the new fields
+     */
+    private static int[] resolveColumnIndexes(List<Field> oldFields, List<Field> newFields) {
+        int[] columnIndexes = new int[oldFields.size()];
+        for (int i = 0; i < oldFields.size(); i++) {
+            String name = oldFields.get(i).getName();
+            // positional match is the common case
+            if (i < newFields.size() && isColumnNameEquals(name, newFields.get(i).getName())) {
+                columnIndexes[i] = i;
+                continue;
+            }
+            int index = indexOfColumn(newFields, name);
+            if (index < 0) {
+                return null;
+            }
+            columnIndexes[i] = index;
+        }
+        return columnIndexes;
+    }
+
+    private static int indexOfColumn(List<Field> fields, String columnName) {
+        if (columnName == null) {
+            return -1;
+        }
+        for (int i = 0; i < fields.size(); i++) {
+            if (isColumnNameEquals(columnName, fields.get(i).getName())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isColumnNameEquals(String name0, String name1) {
+        if (name0 == name1) {
+            return true;
+        }
+        return name0 != null && name1 != null && name0.trim().equalsIgnoreCase(name1.trim());
+    }
+
+    private static boolean isPkValueEquals(Object pk0, Object pk1) {
+        if (pk0 == pk1) {
+            return true;
+        }
+        if (pk0 == null || pk1 == null) {
+            return false;
+        }
+        if (pk0.getClass() == pk1.getClass()) {
+            return pk0.equals(pk1);
+        }
+        // keep the String.valueOf row key semantics for values of different types, e.g. Integer and Long
+        return String.valueOf(pk0).equals(String.valueOf(pk1));
+    }
+
+    private static Map<String, Row> buildPkIndex(List<Row> rows, int pkIndex, int columnCount) {
+        Map<String, Row> pkIndex2Row = new HashMap<>(rows.size() * 4 / 3 + 1);
+        for (Row row : rows) {
+            if (row.getFields().size() != columnCount) {
+                return null;
+            }
+            pkIndex2Row.put(String.valueOf(row.getFields().get(pkIndex).getValue()), row);
+        }
+        return pkIndex2Row;
+    }
+
+    /**
+     * Type specialized equality without allocation.
+     * A false result is rechecked by {@link #isFieldEquals(Field, Field)}, which applies the type conversions
+     * and builds the error message, so only a true result has to be exact.
+     */
+    private static boolean isFieldEqualsFast(Field f0, Field f1) {
+        if (f0.getType() != f1.getType() || !isColumnNameEquals(f0.getName(), f1.getName())) {
+            return false;
+        }
+        Object v0 = f0.getValue();
+        Object v1 = f1.getValue();
+        if (v0 == v1) {
+            return true;
+        }
+        if (v0 == null || v1 == null) {
+            return false;
+        }
+        Class<?> c0 = v0.getClass();
+        if (c0 != v1.getClass()) {
+            return false;
+        }
+        if (c0 == String.class || c0 == Integer.class || c0 == Long.class || c0 == BigDecimal.class
+            || c0 == Timestamp.class) {
+            return v0.equals(v1);
+        }
+        if (c0 == byte[].class) {
+            return Arrays.equals((byte[])v0, (byte[])v1);
+        }
+        return Objects.deepEquals(v0, v1);
+    }
+
+    private static Result<Boolean> compareRowsByPkMap(TableMeta tableMetaData, List<Row> oldRows,
+                                                      List<Row> newRows) {
         // old row to map
         Map<String, Map<String, Field>> oldRowsMap = rowListToMap(oldRows, tableMetaData.getPkName());
         // new row to map
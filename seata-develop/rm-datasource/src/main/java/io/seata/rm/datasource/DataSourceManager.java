@@ -42,7 +42,7 @@ import io.seata.core.rpc.netty.NettyClientConfig;
 import io.seata.core.rpc.netty.RmRpcClient;
 import io.seata.core.rpc.netty.TmRpcClient;
 import io.seata.discovery.loadbalance.LoadBalanceFactory;
-import io.seata.discovery.registry.RegistryFactory;
+import io.seata.discovery.registry.ServiceAddressBook;
 import io.seata.rm.AbstractResourceManager;
 import io.seata.rm.datasource.undo.UndoLogManagerFactory;
 import org.slf4j.Logger;
@@ -85,7 +85,7 @@ public class DataSourceManager extends AbstractResourceManager implements Initia
             if (RootContext.inGlobalTransaction()) {
                 response = (GlobalLockQueryResponse)RmRpcClient.getInstance().sendMsgWithResponse(request);
             } else if (RootContext.requireGlobalLock()) {
-                response = (GlobalLockQueryResponse)RmRpcClient.getInstance().sendMsgWithResponse(loadBalance(),
+                response = (GlobalLockQueryResponse)RmRpcClient.getInstance().sendMsgWithResponse(loadBalance(xid),
                     request, NettyClientConfig.getRpcRequestTimeout());
             } else {
                 throw new RuntimeException("unknow situation!");
@@ -105,12 +105,12 @@ public class DataSourceManager extends AbstractResourceManager implements Initia
     }
 
     @SuppressWarnings("unchecked")
-    private String loadBalance() {
+    private String loadBalance(String xid) {
         InetSocketAddress address = null;
         try {
-            List<InetSocketAddress> inetSocketAddressList = RegistryFactory.getInstance().lookup(
+            List<InetSocketAddress> inetSocketAddressList = ServiceAddressBook.lookup(
                 TmRpcClient.getInstance().getTransactionServiceGroup());
-            address = LoadBalanceFactory.getInstance().select(inetSocketAddressList);
+            address = LoadBalanceFactory.getInstance().select(inetSocketAddressList, xid);
         } catch (Exception ignore) {
             LOGGER.error(ignore.getMessage());
         }
@@ -167,12 +167,14 @@ public class DataSourceManager extends AbstractResourceManager implements Initia
     @Override
     public BranchStatus branchCommit(BranchType branchType, String xid, long branchId, String resourceId,
                                      String applicationData) throws TransactionException {
+        GrantedLockKeyCache.remove(xid);
         return asyncWorker.branchCommit(branchType, xid, branchId, resourceId, applicationData);
     }
 
     @Override
     public BranchStatus branchRollback(BranchType branchType, String xid, long branchId, String resourceId,
                                        String applicationData) throws TransactionException {
+        GrantedLockKeyCache.remove(xid);
         DataSourceProxy dataSourceProxy = get(resourceId);
         if (dataSourceProxy == null) {
             throw new ShouldNeverHappenException();
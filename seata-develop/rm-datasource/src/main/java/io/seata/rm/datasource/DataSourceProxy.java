@@ -30,9 +30,11 @@ import io.seata.core.model.BranchType;
 import io.seata.core.model.Resource;
 import io.seata.rm.DefaultResourceManager;
 import io.seata.rm.datasource.sql.struct.TableMetaCacheFactory;
+import io.seata.rm.datasource.sql.struct.cache.TableMetaIndex;
 import io.seata.rm.datasource.util.JdbcUtils;
 
 import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_TABLE_META_CHECK_ENABLE;
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_TABLE_META_WARM_UP_ENABLE;
 
 /**
  * 数据源的代理（适配器模式）
@@ -50,12 +52,20 @@ public class DataSourceProxy extends AbstractDataSourceProxy implements Resource
 
     private String dbType;
 
+    private TableMetaIndex tableMetaIndex;
+
     /**
      * Enable the table meta checker
      */
     private static boolean ENABLE_TABLE_META_CHECKER_ENABLE = ConfigurationFactory.getInstance().getBoolean(
         ConfigurationKeys.CLIENT_TABLE_META_CHECK_ENABLE, DEFAULT_CLIENT_TABLE_META_CHECK_ENABLE);
 
+    /**
+     * Enable the table meta warm up
+     */
+    private static final boolean ENABLE_TABLE_META_WARM_UP = ConfigurationFactory.getInstance().getBoolean(
+        ConfigurationKeys.CLIENT_TABLE_META_WARM_UP_ENABLE, DEFAULT_CLIENT_TABLE_META_WARM_UP_ENABLE);
+
     /**
      * Table meta checker interval
      */
@@ -109,6 +119,7 @@ public class DataSourceProxy extends AbstractDataSourceProxy implements Resource
         } catch (SQLException e) {
             throw new IllegalStateException("can not init dataSource", e);
         }
+        tableMetaIndex = new TableMetaIndex(TableMetaCacheFactory.getTableMetaCache(dbType), getResourceId());
         /** 注册资源 */
         DefaultResourceManager.get().registerResource(this);
         if (ENABLE_TABLE_META_CHECKER_ENABLE) {
@@ -116,12 +127,19 @@ public class DataSourceProxy extends AbstractDataSourceProxy implements Resource
             tableMetaExcutor.scheduleAtFixedRate(() -> {
                 /** 获取数据库连接 */
                 try (Connection connection = dataSource.getConnection()) {
-                    TableMetaCacheFactory.getTableMetaCache(DataSourceProxy.this.getDbType())
-                        .refresh(connection, DataSourceProxy.this.getResourceId());
+                    tableMetaIndex.refresh(connection);
                 } catch (Exception ignore) {
                 }
             }, 0, TABLE_META_CHECKER_INTERVAL, TimeUnit.MILLISECONDS);
         }
+        if (ENABLE_TABLE_META_WARM_UP) {
+            tableMetaExcutor.execute(() -> {
+                try (Connection connection = dataSource.getConnection()) {
+                    tableMetaIndex.warmUp(connection);
+                } catch (Exception ignore) {
+                }
+            });
+        }
     }
 
     /**
@@ -134,6 +152,15 @@ public class DataSourceProxy extends AbstractDataSourceProxy implements Resource
         return targetDataSource.getConnection();
     }
 
+    /**
+     * Gets the table meta index of the data source.
+     *
+     * @return the table meta index
+     */
+    public TableMetaIndex getTableMetaIndex() {
+        return tableMetaIndex;
+    }
+
     /**
      * Gets db type.
      *
@@ -0,0 +1,140 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.datasource;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.seata.common.util.StringUtils;
+
+/**
+ * The lock keys already granted to a global transaction by the branches registered from this client, per resource.
+ * A row granted to the xid stays locked by the branch which got it until the phase two of the global transaction,
+ * so a later branch of the same xid only needs to register the rows it does not hold yet.
+ * <p>
+ * The keys of a xid are dropped on its first phase two request, at most {@link #MAX_XID_SIZE} xids are kept for the
+ * global transactions finished through another client.
+ *
+ * @author agent
+ */
+public final class GrantedLockKeyCache {
+
+    private static final int MAX_XID_SIZE = 1024;
+
+    private static final char TABLE_SPLIT = ';';
+
+    private static final char TABLE_PK_SPLIT = ':';
+
+    private static final char PK_SPLIT = ',';
+
+    private static final Map<String, ConcurrentMap<String, Set<String>>> GRANTED_LOCK_KEYS = Collections
+        .synchronizedMap(new LinkedHashMap<String, ConcurrentMap<String, Set<String>>>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ConcurrentMap<String, Set<String>>> eldest) {
+                return size() > MAX_XID_SIZE;
+            }
+        });
+
+    private GrantedLockKeyCache() {
+    }
+
+    /**
+     * Build the lock keys of a branch without the rows already granted to the xid.
+     *
+     * @param xid        the xid
+     * @param resourceId the resource id
+     * @param lockKeys   the lock keys of the branch, each one `table:pk1,pk2`
+     * @return the lock keys not granted yet, null if all of them are granted
+     */
+    public static String filterGranted(String xid, String resourceId, Collection<String> lockKeys) {
+        Set<String> granted = getGranted(xid, resourceId, false);
+        Map<String, StringJoiner> tablePks = new LinkedHashMap<>();
+        for (String lockKey : lockKeys) {
+            for (String tableGroupedLockKey : lockKey.split(String.valueOf(TABLE_SPLIT))) {
+                int idx = tableGroupedLockKey.indexOf(TABLE_PK_SPLIT);
+                if (idx < 0) {
+                    continue;
+                }
+                String tableName = tableGroupedLockKey.substring(0, idx);
+                for (String pk : tableGroupedLockKey.substring(idx + 1).split(String.valueOf(PK_SPLIT))) {
+                    if (StringUtils.isBlank(pk)) {
+                        continue;
+                    }
+                    if (granted == null || !granted.contains(tableName + TABLE_PK_SPLIT + pk)) {
+                        tablePks.computeIfAbsent(tableName, k -> new StringJoiner(String.valueOf(PK_SPLIT))).add(pk);
+                    }
+                }
+            }
+        }
+        if (tablePks.isEmpty()) {
+            return null;
+        }
+        StringJoiner result = new StringJoiner(String.valueOf(TABLE_SPLIT));
+        tablePks.forEach((tableName, pks) -> result.add(tableName + TABLE_PK_SPLIT + pks));
+        return result.toString();
+    }
+
+    /**
+     * Record the lock keys granted to the xid by a successful branch register.
+     *
+     * @param xid        the xid
+     * @param resourceId the resource id
+     * @param lockKeys   the registered lock keys `table1:pk1,pk2;table2:pk3`
+     */
+    public static void addGranted(String xid, String resourceId, String lockKeys) {
+        if (StringUtils.isBlank(lockKeys)) {
+            return;
+        }
+        Set<String> granted = getGranted(xid, resourceId, true);
+        for (String tableGroupedLockKey : lockKeys.split(String.valueOf(TABLE_SPLIT))) {
+            int idx = tableGroupedLockKey.indexOf(TABLE_PK_SPLIT);
+            if (idx < 0) {
+                continue;
+            }
+            String tableName = tableGroupedLockKey.substring(0, idx);
+            for (String pk : tableGroupedLockKey.substring(idx + 1).split(String.valueOf(PK_SPLIT))) {
+                if (StringUtils.isNotBlank(pk)) {
+                    granted.add(tableName + TABLE_PK_SPLIT + pk);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop the lock keys of the xid, its global transaction is finishing.
+     *
+     * @param xid the xid
+     */
+    public static void remove(String xid) {
+        GRANTED_LOCK_KEYS.remove(xid);
+    }
+
+    private static Set<String> getGranted(String xid, String resourceId, boolean create) {
+        ConcurrentMap<String, Set<String>> resourceLockKeys;
+        if (create) {
+            resourceLockKeys = GRANTED_LOCK_KEYS.computeIfAbsent(xid, k -> new ConcurrentHashMap<>());
+            return resourceLockKeys.computeIfAbsent(resourceId, k -> ConcurrentHashMap.newKeySet());
+        }
+        resourceLockKeys = GRANTED_LOCK_KEYS.get(xid);
+        return resourceLockKeys == null ? null : resourceLockKeys.get(resourceId);
+    }
+}
@@ -21,6 +21,9 @@ import java.sql.Statement;
 import java.util.List;
 import java.util.concurrent.Callable;
 
+import io.seata.core.metrics.Stage;
+import io.seata.core.metrics.StageMetrics;
+import io.seata.core.model.BranchType;
 import io.seata.rm.datasource.AbstractConnectionProxy;
 import io.seata.rm.datasource.ConnectionContext;
 import io.seata.rm.datasource.ConnectionProxy;
@@ -92,12 +95,18 @@ public abstract class AbstractDMLBaseExecutor<T, S extends Statement> extends Ba
      * @throws Exception the exception
      */
     protected T executeAutoCommitFalse(Object[] args) throws Exception {
+        String resourceId = StageMetrics.isEnabled()
+            ? statementProxy.getConnectionProxy().getDataSourceProxy().getResourceId() : null;
         /** 获取前镜像 */
+        long begin = StageMetrics.begin();
         TableRecords beforeImage = beforeImage();
+        StageMetrics.end(Stage.BEFORE_IMAGE, BranchType.AT, resourceId, begin, true);
         // 执行sql并获得返回结构
         T result = statementCallback.execute(statementProxy.getTargetStatement(), args);
         /** 获取后镜像 */
+        begin = StageMetrics.begin();
         TableRecords afterImage = afterImage(beforeImage);
+        StageMetrics.end(Stage.AFTER_IMAGE, BranchType.AT, resourceId, begin, true);
         /** 将前后镜像写到undoLog中 */
         prepareUndoLog(beforeImage, afterImage);
         return result;
@@ -177,6 +186,11 @@ public abstract class AbstractDMLBaseExecutor<T, S extends Statement> extends Ba
             connection.getTargetConnection().rollback();
         }
 
+        @Override
+        protected String getResourceId() {
+            return connection.getDataSourceProxy().getResourceId();
+        }
+
         public static boolean isLockRetryPolicyBranchRollbackOnConflict() {
             return LOCK_RETRY_POLICY_BRANCH_ROLLBACK_ON_CONFLICT;
         }
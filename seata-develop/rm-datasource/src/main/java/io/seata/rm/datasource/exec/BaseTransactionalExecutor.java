@@ -24,7 +24,6 @@ import io.seata.rm.datasource.ConnectionProxy;
 import io.seata.rm.datasource.StatementProxy;
 import io.seata.rm.datasource.sql.struct.Field;
 import io.seata.rm.datasource.sql.struct.TableMeta;
-import io.seata.rm.datasource.sql.struct.TableMetaCacheFactory;
 import io.seata.rm.datasource.sql.struct.TableRecords;
 import io.seata.rm.datasource.undo.SQLUndoLog;
 import io.seata.sqlparser.ParametersHolder;
@@ -213,8 +212,8 @@ public abstract class BaseTransactionalExecutor<T, S extends Statement> implemen
             return tableMeta;
         }
         ConnectionProxy connectionProxy = statementProxy.getConnectionProxy();
-        tableMeta = TableMetaCacheFactory.getTableMetaCache(connectionProxy.getDbType())
-                .getTableMeta(connectionProxy.getTargetConnection(), tableName, connectionProxy.getDataSourceProxy().getResourceId());
+        tableMeta = connectionProxy.getDataSourceProxy().getTableMetaIndex()
+                .getTableMeta(connectionProxy.getTargetConnection(), tableName);
         return tableMeta;
     }
 
@@ -18,6 +18,8 @@ package io.seata.rm.datasource.exec;
 import io.seata.common.util.StringUtils;
 import io.seata.common.util.CollectionUtils;
 import io.seata.core.context.RootContext;
+import io.seata.core.metrics.Stage;
+import io.seata.core.metrics.StageMetrics;
 import io.seata.core.model.BranchType;
 import io.seata.rm.datasource.StatementProxy;
 import io.seata.rm.datasource.sql.SQLVisitorFactory;
@@ -79,9 +81,14 @@ public class ExecuteTemplate {
 
         /** 构建sql解析器 */
         if (sqlRecognizers == null) {
+            long begin = StageMetrics.begin();
             sqlRecognizers = SQLVisitorFactory.get(
                     statementProxy.getTargetSQL(),
                     statementProxy.getConnectionProxy().getDbType());
+            if (begin != 0L) {
+                StageMetrics.end(Stage.SQL_PARSE, BranchType.AT,
+                    statementProxy.getConnectionProxy().getDataSourceProxy().getResourceId(), begin, true);
+            }
         }
         Executor<T> executor;
         if (CollectionUtils.isEmpty(sqlRecognizers)) {
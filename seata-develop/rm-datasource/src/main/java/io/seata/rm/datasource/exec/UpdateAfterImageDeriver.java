@@ -0,0 +1,241 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.datasource.exec;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.seata.rm.datasource.ColumnUtils;
+import io.seata.rm.datasource.sql.struct.ColumnMeta;
+import io.seata.rm.datasource.sql.struct.Field;
+import io.seata.rm.datasource.sql.struct.Row;
+import io.seata.rm.datasource.sql.struct.TableMeta;
+import io.seata.rm.datasource.sql.struct.TableRecords;
+import io.seata.sqlparser.ParametersHolder;
+import io.seata.sqlparser.SQLUpdateRecognizer;
+import io.seata.sqlparser.struct.Null;
+
+/**
+ * Derive the after image of an update from its before image, without querying the database again.
+ * <p>
+ * It only works when every SET value is a literal or a bound parameter, and the new value is exactly what the
+ * driver would read back: the value must have the same java type as the before image values of the column (or be
+ * a lossless integral conversion to it), and column types which the database may pad, round or convert
+ * (char, float, date and time, lob ...) are never derived. In any other case {@link #derive} returns null and the
+ * caller queries the after image as usual.
+ *
+ * @author agent
+ */
+public final class UpdateAfterImageDeriver {
+
+    private static final Object NOT_DERIVABLE = new Object();
+
+    private UpdateAfterImageDeriver() {
+    }
+
+    /**
+     * Derive the after image.
+     *
+     * @param tableMeta        the table meta
+     * @param beforeImage      the before image, it must contain the pk and the update columns
+     * @param recognizer       the update recognizer
+     * @param parametersHolder the parameters holder, null for a plain statement
+     * @param dbType           the db type
+     * @return the after image, or null if it can not be derived
+     */
+    public static TableRecords derive(TableMeta tableMeta, TableRecords beforeImage, SQLUpdateRecognizer recognizer,
+                                      ParametersHolder parametersHolder, String dbType) {
+        List<Row> beforeRows = beforeImage.getRows();
+        if (beforeRows.isEmpty()) {
+            return null;
+        }
+        List<String> updateColumns = recognizer.getUpdateColumns();
+        List<Object> updateValues = recognizer.getUpdateValues(parametersHolder);
+        if (updateValues == null || updateValues.size() != updateColumns.size()) {
+            return null;
+        }
+
+        List<Field> sampleFields = beforeRows.get(0).getFields();
+        int fieldCount = sampleFields.size();
+        Object[] newValues = new Object[fieldCount];
+        boolean[] updated = new boolean[fieldCount];
+        for (int i = 0; i < updateColumns.size(); i++) {
+            String columnName = normalizeColumnName(updateColumns.get(i), dbType);
+            // the lock keys are built from the after image, keep it from the database if the pk changes
+            if (columnName.equalsIgnoreCase(tableMeta.getPkName())) {
+                return null;
+            }
+            int index = indexOf(sampleFields, columnName);
+            if (index < 0 || updated[index]) {
+                return null;
+            }
+            Object newValue = toColumnValue(tableMeta, beforeRows, index, updateValues.get(i));
+            if (newValue == NOT_DERIVABLE) {
+                return null;
+            }
+            newValues[index] = newValue;
+            updated[index] = true;
+        }
+
+        TableRecords afterImage = new TableRecords(tableMeta);
+        for (Row beforeRow : beforeRows) {
+            List<Field> beforeFields = beforeRow.getFields();
+            if (beforeFields.size() != fieldCount) {
+                return null;
+            }
+            List<Field> fields = new ArrayList<>(fieldCount);
+            for (int i = 0; i < fieldCount; i++) {
+                Field beforeField = beforeFields.get(i);
+                Field field = new Field(beforeField.getName(), beforeField.getType(),
+                    updated[i] ? newValues[i] : beforeField.getValue());
+                field.setKeyType(beforeField.getKeyType());
+                fields.add(field);
+            }
+            Row row = new Row();
+            row.setFields(fields);
+            afterImage.add(row);
+        }
+        return afterImage;
+    }
+
+    private static String normalizeColumnName(String columnName, String dbType) {
+        // remove the table alias, like a.name
+        int dot = columnName.lastIndexOf('.');
+        if (dot >= 0) {
+            columnName = columnName.substring(dot + 1);
+        }
+        return ColumnUtils.delEscape(columnName, dbType);
+    }
+
+    private static int indexOf(List<Field> fields, String columnName) {
+        for (int i = 0; i < fields.size(); i++) {
+            if (columnName.equalsIgnoreCase(fields.get(i).getName())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Object toColumnValue(TableMeta tableMeta, List<Row> beforeRows, int index, Object value) {
+        if (value instanceof Null) {
+            return null;
+        }
+        Field sampleField = beforeRows.get(0).getFields().get(index);
+        if (!isDerivableType(sampleField.getType())) {
+            return NOT_DERIVABLE;
+        }
+        Object sample = null;
+        for (Row row : beforeRows) {
+            sample = row.getFields().get(index).getValue();
+            if (sample != null) {
+                break;
+            }
+        }
+        // the java type the driver reads for the column is unknown
+        if (sample == null) {
+            return NOT_DERIVABLE;
+        }
+        if (sample instanceof String) {
+            return value instanceof String && isStringFits((String) value,
+                tableMeta.getColumnMeta(sampleField.getName())) ? value : NOT_DERIVABLE;
+        }
+        if (sample instanceof BigDecimal) {
+            return toBigDecimal(value, ((BigDecimal) sample).scale());
+        }
+        if (value.getClass() == sample.getClass()) {
+            return value;
+        }
+        if (isIntegral(value)) {
+            return toIntegral(value, sample);
+        }
+        return NOT_DERIVABLE;
+    }
+
+    private static boolean isDerivableType(int type) {
+        switch (type) {
+            case Types.BIT:
+            case Types.BOOLEAN:
+            case Types.TINYINT:
+            case Types.SMALLINT:
+            case Types.INTEGER:
+            case Types.BIGINT:
+            case Types.DECIMAL:
+            case Types.NUMERIC:
+            case Types.VARCHAR:
+            case Types.NVARCHAR:
+            case Types.LONGVARCHAR:
+            case Types.LONGNVARCHAR:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isStringFits(String value, ColumnMeta columnMeta) {
+        // oracle stores an empty string as null
+        if (value.isEmpty() || columnMeta == null) {
+            return false;
+        }
+        return columnMeta.getColumnSize() <= 0 || value.length() <= columnMeta.getColumnSize();
+    }
+
+    private static Object toBigDecimal(Object value, int scale) {
+        BigDecimal decimal;
+        if (value instanceof BigDecimal) {
+            decimal = (BigDecimal) value;
+        } else if (value instanceof BigInteger) {
+            decimal = new BigDecimal((BigInteger) value);
+        } else if (isIntegral(value)) {
+            decimal = BigDecimal.valueOf(((Number) value).longValue());
+        } else {
+            return NOT_DERIVABLE;
+        }
+        try {
+            return decimal.setScale(scale, RoundingMode.UNNECESSARY);
+        } catch (ArithmeticException e) {
+            // the database would round it
+            return NOT_DERIVABLE;
+        }
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte
+            || value instanceof BigInteger;
+    }
+
+    private static Object toIntegral(Object value, Object sample) {
+        BigInteger integer = value instanceof BigInteger ? (BigInteger) value
+            : BigInteger.valueOf(((Number) value).longValue());
+        try {
+            if (sample instanceof Long) {
+                return integer.longValueExact();
+            }
+            if (sample instanceof Integer) {
+                return integer.intValueExact();
+            }
+            if (sample instanceof BigInteger) {
+                return integer;
+            }
+        } catch (ArithmeticException e) {
+            return NOT_DERIVABLE;
+        }
+        return NOT_DERIVABLE;
+    }
+}
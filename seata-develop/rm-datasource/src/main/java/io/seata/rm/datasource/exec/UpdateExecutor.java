@@ -33,6 +33,7 @@ import io.seata.rm.datasource.StatementProxy;
 import io.seata.rm.datasource.sql.struct.Field;
 import io.seata.rm.datasource.sql.struct.TableMeta;
 import io.seata.rm.datasource.sql.struct.TableRecords;
+import io.seata.sqlparser.ParametersHolder;
 import io.seata.sqlparser.SQLRecognizer;
 import io.seata.sqlparser.SQLUpdateRecognizer;
 import org.apache.commons.lang.StringUtils;
@@ -51,6 +52,9 @@ public class UpdateExecutor<T, S extends Statement> extends AbstractDMLBaseExecu
     private static final boolean ONLY_CARE_UPDATE_COLUMNS = CONFIG.getBoolean(
         ConfigurationKeys.TRANSACTION_UNDO_ONLY_CARE_UPDATE_COLUMNS, DefaultValues.DEFAULT_ONLY_CARE_UPDATE_COLUMNS);
 
+    private static final boolean DERIVE_AFTER_IMAGE = CONFIG.getBoolean(
+        ConfigurationKeys.TRANSACTION_UNDO_DERIVE_AFTER_IMAGE, DefaultValues.DEFAULT_TRANSACTION_UNDO_DERIVE_AFTER_IMAGE);
+
     /**
      * Instantiates a new Update executor.
      *
@@ -104,6 +108,13 @@ public class UpdateExecutor<T, S extends Statement> extends AbstractDMLBaseExecu
         if (beforeImage == null || beforeImage.size() == 0) {
             return TableRecords.empty(getTableMeta());
         }
+        if (isDeriveAfterImage()) {
+            TableRecords afterImage = UpdateAfterImageDeriver.derive(tmeta, beforeImage,
+                (SQLUpdateRecognizer)sqlRecognizer, getParametersHolder(), getDbType());
+            if (afterImage != null) {
+                return afterImage;
+            }
+        }
         String selectSQL = buildAfterImageSQL(tmeta, beforeImage);
         ResultSet rs = null;
         try (PreparedStatement pst = statementProxy.getConnection().prepareStatement(selectSQL)) {
@@ -119,6 +130,21 @@ public class UpdateExecutor<T, S extends Statement> extends AbstractDMLBaseExecu
         }
     }
 
+    /**
+     * Whether to derive the after image from the before image instead of querying it.
+     * Only the update columns are in the images when ONLY_CARE_UPDATE_COLUMNS, so columns changed by the database
+     * itself, like ON UPDATE CURRENT_TIMESTAMP, can not make the derived image differ from the real one.
+     *
+     * @return true if derive
+     */
+    protected boolean isDeriveAfterImage() {
+        return DERIVE_AFTER_IMAGE && ONLY_CARE_UPDATE_COLUMNS;
+    }
+
+    private ParametersHolder getParametersHolder() {
+        return statementProxy instanceof ParametersHolder ? (ParametersHolder)statementProxy : null;
+    }
+
     private String buildAfterImageSQL(TableMeta tableMeta, TableRecords beforeImage) throws SQLException {
         StringBuilder prefix = new StringBuilder("SELECT ");
         String suffix = " FROM " + getFromTableInSQL() + " WHERE " + buildWhereConditionByPKs(beforeImage.pkRows());
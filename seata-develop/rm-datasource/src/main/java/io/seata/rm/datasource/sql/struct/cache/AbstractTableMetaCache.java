@@ -40,9 +40,9 @@ public abstract class AbstractTableMetaCache implements TableMetaCache {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractTableMetaCache.class);
 
-    private static final long CACHE_SIZE = 100000;
+    static final long CACHE_SIZE = 100000;
 
-    private static final long EXPIRE_TIME = 900 * 1000;
+    static final long EXPIRE_TIME = 900 * 1000;
 
     private static final Cache<String, TableMeta> TABLE_META_CACHE = Caffeine.newBuilder().maximumSize(CACHE_SIZE)
             .expireAfterWrite(EXPIRE_TIME, TimeUnit.MILLISECONDS).softValues().build();
@@ -53,17 +53,29 @@ public abstract class AbstractTableMetaCache implements TableMetaCache {
         if (StringUtils.isNullOrEmpty(tableName)) {
             throw new IllegalArgumentException("TableMeta cannot be fetched without tableName");
         }
+        return getTableMetaByCacheKey(connection, tableName, getCacheKey(connection, tableName, resourceId));
+    }
 
-        TableMeta tmeta;
-        final String key = getCacheKey(connection, tableName, resourceId);
-        tmeta = TABLE_META_CACHE.get(key, mappingFunction -> {
-            try {
-                return fetchSchema(connection, tableName);
-            } catch (SQLException e) {
-                LOGGER.error("get table meta error:{}", e.getMessage(), e);
-                return null;
-            }
-        });
+    /**
+     * Gets table meta with the resolved cache key.
+     *
+     * @param connection the connection
+     * @param tableName  the table name
+     * @param key        the cache key of the table
+     * @return the table meta
+     */
+    TableMeta getTableMetaByCacheKey(final Connection connection, final String tableName, final String key) {
+        TableMeta tmeta = TABLE_META_CACHE.getIfPresent(key);
+        if (tmeta == null) {
+            tmeta = TABLE_META_CACHE.get(key, mappingFunction -> {
+                try {
+                    return fetchSchema(connection, tableName);
+                } catch (SQLException e) {
+                    LOGGER.error("get table meta error:{}", e.getMessage(), e);
+                    return null;
+                }
+            });
+        }
 
         if (tmeta == null) {
             throw new ShouldNeverHappenException(String.format("[xid:%s]get tablemeta failed", RootContext.getXID()));
@@ -0,0 +1,141 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.datasource.sql.struct.cache;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.seata.common.util.StringUtils;
+import io.seata.rm.datasource.sql.struct.TableMeta;
+import io.seata.rm.datasource.sql.struct.TableMetaCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The table meta index of one data source proxy.
+ * <p>
+ * Deriving the cache key of a table costs more than the cached lookup itself, it parses the table name and asks
+ * the connection for its meta data. The index resolves the key once for each table name as it is written in the
+ * sql, and later lookups of the name go straight to the table meta cache. Only keys are kept here, so the refresh,
+ * expiry and eviction of the table meta cache apply as they are, and the index is bounded like that cache.
+ *
+ * @author agent
+ */
+public class TableMetaIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TableMetaIndex.class);
+
+    private static final String[] TABLE_TYPES = {"TABLE"};
+
+    private final TableMetaCache tableMetaCache;
+
+    private final String resourceId;
+
+    private final Cache<String, String> cacheKeyIndex = Caffeine.newBuilder()
+        .maximumSize(AbstractTableMetaCache.CACHE_SIZE)
+        .expireAfterWrite(AbstractTableMetaCache.EXPIRE_TIME, TimeUnit.MILLISECONDS).build();
+
+    public TableMetaIndex(TableMetaCache tableMetaCache, String resourceId) {
+        this.tableMetaCache = tableMetaCache;
+        this.resourceId = resourceId;
+    }
+
+    /**
+     * Gets table meta.
+     *
+     * @param connection the connection
+     * @param tableName  the table name as written in the sql
+     * @return the table meta
+     */
+    public TableMeta getTableMeta(Connection connection, String tableName) {
+        if (!(tableMetaCache instanceof AbstractTableMetaCache)) {
+            return tableMetaCache.getTableMeta(connection, tableName, resourceId);
+        }
+        if (StringUtils.isNullOrEmpty(tableName)) {
+            throw new IllegalArgumentException("TableMeta cannot be fetched without tableName");
+        }
+        AbstractTableMetaCache cache = (AbstractTableMetaCache) tableMetaCache;
+        String cacheKey = cacheKeyIndex.get(tableName, key -> cache.getCacheKey(connection, key, resourceId));
+        return cache.getTableMetaByCacheKey(connection, tableName, cacheKey);
+    }
+
+    /**
+     * Refresh the table meta of the data source.
+     *
+     * @param connection the connection
+     */
+    public void refresh(Connection connection) {
+        tableMetaCache.refresh(connection, resourceId);
+    }
+
+    /**
+     * Load the table meta of all the tables in the current catalog and schema of the connection.
+     *
+     * @param connection the connection
+     * @return the count of the loaded tables
+     */
+    public int warmUp(Connection connection) {
+        List<String> tableNames;
+        try {
+            tableNames = getTableNames(connection);
+        } catch (SQLException e) {
+            LOGGER.warn("list tables of {} failed, skip the table meta warm up: {}", resourceId, e.getMessage());
+            return 0;
+        }
+        int loaded = 0;
+        for (String tableName : tableNames) {
+            try {
+                getTableMeta(connection, tableName);
+                loaded++;
+            } catch (Exception e) {
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("warm up table meta of {} failed: {}", tableName, e.getMessage());
+                }
+            }
+        }
+        LOGGER.info("table meta warm up of {} finished, {} of {} tables loaded", resourceId, loaded,
+            tableNames.size());
+        return loaded;
+    }
+
+    private static List<String> getTableNames(Connection connection) throws SQLException {
+        DatabaseMetaData databaseMetaData = connection.getMetaData();
+        List<String> tableNames = new ArrayList<>();
+        try (ResultSet rs = databaseMetaData.getTables(connection.getCatalog(), getSchema(connection), "%",
+            TABLE_TYPES)) {
+            while (rs.next()) {
+                tableNames.add(rs.getString("TABLE_NAME"));
+            }
+        }
+        return tableNames;
+    }
+
+    private static String getSchema(Connection connection) {
+        try {
+            return connection.getSchema();
+        } catch (Throwable t) {
+            // jdbc 4.0 drivers
+            return null;
+        }
+    }
+}
@@ -20,27 +20,42 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import io.seata.common.Constants;
+import io.seata.common.exception.NotSupportYetException;
 import io.seata.common.util.CollectionUtils;
+import io.seata.common.util.SizeUtil;
 import io.seata.config.ConfigurationFactory;
 import io.seata.core.constants.ClientTableColumnsName;
+import io.seata.core.compressor.CompressorFactory;
+import io.seata.core.compressor.CompressorType;
 import io.seata.core.constants.ConfigurationKeys;
 import io.seata.core.exception.BranchTransactionException;
 import io.seata.core.exception.TransactionException;
+import io.seata.core.metrics.Stage;
+import io.seata.core.metrics.StageMetrics;
+import io.seata.core.model.BranchType;
 import io.seata.rm.datasource.ConnectionContext;
 import io.seata.rm.datasource.ConnectionProxy;
 import io.seata.rm.datasource.DataSourceProxy;
 import io.seata.rm.datasource.sql.struct.TableMeta;
-import io.seata.rm.datasource.sql.struct.TableMetaCacheFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_UNDO_COMPRESS_ENABLE;
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_UNDO_COMPRESS_THRESHOLD;
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_UNDO_COMPRESS_TYPE;
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_UNDO_LOG_STORAGE_MODE;
 import static io.seata.core.constants.DefaultValues.DEFAULT_TRANSACTION_UNDO_LOG_TABLE;
 import static io.seata.core.exception.TransactionExceptionCode.BranchRollbackFailed_Retriable;
 
@@ -60,7 +75,12 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
          * This state prevents the branch transaction from inserting undo_log after the global transaction is rolled
          * back.
          */
-        GlobalFinished(1);
+        GlobalFinished(1),
+        /**
+         * This state marks the undo_log of a committed branch in the time partitioned storage,
+         * the row is removed together with its expired partition.
+         */
+        Committed(2);
 
         private int value;
 
@@ -76,12 +96,32 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
     protected static final String UNDO_LOG_TABLE_NAME = ConfigurationFactory.getInstance().getConfig(
         ConfigurationKeys.TRANSACTION_UNDO_LOG_TABLE, DEFAULT_TRANSACTION_UNDO_LOG_TABLE);
 
-    protected static final String SELECT_UNDO_LOG_SQL = "SELECT * FROM " + UNDO_LOG_TABLE_NAME + " WHERE "
-        + ClientTableColumnsName.UNDO_LOG_BRANCH_XID + " = ? AND " + ClientTableColumnsName.UNDO_LOG_XID
-        + " = ? FOR UPDATE";
+    protected static final String SELECT_UNDO_LOG_SQL = buildSelectUndoLogSql(UNDO_LOG_TABLE_NAME);
+
+    protected static final String DELETE_UNDO_LOG_SQL = buildDeleteUndoLogSql(UNDO_LOG_TABLE_NAME);
+
+    private static final String UNDO_LOG_STORAGE_MODE_TIME_PARTITION = "timePartition";
+
+    /**
+     * Whether the undo_log is written into daily partition tables, which are dropped when expired
+     * instead of deleting the rows.
+     */
+    protected static final boolean UNDO_LOG_TIME_PARTITION = UNDO_LOG_STORAGE_MODE_TIME_PARTITION.equalsIgnoreCase(
+        ConfigurationFactory.getInstance().getConfig(ConfigurationKeys.CLIENT_UNDO_LOG_STORAGE_MODE,
+            DEFAULT_CLIENT_UNDO_LOG_STORAGE_MODE));
+
+    protected static final UndoLogTimePartitions UNDO_LOG_PARTITIONS = new UndoLogTimePartitions(UNDO_LOG_TABLE_NAME);
+
+    protected static final boolean ROLLBACK_INFO_COMPRESS_ENABLE = ConfigurationFactory.getInstance().getBoolean(
+        ConfigurationKeys.CLIENT_UNDO_COMPRESS_ENABLE, DEFAULT_CLIENT_UNDO_COMPRESS_ENABLE);
+
+    protected static final CompressorType ROLLBACK_INFO_COMPRESS_TYPE = CompressorType.getByName(
+        ConfigurationFactory.getInstance().getConfig(ConfigurationKeys.CLIENT_UNDO_COMPRESS_TYPE,
+            DEFAULT_CLIENT_UNDO_COMPRESS_TYPE));
 
-    protected static final String DELETE_UNDO_LOG_SQL = "DELETE FROM " + UNDO_LOG_TABLE_NAME + " WHERE "
-        + ClientTableColumnsName.UNDO_LOG_BRANCH_XID + " = ? AND " + ClientTableColumnsName.UNDO_LOG_XID + " = ?";
+    protected static final long ROLLBACK_INFO_COMPRESS_THRESHOLD = SizeUtil.size2Long(
+        ConfigurationFactory.getInstance().getConfig(ConfigurationKeys.CLIENT_UNDO_COMPRESS_THRESHOLD,
+            DEFAULT_CLIENT_UNDO_COMPRESS_THRESHOLD));
 
     private static final ThreadLocal<String> SERIALIZER_LOCAL = new ThreadLocal<>();
 
@@ -107,7 +147,23 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
      */
     @Override
     public void deleteUndoLog(String xid, long branchId, Connection conn) throws SQLException {
-        try (PreparedStatement deletePST = conn.prepareStatement(DELETE_UNDO_LOG_SQL)) {
+        deleteUndoLog(UNDO_LOG_TABLE_NAME, xid, branchId, conn);
+    }
+
+    /**
+     * Delete undo log from the undo_log table or one of its partitions.
+     *
+     * @param undoLogTable the undo_log table
+     * @param xid          the xid
+     * @param branchId     the branch id
+     * @param conn         the conn
+     * @throws SQLException the sql exception
+     */
+    protected void deleteUndoLog(String undoLogTable, String xid, long branchId, Connection conn)
+        throws SQLException {
+        String deleteSql = UNDO_LOG_TABLE_NAME.equals(undoLogTable) ? DELETE_UNDO_LOG_SQL : buildDeleteUndoLogSql(
+            undoLogTable);
+        try (PreparedStatement deletePST = conn.prepareStatement(deleteSql)) {
             deletePST.setLong(1, branchId);
             deletePST.setString(2, xid);
             deletePST.executeUpdate();
@@ -131,6 +187,10 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
         if (CollectionUtils.isEmpty(xids) || CollectionUtils.isEmpty(branchIds)) {
             return;
         }
+        if (isUndoLogTimePartition()) {
+            markUndoLogCommitted(xids, branchIds, conn);
+            return;
+        }
         int xidSize = xids.size();
         int branchIdSize = branchIds.size();
         String batchDeleteSql = toBatchDeleteUndoLogSql(xidSize, branchIdSize);
@@ -154,6 +214,70 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
         }
     }
 
+    /**
+     * Mark the undo logs of the committed branches in the partitions of today and yesterday,
+     * older rows are left to the partition drop.
+     *
+     * @param xids      the xid set collections
+     * @param branchIds the branch id set collections
+     * @param conn      the connection
+     * @throws SQLException the sql exception
+     */
+    protected void markUndoLogCommitted(Set<String> xids, Set<Long> branchIds, Connection conn)
+        throws SQLException {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        int markRows = 0;
+        try {
+            for (LocalDate day : UNDO_LOG_PARTITIONS.getPartitionDays(conn)) {
+                if (day.isBefore(yesterday)) {
+                    break;
+                }
+                String markSql = toBatchMarkUndoLogSql(UNDO_LOG_PARTITIONS.getPartitionTable(day), xids.size(),
+                    branchIds.size());
+                try (PreparedStatement markPST = conn.prepareStatement(markSql)) {
+                    int paramsIndex = 1;
+                    markPST.setInt(paramsIndex++, State.Committed.getValue());
+                    for (Long branchId : branchIds) {
+                        markPST.setLong(paramsIndex++, branchId);
+                    }
+                    for (String xid : xids) {
+                        markPST.setString(paramsIndex++, xid);
+                    }
+                    markRows += markPST.executeUpdate();
+                }
+            }
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("batch mark undo log committed size {}", markRows);
+            }
+        } catch (Exception e) {
+            if (!(e instanceof SQLException)) {
+                e = new SQLException(e);
+            }
+            throw (SQLException) e;
+        }
+    }
+
+    protected static String buildSelectUndoLogSql(String undoLogTable) {
+        return "SELECT * FROM " + undoLogTable + " WHERE " + ClientTableColumnsName.UNDO_LOG_BRANCH_XID + " = ? AND "
+            + ClientTableColumnsName.UNDO_LOG_XID + " = ? FOR UPDATE";
+    }
+
+    protected static String buildDeleteUndoLogSql(String undoLogTable) {
+        return "DELETE FROM " + undoLogTable + " WHERE " + ClientTableColumnsName.UNDO_LOG_BRANCH_XID + " = ? AND "
+            + ClientTableColumnsName.UNDO_LOG_XID + " = ?";
+    }
+
+    protected static String toBatchMarkUndoLogSql(String undoLogTable, int xidSize, int branchIdSize) {
+        StringBuilder sqlBuilder = new StringBuilder(64);
+        sqlBuilder.append("UPDATE ").append(undoLogTable).append(" SET ").append(
+            ClientTableColumnsName.UNDO_LOG_LOG_STATUS).append(" = ? WHERE ").append(
+            ClientTableColumnsName.UNDO_LOG_BRANCH_XID).append(" IN ");
+        appendInParam(branchIdSize, sqlBuilder);
+        sqlBuilder.append(" AND ").append(ClientTableColumnsName.UNDO_LOG_XID).append(" IN ");
+        appendInParam(xidSize, sqlBuilder);
+        return sqlBuilder.toString();
+    }
+
     protected static String toBatchDeleteUndoLogSql(int xidSize, int branchIdSize) {
         StringBuilder sqlBuilder = new StringBuilder(64);
         sqlBuilder.append("DELETE FROM ").append(UNDO_LOG_TABLE_NAME).append(" WHERE  ").append(
@@ -180,8 +304,15 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
     }
 
     protected String buildContext(String serializer) {
+        return buildContext(serializer, null);
+    }
+
+    protected String buildContext(String serializer, CompressorType compressorType) {
         Map<String, String> map = new HashMap<>();
         map.put(UndoLogConstants.SERIALIZER_KEY, serializer);
+        if (compressorType != null && compressorType != CompressorType.NONE) {
+            map.put(UndoLogConstants.COMPRESSOR_TYPE_KEY, compressorType.name());
+        }
         return CollectionUtils.encodeMap(map);
     }
 
@@ -203,6 +334,7 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
             return;
         }
 
+        long begin = StageMetrics.begin();
         String xid = connectionContext.getXid();
         long branchId = connectionContext.getBranchId();
 
@@ -218,9 +350,60 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
             LOGGER.debug("Flushing UNDO LOG: {}", new String(undoLogContent, Constants.DEFAULT_CHARSET));
         }
 
+        CompressorType compressorType = CompressorType.NONE;
+        byte[] rollbackInfo = undoLogContent;
+        if (needCompress(undoLogContent)) {
+            byte[] compressed = CompressorFactory.getCompressor(ROLLBACK_INFO_COMPRESS_TYPE.getCode()).compress(
+                undoLogContent);
+            // keep the raw content if the codec does not make it smaller
+            if (compressed.length < undoLogContent.length) {
+                compressorType = ROLLBACK_INFO_COMPRESS_TYPE;
+                rollbackInfo = compressed;
+            }
+        }
+
+        if (isUndoLogTimePartition()) {
+            ensureUndoLogPartitions(cp.getDataSourceProxy(), cp.getTargetConnection());
+        }
         /** 插入undoLog */
-        insertUndoLogWithNormal(xid, branchId, buildContext(parser.getName()), undoLogContent,
+        insertUndoLogWithNormal(xid, branchId, buildContext(parser.getName(), compressorType), rollbackInfo,
             cp.getTargetConnection());
+        if (begin != 0L) {
+            String resourceId = cp.getDataSourceProxy().getResourceId();
+            StageMetrics.end(Stage.UNDO_LOG_FLUSH, BranchType.AT, resourceId, begin, true);
+            StageMetrics.recordValue(Stage.UNDO_LOG_SIZE, BranchType.AT, resourceId, rollbackInfo.length);
+            if (compressorType != CompressorType.NONE) {
+                StageMetrics.recordValue(Stage.UNDO_LOG_COMPRESS_SAVED, BranchType.AT, resourceId,
+                    undoLogContent.length - rollbackInfo.length);
+            }
+        }
+    }
+
+    /**
+     * Whether the encoded undo log should be compressed.
+     *
+     * @param undoLogContent the encoded undo log
+     * @return true if compression is enabled and the content reaches the threshold
+     */
+    protected boolean needCompress(byte[] undoLogContent) {
+        return ROLLBACK_INFO_COMPRESS_ENABLE && ROLLBACK_INFO_COMPRESS_TYPE != CompressorType.NONE
+            && undoLogContent.length >= ROLLBACK_INFO_COMPRESS_THRESHOLD;
+    }
+
+    /**
+     * Decompress the rollback info with the codec recorded in the undo log context.
+     *
+     * @param context      the undo log context
+     * @param rollbackInfo the rollback info
+     * @return the decompressed rollback info
+     */
+    protected byte[] decompressRollbackInfo(Map<String, String> context, byte[] rollbackInfo) {
+        String compressorType = context == null ? null : context.get(UndoLogConstants.COMPRESSOR_TYPE_KEY);
+        if (compressorType == null) {
+            return rollbackInfo;
+        }
+        return CompressorFactory.getCompressor(CompressorType.getByName(compressorType).getCode()).decompress(
+            rollbackInfo);
     }
 
     /**
@@ -247,54 +430,68 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
                     conn.setAutoCommit(false);
                 }
 
-                // Find UNDO LOG
-                selectPST = conn.prepareStatement(SELECT_UNDO_LOG_SQL);
-                selectPST.setLong(1, branchId);
-                selectPST.setString(2, xid);
-                rs = selectPST.executeQuery();
+                if (isUndoLogTimePartition()) {
+                    ensureUndoLogPartitions(dataSourceProxy, conn);
+                }
 
+                // Find UNDO LOG
                 boolean exists = false;
-                while (rs.next()) {
-                    exists = true;
-
-                    // It is possible that the server repeatedly sends a rollback request to roll back
-                    // the same branch transaction to multiple processes,
-                    // ensuring that only the undo_log in the normal state is processed.
-                    int state = rs.getInt(ClientTableColumnsName.UNDO_LOG_LOG_STATUS);
-                    if (!canUndo(state)) {
-                        if (LOGGER.isInfoEnabled()) {
-                            LOGGER.info("xid {} branch {}, ignore {} undo_log", xid, branchId, state);
+                String undoLogTable = null;
+                for (String table : getUndoLogTablesForUndo(conn)) {
+                    selectPST = conn.prepareStatement(
+                        UNDO_LOG_TABLE_NAME.equals(table) ? SELECT_UNDO_LOG_SQL : buildSelectUndoLogSql(table));
+                    selectPST.setLong(1, branchId);
+                    selectPST.setString(2, xid);
+                    rs = selectPST.executeQuery();
+
+                    while (rs.next()) {
+                        exists = true;
+
+                        // It is possible that the server repeatedly sends a rollback request to roll back
+                        // the same branch transaction to multiple processes,
+                        // ensuring that only the undo_log in the normal state is processed.
+                        int state = rs.getInt(ClientTableColumnsName.UNDO_LOG_LOG_STATUS);
+                        if (!canUndo(state)) {
+                            if (LOGGER.isInfoEnabled()) {
+                                LOGGER.info("xid {} branch {}, ignore {} undo_log", xid, branchId, state);
+                            }
+                            return;
                         }
-                        return;
-                    }
 
-                    String contextString = rs.getString(ClientTableColumnsName.UNDO_LOG_CONTEXT);
-                    Map<String, String> context = parseContext(contextString);
-                    byte[] rollbackInfo = getRollbackInfo(rs);
-
-                    String serializer = context == null ? null : context.get(UndoLogConstants.SERIALIZER_KEY);
-                    UndoLogParser parser = serializer == null ? UndoLogParserFactory.getInstance()
-                        : UndoLogParserFactory.getInstance(serializer);
-                    BranchUndoLog branchUndoLog = parser.decode(rollbackInfo);
-
-                    try {
-                        // put serializer name to local
-                        setCurrentSerializer(parser.getName());
-                        List<SQLUndoLog> sqlUndoLogs = branchUndoLog.getSqlUndoLogs();
-                        if (sqlUndoLogs.size() > 1) {
-                            Collections.reverse(sqlUndoLogs);
-                        }
-                        for (SQLUndoLog sqlUndoLog : sqlUndoLogs) {
-                            TableMeta tableMeta = TableMetaCacheFactory.getTableMetaCache(dataSourceProxy.getDbType()).getTableMeta(
-                                conn, sqlUndoLog.getTableName(), dataSourceProxy.getResourceId());
-                            sqlUndoLog.setTableMeta(tableMeta);
-                            AbstractUndoExecutor undoExecutor = UndoExecutorFactory.getUndoExecutor(
-                                dataSourceProxy.getDbType(), sqlUndoLog);
-                            undoExecutor.executeOn(conn);
+                        String contextString = rs.getString(ClientTableColumnsName.UNDO_LOG_CONTEXT);
+                        Map<String, String> context = parseContext(contextString);
+                        byte[] rollbackInfo = decompressRollbackInfo(context, getRollbackInfo(rs));
+
+                        String serializer = context == null ? null : context.get(UndoLogConstants.SERIALIZER_KEY);
+                        UndoLogParser parser = serializer == null ? UndoLogParserFactory.getInstance()
+                            : UndoLogParserFactory.getInstance(serializer);
+                        BranchUndoLog branchUndoLog = parser.decode(rollbackInfo);
+
+                        try {
+                            // put serializer name to local
+                            setCurrentSerializer(parser.getName());
+                            List<SQLUndoLog> sqlUndoLogs = branchUndoLog.getSqlUndoLogs();
+                            if (sqlUndoLogs.size() > 1) {
+                                Collections.reverse(sqlUndoLogs);
+                            }
+                            for (SQLUndoLog sqlUndoLog : sqlUndoLogs) {
+                                TableMeta tableMeta = dataSourceProxy.getTableMetaIndex().getTableMeta(conn,
+                                    sqlUndoLog.getTableName());
+                                sqlUndoLog.setTableMeta(tableMeta);
+                                AbstractUndoExecutor undoExecutor = UndoExecutorFactory.getUndoExecutor(
+                                    dataSourceProxy.getDbType(), sqlUndoLog);
+                                undoExecutor.executeOn(conn);
+                            }
+                        } finally {
+                            // remove serializer name
+                            removeCurrentSerializer();
                         }
-                    } finally {
-                        // remove serializer name
-                        removeCurrentSerializer();
+                    }
+                    rs.close();
+                    selectPST.close();
+                    if (exists) {
+                        undoLogTable = table;
+                        break;
                     }
                 }
 
@@ -308,7 +505,7 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
                 // See https://github.com/seata/seata/issues/489
 
                 if (exists) {
-                    deleteUndoLog(xid, branchId, conn);
+                    deleteUndoLog(undoLogTable, xid, branchId, conn);
                     conn.commit();
                     if (LOGGER.isInfoEnabled()) {
                         LOGGER.info("xid {} branch {}, undo_log deleted with {}", xid, branchId,
@@ -330,6 +527,10 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
                     LOGGER.info("xid {} branch {}, undo_log inserted, retry rollback", xid, branchId);
                 }
             } catch (Throwable e) {
+                if (isUndoLogTimePartition()) {
+                    // a partition may be dropped by another process, reload them on retry
+                    UNDO_LOG_PARTITIONS.invalidate();
+                }
                 if (conn != null) {
                     try {
                         conn.rollback();
@@ -362,6 +563,183 @@ public abstract class AbstractUndoLogManager implements UndoLogManager {
         }
     }
 
+    /**
+     * Whether the undo_log is written into daily partition tables.
+     *
+     * @return true if time partitioned
+     */
+    protected boolean isUndoLogTimePartition() {
+        return UNDO_LOG_TIME_PARTITION;
+    }
+
+    /**
+     * Gets the undo_log tables to find the undo log of a branch, the newest partition first.
+     * The undo_log table itself comes last, it holds the undo logs written before the switch to the partitions
+     * and always exists since the partitions are created like it.
+     *
+     * @param conn the connection
+     * @return the undo_log tables
+     * @throws SQLException the sql exception
+     */
+    protected List<String> getUndoLogTablesForUndo(Connection conn) throws SQLException {
+        if (!isUndoLogTimePartition()) {
+            return Collections.singletonList(UNDO_LOG_TABLE_NAME);
+        }
+        List<LocalDate> days = UNDO_LOG_PARTITIONS.getPartitionDays(conn);
+        List<String> tables = new ArrayList<>(days.size() + 1);
+        for (LocalDate day : days) {
+            tables.add(UNDO_LOG_PARTITIONS.getPartitionTable(day));
+        }
+        tables.add(UNDO_LOG_TABLE_NAME);
+        return tables;
+    }
+
+    /**
+     * Gets the undo_log table to insert the undo log of the normal state.
+     *
+     * @return the undo_log table
+     */
+    protected String getUndoLogTableForInsert() {
+        return isUndoLogTimePartition() ? UNDO_LOG_PARTITIONS.getPartitionTable(LocalDate.now()) : UNDO_LOG_TABLE_NAME;
+    }
+
+    /**
+     * Gets the undo_log tables to insert the undo log of the global finished state.
+     * With the time partitions it goes into the partitions of yesterday, today and tomorrow, so that it still
+     * conflicts with the undo log of a first phase which writes its partition around the day change.
+     *
+     * @return the undo_log tables
+     */
+    protected List<String> getUndoLogTablesForGlobalFinished() {
+        if (!isUndoLogTimePartition()) {
+            return Collections.singletonList(UNDO_LOG_TABLE_NAME);
+        }
+        LocalDate today = LocalDate.now();
+        List<String> tables = new ArrayList<>(3);
+        for (int i = -1; i <= 1; i++) {
+            tables.add(UNDO_LOG_PARTITIONS.getPartitionTable(today.plusDays(i)));
+        }
+        return tables;
+    }
+
+    /**
+     * Create the partitions of yesterday, today and tomorrow if they are not known yet.
+     * The DDL runs on a separate connection since it may implicitly commit the current transaction.
+     *
+     * @param dataSourceProxy the data source proxy
+     * @param conn            the current connection
+     * @throws SQLException the sql exception
+     */
+    protected void ensureUndoLogPartitions(DataSourceProxy dataSourceProxy, Connection conn) throws SQLException {
+        LocalDate today = LocalDate.now();
+        List<LocalDate> missingDays = null;
+        for (int i = -1; i <= 1; i++) {
+            LocalDate day = today.plusDays(i);
+            if (!UNDO_LOG_PARTITIONS.contains(conn, day)) {
+                if (missingDays == null) {
+                    missingDays = new ArrayList<>(3);
+                }
+                missingDays.add(day);
+            }
+        }
+        if (missingDays == null) {
+            return;
+        }
+        try (Connection ddlConn = dataSourceProxy.getPlainConnection();
+             Statement statement = ddlConn.createStatement()) {
+            for (LocalDate day : missingDays) {
+                String partitionTable = UNDO_LOG_PARTITIONS.getPartitionTable(day);
+                for (String sql : getCreateUndoLogPartitionSqls(partitionTable)) {
+                    try {
+                        statement.execute(sql);
+                    } catch (SQLException e) {
+                        if (!isIgnorableDdlException(e)) {
+                            throw e;
+                        }
+                        // created by another process
+                        break;
+                    }
+                }
+                UNDO_LOG_PARTITIONS.add(conn, day);
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info("undo_log partition {} created", partitionTable);
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop the partitions whose whole day is before the log created time,
+     * the partitions of yesterday and later are always kept.
+     *
+     * @param logCreated the created time
+     * @param conn       the connection
+     * @return the dropped partition count
+     * @throws SQLException the sql exception
+     */
+    protected int dropExpiredUndoLogPartitions(Date logCreated, Connection conn) throws SQLException {
+        LocalDate expiredBefore = logCreated.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        if (yesterday.isBefore(expiredBefore)) {
+            expiredBefore = yesterday;
+        }
+        // see the partitions created by other processes
+        UNDO_LOG_PARTITIONS.invalidate();
+        int dropped = 0;
+        try (Statement statement = conn.createStatement()) {
+            for (LocalDate day : UNDO_LOG_PARTITIONS.getPartitionDays(conn)) {
+                if (!day.isBefore(expiredBefore)) {
+                    continue;
+                }
+                String partitionTable = UNDO_LOG_PARTITIONS.getPartitionTable(day);
+                try {
+                    statement.execute(getDropUndoLogPartitionSql(partitionTable));
+                } catch (SQLException e) {
+                    if (!isIgnorableDdlException(e)) {
+                        throw e;
+                    }
+                }
+                dropped++;
+                if (LOGGER.isInfoEnabled()) {
+                    LOGGER.info("undo_log partition {} dropped", partitionTable);
+                }
+            }
+        } finally {
+            UNDO_LOG_PARTITIONS.invalidate();
+        }
+        return dropped;
+    }
+
+    /**
+     * Gets the DDL to create a partition table like the undo_log table.
+     *
+     * @param partitionTable the partition table
+     * @return the DDL statements
+     */
+    protected List<String> getCreateUndoLogPartitionSqls(String partitionTable) {
+        throw new NotSupportYetException("time partitioned undo_log is not supported by " + getClass().getName());
+    }
+
+    /**
+     * Gets the DDL to drop a partition table.
+     *
+     * @param partitionTable the partition table
+     * @return the DDL statement
+     */
+    protected String getDropUndoLogPartitionSql(String partitionTable) {
+        return "DROP TABLE IF EXISTS " + partitionTable;
+    }
+
+    /**
+     * Whether the DDL exception means the partition already exists or is already dropped.
+     *
+     * @param e the sql exception
+     * @return true if ignorable
+     */
+    protected boolean isIgnorableDdlException(SQLException e) {
+        return false;
+    }
+
     /**
      * insert uodo log when global finished
      *
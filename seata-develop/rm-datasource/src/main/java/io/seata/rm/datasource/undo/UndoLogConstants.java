@@ -27,6 +27,8 @@ public class UndoLogConstants {
 
     public static final String SERIALIZER_KEY = "serializer";
 
+    public static final String COMPRESSOR_TYPE_KEY = "compressorType";
+
     public static final String DEFAULT_SERIALIZER = ConfigurationFactory.getInstance()
         .getConfig(ConfigurationKeys.TRANSACTION_UNDO_LOG_SERIALIZATION, DEFAULT_TRANSACTION_UNDO_LOG_SERIALIZATION);
 }
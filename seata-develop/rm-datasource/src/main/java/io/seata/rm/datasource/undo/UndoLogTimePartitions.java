@@ -0,0 +1,174 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.datasource.undo;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * The daily partition tables of the undo_log, named {@code <undo_log>_yyyyMMdd}.
+ * The known partitions of each database are loaded from the jdbc metadata once a day
+ * and kept up to date by {@link #add(Connection, LocalDate)} when a partition is created.
+ *
+ * @author agent
+ */
+public class UndoLogTimePartitions {
+
+    private static final DateTimeFormatter SUFFIX_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private static final int SUFFIX_LENGTH = 9;
+
+    private final String baseTable;
+
+    private final ConcurrentMap<String, Partitions> partitionsMap = new ConcurrentHashMap<>();
+
+    public UndoLogTimePartitions(String baseTable) {
+        this.baseTable = baseTable;
+    }
+
+    /**
+     * Gets the partition table of the day.
+     *
+     * @param day the day
+     * @return the partition table name
+     */
+    public String getPartitionTable(LocalDate day) {
+        return baseTable + "_" + day.format(SUFFIX_FORMATTER);
+    }
+
+    /**
+     * Gets the day of the partition table.
+     *
+     * @param table the table name
+     * @return the day, or null if the table is not a partition of the undo_log
+     */
+    public LocalDate getPartitionDay(String table) {
+        if (table == null || table.length() != baseTable.length() + SUFFIX_LENGTH
+            || !table.regionMatches(true, 0, baseTable, 0, baseTable.length())
+            || table.charAt(baseTable.length()) != '_') {
+            return null;
+        }
+        try {
+            return LocalDate.parse(table.substring(baseTable.length() + 1), SUFFIX_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the known partition days of the database, the newest first.
+     *
+     * @param conn the connection
+     * @return the partition days
+     * @throws SQLException the sql exception
+     */
+    public List<LocalDate> getPartitionDays(Connection conn) throws SQLException {
+        return new ArrayList<>(getPartitions(conn).days);
+    }
+
+    /**
+     * Whether the partition of the day is known to exist in the database.
+     *
+     * @param conn the connection
+     * @param day  the day
+     * @return true if exists
+     * @throws SQLException the sql exception
+     */
+    public boolean contains(Connection conn, LocalDate day) throws SQLException {
+        return getPartitions(conn).days.contains(day);
+    }
+
+    /**
+     * Record the created partition of the day.
+     *
+     * @param conn the connection
+     * @param day  the day
+     * @throws SQLException the sql exception
+     */
+    public void add(Connection conn, LocalDate day) throws SQLException {
+        getPartitions(conn).days.add(day);
+    }
+
+    /**
+     * Forget the known partitions, they are reloaded from the jdbc metadata on next use.
+     */
+    public void invalidate() {
+        partitionsMap.clear();
+    }
+
+    private Partitions getPartitions(Connection conn) throws SQLException {
+        DatabaseMetaData metaData = conn.getMetaData();
+        String key = metaData.getURL();
+        LocalDate today = LocalDate.now();
+        Partitions partitions = partitionsMap.get(key);
+        if (partitions != null && today.equals(partitions.loadedDay)) {
+            return partitions;
+        }
+        partitions = new Partitions(today);
+        partitions.days.addAll(loadPartitionDays(conn, metaData));
+        partitionsMap.put(key, partitions);
+        return partitions;
+    }
+
+    private List<LocalDate> loadPartitionDays(Connection conn, DatabaseMetaData metaData) throws SQLException {
+        // the wildcards may match other tables, they are filtered by the name format
+        String pattern = baseTable + "%";
+        if (metaData.storesUpperCaseIdentifiers()) {
+            pattern = pattern.toUpperCase();
+        } else if (metaData.storesLowerCaseIdentifiers()) {
+            pattern = pattern.toLowerCase();
+        }
+        String schema;
+        try {
+            schema = conn.getSchema();
+        } catch (SQLException | AbstractMethodError e) {
+            schema = null;
+        }
+        List<LocalDate> days = new ArrayList<>();
+        try (ResultSet rs = metaData.getTables(conn.getCatalog(), schema, pattern, new String[] {"TABLE"})) {
+            while (rs.next()) {
+                LocalDate day = getPartitionDay(rs.getString("TABLE_NAME"));
+                if (day != null) {
+                    days.add(day);
+                }
+            }
+        }
+        return days;
+    }
+
+    private static class Partitions {
+
+        private final LocalDate loadedDay;
+
+        private final NavigableSet<LocalDate> days = new ConcurrentSkipListSet<>(Collections.reverseOrder());
+
+        private Partitions(LocalDate loadedDay) {
+            this.loadedDay = loadedDay;
+        }
+    }
+}
@@ -20,7 +20,9 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 
 import io.seata.common.loader.LoadLevel;
 import io.seata.common.util.BlobUtils;
@@ -42,18 +44,26 @@ public class MySQLUndoLogManager extends AbstractUndoLogManager {
     /**
      * branch_id, xid, context, rollback_info, log_status, log_created, log_modified
      */
-    private static final String INSERT_UNDO_LOG_SQL = "INSERT INTO " + UNDO_LOG_TABLE_NAME +
+    private static final String INSERT_UNDO_LOG_SQL = buildInsertUndoLogSql(UNDO_LOG_TABLE_NAME);
+
+    private static final String DELETE_UNDO_LOG_BY_CREATE_SQL = "DELETE FROM " + UNDO_LOG_TABLE_NAME +
+            " WHERE log_created <= ? LIMIT ?";
+
+    private static String buildInsertUndoLogSql(String undoLogTable) {
+        return "INSERT INTO " + undoLogTable +
             " (" + ClientTableColumnsName.UNDO_LOG_BRANCH_XID + ", " + ClientTableColumnsName.UNDO_LOG_XID + ", "
             + ClientTableColumnsName.UNDO_LOG_CONTEXT + ", " + ClientTableColumnsName.UNDO_LOG_ROLLBACK_INFO + ", "
             + ClientTableColumnsName.UNDO_LOG_LOG_STATUS + ", " + ClientTableColumnsName.UNDO_LOG_LOG_CREATED + ", "
             + ClientTableColumnsName.UNDO_LOG_LOG_MODIFIED + ")" +
             " VALUES (?, ?, ?, ?, ?, now(6), now(6))";
-
-    private static final String DELETE_UNDO_LOG_BY_CREATE_SQL = "DELETE FROM " + UNDO_LOG_TABLE_NAME +
-            " WHERE log_created <= ? LIMIT ?";
+    }
 
     @Override
     public int deleteUndoLogByLogCreated(Date logCreated, int limitRows, Connection conn) throws SQLException {
+        if (isUndoLogTimePartition()) {
+            // the undo logs written before the switch to the partitions are still deleted from the undo_log table
+            dropExpiredUndoLogPartitions(logCreated, conn);
+        }
         try (PreparedStatement deletePST = conn.prepareStatement(DELETE_UNDO_LOG_BY_CREATE_SQL)) {
             deletePST.setDate(1, new java.sql.Date(logCreated.getTime()));
             deletePST.setInt(2, limitRows);
@@ -82,7 +92,7 @@ public class MySQLUndoLogManager extends AbstractUndoLogManager {
     @Override
     protected void insertUndoLogWithNormal(String xid, long branchId, String rollbackCtx,
                                            byte[] undoLogContent, Connection conn) throws SQLException {
-        insertUndoLog(xid, branchId, rollbackCtx, undoLogContent, State.Normal, conn);
+        insertUndoLog(getUndoLogTableForInsert(), xid, branchId, rollbackCtx, undoLogContent, State.Normal, conn);
     }
 
     @Override
@@ -94,12 +104,21 @@ public class MySQLUndoLogManager extends AbstractUndoLogManager {
 
     @Override
     protected void insertUndoLogWithGlobalFinished(String xid, long branchId, UndoLogParser parser, Connection conn) throws SQLException {
-        insertUndoLog(xid, branchId, buildContext(parser.getName()),
-                parser.getDefaultContent(), State.GlobalFinished, conn);
+        for (String undoLogTable : getUndoLogTablesForGlobalFinished()) {
+            insertUndoLog(undoLogTable, xid, branchId, buildContext(parser.getName()),
+                    parser.getDefaultContent(), State.GlobalFinished, conn);
+        }
+    }
+
+    @Override
+    protected List<String> getCreateUndoLogPartitionSqls(String partitionTable) {
+        return Collections.singletonList(
+                "CREATE TABLE IF NOT EXISTS " + partitionTable + " LIKE " + UNDO_LOG_TABLE_NAME);
     }
 
     /**
      * 插入undoLog
+     * @param undoLogTable
      * @param xid
      * @param branchId
      * @param rollbackCtx
@@ -108,9 +127,11 @@ public class MySQLUndoLogManager extends AbstractUndoLogManager {
      * @param conn
      * @throws SQLException
      */
-    private void insertUndoLog(String xid, long branchId, String rollbackCtx,
+    private void insertUndoLog(String undoLogTable, String xid, long branchId, String rollbackCtx,
                                byte[] undoLogContent, State state, Connection conn) throws SQLException {
-        try (PreparedStatement pst = conn.prepareStatement(INSERT_UNDO_LOG_SQL)) {
+        String insertSql = UNDO_LOG_TABLE_NAME.equals(undoLogTable) ? INSERT_UNDO_LOG_SQL
+                : buildInsertUndoLogSql(undoLogTable);
+        try (PreparedStatement pst = conn.prepareStatement(insertSql)) {
             pst.setLong(1, branchId);
             pst.setString(2, xid);
             pst.setString(3, rollbackCtx);
@@ -30,7 +30,9 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 
 /**
  * @author jsbxyyx
@@ -41,15 +43,33 @@ public class OracleUndoLogManager extends AbstractUndoLogManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(OracleUndoLogManager.class);
 
 
-    private static final String INSERT_UNDO_LOG_SQL = "INSERT INTO " + UNDO_LOG_TABLE_NAME + "\n" +
-            "\t(id,branch_id, xid,context, rollback_info, log_status, log_created, log_modified)\n" +
-            "VALUES (UNDO_LOG_SEQ.nextval,?, ?,?, ?, ?, sysdate, sysdate)";
+    private static final String INSERT_UNDO_LOG_SQL = buildInsertUndoLogSql(UNDO_LOG_TABLE_NAME);
 
     private static final String DELETE_UNDO_LOG_BY_CREATE_SQL = "DELETE FROM " + UNDO_LOG_TABLE_NAME +
             " WHERE log_created <= ? and ROWNUM <= ?";
 
+    /**
+     * ORA-00955: name is already used by an existing object
+     */
+    private static final int ERROR_NAME_ALREADY_USED = 955;
+
+    /**
+     * ORA-00942: table or view does not exist
+     */
+    private static final int ERROR_TABLE_NOT_EXIST = 942;
+
+    private static String buildInsertUndoLogSql(String undoLogTable) {
+        return "INSERT INTO " + undoLogTable + "\n" +
+            "\t(id,branch_id, xid,context, rollback_info, log_status, log_created, log_modified)\n" +
+            "VALUES (UNDO_LOG_SEQ.nextval,?, ?,?, ?, ?, sysdate, sysdate)";
+    }
+
     @Override
     public int deleteUndoLogByLogCreated(Date logCreated, int limitRows, Connection conn) throws SQLException {
+        if (isUndoLogTimePartition()) {
+            // the undo logs written before the switch to the partitions are still deleted from the undo_log table
+            dropExpiredUndoLogPartitions(logCreated, conn);
+        }
         try (PreparedStatement deletePST = conn.prepareStatement(DELETE_UNDO_LOG_BY_CREATE_SQL)) {
             deletePST.setDate(1, new java.sql.Date(logCreated.getTime()));
             deletePST.setInt(2, limitRows);
@@ -69,7 +89,7 @@ public class OracleUndoLogManager extends AbstractUndoLogManager {
     @Override
     protected void insertUndoLogWithNormal(String xid, long branchId, String rollbackCtx,
                                                 byte[] undoLogContent, Connection conn) throws SQLException {
-        insertUndoLog(xid, branchId,rollbackCtx, undoLogContent, State.Normal, conn);
+        insertUndoLog(getUndoLogTableForInsert(), xid, branchId, rollbackCtx, undoLogContent, State.Normal, conn);
     }
 
     @Override
@@ -81,14 +101,36 @@ public class OracleUndoLogManager extends AbstractUndoLogManager {
 
     @Override
     protected void insertUndoLogWithGlobalFinished(String xid, long branchId, UndoLogParser parser, Connection conn) throws SQLException {
-        insertUndoLog(xid, branchId, buildContext(parser.getName()),
-                parser.getDefaultContent(), State.GlobalFinished, conn);
+        for (String undoLogTable : getUndoLogTablesForGlobalFinished()) {
+            insertUndoLog(undoLogTable, xid, branchId, buildContext(parser.getName()),
+                    parser.getDefaultContent(), State.GlobalFinished, conn);
+        }
     }
 
+    @Override
+    protected List<String> getCreateUndoLogPartitionSqls(String partitionTable) {
+        // oracle has neither "IF NOT EXISTS" nor "CREATE TABLE ... LIKE", the keys are added after the copy
+        return Arrays.asList(
+            "CREATE TABLE " + partitionTable + " AS SELECT * FROM " + UNDO_LOG_TABLE_NAME + " WHERE 1 = 0",
+            "ALTER TABLE " + partitionTable + " ADD PRIMARY KEY (id)",
+            "ALTER TABLE " + partitionTable + " ADD UNIQUE (xid, branch_id)");
+    }
+
+    @Override
+    protected String getDropUndoLogPartitionSql(String partitionTable) {
+        return "DROP TABLE " + partitionTable;
+    }
+
+    @Override
+    protected boolean isIgnorableDdlException(SQLException e) {
+        return e.getErrorCode() == ERROR_NAME_ALREADY_USED || e.getErrorCode() == ERROR_TABLE_NOT_EXIST;
+    }
 
-    private void insertUndoLog(String xid, long branchID, String rollbackCtx,
+    private void insertUndoLog(String undoLogTable, String xid, long branchID, String rollbackCtx,
                                       byte[] undoLogContent, State state, Connection conn) throws SQLException {
-        try (PreparedStatement pst = conn.prepareStatement(INSERT_UNDO_LOG_SQL)) {
+        String insertSql = UNDO_LOG_TABLE_NAME.equals(undoLogTable) ? INSERT_UNDO_LOG_SQL
+                : buildInsertUndoLogSql(undoLogTable);
+        try (PreparedStatement pst = conn.prepareStatement(insertSql)) {
             pst.setLong(1, branchID);
             pst.setString(2, xid);
             pst.setString(3, rollbackCtx);
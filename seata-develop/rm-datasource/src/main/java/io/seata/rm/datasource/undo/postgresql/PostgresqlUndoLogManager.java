@@ -24,7 +24,9 @@ import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,16 +38,24 @@ public class PostgresqlUndoLogManager extends AbstractUndoLogManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PostgresqlUndoLogManager.class);
 
-    private static final String INSERT_UNDO_LOG_SQL = "INSERT INTO " + UNDO_LOG_TABLE_NAME + "\n" +
-        "\t(id,branch_id, xid,context, rollback_info, log_status, log_created, log_modified)\n" +
-        "VALUES (nextval('undo_log_id_seq'),?, ?,?, ?, ?, now(), now())";
+    private static final String INSERT_UNDO_LOG_SQL = buildInsertUndoLogSql(UNDO_LOG_TABLE_NAME);
 
     private static final String DELETE_UNDO_LOG_BY_CREATE_SQL = "DELETE FROM " + UNDO_LOG_TABLE_NAME + " WHERE ID IN (" +
         "SELECT ID FROM " + UNDO_LOG_TABLE_NAME + " WHERE LOG_CREATED <= ? LIMIT ?" +
         ")";
 
+    private static String buildInsertUndoLogSql(String undoLogTable) {
+        return "INSERT INTO " + undoLogTable + "\n" +
+            "\t(id,branch_id, xid,context, rollback_info, log_status, log_created, log_modified)\n" +
+            "VALUES (nextval('undo_log_id_seq'),?, ?,?, ?, ?, now(), now())";
+    }
+
     @Override
     public int deleteUndoLogByLogCreated(Date logCreated, int limitRows, Connection conn) throws SQLException {
+        if (isUndoLogTimePartition()) {
+            // the undo logs written before the switch to the partitions are still deleted from the undo_log table
+            dropExpiredUndoLogPartitions(logCreated, conn);
+        }
         PreparedStatement deletePST = null;
         try {
             deletePST = conn.prepareStatement(DELETE_UNDO_LOG_BY_CREATE_SQL);
@@ -71,7 +81,7 @@ public class PostgresqlUndoLogManager extends AbstractUndoLogManager {
     @Override
     protected void insertUndoLogWithNormal(String xid, long branchID, String rollbackCtx,
         byte[] undoLogContent, Connection conn) throws SQLException {
-        insertUndoLog(xid, branchID, rollbackCtx, undoLogContent, State.Normal, conn);
+        insertUndoLog(getUndoLogTableForInsert(), xid, branchID, rollbackCtx, undoLogContent, State.Normal, conn);
     }
 
     @Override
@@ -83,15 +93,24 @@ public class PostgresqlUndoLogManager extends AbstractUndoLogManager {
     @Override
     protected void insertUndoLogWithGlobalFinished(String xid, long branchId, UndoLogParser parser,
         Connection conn) throws SQLException {
-        insertUndoLog(xid, branchId, buildContext(parser.getName()),
-            parser.getDefaultContent(), State.GlobalFinished, conn);
+        for (String undoLogTable : getUndoLogTablesForGlobalFinished()) {
+            insertUndoLog(undoLogTable, xid, branchId, buildContext(parser.getName()),
+                parser.getDefaultContent(), State.GlobalFinished, conn);
+        }
+    }
+
+    @Override
+    protected List<String> getCreateUndoLogPartitionSqls(String partitionTable) {
+        return Collections.singletonList(
+            "CREATE TABLE IF NOT EXISTS " + partitionTable + " (LIKE " + UNDO_LOG_TABLE_NAME + " INCLUDING ALL)");
     }
 
-    private void insertUndoLog(String xid, long branchID, String rollbackCtx,
+    private void insertUndoLog(String undoLogTable, String xid, long branchID, String rollbackCtx,
         byte[] undoLogContent, State state, Connection conn) throws SQLException {
         PreparedStatement pst = null;
         try {
-            pst = conn.prepareStatement(INSERT_UNDO_LOG_SQL);
+            pst = conn.prepareStatement(UNDO_LOG_TABLE_NAME.equals(undoLogTable) ? INSERT_UNDO_LOG_SQL
+                : buildInsertUndoLogSql(undoLogTable));
             pst.setLong(1, branchID);
             pst.setString(2, xid);
             pst.setString(3, rollbackCtx);
@@ -0,0 +1,79 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.datasource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import io.seata.core.model.BranchStatus;
+import io.seata.core.model.BranchType;
+import io.seata.sqlparser.util.JdbcConstants;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author agent
+ */
+public class AsyncWorkerTest {
+
+    private static final String RESOURCE_ID = "jdbc:mysql://127.0.0.1:3306/seata";
+
+    @Test
+    public void testBranchCommit() throws Exception {
+        Connection connection = mock(Connection.class);
+        PreparedStatement preparedStatement = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(preparedStatement);
+        when(connection.getAutoCommit()).thenReturn(true);
+        DataSourceProxy dataSourceProxy = mock(DataSourceProxy.class);
+        when(dataSourceProxy.getPlainConnection()).thenReturn(connection);
+        when(dataSourceProxy.getDbType()).thenReturn(JdbcConstants.MYSQL);
+
+        AsyncWorker asyncWorker = new AsyncWorker() {
+            @Override
+            DataSourceProxy getDataSourceProxy(String resourceId) {
+                return RESOURCE_ID.equals(resourceId) ? dataSourceProxy : null;
+            }
+        };
+        for (int i = 0; i < 2500; i++) {
+            Assertions.assertEquals(BranchStatus.PhaseTwo_Committed,
+                asyncWorker.branchCommit(BranchType.AT, "xid" + i, i, RESOURCE_ID, null));
+        }
+        Assertions.assertEquals(2500, asyncWorker.getPendingCount());
+
+        asyncWorker.init();
+        waitDrained(asyncWorker);
+        // 2500 branches take at least 3 batches of 1000
+        verify(preparedStatement, atLeast(3)).executeUpdate();
+        verify(connection, atLeast(1)).close();
+
+        // the branches of an unknown resource are dropped to the housekeeping
+        asyncWorker.branchCommit(BranchType.AT, "xid", 1L, "unknown", null);
+        waitDrained(asyncWorker);
+    }
+
+    private void waitDrained(AsyncWorker asyncWorker) throws InterruptedException {
+        for (int i = 0; i < 100 && asyncWorker.getPendingCount() > 0; i++) {
+            Thread.sleep(50);
+        }
+        Assertions.assertEquals(0, asyncWorker.getPendingCount());
+    }
+}
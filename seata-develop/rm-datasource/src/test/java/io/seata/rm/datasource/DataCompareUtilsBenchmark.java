@@ -0,0 +1,122 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.datasource;
+
+import java.math.BigDecimal;
+import java.sql.JDBCType;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.rm.datasource.sql.struct.ColumnMeta;
+import io.seata.rm.datasource.sql.struct.Field;
+import io.seata.rm.datasource.sql.struct.IndexMeta;
+import io.seata.rm.datasource.sql.struct.IndexType;
+import io.seata.rm.datasource.sql.struct.Row;
+import io.seata.rm.datasource.sql.struct.TableMeta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * JMH benchmark of {@link DataCompareUtils#isRowsEquals(TableMeta, List, List)} over 10k-row images,
+ * with the images in the same row order and in a shuffled row order.
+ *
+ * @author agent
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DataCompareUtilsBenchmark {
+
+    private static final String[] COLUMNS = {"id", "name", "age", "amount", "gmt_modified", "remark"};
+
+    @Param({"10000"})
+    private int rowCount;
+
+    private TableMeta tableMeta;
+
+    private List<Row> beforeImage;
+
+    private List<Row> sameOrderAfterImage;
+
+    private List<Row> shuffledAfterImage;
+
+    @Setup
+    public void setup() {
+        tableMeta = new TableMeta();
+        tableMeta.setTableName("t_benchmark");
+        ColumnMeta pkColumn = new ColumnMeta();
+        pkColumn.setColumnName("id");
+        tableMeta.getAllColumns().put("id", pkColumn);
+        IndexMeta pkIndex = new IndexMeta();
+        pkIndex.setIndextype(IndexType.PRIMARY);
+        pkIndex.getValues().add(pkColumn);
+        tableMeta.getAllIndexes().put("PRIMARY", pkIndex);
+
+        beforeImage = buildImage(rowCount);
+        sameOrderAfterImage = buildImage(rowCount);
+        shuffledAfterImage = buildImage(rowCount);
+        Collections.shuffle(shuffledAfterImage, new Random(1));
+    }
+
+    private static List<Row> buildImage(int rowCount) {
+        List<Row> rows = new ArrayList<>(rowCount);
+        Timestamp timestamp = new Timestamp(1577836800000L);
+        for (int i = 0; i < rowCount; i++) {
+            Row row = new Row();
+            row.add(new Field(COLUMNS[0], JDBCType.BIGINT.getVendorTypeNumber(), (long)i));
+            row.add(new Field(COLUMNS[1], JDBCType.VARCHAR.getVendorTypeNumber(), "name_" + i));
+            row.add(new Field(COLUMNS[2], JDBCType.INTEGER.getVendorTypeNumber(), i % 100));
+            row.add(new Field(COLUMNS[3], JDBCType.DECIMAL.getVendorTypeNumber(), BigDecimal.valueOf(i, 2)));
+            row.add(new Field(COLUMNS[4], JDBCType.TIMESTAMP.getVendorTypeNumber(), timestamp));
+            row.add(new Field(COLUMNS[5], JDBCType.VARCHAR.getVendorTypeNumber(), null));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public boolean compareSameOrder() {
+        return DataCompareUtils.isRowsEquals(tableMeta, beforeImage, sameOrderAfterImage).getResult();
+    }
+
+    @Benchmark
+    public boolean compareShuffled() {
+        return DataCompareUtils.isRowsEquals(tableMeta, beforeImage, shuffledAfterImage).getResult();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DataCompareUtilsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
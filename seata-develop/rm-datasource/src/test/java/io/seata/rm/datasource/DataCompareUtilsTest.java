@@ -156,4 +156,34 @@ public class DataCompareUtilsTest {
         rows2.add(row3);
         Assertions.assertFalse(DataCompareUtils.isRowsEquals(tableMeta, rows, rows2).getResult());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void isRowsEqualsWithDifferentOrder() {
+        TableMeta tableMeta = Mockito.mock(TableMeta.class);
+        Mockito.when(tableMeta.getPkName()).thenReturn("id");
+
+        List<Row> oldRows = new ArrayList<>();
+        List<Row> newRows = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Row oldRow = new Row();
+            addField(oldRow, "id", JDBCType.BIGINT.getVendorTypeNumber(), (long) i);
+            addField(oldRow, "name", JDBCType.VARCHAR.getVendorTypeNumber(), "name" + i);
+            oldRows.add(oldRow);
+        }
+        for (int i = 2; i >= 0; i--) {
+            Row newRow = new Row();
+            // rows and columns in another order
+            addField(newRow, "NAME", JDBCType.VARCHAR.getVendorTypeNumber(), "name" + i);
+            addField(newRow, "ID", JDBCType.BIGINT.getVendorTypeNumber(), (long) i);
+            newRows.add(newRow);
+        }
+        Assertions.assertTrue(DataCompareUtils.isRowsEquals(tableMeta, oldRows, newRows).getResult());
+
+        newRows.get(1).getFields().get(0).setValue("changed");
+        Assertions.assertFalse(DataCompareUtils.isRowsEquals(tableMeta, oldRows, newRows).getResult());
+
+        newRows.get(1).getFields().get(0).setValue("name1");
+        newRows.get(1).getFields().get(1).setValue(3L);
+        Assertions.assertFalse(DataCompareUtils.isRowsEquals(tableMeta, oldRows, newRows).getResult());
+    }
+}
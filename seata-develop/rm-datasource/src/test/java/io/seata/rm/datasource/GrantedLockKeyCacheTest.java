@@ -0,0 +1,61 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.datasource;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Granted lock key cache test.
+ *
+ * @author agent
+ */
+public class GrantedLockKeyCacheTest {
+
+    private static final String XID = "127.0.0.1:8091:1001";
+
+    private static final String RESOURCE_ID = "jdbc:mysql://127.0.0.1:3306/seata";
+
+    @Test
+    public void testFilterGranted() {
+        try {
+            Assertions.assertEquals("t_order:1,2",
+                GrantedLockKeyCache.filterGranted(XID, RESOURCE_ID, Collections.singleton("t_order:1,2")));
+            GrantedLockKeyCache.addGranted(XID, RESOURCE_ID, "t_order:1,2");
+
+            // all rows granted by the earlier branch
+            Assertions.assertNull(
+                GrantedLockKeyCache.filterGranted(XID, RESOURCE_ID, Arrays.asList("t_order:2", "t_order:1")));
+            Assertions.assertEquals("t_order:3;t_item:7",
+                GrantedLockKeyCache.filterGranted(XID, RESOURCE_ID, Arrays.asList("t_order:1,3", "t_item:7")));
+            // other resources and xids are not affected
+            Assertions.assertEquals("t_order:1",
+                GrantedLockKeyCache.filterGranted(XID, "other", Collections.singleton("t_order:1")));
+            Assertions.assertEquals("t_order:1",
+                GrantedLockKeyCache.filterGranted("127.0.0.1:8091:1002", RESOURCE_ID,
+                    Collections.singleton("t_order:1")));
+
+            GrantedLockKeyCache.remove(XID);
+            Assertions.assertEquals("t_order:1",
+                GrantedLockKeyCache.filterGranted(XID, RESOURCE_ID, Collections.singleton("t_order:1")));
+        } finally {
+            GrantedLockKeyCache.remove(XID);
+        }
+    }
+}
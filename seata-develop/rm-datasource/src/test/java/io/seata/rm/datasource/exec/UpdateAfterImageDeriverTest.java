@@ -0,0 +1,147 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.datasource.exec;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.alibaba.druid.sql.SQLUtils;
+import com.alibaba.druid.sql.ast.SQLStatement;
+import com.alibaba.druid.util.JdbcConstants;
+import io.seata.rm.datasource.sql.struct.ColumnMeta;
+import io.seata.rm.datasource.sql.struct.Field;
+import io.seata.rm.datasource.sql.struct.IndexMeta;
+import io.seata.rm.datasource.sql.struct.IndexType;
+import io.seata.rm.datasource.sql.struct.KeyType;
+import io.seata.rm.datasource.sql.struct.Row;
+import io.seata.rm.datasource.sql.struct.TableMeta;
+import io.seata.rm.datasource.sql.struct.TableRecords;
+import io.seata.sqlparser.ParametersHolder;
+import io.seata.sqlparser.druid.mysql.MySQLUpdateRecognizer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ */
+public class UpdateAfterImageDeriverTest {
+
+    private TableMeta tableMeta;
+
+    private TableRecords beforeImage;
+
+    @BeforeEach
+    public void init() {
+        tableMeta = new TableMeta();
+        tableMeta.setTableName("t_user");
+        ColumnMeta id = addColumn("id", Types.BIGINT, 20);
+        addColumn("name", Types.VARCHAR, 8);
+        addColumn("amount", Types.DECIMAL, 10);
+        addColumn("gmt_modified", Types.TIMESTAMP, 19);
+        IndexMeta primary = new IndexMeta();
+        primary.setIndextype(IndexType.PRIMARY);
+        primary.getValues().add(id);
+        tableMeta.getAllIndexes().put("PRIMARY", primary);
+
+        beforeImage = new TableRecords(tableMeta);
+        beforeImage.add(row(1L, "Tom", new BigDecimal("1.00"), new Timestamp(0)));
+        beforeImage.add(row(2L, "Jack", new BigDecimal("2.00"), new Timestamp(0)));
+    }
+
+    @Test
+    public void testDeriveWithLiteralsAndParameters() {
+        TableRecords afterImage = derive("update t_user u set u.name = ?, `amount` = 3.5 where id in (1, 2)",
+            params("Will"));
+        Assertions.assertNotNull(afterImage);
+        Assertions.assertEquals(2, afterImage.size());
+        for (int i = 0; i < afterImage.size(); i++) {
+            List<Field> fields = afterImage.getRows().get(i).getFields();
+            Assertions.assertEquals(i + 1L, fields.get(0).getValue());
+            Assertions.assertEquals(KeyType.PRIMARY_KEY, fields.get(0).getKeyType());
+            Assertions.assertEquals("Will", fields.get(1).getValue());
+            Assertions.assertEquals(new BigDecimal("3.50"), fields.get(2).getValue());
+            Assertions.assertEquals(Types.DECIMAL, fields.get(2).getType());
+        }
+        // the before image is untouched
+        Assertions.assertEquals("Tom", beforeImage.getRows().get(0).getFields().get(1).getValue());
+
+        afterImage = derive("update t_user set name = null where id = 1", null);
+        Assertions.assertNotNull(afterImage);
+        Assertions.assertNull(afterImage.getRows().get(0).getFields().get(1).getValue());
+    }
+
+    @Test
+    public void testNotDerivable() {
+        // evaluated by the database
+        Assertions.assertNull(derive("update t_user set amount = amount + 1 where id = 1", null));
+        // placeholder without parameters
+        Assertions.assertNull(derive("update t_user set name = ? where id = 1", null));
+        // update the pk
+        Assertions.assertNull(derive("update t_user set id = 3 where id = 1", null));
+        // rounded by the database
+        Assertions.assertNull(derive("update t_user set amount = 3.555 where id = 1", null));
+        // truncated by the database
+        Assertions.assertNull(derive("update t_user set name = 'very long name' where id = 1", null));
+        // converted by the database
+        Assertions.assertNull(derive("update t_user set name = 1 where id = 1", null));
+        Assertions.assertNull(derive("update t_user set gmt_modified = ? where id = 1",
+            params(new Timestamp(1000))));
+    }
+
+    private TableRecords derive(String sql, ParametersHolder parametersHolder) {
+        List<SQLStatement> asts = SQLUtils.parseStatements(sql, JdbcConstants.MYSQL);
+        MySQLUpdateRecognizer recognizer = new MySQLUpdateRecognizer(sql, asts.get(0));
+        return UpdateAfterImageDeriver.derive(tableMeta, beforeImage, recognizer, parametersHolder,
+            JdbcConstants.MYSQL);
+    }
+
+    private static ParametersHolder params(Object... values) {
+        ArrayList<Object>[] parameters = new ArrayList[values.length];
+        for (int i = 0; i < values.length; i++) {
+            parameters[i] = new ArrayList<>(Collections.singletonList(values[i]));
+        }
+        return () -> parameters;
+    }
+
+    private ColumnMeta addColumn(String name, int type, int size) {
+        ColumnMeta columnMeta = new ColumnMeta();
+        columnMeta.setColumnName(name);
+        columnMeta.setDataType(type);
+        columnMeta.setColumnSize(size);
+        tableMeta.getAllColumns().put(name, columnMeta);
+        return columnMeta;
+    }
+
+    private static Row row(Object... values) {
+        List<String> names = Arrays.asList("id", "name", "amount", "gmt_modified");
+        int[] types = {Types.BIGINT, Types.VARCHAR, Types.DECIMAL, Types.TIMESTAMP};
+        Row row = new Row();
+        for (int i = 0; i < values.length; i++) {
+            Field field = new Field(names.get(i), types[i], values[i]);
+            if (i == 0) {
+                field.setKeyType(KeyType.PRIMARY_KEY);
+            }
+            row.add(field);
+        }
+        return row;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.datasource.sql.struct.cache;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import com.alibaba.druid.pool.DruidDataSource;
+import io.seata.rm.datasource.DataSourceProxy;
+import io.seata.rm.datasource.mock.MockDriver;
+import io.seata.rm.datasource.sql.struct.TableMeta;
+import io.seata.rm.datasource.sql.struct.TableMetaCacheFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ */
+public class TableMetaIndexTest {
+
+    private static Object[][] columnMetas =
+        new Object[][] {
+            new Object[] {"", "", "t_index", "id", Types.INTEGER, "INTEGER", 64, 0, 10, 1, "", "", 0, 0, 64, 1, "NO", "YES"},
+            new Object[] {"", "", "t_index", "name", Types.VARCHAR, "VARCHAR", 64, 0, 10, 0, "", "", 0, 0, 64, 2, "YES",
+                "NO"}
+        };
+
+    private static Object[][] indexMetas =
+        new Object[][] {
+            new Object[] {"PRIMARY", "id", false, "", 3, 0, "A", 34}
+        };
+
+    @Test
+    public void testGetTableMeta() throws SQLException {
+        MockDriver mockDriver = new MockDriver(columnMetas, indexMetas);
+        DruidDataSource dataSource = new DruidDataSource();
+        dataSource.setUrl("jdbc:mock:xxx");
+        dataSource.setDriver(mockDriver);
+
+        DataSourceProxy proxy = new DataSourceProxy(dataSource);
+        TableMetaIndex tableMetaIndex = proxy.getTableMetaIndex();
+        Assertions.assertNotNull(tableMetaIndex);
+
+        try (Connection connection = proxy.getPlainConnection()) {
+            TableMeta tableMeta = tableMetaIndex.getTableMeta(connection, "t_index");
+            Assertions.assertEquals("id", tableMeta.getPkName());
+            // all the spellings of one table resolve to the same cached table meta
+            Assertions.assertSame(tableMeta, tableMetaIndex.getTableMeta(connection, "`t_index`"));
+            Assertions.assertSame(tableMeta, tableMetaIndex.getTableMeta(connection, "t_index"));
+            Assertions.assertSame(tableMeta, TableMetaCacheFactory.getTableMetaCache(proxy.getDbType())
+                .getTableMeta(connection, "t_index", proxy.getResourceId()));
+
+            Assertions.assertThrows(IllegalArgumentException.class, () -> tableMetaIndex.getTableMeta(connection, null));
+        }
+    }
+}
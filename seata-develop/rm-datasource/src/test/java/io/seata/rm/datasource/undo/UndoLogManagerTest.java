@@ -15,12 +15,17 @@
  */
 package io.seata.rm.datasource.undo;
 
+import io.seata.core.compressor.CompressorFactory;
+import io.seata.core.compressor.CompressorType;
+import io.seata.rm.datasource.undo.mysql.MySQLUndoLogManager;
 import io.seata.sqlparser.util.JdbcConstants;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
@@ -81,6 +86,40 @@ public class UndoLogManagerTest {
         assertThat(batchDeleteUndoLogSql).isEqualTo(expectedSqlString);
     }
 
+    @Test
+    public void testToBatchMarkUndoLogSql() {
+        String expectedSqlString = "UPDATE undo_log_20201018 SET log_status = ? WHERE branch_id IN " +
+                THE_APPEND_IN_SIZE_PARAM_STRING +
+                " AND xid IN " +
+                THE_DOUBLE_APPEND_IN_SIZE_PARAM_STRING;
+        String batchMarkUndoLogSql = AbstractUndoLogManager.toBatchMarkUndoLogSql("undo_log_20201018",
+                APPEND_IN_SIZE * 2, APPEND_IN_SIZE);
+        assertThat(batchMarkUndoLogSql).isEqualTo(expectedSqlString);
+    }
+
+    @Test
+    public void testCompressedRollbackInfo() {
+        AbstractUndoLogManager undoLogManager = new MySQLUndoLogManager();
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            content.append("{\"name\":\"seata\",\"value\":").append(i).append("}");
+        }
+        byte[] rollbackInfo = content.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = CompressorFactory.getCompressor(CompressorType.ZIP.getCode()).compress(rollbackInfo);
+        assertThat(compressed.length).isLessThan(rollbackInfo.length);
+
+        Map<String, String> context = undoLogManager.parseContext(
+            undoLogManager.buildContext("jackson", CompressorType.ZIP));
+        assertThat(context.get(UndoLogConstants.SERIALIZER_KEY)).isEqualTo("jackson");
+        assertThat(context.get(UndoLogConstants.COMPRESSOR_TYPE_KEY)).isEqualTo(CompressorType.ZIP.name());
+        assertThat(undoLogManager.decompressRollbackInfo(context, compressed)).isEqualTo(rollbackInfo);
+
+        // undo logs written without compression are read as they are
+        context = undoLogManager.parseContext(undoLogManager.buildContext("jackson"));
+        assertThat(context.containsKey(UndoLogConstants.COMPRESSOR_TYPE_KEY)).isFalse();
+        assertThat(undoLogManager.decompressRollbackInfo(context, rollbackInfo)).isSameAs(rollbackInfo);
+    }
+
     @Test
     public void testAppendInParam() {
         StringBuilder sqlBuilder = new StringBuilder();
@@ -0,0 +1,159 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.datasource.undo;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.collect.Sets;
+import io.seata.core.constants.ClientTableColumnsName;
+import io.seata.rm.datasource.DataSourceProxy;
+import io.seata.rm.datasource.undo.mysql.MySQLUndoLogManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The undo log manager with the time partitioned undo_log.
+ *
+ * @author agent
+ */
+public class UndoLogTimePartitionManagerTest {
+
+    private final TimePartitionUndoLogManager undoLogManager = new TimePartitionUndoLogManager();
+
+    private final LocalDate today = LocalDate.now();
+
+    private final PreparedStatement pst = mock(PreparedStatement.class);
+
+    private final String undoLogSelectSql = AbstractUndoLogManager.buildSelectUndoLogSql(
+        AbstractUndoLogManager.UNDO_LOG_TABLE_NAME);
+
+    @BeforeEach
+    public void init() {
+        AbstractUndoLogManager.UNDO_LOG_PARTITIONS.invalidate();
+    }
+
+    @Test
+    public void testMarkUndoLogCommitted() throws SQLException {
+        Connection conn = mockConnection(null, partition(0), partition(-1), partition(-3));
+        undoLogManager.batchDeleteUndoLog(Sets.newHashSet("xid"), Sets.newHashSet(1L), conn);
+
+        // the committed undo logs are marked in the partitions of today and yesterday only
+        List<String> sqls = preparedSqls(conn, 2);
+        Assertions.assertEquals(AbstractUndoLogManager.toBatchMarkUndoLogSql(partition(0), 1, 1), sqls.get(0));
+        Assertions.assertEquals(AbstractUndoLogManager.toBatchMarkUndoLogSql(partition(-1), 1, 1), sqls.get(1));
+        verify(pst, times(2)).setInt(1, AbstractUndoLogManager.State.Committed.getValue());
+    }
+
+    @Test
+    public void testUndoFallsBackToUndoLogTable() throws Exception {
+        Connection conn = mockConnection(AbstractUndoLogManager.UNDO_LOG_TABLE_NAME, partition(1), partition(0),
+            partition(-1));
+        Assertions.assertEquals(Arrays.asList(partition(1), partition(0), partition(-1),
+            AbstractUndoLogManager.UNDO_LOG_TABLE_NAME), undoLogManager.getUndoLogTablesForUndo(conn));
+
+        undoLogManager.undo(mockDataSourceProxy(conn), "xid", 1L);
+
+        // the undo log written before the switch to the partitions is found in the undo_log table
+        List<String> sqls = preparedSqls(conn, 4);
+        Assertions.assertEquals(undoLogSelectSql, sqls.get(3));
+        verify(pst, never()).executeUpdate();
+    }
+
+    @Test
+    public void testGlobalFinishedGuardInserted() throws Exception {
+        Connection conn = mockConnection(null, partition(1), partition(0), partition(-1));
+        undoLogManager.undo(mockDataSourceProxy(conn), "xid", 1L);
+
+        // no undo log in any table, the guard goes into the partitions of yesterday, today and tomorrow
+        List<String> sqls = preparedSqls(conn, 7);
+        Assertions.assertEquals(undoLogSelectSql, sqls.get(3));
+        for (int i = 0; i < 3; i++) {
+            String sql = sqls.get(4 + i);
+            Assertions.assertTrue(sql.startsWith("INSERT INTO " + partition(i - 1) + " "), sql);
+        }
+        verify(pst, times(3)).setInt(5, AbstractUndoLogManager.State.GlobalFinished.getValue());
+        verify(conn).commit();
+    }
+
+    private String partition(int days) {
+        return AbstractUndoLogManager.UNDO_LOG_PARTITIONS.getPartitionTable(today.plusDays(days));
+    }
+
+    private Connection mockConnection(String undoLogTable, String... partitions) throws SQLException {
+        Connection conn = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        ResultSet tables = mock(ResultSet.class);
+        when(conn.getMetaData()).thenReturn(metaData);
+        when(metaData.getURL()).thenReturn("jdbc:mysql://127.0.0.1:3306/time_partition");
+        when(metaData.getTables(any(), any(), anyString(), any())).thenReturn(tables);
+        Boolean[] hasNext = new Boolean[partitions.length];
+        Arrays.fill(hasNext, true);
+        hasNext[hasNext.length - 1] = false;
+        when(tables.next()).thenReturn(true, hasNext);
+        when(tables.getString("TABLE_NAME")).thenReturn(partitions[0], Arrays.copyOfRange(partitions, 1,
+            partitions.length));
+
+        when(conn.prepareStatement(anyString())).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            ResultSet rs = mock(ResultSet.class);
+            if (undoLogTable != null && sql.equals(AbstractUndoLogManager.buildSelectUndoLogSql(undoLogTable))) {
+                when(rs.next()).thenReturn(true, false);
+                when(rs.getInt(ClientTableColumnsName.UNDO_LOG_LOG_STATUS)).thenReturn(
+                    AbstractUndoLogManager.State.GlobalFinished.getValue());
+            }
+            when(pst.executeQuery()).thenReturn(rs);
+            return pst;
+        });
+        return conn;
+    }
+
+    private static DataSourceProxy mockDataSourceProxy(Connection conn) throws SQLException {
+        DataSourceProxy dataSourceProxy = mock(DataSourceProxy.class);
+        when(dataSourceProxy.getPlainConnection()).thenReturn(conn);
+        return dataSourceProxy;
+    }
+
+    private static List<String> preparedSqls(Connection conn, int count) throws SQLException {
+        ArgumentCaptor<String> captor = ArgumentCaptor.forClass(String.class);
+        verify(conn, times(count)).prepareStatement(captor.capture());
+        return captor.getAllValues();
+    }
+
+    private static class TimePartitionUndoLogManager extends MySQLUndoLogManager {
+
+        @Override
+        protected boolean isUndoLogTimePartition() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.rm.datasource.undo;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author agent
+ */
+public class UndoLogTimePartitionsTest {
+
+    private final UndoLogTimePartitions partitions = new UndoLogTimePartitions("undo_log");
+
+    @Test
+    public void testPartitionTable() {
+        LocalDate day = LocalDate.of(2020, 10, 18);
+        Assertions.assertEquals("undo_log_20201018", partitions.getPartitionTable(day));
+        Assertions.assertEquals(day, partitions.getPartitionDay("undo_log_20201018"));
+        Assertions.assertEquals(day, partitions.getPartitionDay("UNDO_LOG_20201018"));
+        Assertions.assertNull(partitions.getPartitionDay("undo_log"));
+        Assertions.assertNull(partitions.getPartitionDay("undo_log_bak"));
+        Assertions.assertNull(partitions.getPartitionDay("undo_log_20201318"));
+        Assertions.assertNull(partitions.getPartitionDay("undo_log_2020101800"));
+        Assertions.assertNull(partitions.getPartitionDay(null));
+    }
+
+    @Test
+    public void testLoadPartitions() throws Exception {
+        Connection conn = mock(Connection.class);
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(conn.getMetaData()).thenReturn(metaData);
+        when(metaData.getURL()).thenReturn("jdbc:mysql://127.0.0.1:3306/seata");
+        when(metaData.getTables(any(), any(), anyString(), any())).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, true, false);
+        when(rs.getString("TABLE_NAME")).thenReturn("undo_log_20201017", "undo_log_bak", "undo_log_20201018");
+
+        Assertions.assertEquals(2, partitions.getPartitionDays(conn).size());
+        // the newest first
+        Assertions.assertEquals(LocalDate.of(2020, 10, 18), partitions.getPartitionDays(conn).get(0));
+        Assertions.assertTrue(partitions.contains(conn, LocalDate.of(2020, 10, 17)));
+        Assertions.assertFalse(partitions.contains(conn, LocalDate.of(2020, 10, 19)));
+
+        partitions.add(conn, LocalDate.of(2020, 10, 19));
+        Assertions.assertTrue(partitions.contains(conn, LocalDate.of(2020, 10, 19)));
+        verify(metaData, times(1)).getTables(any(), any(), anyString(), any());
+
+        partitions.invalidate();
+        Assertions.assertFalse(partitions.contains(conn, LocalDate.of(2020, 10, 19)));
+        verify(metaData, times(2)).getTables(any(), any(), anyString(), any());
+    }
+}
@@ -23,6 +23,7 @@ import java.sql.SQLException;
 import io.seata.config.ConfigurationFactory;
 import io.seata.core.constants.ConfigurationKeys;
 import io.seata.saga.engine.impl.DefaultStateMachineConfig;
+import io.seata.saga.engine.store.db.BufferedDbAndReportTcStateLogStore;
 import io.seata.saga.engine.store.db.DbAndReportTcStateLogStore;
 import io.seata.saga.engine.store.db.DbStateLangStore;
 import io.seata.saga.tm.DefaultSagaTransactionalTemplate;
@@ -45,6 +46,9 @@ public class DbStateMachineConfig extends DefaultStateMachineConfig implements D
     private String tablePrefix = "seata_";
     private String dbType;
     private SagaTransactionalTemplate sagaTransactionalTemplate;
+    private boolean stateLogBufferEnable = false;
+    private int stateLogBufferSize = 64;
+    private long stateLogBufferMaxAgeMillis = 60000L;
     private boolean rmReportSuccessEnable = ConfigurationFactory.getInstance().getBoolean(ConfigurationKeys.CLIENT_REPORT_SUCCESS_ENABLE, DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE);
     private boolean sagaBranchRegisterEnable = ConfigurationFactory.getInstance().getBoolean(ConfigurationKeys.CLIENT_SAGA_BRANCH_REGISTER_ENABLE, DEFAULT_CLIENT_SAGA_BRANCH_REGISTER_ENABLE);
 
@@ -61,7 +65,16 @@ public class DbStateMachineConfig extends DefaultStateMachineConfig implements D
         dbType = getDbTypeFromDataSource(dataSource);
 
         if (getStateLogStore() == null) {
-            DbAndReportTcStateLogStore dbStateLogStore = new DbAndReportTcStateLogStore();
+            DbAndReportTcStateLogStore dbStateLogStore;
+            if (stateLogBufferEnable) {
+                BufferedDbAndReportTcStateLogStore bufferedStateLogStore = new BufferedDbAndReportTcStateLogStore();
+                bufferedStateLogStore.setBufferSize(stateLogBufferSize);
+                bufferedStateLogStore.setMaxBufferAgeMillis(stateLogBufferMaxAgeMillis);
+                bufferedStateLogStore.afterPropertiesSet();
+                dbStateLogStore = bufferedStateLogStore;
+            } else {
+                dbStateLogStore = new DbAndReportTcStateLogStore();
+            }
             dbStateLogStore.setDataSource(dataSource);
             dbStateLogStore.setTablePrefix(tablePrefix);
             dbStateLogStore.setDbType(dbType);
@@ -97,9 +110,14 @@ public class DbStateMachineConfig extends DefaultStateMachineConfig implements D
 
     @Override
     public void destroy() throws Exception {
+        // flush the buffered state logs before the transactional template goes
+        if (getStateLogStore() instanceof DisposableBean) {
+            ((DisposableBean) getStateLogStore()).destroy();
+        }
         if ((sagaTransactionalTemplate != null) && (sagaTransactionalTemplate instanceof DisposableBean)) {
             ((DisposableBean) sagaTransactionalTemplate).destroy();
         }
+        super.destroy();
     }
 
     public DataSource getDataSource() {
@@ -161,4 +179,28 @@ public class DbStateMachineConfig extends DefaultStateMachineConfig implements D
     public void setRmReportSuccessEnable(boolean rmReportSuccessEnable) {
         this.rmReportSuccessEnable = rmReportSuccessEnable;
     }
+
+    public boolean isStateLogBufferEnable() {
+        return stateLogBufferEnable;
+    }
+
+    public void setStateLogBufferEnable(boolean stateLogBufferEnable) {
+        this.stateLogBufferEnable = stateLogBufferEnable;
+    }
+
+    public int getStateLogBufferSize() {
+        return stateLogBufferSize;
+    }
+
+    public void setStateLogBufferSize(int stateLogBufferSize) {
+        this.stateLogBufferSize = stateLogBufferSize;
+    }
+
+    public long getStateLogBufferMaxAgeMillis() {
+        return stateLogBufferMaxAgeMillis;
+    }
+
+    public void setStateLogBufferMaxAgeMillis(long stateLogBufferMaxAgeMillis) {
+        this.stateLogBufferMaxAgeMillis = stateLogBufferMaxAgeMillis;
+    }
 }
@@ -186,6 +186,37 @@ public class AbstractStore {
         }
     }
 
+    protected <T> int[] executeBatch(Connection connection, String sql, ObjectToStatement<T> objectToStatement,
+                                     List<T> list) throws SQLException {
+        if (list == null || list.isEmpty()) {
+            return new int[0];
+        }
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Preparing batch SQL: {}, batch size: {}", sql, list.size());
+        }
+        PreparedStatement stmt = null;
+        try {
+            stmt = connection.prepareStatement(sql);
+            for (T o : list) {
+                objectToStatement.toStatement(o, stmt);
+                stmt.addBatch();
+            }
+            return stmt.executeBatch();
+        } finally {
+            closeSilent(stmt);
+        }
+    }
+
+    public static void rollbackSilent(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.rollback();
+            } catch (SQLException e) {
+                LOGGER.info(e.getMessage(), e);
+            }
+        }
+    }
+
     public void setDataSource(DataSource dataSource) {
         this.dataSource = dataSource;
     }
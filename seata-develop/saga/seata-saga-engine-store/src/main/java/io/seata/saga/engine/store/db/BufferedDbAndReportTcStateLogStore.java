@@ -0,0 +1,286 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.store.db;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import io.seata.common.thread.NamedThreadFactory;
+import io.seata.saga.proctrl.ProcessContext;
+import io.seata.saga.statelang.domain.ExecutionStatus;
+import io.seata.saga.statelang.domain.StateInstance;
+import io.seata.saga.statelang.domain.StateMachineInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.StringUtils;
+
+/**
+ * Write-behind state log store.
+ * State instance inserts and updates are buffered per state machine instance and flushed in JDBC batches
+ * at the durability points:
+ * <ul>
+ * <li>a state finished with a non-successful status</li>
+ * <li>before the first compensation state is recorded</li>
+ * <li>before the state machine instance is finished (end state or failure)</li>
+ * <li>the buffer of the instance reaches {@link #bufferSize}</li>
+ * <li>any query of the state instances of the instance</li>
+ * <li>the state machine instance is restarted</li>
+ * <li>the buffer of the instance is older than {@link #maxBufferAgeMillis}, for the instances which never finish
+ * in this process, e.g. suspended ones, checked every second by a scheduled task started in
+ * {@link #afterPropertiesSet()}</li>
+ * <li>the store is destroyed</li>
+ * </ul>
+ * Branch register and the state machine instance records are still written synchronously, so the TC and the
+ * recovery can always find the instance.
+ * <p>
+ * The trade-off is crash durability: state logs buffered when the process crashes are lost, and the recovery
+ * treats those states as not executed. A state whose service was invoked but whose log was never flushed is
+ * therefore not compensated by the recovery, its effect stays. Use the buffer only when the services can live
+ * with that, e.g. they are checked or compensated by the business.
+ *
+ * @author agent
+ */
+public class BufferedDbAndReportTcStateLogStore extends DbAndReportTcStateLogStore
+    implements InitializingBean, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BufferedDbAndReportTcStateLogStore.class);
+
+    private static final int DEFAULT_BUFFER_SIZE = 64;
+
+    private static final long DEFAULT_MAX_BUFFER_AGE_MILLIS = 60000L;
+
+    private static final long EXPIRE_CHECK_INTERVAL_MILLIS = 1000L;
+
+    private final ConcurrentMap<String, StateLogBuffer> bufferMap = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService expireFlusher;
+
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    private long maxBufferAgeMillis = DEFAULT_MAX_BUFFER_AGE_MILLIS;
+
+    @Override
+    public void afterPropertiesSet() {
+        if (expireFlusher != null) {
+            return;
+        }
+        expireFlusher = new ScheduledThreadPoolExecutor(1,
+            new NamedThreadFactory("StateLogBufferFlusher", 1, true));
+        expireFlusher.scheduleWithFixedDelay(this::flushExpired, EXPIRE_CHECK_INTERVAL_MILLIS,
+            EXPIRE_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stop the expire flush task and flush all buffered state logs.
+     */
+    @Override
+    public void destroy() {
+        if (expireFlusher != null) {
+            expireFlusher.shutdown();
+            try {
+                expireFlusher.awaitTermination(EXPIRE_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        for (String machineInstId : bufferMap.keySet()) {
+            try {
+                flush(machineInstId);
+            } catch (RuntimeException e) {
+                LOGGER.error("Flush state logs of StateMachineInstance[{}] on destroy failed.", machineInstId, e);
+            }
+        }
+    }
+
+    @Override
+    public void recordStateMachineFinished(StateMachineInstance machineInstance, ProcessContext context) {
+        if (machineInstance != null) {
+            flush(machineInstance.getId());
+        }
+        super.recordStateMachineFinished(machineInstance, context);
+    }
+
+    @Override
+    public void recordStateMachineRestarted(StateMachineInstance machineInstance, ProcessContext context) {
+        if (machineInstance != null) {
+            flush(machineInstance.getId());
+        }
+        super.recordStateMachineRestarted(machineInstance, context);
+    }
+
+    @Override
+    protected void insertStateInstance(StateInstance stateInstance, ProcessContext context) {
+        String machineInstId = stateInstance.getMachineInstanceId();
+        if (StringUtils.isEmpty(machineInstId)) {
+            super.insertStateInstance(stateInstance, context);
+            return;
+        }
+        // the forward states must be durable before compensation begins
+        if (StringUtils.hasLength(stateInstance.getStateIdCompensatedFor())) {
+            flush(machineInstId);
+        }
+        if (append(machineInstId, stateInstance, true)) {
+            flush(machineInstId);
+        }
+    }
+
+    @Override
+    protected void updateStateInstance(StateInstance stateInstance, ProcessContext context) {
+        String machineInstId = stateInstance.getMachineInstanceId();
+        if (StringUtils.isEmpty(machineInstId)) {
+            super.updateStateInstance(stateInstance, context);
+            return;
+        }
+        boolean full = append(machineInstId, stateInstance, false);
+        if (full || !ExecutionStatus.SU.equals(stateInstance.getStatus())) {
+            flush(machineInstId);
+        }
+    }
+
+    /**
+     * append the state instance to the buffer of its state machine instance
+     *
+     * @return true if the buffer is full
+     */
+    private boolean append(String machineInstId, StateInstance stateInstance, boolean insert) {
+        while (true) {
+            StateLogBuffer buffer = bufferMap.computeIfAbsent(machineInstId, k -> new StateLogBuffer());
+            buffer.lock.lock();
+            try {
+                if (buffer.closed) {
+                    // flushed and removed concurrently, take a new buffer
+                    continue;
+                }
+                if (insert) {
+                    buffer.inserts.add(stateInstance);
+                } else {
+                    buffer.updates.add(stateInstance);
+                }
+                return buffer.size() >= bufferSize;
+            } finally {
+                buffer.lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public StateMachineInstance getStateMachineInstance(String stateMachineInstanceId) {
+        flush(stateMachineInstanceId);
+        return super.getStateMachineInstance(stateMachineInstanceId);
+    }
+
+    @Override
+    public StateInstance getStateInstance(String stateInstanceId, String machineInstId) {
+        flush(machineInstId);
+        return super.getStateInstance(stateInstanceId, machineInstId);
+    }
+
+    @Override
+    public List<StateInstance> queryStateInstanceListByMachineInstanceId(String stateMachineInstanceId) {
+        flush(stateMachineInstanceId);
+        return super.queryStateInstanceListByMachineInstanceId(stateMachineInstanceId);
+    }
+
+    /**
+     * flush the buffered state logs of the state machine instance
+     *
+     * @param machineInstId
+     */
+    public void flush(String machineInstId) {
+        if (StringUtils.isEmpty(machineInstId)) {
+            return;
+        }
+        StateLogBuffer buffer = bufferMap.get(machineInstId);
+        if (buffer == null) {
+            return;
+        }
+        // flush blocks on JDBC, a j.u.c lock does not pin virtual threads like synchronized does
+        buffer.lock.lock();
+        try {
+            if (buffer.closed) {
+                return;
+            }
+            batchSaveStateInstances(buffer.inserts, buffer.updates);
+            buffer.inserts.clear();
+            buffer.updates.clear();
+            buffer.closed = true;
+            bufferMap.remove(machineInstId, buffer);
+        } finally {
+            buffer.lock.unlock();
+        }
+    }
+
+    /**
+     * flush the buffers older than the max age, run by the expire flush task
+     */
+    private void flushExpired() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, StateLogBuffer> entry : bufferMap.entrySet()) {
+            if (now - entry.getValue().createdMillis < maxBufferAgeMillis) {
+                continue;
+            }
+            try {
+                flush(entry.getKey());
+            } catch (RuntimeException e) {
+                LOGGER.warn("Flush expired state logs of StateMachineInstance[{}] failed, retry later.",
+                    entry.getKey(), e);
+            }
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public long getMaxBufferAgeMillis() {
+        return maxBufferAgeMillis;
+    }
+
+    public void setMaxBufferAgeMillis(long maxBufferAgeMillis) {
+        this.maxBufferAgeMillis = maxBufferAgeMillis;
+    }
+
+    private static class StateLogBuffer {
+
+        private final Lock lock = new ReentrantLock();
+
+        private final List<StateInstance> inserts = new ArrayList<>();
+
+        private final List<StateInstance> updates = new ArrayList<>();
+
+        private final long createdMillis = System.currentTimeMillis();
+
+        private boolean closed;
+
+        private int size() {
+            return inserts.size() + updates.size();
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.seata.saga.engine.store.db;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -26,6 +27,7 @@ import java.util.Map;
 
 import io.seata.common.Constants;
 import io.seata.common.exception.FrameworkErrorCode;
+import io.seata.common.exception.StoreException;
 import io.seata.core.context.RootContext;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.model.BranchStatus;
@@ -265,8 +267,69 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
             }
 
             stateInstance.setSerializedInputParams(paramsSerializer.serialize(stateInstance.getInputParams()));
-            executeUpdate(stateLogStoreSqls.getRecordStateStartedSql(dbType), STATE_INSTANCE_TO_STATEMENT_FOR_INSERT,
-                    stateInstance);
+            insertStateInstance(stateInstance, context);
+        }
+    }
+
+    /**
+     * insert the started state instance, subclasses may defer the write
+     *
+     * @param stateInstance
+     * @param context
+     */
+    protected void insertStateInstance(StateInstance stateInstance, ProcessContext context) {
+        executeUpdate(stateLogStoreSqls.getRecordStateStartedSql(dbType), STATE_INSTANCE_TO_STATEMENT_FOR_INSERT,
+                stateInstance);
+    }
+
+    /**
+     * update the finished state instance, subclasses may defer the write
+     *
+     * @param stateInstance
+     * @param context
+     */
+    protected void updateStateInstance(StateInstance stateInstance, ProcessContext context) {
+        executeUpdate(stateLogStoreSqls.getRecordStateFinishedSql(dbType), STATE_INSTANCE_TO_STATEMENT_FOR_UPDATE,
+                stateInstance);
+    }
+
+    /**
+     * insert and update state instances in JDBC batches within one local transaction,
+     * all inserts are executed before the updates.
+     *
+     * @param stateInstancesToInsert
+     * @param stateInstancesToUpdate
+     */
+    protected void batchSaveStateInstances(List<StateInstance> stateInstancesToInsert,
+                                           List<StateInstance> stateInstancesToUpdate) {
+        if (stateInstancesToInsert.isEmpty() && stateInstancesToUpdate.isEmpty()) {
+            return;
+        }
+        Connection connection = null;
+        boolean originalAutoCommit = true;
+        try {
+            connection = dataSource.getConnection();
+            originalAutoCommit = connection.getAutoCommit();
+            if (originalAutoCommit) {
+                connection.setAutoCommit(false);
+            }
+            executeBatch(connection, stateLogStoreSqls.getRecordStateStartedSql(dbType),
+                    STATE_INSTANCE_TO_STATEMENT_FOR_INSERT, stateInstancesToInsert);
+            executeBatch(connection, stateLogStoreSqls.getRecordStateFinishedSql(dbType),
+                    STATE_INSTANCE_TO_STATEMENT_FOR_UPDATE, stateInstancesToUpdate);
+            connection.commit();
+        } catch (SQLException e) {
+            rollbackSilent(connection);
+            throw new StoreException(e);
+        } finally {
+            if (connection != null && originalAutoCommit) {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    LOGGER.warn("restore autoCommit failed", e);
+                }
+            }
+            closeSilent(connection);
         }
     }
 
@@ -400,8 +463,7 @@ public class DbAndReportTcStateLogStore extends AbstractStore implements StateLo
 
             stateInstance.setSerializedOutputParams(paramsSerializer.serialize(stateInstance.getOutputParams()));
             stateInstance.setSerializedException(exceptionSerializer.serialize(stateInstance.getException()));
-            executeUpdate(stateLogStoreSqls.getRecordStateFinishedSql(dbType), STATE_INSTANCE_TO_STATEMENT_FOR_UPDATE,
-                    stateInstance);
+            updateStateInstance(stateInstance, context);
 
             //A switch to skip branch report on branch success, in order to optimize performance
             StateMachineConfig stateMachineConfig = (StateMachineConfig) context.getVariable(
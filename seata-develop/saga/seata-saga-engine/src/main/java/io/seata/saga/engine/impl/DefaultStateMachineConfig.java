@@ -18,8 +18,11 @@ package io.seata.saga.engine.impl;
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ThreadPoolExecutor;
 
+import io.seata.common.thread.VirtualThreadExecutors;
 import io.seata.saga.engine.StateMachineConfig;
 import io.seata.saga.engine.evaluation.EvaluatorFactoryManager;
 import io.seata.saga.engine.evaluation.exception.ExceptionMatchEvaluatorFactory;
@@ -55,6 +58,7 @@ import io.seata.saga.proctrl.process.impl.CustomizeBusinessProcessor;
 import io.seata.saga.statelang.domain.DomainConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
@@ -65,13 +69,23 @@ import org.springframework.core.io.Resource;
  *
  * @author lorne.cl
  */
-public class DefaultStateMachineConfig implements StateMachineConfig, ApplicationContextAware, InitializingBean {
+public class DefaultStateMachineConfig
+    implements StateMachineConfig, ApplicationContextAware, InitializingBean, DisposableBean {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DefaultStateMachineConfig.class);
 
     private static final int DEFAULT_TRANS_OPER_TIMEOUT     = 60000 * 30;
     private static final int DEFAULT_SERVICE_INVOKE_TIMEOUT = 60000 * 5;
 
+    /**
+     * async execution runs on {@link #threadPoolExecutor}
+     */
+    public static final String ASYNC_EXECUTOR_TYPE_THREAD_POOL = "threadPool";
+    /**
+     * async execution starts a virtual thread per task, requires JDK 21+
+     */
+    public static final String ASYNC_EXECUTOR_TYPE_VIRTUAL_THREAD = "virtualThread";
+
     private int transOperationTimeout = DEFAULT_TRANS_OPER_TIMEOUT;
     private int serviceInvokeTimeout  = DEFAULT_SERVICE_INVOKE_TIMEOUT;
 
@@ -88,6 +102,9 @@ public class DefaultStateMachineConfig implements StateMachineConfig, Applicatio
     private ProcessCtrlEventPublisher asyncProcessCtrlEventPublisher;
     private ApplicationContext applicationContext;
     private ThreadPoolExecutor threadPoolExecutor;
+    private String asyncExecutorType = ASYNC_EXECUTOR_TYPE_THREAD_POOL;
+    private Executor asyncExecutor;
+    private ExecutorService createdAsyncExecutor;
     private boolean enableAsync;
     private ServiceInvokerManager serviceInvokerManager;
 
@@ -175,7 +192,7 @@ public class DefaultStateMachineConfig implements StateMachineConfig, Applicatio
             processCtrlEventConsumer.setProcessController(processorController);
 
             AsyncEventBus asyncEventBus = new AsyncEventBus();
-            asyncEventBus.setThreadPoolExecutor(getThreadPoolExecutor());
+            asyncEventBus.setExecutor(getAsyncExecutor());
             asyncEventPublisher.setEventBus(asyncEventBus);
 
             asyncEventBus.registerEventConsumer(processCtrlEventConsumer);
@@ -188,7 +205,7 @@ public class DefaultStateMachineConfig implements StateMachineConfig, Applicatio
 
             SpringBeanServiceInvoker springBeanServiceInvoker = new SpringBeanServiceInvoker();
             springBeanServiceInvoker.setApplicationContext(getApplicationContext());
-            springBeanServiceInvoker.setThreadPoolExecutor(threadPoolExecutor);
+            springBeanServiceInvoker.setExecutor(getAsyncExecutor());
             this.serviceInvokerManager.putServiceInvoker(DomainConstants.SERVICE_TYPE_SPRING_BEAN,
                 springBeanServiceInvoker);
         }
@@ -342,6 +359,55 @@ public class DefaultStateMachineConfig implements StateMachineConfig, Applicatio
         this.threadPoolExecutor = threadPoolExecutor;
     }
 
+    /**
+     * Gets the executor of async execution, resolved by {@link #asyncExecutorType} if not set.
+     *
+     * @return the async executor
+     */
+    public Executor getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            synchronized (this) {
+                if (asyncExecutor == null) {
+                    asyncExecutor = createAsyncExecutor();
+                }
+            }
+        }
+        return asyncExecutor;
+    }
+
+    protected Executor createAsyncExecutor() {
+        if (ASYNC_EXECUTOR_TYPE_VIRTUAL_THREAD.equalsIgnoreCase(asyncExecutorType)) {
+            if (VirtualThreadExecutors.isSupported()) {
+                createdAsyncExecutor = VirtualThreadExecutors.newVirtualThreadPerTaskExecutor("SAGA_ASYNC_EXE");
+                return createdAsyncExecutor;
+            }
+            LOGGER.warn("Virtual threads are not supported by current java runtime, use threadPoolExecutor instead.");
+        }
+        return threadPoolExecutor;
+    }
+
+    /**
+     * Shut down the async executor created by this config, the executors set from outside are left to their owner.
+     */
+    @Override
+    public void destroy() throws Exception {
+        if (createdAsyncExecutor != null) {
+            createdAsyncExecutor.shutdown();
+        }
+    }
+
+    public void setAsyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+    }
+
+    public String getAsyncExecutorType() {
+        return asyncExecutorType;
+    }
+
+    public void setAsyncExecutorType(String asyncExecutorType) {
+        this.asyncExecutorType = asyncExecutorType;
+    }
+
     @Override
     public boolean isEnableAsync() {
         return enableAsync;
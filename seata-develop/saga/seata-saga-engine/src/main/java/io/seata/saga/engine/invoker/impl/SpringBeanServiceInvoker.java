@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -54,16 +55,16 @@ public class SpringBeanServiceInvoker implements ServiceInvoker, ApplicationCont
     private static final Logger LOGGER = LoggerFactory.getLogger(SpringBeanServiceInvoker.class);
 
     private ApplicationContext applicationContext;
-    private ThreadPoolExecutor threadPoolExecutor;
+    private Executor executor;
 
     @Override
     public Object invoke(ServiceTaskState serviceTaskState, Object... input) throws Throwable {
         ServiceTaskStateImpl state = (ServiceTaskStateImpl) serviceTaskState;
         if (state.isAsync()) {
-            if (threadPoolExecutor == null) {
+            if (executor == null) {
                 if (LOGGER.isWarnEnabled()) {
                     LOGGER.warn(
-                            "threadPoolExecutor is null, Service[{}.{}] cannot execute asynchronously, executing "
+                            "executor is null, Service[{}.{}] cannot execute asynchronously, executing "
                                     + "synchronously now. stateName: {}",
                             state.getServiceName(), state.getServiceMethod(), state.getName());
                 }
@@ -74,7 +75,7 @@ public class SpringBeanServiceInvoker implements ServiceInvoker, ApplicationCont
                 LOGGER.info("Submit Service[{}.{}] to asynchronously executing. stateName: {}", state.getServiceName(),
                         state.getServiceMethod(), state.getName());
             }
-            threadPoolExecutor.execute(new Runnable() {
+            executor.execute(new Runnable() {
                 @Override
                 public void run() {
                     try {
@@ -242,7 +243,11 @@ public class SpringBeanServiceInvoker implements ServiceInvoker, ApplicationCont
     }
 
     public void setThreadPoolExecutor(ThreadPoolExecutor threadPoolExecutor) {
-        this.threadPoolExecutor = threadPoolExecutor;
+        this.executor = threadPoolExecutor;
+    }
+
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
     }
 
     protected Method findMethod(Class<?> clazz, String methodName, List<String> parameterTypes) {
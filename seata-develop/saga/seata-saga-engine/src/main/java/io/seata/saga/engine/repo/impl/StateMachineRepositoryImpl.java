@@ -21,6 +21,8 @@ import java.util.Arrays;
 import java.util.Date;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import io.seata.common.util.StringUtils;
 import io.seata.saga.engine.repo.StateMachineRepository;
@@ -63,7 +65,9 @@ public class StateMachineRepositoryImpl implements StateMachineRepository {
 
         }
         if (item.getValue() == null && stateLangStore != null) {
-            synchronized (item) {
+            // the store may block on I/O, use a j.u.c lock to avoid pinning virtual threads
+            item.lock();
+            try {
                 if (item.getValue() == null && stateLangStore != null) {
                     StateMachine stateMachine = stateLangStore.getStateMachineById(stateMachineId);
                     if (stateMachine != null) {
@@ -82,6 +86,8 @@ public class StateMachineRepositoryImpl implements StateMachineRepository {
                     }
 
                 }
+            } finally {
+                item.unlock();
             }
         }
         return item.getValue();
@@ -98,7 +104,8 @@ public class StateMachineRepositoryImpl implements StateMachineRepository {
             }
         }
         if (item.getValue() == null && stateLangStore != null) {
-            synchronized (item) {
+            item.lock();
+            try {
                 if (item.getValue() == null && stateLangStore != null) {
                     StateMachine stateMachine = stateLangStore.getLastVersionStateMachine(stateMachineName, tenantId);
                     if (stateMachine != null) {
@@ -116,6 +123,8 @@ public class StateMachineRepositoryImpl implements StateMachineRepository {
                     }
 
                 }
+            } finally {
+                item.unlock();
             }
         }
         return item.getValue();
@@ -221,6 +230,8 @@ public class StateMachineRepositoryImpl implements StateMachineRepository {
 
     private static class Item {
 
+        private final Lock lock = new ReentrantLock();
+
         private StateMachine value;
 
         private Item() {
@@ -237,5 +248,13 @@ public class StateMachineRepositoryImpl implements StateMachineRepository {
         public void setValue(StateMachine value) {
             this.value = value;
         }
+
+        private void lock() {
+            lock.lock();
+        }
+
+        private void unlock() {
+            lock.unlock();
+        }
     }
 }
\ No newline at end of file
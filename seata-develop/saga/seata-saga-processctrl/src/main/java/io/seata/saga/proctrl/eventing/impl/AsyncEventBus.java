@@ -16,6 +16,7 @@
 package io.seata.saga.proctrl.eventing.impl;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import io.seata.common.exception.FrameworkException;
@@ -33,7 +34,7 @@ public class AsyncEventBus extends AbstractEventBus<ProcessContext> {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AsyncEventBus.class);
 
-    private ThreadPoolExecutor threadPoolExecutor;
+    private Executor executor;
 
     @Override
     public boolean offer(ProcessContext context) throws FrameworkException {
@@ -48,7 +49,7 @@ public class AsyncEventBus extends AbstractEventBus<ProcessContext> {
 
         for (EventConsumer eventConsumer : eventConsumers) {
 
-            threadPoolExecutor.execute(new Runnable() {
+            executor.execute(new Runnable() {
                 @Override
                 public void run() {
                     eventConsumer.process(context);
@@ -59,6 +60,15 @@ public class AsyncEventBus extends AbstractEventBus<ProcessContext> {
     }
 
     public void setThreadPoolExecutor(ThreadPoolExecutor threadPoolExecutor) {
-        this.threadPoolExecutor = threadPoolExecutor;
+        this.executor = threadPoolExecutor;
+    }
+
+    /**
+     * Sets the executor which dispatches the events, e.g. a fixed thread pool or a virtual-thread-per-task executor
+     *
+     * @param executor the executor
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
     }
 }
\ No newline at end of file
@@ -17,14 +17,18 @@ package io.seata.spring.boot.autoconfigure;
 
 import java.util.HashMap;
 
+import io.seata.spring.boot.autoconfigure.properties.client.HttpProperties;
+import io.seata.spring.boot.autoconfigure.properties.client.LoadBalanceProperties;
 import io.seata.spring.boot.autoconfigure.properties.client.LockProperties;
 import io.seata.spring.boot.autoconfigure.properties.client.LogProperties;
+import io.seata.spring.boot.autoconfigure.properties.client.MetricsProperties;
 import io.seata.spring.boot.autoconfigure.properties.client.RmProperties;
 import io.seata.spring.boot.autoconfigure.properties.client.ServiceProperties;
 import io.seata.spring.boot.autoconfigure.properties.client.ShutdownProperties;
 import io.seata.spring.boot.autoconfigure.properties.client.ThreadFactoryProperties;
 import io.seata.spring.boot.autoconfigure.properties.client.TmProperties;
 import io.seata.spring.boot.autoconfigure.properties.client.TransportProperties;
+import io.seata.spring.boot.autoconfigure.properties.client.UndoCompressProperties;
 import io.seata.spring.boot.autoconfigure.properties.client.UndoProperties;
 import io.seata.spring.boot.autoconfigure.properties.config.ConfigApolloProperties;
 import io.seata.spring.boot.autoconfigure.properties.config.ConfigConsulProperties;
@@ -59,7 +63,12 @@ public class StarterConstants {
     public static final String CLIENT_TM_PREFIX = CLIENT_PREFIX + ".tm";
     public static final String LOCK_PREFIX = CLIENT_RM_PREFIX + ".lock";
     public static final String UNDO_PREFIX = CLIENT_PREFIX + ".undo";
+    public static final String UNDO_COMPRESS_PREFIX = UNDO_PREFIX + ".compress";
     public static final String LOG_PREFIX = CLIENT_PREFIX + ".log";
+    public static final String CLIENT_METRICS_PREFIX = CLIENT_PREFIX + ".metrics";
+    public static final String LOAD_BALANCE_PREFIX_KEBAB_STYLE = CLIENT_PREFIX + ".load-balance";
+    public static final String LOAD_BALANCE_PREFIX = CLIENT_PREFIX + ".loadBalance";
+    public static final String CLIENT_HTTP_PREFIX = CLIENT_PREFIX + ".http";
 
     public static final String REGISTRY_PREFIX = SEATA_PREFIX + ".registry";
     public static final String REGISTRY_NACOS_PREFIX = REGISTRY_PREFIX + ".nacos";
@@ -89,7 +98,11 @@ public class StarterConstants {
             put(SHUTDOWN_PREFIX, ShutdownProperties.class);
             put(THREAD_FACTORY_PREFIX, ThreadFactoryProperties.class);
             put(UNDO_PREFIX, UndoProperties.class);
+            put(UNDO_COMPRESS_PREFIX, UndoCompressProperties.class);
             put(LOG_PREFIX, LogProperties.class);
+            put(CLIENT_METRICS_PREFIX, MetricsProperties.class);
+            put(LOAD_BALANCE_PREFIX, LoadBalanceProperties.class);
+            put(CLIENT_HTTP_PREFIX, HttpProperties.class);
             put(TRANSPORT_PREFIX, TransportProperties.class);
             put(CONFIG_PREFIX, ConfigProperties.class);
             put(CONFIG_FILE_PREFIX, ConfigFileProperties.class);
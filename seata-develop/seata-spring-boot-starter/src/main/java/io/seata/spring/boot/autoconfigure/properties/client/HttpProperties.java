@@ -0,0 +1,63 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.spring.boot.autoconfigure.properties.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_HTTP_CONNECTION_REQUEST_TIMEOUT;
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_HTTP_MAX_PER_ROUTE;
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_HTTP_MAX_TOTAL;
+import static io.seata.spring.boot.autoconfigure.StarterConstants.CLIENT_HTTP_PREFIX;
+
+/**
+ * @author agent
+ */
+@Component
+@ConfigurationProperties(prefix = CLIENT_HTTP_PREFIX)
+public class HttpProperties {
+
+    private int maxTotal = DEFAULT_CLIENT_HTTP_MAX_TOTAL;
+    private int maxPerRoute = DEFAULT_CLIENT_HTTP_MAX_PER_ROUTE;
+    private int connectionRequestTimeout = DEFAULT_CLIENT_HTTP_CONNECTION_REQUEST_TIMEOUT;
+
+    public int getMaxTotal() {
+        return maxTotal;
+    }
+
+    public HttpProperties setMaxTotal(int maxTotal) {
+        this.maxTotal = maxTotal;
+        return this;
+    }
+
+    public int getMaxPerRoute() {
+        return maxPerRoute;
+    }
+
+    public HttpProperties setMaxPerRoute(int maxPerRoute) {
+        this.maxPerRoute = maxPerRoute;
+        return this;
+    }
+
+    public int getConnectionRequestTimeout() {
+        return connectionRequestTimeout;
+    }
+
+    public HttpProperties setConnectionRequestTimeout(int connectionRequestTimeout) {
+        this.connectionRequestTimeout = connectionRequestTimeout;
+        return this;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.spring.boot.autoconfigure.properties.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_METRICS_ENABLED;
+import static io.seata.spring.boot.autoconfigure.StarterConstants.CLIENT_METRICS_PREFIX;
+
+/**
+ * @author agent
+ */
+@Component
+@ConfigurationProperties(prefix = CLIENT_METRICS_PREFIX)
+public class MetricsProperties {
+
+    private boolean enabled = DEFAULT_CLIENT_METRICS_ENABLED;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public MetricsProperties setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        return this;
+    }
+}
@@ -19,10 +19,14 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT;
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_ASYNC_COMMIT_FLUSH_INTERVAL;
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_ASYNC_COMMIT_PARALLELISM;
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_LOCK_KEY_DEDUP_ENABLE;
 import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_REPORT_RETRY_COUNT;
 import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE;
 import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_SAGA_BRANCH_REGISTER_ENABLE;
 import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_TABLE_META_CHECK_ENABLE;
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_TABLE_META_WARM_UP_ENABLE;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.CLIENT_RM_PREFIX;
 
 /**
@@ -32,8 +36,12 @@ import static io.seata.spring.boot.autoconfigure.StarterConstants.CLIENT_RM_PREF
 @ConfigurationProperties(prefix = CLIENT_RM_PREFIX)
 public class RmProperties {
     private int asyncCommitBufferLimit = DEFAULT_CLIENT_ASYNC_COMMIT_BUFFER_LIMIT;
+    private int asyncCommitParallelism = DEFAULT_CLIENT_ASYNC_COMMIT_PARALLELISM;
+    private long asyncCommitFlushInterval = DEFAULT_CLIENT_ASYNC_COMMIT_FLUSH_INTERVAL;
     private int reportRetryCount = DEFAULT_CLIENT_REPORT_RETRY_COUNT;
     private boolean tableMetaCheckEnable = DEFAULT_CLIENT_TABLE_META_CHECK_ENABLE;
+    private boolean tableMetaWarmUpEnable = DEFAULT_CLIENT_TABLE_META_WARM_UP_ENABLE;
+    private boolean lockKeyDedupEnable = DEFAULT_CLIENT_LOCK_KEY_DEDUP_ENABLE;
     private boolean reportSuccessEnable = DEFAULT_CLIENT_REPORT_SUCCESS_ENABLE;
     private boolean sagaBranchRegisterEnable = DEFAULT_CLIENT_SAGA_BRANCH_REGISTER_ENABLE;
 
@@ -46,6 +54,24 @@ public class RmProperties {
         return this;
     }
 
+    public int getAsyncCommitParallelism() {
+        return asyncCommitParallelism;
+    }
+
+    public RmProperties setAsyncCommitParallelism(int asyncCommitParallelism) {
+        this.asyncCommitParallelism = asyncCommitParallelism;
+        return this;
+    }
+
+    public long getAsyncCommitFlushInterval() {
+        return asyncCommitFlushInterval;
+    }
+
+    public RmProperties setAsyncCommitFlushInterval(long asyncCommitFlushInterval) {
+        this.asyncCommitFlushInterval = asyncCommitFlushInterval;
+        return this;
+    }
+
     public int getReportRetryCount() {
         return reportRetryCount;
     }
@@ -64,6 +90,24 @@ public class RmProperties {
         return this;
     }
 
+    public boolean isTableMetaWarmUpEnable() {
+        return tableMetaWarmUpEnable;
+    }
+
+    public RmProperties setTableMetaWarmUpEnable(boolean tableMetaWarmUpEnable) {
+        this.tableMetaWarmUpEnable = tableMetaWarmUpEnable;
+        return this;
+    }
+
+    public boolean isLockKeyDedupEnable() {
+        return lockKeyDedupEnable;
+    }
+
+    public RmProperties setLockKeyDedupEnable(boolean lockKeyDedupEnable) {
+        this.lockKeyDedupEnable = lockKeyDedupEnable;
+        return this;
+    }
+
     public boolean isReportSuccessEnable() {
         return reportSuccessEnable;
     }
@@ -19,6 +19,7 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
 import static io.seata.core.constants.DefaultValues.DEFAULT_ENABLE_CLIENT_BATCH_SEND_REQUEST;
+import static io.seata.core.constants.DefaultValues.DEFAULT_RPC_COMPRESSOR_THRESHOLD;
 import static io.seata.core.constants.DefaultValues.DEFAULT_TRANSPORT_HEARTBEAT;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.TRANSPORT_PREFIX;
 
@@ -48,6 +49,10 @@ public class TransportProperties {
      * compressor
      */
     private String compressor = "none";
+    /**
+     * the rpc bodies smaller than the threshold are never compressed
+     */
+    private String compressorThreshold = DEFAULT_RPC_COMPRESSOR_THRESHOLD;
 
     /**
      * enable client batch send request
@@ -99,6 +104,15 @@ public class TransportProperties {
         return this;
     }
 
+    public String getCompressorThreshold() {
+        return compressorThreshold;
+    }
+
+    public TransportProperties setCompressorThreshold(String compressorThreshold) {
+        this.compressorThreshold = compressorThreshold;
+        return this;
+    }
+
     public boolean isEnableClientBatchSendRequest() {
         return enableClientBatchSendRequest;
     }
@@ -18,8 +18,10 @@ package io.seata.spring.boot.autoconfigure.properties.client;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_UNDO_LOG_STORAGE_MODE;
 import static io.seata.core.constants.DefaultValues.DEFAULT_ONLY_CARE_UPDATE_COLUMNS;
 import static io.seata.core.constants.DefaultValues.DEFAULT_TRANSACTION_UNDO_DATA_VALIDATION;
+import static io.seata.core.constants.DefaultValues.DEFAULT_TRANSACTION_UNDO_DERIVE_AFTER_IMAGE;
 import static io.seata.core.constants.DefaultValues.DEFAULT_TRANSACTION_UNDO_LOG_SERIALIZATION;
 import static io.seata.core.constants.DefaultValues.DEFAULT_TRANSACTION_UNDO_LOG_TABLE;
 import static io.seata.spring.boot.autoconfigure.StarterConstants.UNDO_PREFIX;
@@ -33,7 +35,9 @@ public class UndoProperties {
     private boolean dataValidation = DEFAULT_TRANSACTION_UNDO_DATA_VALIDATION;
     private String logSerialization = DEFAULT_TRANSACTION_UNDO_LOG_SERIALIZATION;
     private String logTable = DEFAULT_TRANSACTION_UNDO_LOG_TABLE;
+    private String logStorageMode = DEFAULT_CLIENT_UNDO_LOG_STORAGE_MODE;
     private boolean onlyCareUpdateColumns = DEFAULT_ONLY_CARE_UPDATE_COLUMNS;
+    private boolean deriveAfterImage = DEFAULT_TRANSACTION_UNDO_DERIVE_AFTER_IMAGE;
 
     public boolean isDataValidation() {
         return dataValidation;
@@ -62,6 +66,15 @@ public class UndoProperties {
         return this;
     }
 
+    public String getLogStorageMode() {
+        return logStorageMode;
+    }
+
+    public UndoProperties setLogStorageMode(String logStorageMode) {
+        this.logStorageMode = logStorageMode;
+        return this;
+    }
+
     public boolean isOnlyCareUpdateColumns() {
         return onlyCareUpdateColumns;
     }
@@ -70,4 +83,13 @@ public class UndoProperties {
         this.onlyCareUpdateColumns = onlyCareUpdateColumns;
         return this;
     }
+
+    public boolean isDeriveAfterImage() {
+        return deriveAfterImage;
+    }
+
+    public UndoProperties setDeriveAfterImage(boolean deriveAfterImage) {
+        this.deriveAfterImage = deriveAfterImage;
+        return this;
+    }
 }
@@ -19,8 +19,11 @@ import java.util.Map;
 
 import io.seata.spring.boot.autoconfigure.properties.SeataProperties;
 import io.seata.spring.boot.autoconfigure.properties.SpringCloudAlibabaConfiguration;
+import io.seata.spring.boot.autoconfigure.properties.client.HttpProperties;
+import io.seata.spring.boot.autoconfigure.properties.client.LoadBalanceProperties;
 import io.seata.spring.boot.autoconfigure.properties.client.LockProperties;
 import io.seata.spring.boot.autoconfigure.properties.client.LogProperties;
+import io.seata.spring.boot.autoconfigure.properties.client.MetricsProperties;
 import io.seata.spring.boot.autoconfigure.properties.client.RmProperties;
 import io.seata.spring.boot.autoconfigure.properties.client.ServiceProperties;
 import io.seata.spring.boot.autoconfigure.properties.client.ShutdownProperties;
@@ -49,6 +52,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.support.BeanDefinitionBuilder;
 import org.springframework.context.annotation.AnnotationConfigApplicationContext;
 
+import static io.seata.core.constants.DefaultValues.DEFAULT_CLIENT_UNDO_LOG_STORAGE_MODE;
 import static io.seata.core.constants.DefaultValues.DEFAULT_TM_COMMIT_RETRY_COUNT;
 import static io.seata.core.constants.DefaultValues.DEFAULT_TM_ROLLBACK_RETRY_COUNT;
 import static io.seata.core.constants.DefaultValues.DEFAULT_TRANSACTION_UNDO_LOG_TABLE;
@@ -82,12 +86,32 @@ public class PropertiesTest {
         assertEquals(100, context.getBean(LogProperties.class).getExceptionRate());
     }
 
+    @Test
+    public void testHttpProperties() {
+        assertEquals(200, context.getBean(HttpProperties.class).getMaxTotal());
+        assertEquals(50, context.getBean(HttpProperties.class).getMaxPerRoute());
+        assertEquals(3000, context.getBean(HttpProperties.class).getConnectionRequestTimeout());
+    }
+
+    @Test
+    public void testLoadBalanceProperties() {
+        assertEquals("RandomLoadBalance", context.getBean(LoadBalanceProperties.class).getType());
+    }
+
+    @Test
+    public void testMetricsProperties() {
+        assertFalse(context.getBean(MetricsProperties.class).isEnabled());
+    }
+
     @Test
     public void testRmProperties() {
         assertEquals(10000, context.getBean(RmProperties.class).getAsyncCommitBufferLimit());
+        assertEquals(2, context.getBean(RmProperties.class).getAsyncCommitParallelism());
+        assertEquals(100L, context.getBean(RmProperties.class).getAsyncCommitFlushInterval());
         assertEquals(5, context.getBean(RmProperties.class).getReportRetryCount());
         assertFalse(context.getBean(RmProperties.class).isTableMetaCheckEnable());
         assertFalse(context.getBean(RmProperties.class).isReportSuccessEnable());
+        assertFalse(context.getBean(RmProperties.class).isLockKeyDedupEnable());
     }
 
     @Test
@@ -130,6 +154,7 @@ public class PropertiesTest {
         assertTrue(context.getBean(TransportProperties.class).isHeartbeat());
         assertEquals("seata", context.getBean(TransportProperties.class).getSerialization());
         assertEquals("none", context.getBean(TransportProperties.class).getCompressor());
+        assertEquals("4k", context.getBean(TransportProperties.class).getCompressorThreshold());
         assertTrue(context.getBean(TransportProperties.class).isEnableClientBatchSendRequest());
     }
 
@@ -138,6 +163,7 @@ public class PropertiesTest {
         assertTrue(context.getBean(UndoProperties.class).isDataValidation());
         assertEquals("jackson", context.getBean(UndoProperties.class).getLogSerialization());
         assertEquals(DEFAULT_TRANSACTION_UNDO_LOG_TABLE, context.getBean(UndoProperties.class).getLogTable());
+        assertEquals(DEFAULT_CLIENT_UNDO_LOG_STORAGE_MODE, context.getBean(UndoProperties.class).getLogStorageMode());
     }
 
     @Test
@@ -18,6 +18,9 @@ package io.seata.serializer.seata.protocol;
 import io.seata.serializer.seata.SeataSerializer;
 import io.seata.core.protocol.AbstractMessage;
 import io.seata.core.protocol.MergedWarpMessage;
+import io.seata.core.model.BranchType;
+import io.seata.core.protocol.transaction.BranchCommitRequest;
+import io.seata.core.protocol.transaction.BranchRollbackRequest;
 import io.seata.core.protocol.transaction.GlobalBeginRequest;
 import org.junit.jupiter.api.Test;
 
@@ -67,6 +70,38 @@ public class MergedWarpMessageSerializerTest {
 
     }
 
+    /**
+     * Test codec of the batched phase two requests.
+     */
+    @Test
+    public void test_branchEndCodec() {
+        MergedWarpMessage mergedWarpMessage = new MergedWarpMessage();
+        BranchCommitRequest branchCommitRequest = new BranchCommitRequest();
+        branchCommitRequest.setXid("127.0.0.1:8091:1");
+        branchCommitRequest.setBranchId(11L);
+        branchCommitRequest.setBranchType(BranchType.AT);
+        branchCommitRequest.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        BranchRollbackRequest branchRollbackRequest = new BranchRollbackRequest();
+        branchRollbackRequest.setXid("127.0.0.1:8091:2");
+        branchRollbackRequest.setBranchId(22L);
+        branchRollbackRequest.setBranchType(BranchType.AT);
+        branchRollbackRequest.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        mergedWarpMessage.msgs.add(branchCommitRequest);
+        mergedWarpMessage.msgs.add(branchRollbackRequest);
+
+        byte[] body = seataSerializer.serialize(mergedWarpMessage);
+
+        MergedWarpMessage mergedWarpMessage2 = seataSerializer.deserialize(body);
+        assertThat(mergedWarpMessage2.msgs.size()).isEqualTo(2);
+        BranchCommitRequest branchCommitRequest2 = (BranchCommitRequest) mergedWarpMessage2.msgs.get(0);
+        assertThat(branchCommitRequest2.getXid()).isEqualTo(branchCommitRequest.getXid());
+        assertThat(branchCommitRequest2.getBranchId()).isEqualTo(branchCommitRequest.getBranchId());
+        assertThat(branchCommitRequest2.getResourceId()).isEqualTo(branchCommitRequest.getResourceId());
+        BranchRollbackRequest branchRollbackRequest2 = (BranchRollbackRequest) mergedWarpMessage2.msgs.get(1);
+        assertThat(branchRollbackRequest2.getXid()).isEqualTo(branchRollbackRequest.getXid());
+        assertThat(branchRollbackRequest2.getBranchId()).isEqualTo(branchRollbackRequest.getBranchId());
+    }
+
     private GlobalBeginRequest buildGlobalBeginRequest(String name) {
         final GlobalBeginRequest globalBeginRequest = new GlobalBeginRequest();
         globalBeginRequest.setTransactionName(name);
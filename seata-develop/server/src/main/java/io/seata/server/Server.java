@@ -18,10 +18,14 @@ package io.seata.server;
 import io.seata.common.XID;
 import io.seata.common.thread.NamedThreadFactory;
 import io.seata.common.util.NetUtil;
+import io.seata.config.ConfigurationFactory;
 import io.seata.core.constants.ConfigurationKeys;
+import io.seata.core.constants.DefaultValues;
 import io.seata.core.rpc.netty.RpcServer;
 import io.seata.core.rpc.netty.ShutdownHook;
+import io.seata.server.admin.AdminHttpServer;
 import io.seata.server.coordinator.DefaultCoordinator;
+import io.seata.server.lock.HotRowDetector;
 import io.seata.server.metrics.MetricsManager;
 import io.seata.server.session.SessionHolder;
 import org.slf4j.Logger;
@@ -42,7 +46,7 @@ public class Server {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Server.class);
 
-    private static final int MIN_SERVER_POOL_SIZE = 50;
+    private static final int MIN_SERVER_POOL_SIZE = DefaultValues.DEFAULT_SERVER_MIN_POOL_SIZE;
     private static final int MAX_SERVER_POOL_SIZE = 500;
     // 最大的任务队列容量
     private static final int MAX_TASK_QUEUE_SIZE = 20000;
@@ -103,6 +107,20 @@ public class Server {
         }
         XID.setPort(rpcServer.getListenPort());
 
+        int adminPort = ConfigurationFactory.getInstance().getInt(ConfigurationKeys.SERVER_ADMIN_PORT,
+            DefaultValues.DEFAULT_SERVER_ADMIN_PORT);
+        if (adminPort > 0) {
+            String adminHost = ConfigurationFactory.getInstance().getConfig(ConfigurationKeys.SERVER_ADMIN_HOST,
+                DefaultValues.DEFAULT_SERVER_ADMIN_HOST);
+            AdminHttpServer adminHttpServer = new AdminHttpServer(adminHost, adminPort, HotRowDetector.getInstance());
+            try {
+                adminHttpServer.start();
+                ShutdownHook.getInstance().addDisposable(adminHttpServer);
+            } catch (IOException e) {
+                LOGGER.error("admin http server start error:{}", e.getMessage(), e);
+            }
+        }
+
         try {
             /** rpc服务端初始化 */
             rpcServer.init();
@@ -0,0 +1,182 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.admin;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.seata.common.thread.NamedThreadFactory;
+import io.seata.common.util.StringUtils;
+import io.seata.core.rpc.Disposable;
+import io.seata.server.lock.HotRowDetector;
+import io.seata.server.lock.HotRowDetector.HotRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The admin http endpoint of the TC, disabled by default. It has no authentication and binds to the loopback
+ * address unless server.admin.host says otherwise.
+ * <ul>
+ * <li>GET /lock/hotRows?top=K the top K hot rows of the {@link HotRowDetector} as json</li>
+ * </ul>
+ *
+ * @author agent
+ */
+public class AdminHttpServer implements Disposable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdminHttpServer.class);
+
+    private static final String HOT_ROWS_PATH = "/lock/hotRows";
+
+    private static final int DEFAULT_TOP = 10;
+
+    private final String host;
+
+    private final int port;
+
+    private final HotRowDetector hotRowDetector;
+
+    private HttpServer httpServer;
+
+    private ExecutorService executor;
+
+    /**
+     * Instantiates a new Admin http server.
+     *
+     * @param host           the listen host
+     * @param port           the listen port
+     * @param hotRowDetector the hot row detector
+     */
+    public AdminHttpServer(String host, int port, HotRowDetector hotRowDetector) {
+        this.host = host;
+        this.port = port;
+        this.hotRowDetector = hotRowDetector;
+    }
+
+    /**
+     * Start the http server.
+     *
+     * @throws IOException the io exception
+     */
+    public synchronized void start() throws IOException {
+        if (httpServer != null) {
+            return;
+        }
+        httpServer = HttpServer.create(new InetSocketAddress(host, port), 0);
+        httpServer.createContext(HOT_ROWS_PATH, this::handleHotRows);
+        executor = Executors.newSingleThreadExecutor(new NamedThreadFactory("AdminHttpServer", 1, true));
+        httpServer.setExecutor(executor);
+        httpServer.start();
+        LOGGER.info("Admin http server started at {}:{}", host, port);
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (httpServer != null) {
+            httpServer.stop(0);
+            executor.shutdownNow();
+            httpServer = null;
+        }
+    }
+
+    private void handleHotRows(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+                respond(exchange, 405, "{\"error\":\"method not allowed\"}");
+                return;
+            }
+            int top;
+            try {
+                top = parseTop(exchange.getRequestURI().getRawQuery());
+            } catch (NumberFormatException e) {
+                respond(exchange, 400, "{\"error\":\"invalid top\"}");
+                return;
+            }
+            respond(exchange, 200, toJson(hotRowDetector.topK(top)));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String toJson(List<HotRow> hotRows) {
+        StringBuilder json = new StringBuilder(64 + hotRows.size() * 96);
+        json.append("{\"threshold\":").append(hotRowDetector.getThreshold())
+            .append(",\"windowMillis\":").append(hotRowDetector.getWindowMillis())
+            .append(",\"rows\":[");
+        for (int i = 0; i < hotRows.size(); i++) {
+            HotRow hotRow = hotRows.get(i);
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"resourceId\":");
+            appendString(json, hotRow.getResourceId());
+            json.append(",\"tableName\":");
+            appendString(json, hotRow.getTableName());
+            json.append(",\"pk\":");
+            appendString(json, hotRow.getPk());
+            json.append(",\"conflicts\":").append(hotRow.getConflicts())
+                .append(",\"hot\":").append(hotRow.getConflicts() >= hotRowDetector.getThreshold()).append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    static int parseTop(String query) {
+        if (StringUtils.isBlank(query)) {
+            return DEFAULT_TOP;
+        }
+        for (String param : query.split("&")) {
+            if (param.startsWith("top=")) {
+                return Integer.parseInt(param.substring(4));
+            }
+        }
+        return DEFAULT_TOP;
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        if (value == null) {
+            json.append("null");
+            return;
+        }
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int)c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(bytes);
+        }
+    }
+}
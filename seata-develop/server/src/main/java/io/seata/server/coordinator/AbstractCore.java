@@ -43,6 +43,7 @@ import static io.seata.core.exception.TransactionExceptionCode.BranchTransaction
 import static io.seata.core.exception.TransactionExceptionCode.FailedToAddBranch;
 import static io.seata.core.exception.TransactionExceptionCode.GlobalTransactionNotActive;
 import static io.seata.core.exception.TransactionExceptionCode.GlobalTransactionStatusInvalid;
+import static io.seata.core.exception.TransactionExceptionCode.LockKeyConflict;
 import static io.seata.core.exception.TransactionExceptionCode.FailedToSendBranchCommitRequest;
 import static io.seata.core.exception.TransactionExceptionCode.FailedToSendBranchRollbackRequest;
 
@@ -81,28 +82,50 @@ public abstract class AbstractCore implements Core {
                                String applicationData, String lockKeys) throws TransactionException {
         // 构建一个全局session
         GlobalSession globalSession = assertGlobalSessionNotNull(xid, false);
-        return SessionHolder.lockAndExecute(globalSession, () -> {
-            globalSessionStatusCheck(globalSession);
-            globalSession.addSessionLifecycleListener(SessionHolder.getRootSessionManager());
-            // 由全局session构建一个分支session
-            BranchSession branchSession = SessionHelper.newBranchByGlobal(globalSession, branchType, resourceId,
-                    applicationData, lockKeys, clientId);
-            branchSessionLock(globalSession, branchSession);
-            try {
-                // 将分支session添加到全局session中管理
-                globalSession.addBranch(branchSession);
-            } catch (RuntimeException ex) {
-                branchSessionUnlock(branchSession);
-                throw new BranchTransactionException(FailedToAddBranch, String
-                        .format("Failed to store branch xid = %s branchId = %s", globalSession.getXid(),
-                                branchSession.getBranchId()), ex);
+        // 由全局session构建一个分支session
+        BranchSession branchSession = SessionHelper.newBranchByGlobal(globalSession, branchType, resourceId,
+                applicationData, lockKeys, clientId);
+        boolean lockWaiting = false;
+        boolean registered = false;
+        try {
+            while (true) {
+                try {
+                    Long branchId = SessionHolder.lockAndExecute(globalSession, () -> {
+                        globalSessionStatusCheck(globalSession);
+                        globalSession.addSessionLifecycleListener(SessionHolder.getRootSessionManager());
+                        branchSessionLock(globalSession, branchSession);
+                        try {
+                            // 将分支session添加到全局session中管理
+                            globalSession.addBranch(branchSession);
+                        } catch (RuntimeException ex) {
+                            branchSessionUnlock(branchSession);
+                            globalSession.removeHeldLockKeys(resourceId, lockKeys);
+                            throw new BranchTransactionException(FailedToAddBranch, String
+                                    .format("Failed to store branch xid = %s branchId = %s", globalSession.getXid(),
+                                            branchSession.getBranchId()), ex);
+                        }
+                        if (LOGGER.isInfoEnabled()) {
+                            LOGGER.info(
+                                "Register branch successfully, xid = {}, branchId = {}, resourceId = {} ,lockKeys = {}",
+                                globalSession.getXid(), branchSession.getBranchId(), resourceId, lockKeys);
+                        }
+                        return branchSession.getBranchId();
+                    });
+                    registered = true;
+                    return branchId;
+                } catch (BranchTransactionException ex) {
+                    // wait on the TC for the conflicting rows instead of failing the register, if enabled
+                    if (ex.getCode() != LockKeyConflict || !lockManager.awaitLockRelease(branchSession)) {
+                        throw ex;
+                    }
+                    lockWaiting = true;
+                }
             }
-            if (LOGGER.isInfoEnabled()) {
-                LOGGER.info("Register branch successfully, xid = {}, branchId = {}, resourceId = {} ,lockKeys = {}",
-                    globalSession.getXid(), branchSession.getBranchId(), resourceId, lockKeys);
+        } finally {
+            if (lockWaiting) {
+                lockManager.endLockWait(branchSession, registered);
             }
-            return branchSession.getBranchId();
-        });
+        }
     }
 
     protected void globalSessionStatusCheck(GlobalSession globalSession) throws GlobalTransactionException {
@@ -16,9 +16,15 @@
 package io.seata.server.coordinator;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 import io.netty.channel.Channel;
@@ -27,9 +33,12 @@ import io.seata.common.util.CollectionUtils;
 import io.seata.common.util.DurationUtil;
 import io.seata.config.ConfigurationFactory;
 import io.seata.core.constants.ConfigurationKeys;
+import io.seata.core.constants.DefaultValues;
 import io.seata.core.event.EventBus;
 import io.seata.core.event.GlobalTransactionEvent;
 import io.seata.core.exception.TransactionException;
+import io.seata.core.metrics.Stage;
+import io.seata.core.metrics.StageMetrics;
 import io.seata.core.model.GlobalStatus;
 import io.seata.core.protocol.AbstractMessage;
 import io.seata.core.protocol.AbstractResultMessage;
@@ -86,6 +95,12 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
     protected static final long ASYNC_COMMITTING_RETRY_PERIOD = CONFIG.getLong(
         ConfigurationKeys.ASYN_COMMITING_RETRY_PERIOD, 1000L);
 
+    /**
+     * The constant ASYNC_COMMITTING_PARALLELISM.
+     */
+    protected static final int ASYNC_COMMITTING_PARALLELISM = Math.max(1, CONFIG.getInt(
+        ConfigurationKeys.ASYN_COMMITTING_PARALLELISM, DefaultValues.DEFAULT_SERVER_ASYNC_COMMITTING_PARALLELISM));
+
     /**
      * The constant ROLLBACKING_RETRY_PERIOD.
      */
@@ -128,6 +143,10 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
     private ScheduledThreadPoolExecutor asyncCommitting = new ScheduledThreadPoolExecutor(1,
         new NamedThreadFactory("AsyncCommitting", 1));
 
+    private ThreadPoolExecutor asyncCommittingWorker = new ThreadPoolExecutor(ASYNC_COMMITTING_PARALLELISM,
+        ASYNC_COMMITTING_PARALLELISM, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+        new NamedThreadFactory("AsyncCommittingWorker", ASYNC_COMMITTING_PARALLELISM));
+
     private ScheduledThreadPoolExecutor timeoutCheck = new ScheduledThreadPoolExecutor(1,
         new NamedThreadFactory("TxTimeoutCheck", 1));
 
@@ -300,6 +319,8 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
                     LOGGER.info("Global transaction rollback retry timeout and has removed [{}]", rollbackingSession.getXid());
                     continue;
                 }
+                StageMetrics.record(Stage.RETRY_ROLLBACK_LAG,
+                    TimeUnit.MILLISECONDS.toNanos(now - rollbackingSession.getBeginTime()));
                 rollbackingSession.addSessionLifecycleListener(SessionHolder.getRootSessionManager());
                 core.doGlobalRollback(rollbackingSession, true);
             } catch (TransactionException ex) {
@@ -327,6 +348,8 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
                     LOGGER.error("Global transaction commit retry timeout and has removed [{}]", committingSession.getXid());
                     continue;
                 }
+                StageMetrics.record(Stage.RETRY_COMMIT_LAG,
+                    TimeUnit.MILLISECONDS.toNanos(now - committingSession.getBeginTime()));
                 committingSession.addSessionLifecycleListener(SessionHolder.getRootSessionManager());
                 core.doGlobalCommit(committingSession, true);
             } catch (TransactionException ex) {
@@ -348,17 +371,37 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
         if (CollectionUtils.isEmpty(asyncCommittingSessions)) {
             return;
         }
+        long now = System.currentTimeMillis();
+        // the sessions are committed concurrently so their branch commits to the same RM can be batched
+        List<Future<?>> futures = new ArrayList<>(asyncCommittingSessions.size());
         for (GlobalSession asyncCommittingSession : asyncCommittingSessions) {
+            futures.add(asyncCommittingWorker.submit(() -> asyncCommit(asyncCommittingSession, now)));
+        }
+        // wait for the whole round, the next one must not commit the same sessions again
+        for (Future<?> future : futures) {
             try {
-                // Instruction reordering in DefaultCore#asyncCommit may cause this situation
-                if (GlobalStatus.AsyncCommitting != asyncCommittingSession.getStatus()) {
-                    continue;
-                }
-                asyncCommittingSession.addSessionLifecycleListener(SessionHolder.getRootSessionManager());
-                core.doGlobalCommit(asyncCommittingSession, true);
-            } catch (TransactionException ex) {
-                LOGGER.error("Failed to async committing [{}] {} {}", asyncCommittingSession.getXid(), ex.getCode(), ex.getMessage(), ex);
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (ExecutionException e) {
+                LOGGER.error("Failed to async committing: {}", e.getMessage(), e.getCause());
+            }
+        }
+    }
+
+    private void asyncCommit(GlobalSession asyncCommittingSession, long now) {
+        try {
+            // Instruction reordering in DefaultCore#asyncCommit may cause this situation
+            if (GlobalStatus.AsyncCommitting != asyncCommittingSession.getStatus()) {
+                return;
             }
+            StageMetrics.record(Stage.ASYNC_COMMIT_LAG,
+                TimeUnit.MILLISECONDS.toNanos(now - asyncCommittingSession.getBeginTime()));
+            asyncCommittingSession.addSessionLifecycleListener(SessionHolder.getRootSessionManager());
+            core.doGlobalCommit(asyncCommittingSession, true);
+        } catch (TransactionException ex) {
+            LOGGER.error("Failed to async committing [{}] {} {}", asyncCommittingSession.getXid(), ex.getCode(), ex.getMessage(), ex);
         }
     }
 
@@ -476,6 +519,8 @@ public class DefaultCoordinator extends AbstractTCInboundHandler implements Tran
             retryRollbacking.awaitTermination(TIMED_TASK_SHUTDOWN_MAX_WAIT_MILLS, TimeUnit.MILLISECONDS);
             retryCommitting.awaitTermination(TIMED_TASK_SHUTDOWN_MAX_WAIT_MILLS, TimeUnit.MILLISECONDS);
             asyncCommitting.awaitTermination(TIMED_TASK_SHUTDOWN_MAX_WAIT_MILLS, TimeUnit.MILLISECONDS);
+            asyncCommittingWorker.shutdown();
+            asyncCommittingWorker.awaitTermination(TIMED_TASK_SHUTDOWN_MAX_WAIT_MILLS, TimeUnit.MILLISECONDS);
             timeoutCheck.awaitTermination(TIMED_TASK_SHUTDOWN_MAX_WAIT_MILLS, TimeUnit.MILLISECONDS);
         } catch (InterruptedException ignore) {
 
@@ -29,6 +29,8 @@ import io.seata.core.event.EventBus;
 import io.seata.core.event.GlobalTransactionEvent;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.logger.StackTraceLogger;
+import io.seata.core.metrics.Stage;
+import io.seata.core.metrics.StageMetrics;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
 import io.seata.core.model.GlobalStatus;
@@ -124,12 +126,28 @@ public class DefaultCore implements Core {
 
     @Override
     public BranchStatus branchCommit(GlobalSession globalSession, BranchSession branchSession) throws TransactionException {
-        return getCore(branchSession.getBranchType()).branchCommit(globalSession, branchSession);
+        long begin = StageMetrics.begin();
+        BranchStatus branchStatus = null;
+        try {
+            branchStatus = getCore(branchSession.getBranchType()).branchCommit(globalSession, branchSession);
+            return branchStatus;
+        } finally {
+            StageMetrics.end(Stage.BRANCH_COMMIT, branchSession.getBranchType(), branchSession.getResourceId(), begin,
+                branchStatus == BranchStatus.PhaseTwo_Committed);
+        }
     }
 
     @Override
     public BranchStatus branchRollback(GlobalSession globalSession, BranchSession branchSession) throws TransactionException {
-        return getCore(branchSession.getBranchType()).branchRollback(globalSession, branchSession);
+        long begin = StageMetrics.begin();
+        BranchStatus branchStatus = null;
+        try {
+            branchStatus = getCore(branchSession.getBranchType()).branchRollback(globalSession, branchSession);
+            return branchStatus;
+        } finally {
+            StageMetrics.end(Stage.BRANCH_ROLLBACK, branchSession.getBranchType(), branchSession.getResourceId(),
+                begin, branchStatus == BranchStatus.PhaseTwo_Rollbacked);
+        }
     }
 
     @Override
@@ -215,7 +233,7 @@ public class DefaultCore implements Core {
                 }
                 try {
                     /** 分支事务提交 */
-                    BranchStatus branchStatus = getCore(branchSession.getBranchType()).branchCommit(globalSession, branchSession);
+                    BranchStatus branchStatus = branchCommit(globalSession, branchSession);
 
                     switch (branchStatus) {
                         case PhaseTwo_Committed:
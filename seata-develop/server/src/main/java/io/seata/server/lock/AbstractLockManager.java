@@ -16,15 +16,26 @@
 package io.seata.server.lock;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 import io.seata.common.XID;
 import io.seata.common.util.CollectionUtils;
 import io.seata.common.util.StringUtils;
+import io.seata.config.ConfigurationFactory;
+import io.seata.core.constants.ConfigurationKeys;
+import io.seata.core.constants.DefaultValues;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.lock.Locker;
 import io.seata.core.lock.RowLock;
+import io.seata.core.metrics.Stage;
+import io.seata.core.metrics.StageMetrics;
+import io.seata.core.model.BranchType;
 import io.seata.server.session.BranchSession;
+import io.seata.server.session.GlobalSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +51,21 @@ public abstract class AbstractLockManager implements LockManager {
      */
     protected static final Logger LOGGER = LoggerFactory.getLogger(AbstractLockManager.class);
 
+    /**
+     * The lock wait queue.
+     */
+    protected final LockWaitQueue lockWaitQueue = new LockWaitQueue(
+        ConfigurationFactory.getInstance().getLong(ConfigurationKeys.SERVER_LOCK_WAIT_TIMEOUT,
+            DefaultValues.DEFAULT_SERVER_LOCK_WAIT_TIMEOUT),
+        LockWaitQueue.capMaxWaiters(ConfigurationFactory.getInstance().getInt(
+            ConfigurationKeys.SERVER_LOCK_MAX_WAITERS, DefaultValues.DEFAULT_SERVER_LOCK_MAX_WAITERS),
+            DefaultValues.DEFAULT_SERVER_MIN_POOL_SIZE));
+
+    /**
+     * The hot row detector.
+     */
+    protected final HotRowDetector hotRowDetector = HotRowDetector.getInstance();
+
     @Override
     public boolean acquireLock(BranchSession branchSession) throws TransactionException {
         if (branchSession == null) {
@@ -51,12 +77,75 @@ public abstract class AbstractLockManager implements LockManager {
             return true;
         }
         // get locks of branch
+        return acquireLock(branchSession, collectRowLocks(branchSession));
+    }
+
+    @Override
+    public boolean acquireLock(GlobalSession globalSession, BranchSession branchSession)
+        throws TransactionException {
+        if (StringUtils.isNullOrEmpty(branchSession.getLockKey())) {
+            // no lock
+            return true;
+        }
         List<RowLock> locks = collectRowLocks(branchSession);
+        String resourceId = branchSession.getResourceId();
+        if (globalSession.isRowLockHeld(resourceId, locks)) {
+            // all rows are locked by earlier branches of the same xid
+            return true;
+        }
+        if (mustQueueForLock(globalSession, branchSession, locks) || !acquireLock(branchSession, locks)) {
+            return false;
+        }
+        globalSession.addHeldRowLocks(resourceId, locks);
+        return true;
+    }
+
+    /**
+     * Acquire the row locks of the branch.
+     *
+     * @param branchSession the branch session
+     * @param locks         the row locks of the branch
+     * @return the boolean
+     * @throws TransactionException the transaction exception
+     */
+    protected boolean acquireLock(BranchSession branchSession, List<RowLock> locks) throws TransactionException {
         if (CollectionUtils.isEmpty(locks)) {
             // no lock
             return true;
         }
-        return getLocker(branchSession).acquireLock(locks);
+        long begin = StageMetrics.begin();
+        boolean success = false;
+        try {
+            if (hotRowDetector.isFastFailEnabled() && hotRowDetector.hasHotRows()) {
+                // check the locked hot rows before the full lock set is attempted
+                List<RowLock> hotRows = hotRowDetector.filterHotRows(locks);
+                Locker locker = getLocker(branchSession);
+                if (!hotRows.isEmpty() && !locker.isLockable(hotRows)) {
+                    recordHotRowConflicts(locker, hotRows);
+                    return false;
+                }
+            }
+            success = getLocker(branchSession).acquireLock(locks);
+            return success;
+        } finally {
+            StageMetrics.end(Stage.LOCK_ACQUIRE, branchSession.getBranchType(), branchSession.getResourceId(), begin,
+                success);
+        }
+    }
+
+    /**
+     * Count the fast failed hot rows as conflicts, the locker does not see them, without the count a row stops
+     * being hot and the next window goes through the full lock attempt again.
+     *
+     * @param locker  the locker
+     * @param hotRows the hot rows of the branch, at least one is locked by another transaction
+     */
+    private void recordHotRowConflicts(Locker locker, List<RowLock> hotRows) {
+        for (RowLock hotRow : hotRows) {
+            if (hotRows.size() == 1 || !locker.isLockable(Collections.singletonList(hotRow))) {
+                hotRowDetector.recordConflict(hotRow.getResourceId(), hotRow.getTableName(), hotRow.getPk());
+            }
+        }
     }
 
     @Override
@@ -70,6 +159,63 @@ public abstract class AbstractLockManager implements LockManager {
         } catch (Exception t) {
             LOGGER.error("unLock error, branchSession:{}", branchSession, t);
             return false;
+        } finally {
+            lockWaitQueue.signal(locks);
+        }
+    }
+
+    @Override
+    public boolean awaitLockRelease(BranchSession branchSession) throws TransactionException {
+        return lockWaitQueue.await(branchSession.getBranchId(), () -> collectRowLocks(branchSession));
+    }
+
+    @Override
+    public void endLockWait(BranchSession branchSession, boolean success) {
+        lockWaitQueue.leave(branchSession.getBranchId(), success);
+    }
+
+    @Override
+    public boolean mustQueueForLock(GlobalSession globalSession, BranchSession branchSession) {
+        if (!lockWaitQueue.hasWaiters() || StringUtils.isBlank(branchSession.getLockKey())) {
+            return false;
+        }
+        return mustQueueForLock(globalSession, branchSession, collectRowLocks(branchSession));
+    }
+
+    private boolean mustQueueForLock(GlobalSession globalSession, BranchSession branchSession, List<RowLock> locks) {
+        if (!lockWaitQueue.hasWaiters()) {
+            return false;
+        }
+        List<RowLock> queuedRows = lockWaitQueue.getQueuedRows(branchSession.getBranchId(), locks);
+        if (queuedRows.isEmpty()) {
+            return false;
+        }
+        // the waiters may wait for the rows of the earlier branches of the same global transaction
+        Set<String> heldRows = new HashSet<>();
+        for (BranchSession heldBranch : globalSession.getBranchSessions()) {
+            if (heldBranch.getBranchType() == BranchType.AT && heldBranch.getBranchId() != branchSession.getBranchId()
+                && Objects.equals(heldBranch.getResourceId(), branchSession.getResourceId())) {
+                for (RowLock rowLock : collectRowLocks(heldBranch)) {
+                    heldRows.add(rowLock.getTableName() + ":" + rowLock.getPk());
+                }
+            }
+        }
+        for (RowLock rowLock : queuedRows) {
+            if (!heldRows.contains(rowLock.getTableName() + ":" + rowLock.getPk())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Wake up the branches waiting for the row locks of the branch.
+     *
+     * @param branchSession the branch session which released its locks
+     */
+    protected void signalLockWaiters(BranchSession branchSession) {
+        if (lockWaitQueue.hasWaiters()) {
+            lockWaitQueue.signal(collectRowLocks(branchSession));
         }
     }
 
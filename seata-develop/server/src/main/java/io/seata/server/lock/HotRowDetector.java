@@ -0,0 +1,331 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.lock;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import io.seata.config.Configuration;
+import io.seata.config.ConfigurationFactory;
+import io.seata.core.constants.ConfigurationKeys;
+import io.seata.core.constants.DefaultValues;
+import io.seata.core.lock.RowLock;
+import io.seata.core.metrics.Stage;
+import io.seata.core.metrics.StageMetrics;
+import io.seata.core.model.BranchType;
+
+/**
+ * The hot row contention detector of the TC.
+ * The lockers record each lock conflict of a row, the detector counts the conflicts per row in a sliding window
+ * of {@link #BUCKET_COUNT} buckets. A row with at least threshold conflicts within the window is a hot row.
+ * <p>
+ * With fast fail enabled, the lock manager checks the hot rows of a branch first and rejects the register
+ * before the full lock set is attempted, the register then fails or joins the {@link LockWaitQueue}.
+ *
+ * @author agent
+ */
+public class HotRowDetector {
+
+    private static final int BUCKET_COUNT = 10;
+
+    private static final int MAX_TRACKED_ROWS = 10000;
+
+    private static final String KEY_SPLIT = "^^^";
+
+    private static volatile HotRowDetector instance;
+
+    private final int threshold;
+
+    private final long windowMillis;
+
+    private final long bucketMillis;
+
+    private final boolean fastFail;
+
+    private final ConcurrentMap<String, ConflictWindow> rows = new ConcurrentHashMap<>();
+
+    /**
+     * the last time a row reached the threshold, lets the lock manager skip the hot row check without hot rows
+     */
+    private volatile long lastHotMillis;
+
+    /**
+     * Instantiates a new Hot row detector.
+     *
+     * @param threshold    conflicts of a row within the window to be a hot row, 0 disables the detection
+     * @param windowMillis the sliding window in milliseconds
+     * @param fastFail     whether to fast fail the lock acquire on locked hot rows
+     */
+    public HotRowDetector(int threshold, long windowMillis, boolean fastFail) {
+        this.threshold = Math.max(threshold, 0);
+        this.bucketMillis = Math.max(windowMillis / BUCKET_COUNT, 1L);
+        this.windowMillis = bucketMillis * BUCKET_COUNT;
+        this.fastFail = fastFail;
+    }
+
+    /**
+     * Gets the detector of the TC, built from the configuration.
+     *
+     * @return the hot row detector
+     */
+    public static HotRowDetector getInstance() {
+        if (instance == null) {
+            synchronized (HotRowDetector.class) {
+                if (instance == null) {
+                    Configuration config = ConfigurationFactory.getInstance();
+                    instance = new HotRowDetector(
+                        config.getInt(ConfigurationKeys.SERVER_LOCK_HOT_ROW_THRESHOLD,
+                            DefaultValues.DEFAULT_SERVER_LOCK_HOT_ROW_THRESHOLD),
+                        config.getLong(ConfigurationKeys.SERVER_LOCK_HOT_ROW_WINDOW,
+                            DefaultValues.DEFAULT_SERVER_LOCK_HOT_ROW_WINDOW),
+                        config.getBoolean(ConfigurationKeys.SERVER_LOCK_HOT_ROW_FAST_FAIL,
+                            DefaultValues.DEFAULT_SERVER_LOCK_HOT_ROW_FAST_FAIL));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Whether the detection is enabled.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return threshold > 0;
+    }
+
+    /**
+     * Whether to fast fail the lock acquire on locked hot rows.
+     *
+     * @return true if fast fail is enabled
+     */
+    public boolean isFastFailEnabled() {
+        return fastFail && isEnabled();
+    }
+
+    /**
+     * Record a lock conflict of the row.
+     *
+     * @param resourceId the resource id
+     * @param tableName  the table name
+     * @param pk         the pk
+     */
+    public void recordConflict(String resourceId, String tableName, String pk) {
+        if (!isEnabled()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        String rowKey = getRowKey(resourceId, tableName, pk);
+        ConflictWindow window = rows.get(rowKey);
+        if (window == null) {
+            if (rows.size() >= MAX_TRACKED_ROWS) {
+                purgeIdleRows(now);
+                if (rows.size() >= MAX_TRACKED_ROWS) {
+                    // a row with a single conflict so far is not worth evicting a tracked row
+                    return;
+                }
+            }
+            window = rows.computeIfAbsent(rowKey, k -> new ConflictWindow(resourceId, tableName, pk));
+        }
+        int conflicts = window.record(now / bucketMillis);
+        if (conflicts >= threshold) {
+            lastHotMillis = now;
+        }
+        if (StageMetrics.isEnabled()) {
+            StageMetrics.recordValue(Stage.LOCK_CONFLICT, BranchType.AT, tableName, conflicts);
+        }
+    }
+
+    /**
+     * Whether any row reached the threshold within the window.
+     *
+     * @return true if there may be hot rows
+     */
+    public boolean hasHotRows() {
+        return isEnabled() && System.currentTimeMillis() - lastHotMillis < windowMillis;
+    }
+
+    /**
+     * Whether the row is a hot row.
+     *
+     * @param rowLock the row lock
+     * @return true if the row is a hot row
+     */
+    public boolean isHot(RowLock rowLock) {
+        if (!hasHotRows()) {
+            return false;
+        }
+        ConflictWindow window = rows.get(getRowKey(rowLock.getResourceId(), rowLock.getTableName(), rowLock.getPk()));
+        return window != null && window.count(System.currentTimeMillis() / bucketMillis) >= threshold;
+    }
+
+    /**
+     * Filter the hot rows out of the row locks.
+     *
+     * @param rowLocks the row locks
+     * @return the hot rows, empty if none
+     */
+    public List<RowLock> filterHotRows(List<RowLock> rowLocks) {
+        List<RowLock> hotRows = new ArrayList<>();
+        if (!hasHotRows()) {
+            return hotRows;
+        }
+        for (RowLock rowLock : rowLocks) {
+            if (isHot(rowLock)) {
+                hotRows.add(rowLock);
+            }
+        }
+        return hotRows;
+    }
+
+    /**
+     * The rows with the most conflicts within the window.
+     *
+     * @param k the max number of rows
+     * @return the rows in descending order of conflicts
+     */
+    public List<HotRow> topK(int k) {
+        List<HotRow> hotRows = new ArrayList<>();
+        if (k <= 0) {
+            return hotRows;
+        }
+        long now = System.currentTimeMillis();
+        long bucket = now / bucketMillis;
+        for (ConflictWindow window : rows.values()) {
+            int conflicts = window.count(bucket);
+            if (conflicts > 0) {
+                hotRows.add(new HotRow(window.resourceId, window.tableName, window.pk, conflicts));
+            }
+        }
+        hotRows.sort(Comparator.comparingInt(HotRow::getConflicts).reversed());
+        purgeIdleRows(now);
+        return hotRows.size() > k ? new ArrayList<>(hotRows.subList(0, k)) : hotRows;
+    }
+
+    /**
+     * Gets threshold.
+     *
+     * @return the threshold
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Gets window in milliseconds.
+     *
+     * @return the window
+     */
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    private void purgeIdleRows(long now) {
+        long bucket = now / bucketMillis;
+        Iterator<Map.Entry<String, ConflictWindow>> iterator = rows.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue().count(bucket) == 0) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static String getRowKey(String resourceId, String tableName, String pk) {
+        return resourceId + KEY_SPLIT + tableName + KEY_SPLIT + pk;
+    }
+
+    /**
+     * A row with its conflicts within the window.
+     */
+    public static class HotRow {
+
+        private final String resourceId;
+
+        private final String tableName;
+
+        private final String pk;
+
+        private final int conflicts;
+
+        HotRow(String resourceId, String tableName, String pk, int conflicts) {
+            this.resourceId = resourceId;
+            this.tableName = tableName;
+            this.pk = pk;
+            this.conflicts = conflicts;
+        }
+
+        public String getResourceId() {
+            return resourceId;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public String getPk() {
+            return pk;
+        }
+
+        public int getConflicts() {
+            return conflicts;
+        }
+    }
+
+    private static class ConflictWindow {
+
+        private final String resourceId;
+
+        private final String tableName;
+
+        private final String pk;
+
+        private final long[] bucketIds = new long[BUCKET_COUNT];
+
+        private final int[] counts = new int[BUCKET_COUNT];
+
+        private ConflictWindow(String resourceId, String tableName, String pk) {
+            this.resourceId = resourceId;
+            this.tableName = tableName;
+            this.pk = pk;
+        }
+
+        private synchronized int record(long bucket) {
+            int index = (int)(bucket % BUCKET_COUNT);
+            if (bucketIds[index] != bucket) {
+                bucketIds[index] = bucket;
+                counts[index] = 0;
+            }
+            counts[index]++;
+            return count(bucket);
+        }
+
+        private synchronized int count(long bucket) {
+            int sum = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                if (bucket - bucketIds[i] < BUCKET_COUNT) {
+                    sum += counts[i];
+                }
+            }
+            return sum;
+        }
+    }
+}
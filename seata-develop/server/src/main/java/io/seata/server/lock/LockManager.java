@@ -35,6 +35,20 @@ public interface LockManager {
      */
     boolean acquireLock(BranchSession branchSession) throws TransactionException;
 
+    /**
+     * Acquire the locks of a branch registering to the global session, the rows already locked by the earlier
+     * branches of the global session are not locked again, the branch queues behind the lock waiters first.
+     *
+     * @param globalSession the global session of the branch
+     * @param branchSession the branch session
+     * @return the boolean
+     * @throws TransactionException the transaction exception
+     */
+    default boolean acquireLock(GlobalSession globalSession, BranchSession branchSession)
+        throws TransactionException {
+        return !mustQueueForLock(globalSession, branchSession) && acquireLock(branchSession);
+    }
+
     /**
      * Un lock boolean.
      *
@@ -64,6 +78,42 @@ public interface LockManager {
      */
     boolean isLockable(String xid, String resourceId, String lockKey) throws TransactionException;
 
+    /**
+     * Wait for a release of the conflicting row locks of the branch, when the lock wait of the TC is enabled.
+     * The branch keeps its place in the wait queues until {@link #endLockWait(BranchSession, boolean)} or a timeout.
+     *
+     * @param branchSession the branch session whose lock acquire failed
+     * @return true to retry the lock acquire, false if the lock wait is disabled or timed out
+     * @throws TransactionException the transaction exception
+     */
+    default boolean awaitLockRelease(BranchSession branchSession) throws TransactionException {
+        return false;
+    }
+
+    /**
+     * Whether the branch has to queue behind the branches waiting for its row locks, when the lock wait of the TC
+     * is enabled, even if the rows are free. The rows of the earlier branches of the same global transaction are
+     * not queued for.
+     *
+     * @param globalSession the global session of the branch
+     * @param branchSession the branch session which is not waiting yet
+     * @return true if the branch has to queue
+     * @throws TransactionException the transaction exception
+     */
+    default boolean mustQueueForLock(GlobalSession globalSession, BranchSession branchSession)
+        throws TransactionException {
+        return false;
+    }
+
+    /**
+     * The branch stops waiting for row locks.
+     *
+     * @param branchSession the branch session
+     * @param success       whether the branch got the locks
+     */
+    default void endLockWait(BranchSession branchSession, boolean success) {
+    }
+
     /**
      * Clean all locks.
      *
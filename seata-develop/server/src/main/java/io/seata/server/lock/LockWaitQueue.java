@@ -0,0 +1,300 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.lock;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import io.seata.core.lock.RowLock;
+import io.seata.core.metrics.Stage;
+import io.seata.core.metrics.StageMetrics;
+import io.seata.core.model.BranchType;
+
+/**
+ * The TC side lock wait queue.
+ * A branch register failing on a lock conflict joins a FIFO queue per conflicting row instead of failing at once,
+ * a release of the row wakes the head of the queue. A waiter retries the lock acquire only when it is the head of
+ * all its queues, and a fresh register of a queued row joins the queue too, so the branches waiting for a hot row
+ * are served in order. The head keeps its place until it gets the locks or its wait times out.
+ * <p>
+ * A waiter parks a TC worker thread. The worker pool stays at its core size until its task queue is full, so the
+ * number of waiters is capped at a quarter of the core worker threads, see {@link #capMaxWaiters(int, int)}, and
+ * the commits and rollbacks of the lock holders are still served. A waiter also rechecks every {@link #RECHECK_INTERVAL_MILLIS}, which covers releases
+ * on other TC nodes in db mode.
+ *
+ * @author agent
+ */
+public class LockWaitQueue {
+
+    private static final long RECHECK_INTERVAL_MILLIS = 100L;
+
+    private static final String KEY_SPLIT = "^^^";
+
+    private static final int WORKER_THREADS_PER_WAITER = 4;
+
+    private final long waitTimeoutNanos;
+
+    private final int maxWaiters;
+
+    private final Map<String, Deque<LockWaiter>> rowQueues = new HashMap<>();
+
+    private final ConcurrentMap<Long, LockWaiter> waiters = new ConcurrentHashMap<>();
+
+    private final AtomicInteger waiterCount = new AtomicInteger();
+
+    /**
+     * Instantiates a new Lock wait queue.
+     *
+     * @param waitTimeoutMillis the max wait of a branch register, 0 disables the queue
+     * @param maxWaiters        the max number of waiting branch registers
+     */
+    public LockWaitQueue(long waitTimeoutMillis, int maxWaiters) {
+        this.waitTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(waitTimeoutMillis, 0L));
+        this.maxWaiters = maxWaiters;
+    }
+
+    /**
+     * Cap the max number of waiters by the worker threads serving the branch registers.
+     *
+     * @param maxWaiters    the configured max number of waiters
+     * @param workerThreads the core worker threads
+     * @return the max number of waiters, at least 1
+     */
+    public static int capMaxWaiters(int maxWaiters, int workerThreads) {
+        return Math.max(1, Math.min(maxWaiters, workerThreads / WORKER_THREADS_PER_WAITER));
+    }
+
+    /**
+     * Whether the lock wait is enabled.
+     *
+     * @return true if enabled
+     */
+    public boolean isEnabled() {
+        return waitTimeoutNanos > 0L;
+    }
+
+    /**
+     * Whether any branch is waiting.
+     *
+     * @return true if any branch is waiting
+     */
+    public boolean hasWaiters() {
+        return waiterCount.get() > 0;
+    }
+
+    /**
+     * Wait for a release of the conflicting rows of the branch.
+     * The first call joins the queues and returns at once if the branch is the head of all of them, a release may
+     * have happened since the conflict. Otherwise the call returns once the branch is the head of all its queues.
+     *
+     * @param branchId the branch id
+     * @param rowLocks the row locks of the branch, only queried on the first call
+     * @return true to retry the lock acquire, false if the queue is full or the wait timed out and the branch left
+     * the queues
+     */
+    public boolean await(long branchId, Supplier<List<RowLock>> rowLocks) {
+        if (!isEnabled()) {
+            return false;
+        }
+        LockWaiter waiter = waiters.get(branchId);
+        if (waiter == null) {
+            waiter = enqueue(branchId, rowLocks.get());
+            if (waiter == null) {
+                return false;
+            }
+            if (isHeadOfAll(waiter)) {
+                return true;
+            }
+        }
+        while (true) {
+            long remaining = waiter.deadline - System.nanoTime();
+            if (remaining <= 0L) {
+                leave(branchId, false);
+                return false;
+            }
+            try {
+                waiter.permit.tryAcquire(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(RECHECK_INTERVAL_MILLIS)),
+                    TimeUnit.NANOSECONDS);
+                waiter.permit.drainPermits();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                leave(branchId, false);
+                return false;
+            }
+            if (isHeadOfAll(waiter)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Get the row locks of a branch which other branches are waiting for.
+     * A branch which is not waiting itself has to queue behind them even if the rows are free.
+     *
+     * @param branchId the branch id
+     * @param rowLocks the row locks of the branch
+     * @return the queued row locks, empty if the branch is waiting itself
+     */
+    public List<RowLock> getQueuedRows(long branchId, List<RowLock> rowLocks) {
+        List<RowLock> queuedRows = new ArrayList<>();
+        if (!hasWaiters() || waiters.containsKey(branchId)) {
+            return queuedRows;
+        }
+        synchronized (rowQueues) {
+            for (RowLock rowLock : rowLocks) {
+                if (rowQueues.containsKey(getRowKey(rowLock))) {
+                    queuedRows.add(rowLock);
+                }
+            }
+        }
+        return queuedRows;
+    }
+
+    /**
+     * The branch leaves the queues, after it got the locks or gave up.
+     *
+     * @param branchId the branch id
+     * @param success  whether the branch got the locks
+     */
+    public void leave(long branchId, boolean success) {
+        LockWaiter waiter = waiters.remove(branchId);
+        if (waiter == null) {
+            return;
+        }
+        waiterCount.decrementAndGet();
+        List<LockWaiter> nextHeads = new ArrayList<>();
+        synchronized (rowQueues) {
+            for (String rowKey : waiter.rowKeys) {
+                Deque<LockWaiter> queue = rowQueues.get(rowKey);
+                if (queue == null) {
+                    continue;
+                }
+                boolean wasHead = queue.peekFirst() == waiter;
+                queue.remove(waiter);
+                if (queue.isEmpty()) {
+                    rowQueues.remove(rowKey);
+                } else if (wasHead && !success) {
+                    // the row may be free, let the next one try
+                    nextHeads.add(queue.peekFirst());
+                }
+            }
+        }
+        nextHeads.forEach(LockWaiter::wakeUp);
+        if (StageMetrics.isEnabled()) {
+            long begin = waiter.deadline - waitTimeoutNanos;
+            for (String tableName : waiter.tableNames) {
+                StageMetrics.end(Stage.LOCK_WAIT, BranchType.AT, tableName, begin, success);
+            }
+        }
+    }
+
+    /**
+     * Wake up the heads of the queues of the released rows.
+     *
+     * @param rowLocks the released row locks
+     */
+    public void signal(List<RowLock> rowLocks) {
+        if (!hasWaiters()) {
+            return;
+        }
+        List<LockWaiter> heads = new ArrayList<>();
+        synchronized (rowQueues) {
+            for (RowLock rowLock : rowLocks) {
+                Deque<LockWaiter> queue = rowQueues.get(getRowKey(rowLock));
+                if (queue != null && !queue.isEmpty()) {
+                    heads.add(queue.peekFirst());
+                }
+            }
+        }
+        heads.forEach(LockWaiter::wakeUp);
+    }
+
+    private LockWaiter enqueue(long branchId, List<RowLock> rowLocks) {
+        if (waiterCount.incrementAndGet() > maxWaiters) {
+            waiterCount.decrementAndGet();
+            return null;
+        }
+        LockWaiter waiter = new LockWaiter(System.nanoTime() + waitTimeoutNanos);
+        Map<String, Integer> tableDepths = new HashMap<>();
+        synchronized (rowQueues) {
+            for (RowLock rowLock : rowLocks) {
+                String rowKey = getRowKey(rowLock);
+                if (!waiter.rowKeys.add(rowKey)) {
+                    continue;
+                }
+                Deque<LockWaiter> queue = rowQueues.computeIfAbsent(rowKey, k -> new ArrayDeque<>());
+                tableDepths.merge(rowLock.getTableName(), queue.size(), Math::max);
+                queue.addLast(waiter);
+            }
+        }
+        waiter.tableNames.addAll(tableDepths.keySet());
+        waiters.put(branchId, waiter);
+        if (StageMetrics.isEnabled()) {
+            tableDepths.forEach((tableName, depth) ->
+                StageMetrics.recordValue(Stage.LOCK_WAIT_QUEUE_DEPTH, BranchType.AT, tableName, depth));
+        }
+        return waiter;
+    }
+
+    private boolean isHeadOfAll(LockWaiter waiter) {
+        synchronized (rowQueues) {
+            for (String rowKey : waiter.rowKeys) {
+                Deque<LockWaiter> queue = rowQueues.get(rowKey);
+                if (queue != null && queue.peekFirst() != waiter) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String getRowKey(RowLock rowLock) {
+        return rowLock.getResourceId() + KEY_SPLIT + rowLock.getTableName() + KEY_SPLIT + rowLock.getPk();
+    }
+
+    private static class LockWaiter {
+
+        private final long deadline;
+
+        private final Semaphore permit = new Semaphore(0);
+
+        private final Set<String> rowKeys = new LinkedHashSet<>();
+
+        private final Set<String> tableNames = new LinkedHashSet<>();
+
+        private LockWaiter(long deadline) {
+            this.deadline = deadline;
+        }
+
+        private void wakeUp() {
+            if (permit.availablePermits() == 0) {
+                permit.release();
+            }
+        }
+    }
+}
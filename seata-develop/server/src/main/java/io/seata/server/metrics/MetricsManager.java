@@ -19,10 +19,15 @@ import java.util.List;
 
 import io.seata.config.ConfigurationFactory;
 import io.seata.core.constants.ConfigurationKeys;
+import io.seata.core.metrics.StageMetrics;
+import io.seata.core.rpc.netty.ShutdownHook;
+import io.seata.metrics.IdConstants;
 import io.seata.metrics.exporter.Exporter;
 import io.seata.metrics.exporter.ExporterFactory;
+import io.seata.metrics.exporter.SnapshotPublisher;
 import io.seata.metrics.registry.Registry;
 import io.seata.metrics.registry.RegistryFactory;
+import io.seata.metrics.stage.RegistryStageRecorder;
 import io.seata.server.event.EventBusManager;
 
 /**
@@ -41,6 +46,8 @@ public class MetricsManager {
 
     private Registry registry;
 
+    private SnapshotPublisher snapshotPublisher;
+
     public Registry getRegistry() {
         return registry;
     }
@@ -62,7 +69,12 @@ public class MetricsManager {
                 // 把度量数据同步给对应的监控系统，如：Prometheus
                 if (exporters.size() != 0) {
                     exporters.forEach(exporter -> exporter.setRegistry(registry));
+                    snapshotPublisher = SnapshotPublisher.start(registry, exporters);
+                    if (snapshotPublisher != null) {
+                        ShutdownHook.getInstance().addDisposable(snapshotPublisher);
+                    }
                     EventBusManager.get().register(new MetricsSubscriber(registry));
+                    StageMetrics.setRecorder(new RegistryStageRecorder(registry, IdConstants.ROLE_VALUE_TC));
                 }
             }
         }
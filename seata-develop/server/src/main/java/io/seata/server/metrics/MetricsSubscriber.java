@@ -56,7 +56,7 @@ public class MetricsSubscriber {
         registry.getCounter(MeterIdConstants.COUNTER_ACTIVE).decrease(1);
         registry.getCounter(MeterIdConstants.COUNTER_COMMITTED).increase(1);
         registry.getSummary(MeterIdConstants.SUMMARY_COMMITTED).increase(1);
-        registry.getTimer(MeterIdConstants.TIMER_COMMITTED).record(event.getEndTime() - event.getBeginTime(),
+        registry.getHistogramTimer(MeterIdConstants.TIMER_COMMITTED).record(event.getEndTime() - event.getBeginTime(),
             TimeUnit.MILLISECONDS);
     }
 
@@ -64,7 +64,7 @@ public class MetricsSubscriber {
         registry.getCounter(MeterIdConstants.COUNTER_ACTIVE).decrease(1);
         registry.getCounter(MeterIdConstants.COUNTER_ROLLBACKED).increase(1);
         registry.getSummary(MeterIdConstants.SUMMARY_ROLLBACKED).increase(1);
-        registry.getTimer(MeterIdConstants.TIMER_ROLLBACK).record(event.getEndTime() - event.getBeginTime(),
+        registry.getHistogramTimer(MeterIdConstants.TIMER_ROLLBACK).record(event.getEndTime() - event.getBeginTime(),
             TimeUnit.MILLISECONDS);
     }
 
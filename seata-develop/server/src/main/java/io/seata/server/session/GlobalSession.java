@@ -19,17 +19,23 @@ import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import io.seata.common.Constants;
 import io.seata.common.XID;
+import io.seata.common.util.CollectionUtils;
 import io.seata.common.util.StringUtils;
 import io.seata.core.exception.GlobalTransactionException;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.exception.TransactionExceptionCode;
+import io.seata.core.lock.RowLock;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
 import io.seata.core.model.GlobalStatus;
@@ -78,6 +84,19 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
 
     private GlobalSessionLock globalSessionLock = new GlobalSessionLock();
 
+    /**
+     * The max rows remembered in {@link #heldLockKeys}, the rows beyond it are only locked by the lock manager.
+     */
+    private static final int MAX_HELD_LOCK_KEYS = 1000;
+
+    /**
+     * The rows `table:pk` locked by the branches of this session per resource, not stored, only a fast path of the
+     * branch register, a missing row falls back to the lock manager.
+     */
+    private final ConcurrentMap<String, Set<String>> heldLockKeys = new ConcurrentHashMap<>();
+
+    private final AtomicInteger heldLockKeyCount = new AtomicInteger();
+
 
     /**
      * Add boolean.
@@ -250,9 +269,74 @@ public class GlobalSession implements SessionLifecycle, SessionStorable {
             lifecycleListener.onRemoveBranch(this, branchSession);
         }
         branchSession.unlock();
+        removeHeldLockKeys(branchSession.getResourceId(), branchSession.getLockKey());
         remove(branchSession);
     }
 
+    /**
+     * Whether all rows are already locked by the branches of this session.
+     *
+     * @param resourceId the resource id
+     * @param rowLocks   the rows of a new branch
+     * @return true if all rows are locked by this session
+     */
+    public boolean isRowLockHeld(String resourceId, List<RowLock> rowLocks) {
+        Set<String> held = heldLockKeys.get(resourceId);
+        if (held == null || held.isEmpty() || CollectionUtils.isEmpty(rowLocks)) {
+            return false;
+        }
+        for (RowLock rowLock : rowLocks) {
+            if (!held.contains(rowLock.getTableName() + ":" + rowLock.getPk())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Record the rows locked by a branch of this session, the rows of a branch are skipped when they would exceed
+     * {@link #MAX_HELD_LOCK_KEYS}.
+     *
+     * @param resourceId the resource id
+     * @param rowLocks   the rows locked by the branch
+     */
+    public void addHeldRowLocks(String resourceId, List<RowLock> rowLocks) {
+        if (CollectionUtils.isEmpty(rowLocks) || heldLockKeyCount.get() + rowLocks.size() > MAX_HELD_LOCK_KEYS) {
+            return;
+        }
+        Set<String> held = heldLockKeys.computeIfAbsent(resourceId, k -> ConcurrentHashMap.newKeySet());
+        for (RowLock rowLock : rowLocks) {
+            if (held.add(rowLock.getTableName() + ":" + rowLock.getPk())) {
+                heldLockKeyCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Forget the rows of the lock keys, a row also locked by another branch only misses the fast path later.
+     *
+     * @param resourceId the resource id
+     * @param lockKey    the lock key `table1:pk1,pk2;table2:pk3`
+     */
+    public void removeHeldLockKeys(String resourceId, String lockKey) {
+        Set<String> held = heldLockKeys.get(resourceId);
+        if (held == null || held.isEmpty() || StringUtils.isBlank(lockKey)) {
+            return;
+        }
+        for (String tableGroupedLockKey : lockKey.split(";")) {
+            int idx = tableGroupedLockKey.indexOf(':');
+            if (idx < 0) {
+                return;
+            }
+            String tableName = tableGroupedLockKey.substring(0, idx + 1);
+            for (String pk : tableGroupedLockKey.substring(idx + 1).split(",")) {
+                if (StringUtils.isNotBlank(pk) && held.remove(tableName + pk)) {
+                    heldLockKeyCount.decrementAndGet();
+                }
+            }
+        }
+    }
+
     /**
      * Gets branch.
      *
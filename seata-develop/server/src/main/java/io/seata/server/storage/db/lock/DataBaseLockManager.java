@@ -61,6 +61,8 @@ public class DataBaseLockManager extends AbstractLockManager implements Initiali
         } catch (Exception t) {
             LOGGER.error("unLock error, xid {}, branchId:{}", branchSession.getXid(), branchSession.getBranchId(), t);
             return false;
+        } finally {
+            signalLockWaiters(branchSession);
         }
     }
 
@@ -82,6 +84,8 @@ public class DataBaseLockManager extends AbstractLockManager implements Initiali
             LOGGER.error("unLock globalSession error, xid:{} branchIds:{}", globalSession.getXid(),
                 CollectionUtils.toString(branchIds), t);
             return false;
+        } finally {
+            branchSessions.forEach(this::signalLockWaiters);
         }
     }
 }
@@ -40,6 +40,7 @@ import io.seata.core.constants.ServerTableColumnsName;
 import io.seata.core.store.LockDO;
 import io.seata.core.store.LockStore;
 import io.seata.core.store.db.sql.lock.LockStoreSqlFactory;
+import io.seata.server.lock.HotRowDetector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -128,13 +129,15 @@ public class LockStoreDataBaseDAO implements LockStore {
             while (rs.next()) {
                 String dbXID = rs.getString(ServerTableColumnsName.LOCK_TABLE_XID);
                 if (!StringUtils.equals(dbXID, currentXID)) {
+                    String dbPk = rs.getString(ServerTableColumnsName.LOCK_TABLE_PK);
+                    String dbTableName = rs.getString(ServerTableColumnsName.LOCK_TABLE_TABLE_NAME);
                     if (LOGGER.isInfoEnabled()) {
-                        String dbPk = rs.getString(ServerTableColumnsName.LOCK_TABLE_PK);
-                        String dbTableName = rs.getString(ServerTableColumnsName.LOCK_TABLE_TABLE_NAME);
                         Long dbBranchId = rs.getLong(ServerTableColumnsName.LOCK_TABLE_BRANCH_ID);
                         LOGGER.info("Global lock on [{}:{}] is holding by xid {} branchId {}", dbTableName, dbPk, dbXID,
                             dbBranchId);
                     }
+                    HotRowDetector.getInstance().recordConflict(
+                        rs.getString(ServerTableColumnsName.LOCK_TABLE_RESOURCE_ID), dbTableName, dbPk);
                     canLock &= false;
                     break;
                 }
@@ -17,11 +17,16 @@ package io.seata.server.storage.db.session;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.seata.common.exception.StoreException;
 import io.seata.common.executor.Initialize;
 import io.seata.common.loader.LoadLevel;
 import io.seata.common.util.StringUtils;
+import io.seata.config.ConfigurationFactory;
+import io.seata.core.constants.ConfigurationKeys;
+import io.seata.core.constants.DefaultValues;
 import io.seata.core.exception.TransactionException;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.GlobalStatus;
@@ -41,6 +46,12 @@ import org.slf4j.LoggerFactory;
 
 /**
  * The Data base session manager.
+ * <p>
+ * With the owner cache enabled the root session manager keeps the sessions this node began in memory while they are
+ * in {@link GlobalStatus#Begin} and not timed out, and serves them without reading the store. The recovery tasks of
+ * all nodes only change the sessions out of this state, so the cached session is authoritative as long as every
+ * client routes the requests of a transaction to the node which began it, see XidLoadBalance. A cached session
+ * leaves the cache once its status changes, it ends or it times out.
  *
  * @author zhangsen
  */
@@ -58,6 +69,14 @@ public class DataBaseSessionManager extends AbstractSessionManager
      */
     protected String taskName;
 
+    /**
+     * The sessions this node began, by xid.
+     */
+    private final Map<String, GlobalSession> ownedSessions = new ConcurrentHashMap<>();
+
+    private final boolean ownerCacheEnable = ConfigurationFactory.getInstance().getBoolean(
+        ConfigurationKeys.SERVER_SESSION_OWNER_CACHE_ENABLE, DefaultValues.DEFAULT_SERVER_SESSION_OWNER_CACHE_ENABLE);
+
     /**
      * Instantiates a new Data base session manager.
      */
@@ -87,6 +106,9 @@ public class DataBaseSessionManager extends AbstractSessionManager
             if (!ret) {
                 throw new StoreException("addGlobalSession failed.");
             }
+            if (isOwnerCacheEnabled()) {
+                ownedSessions.put(session.getXid(), session);
+            }
         } else {
             boolean ret = transactionStoreManager.writeSession(LogOperation.GLOBAL_UPDATE, session);
             if (!ret) {
@@ -100,6 +122,7 @@ public class DataBaseSessionManager extends AbstractSessionManager
         if (StringUtils.isNotBlank(taskName)) {
             return;
         }
+        ownedSessions.remove(session.getXid());
         session.setStatus(status);
         boolean ret = transactionStoreManager.writeSession(LogOperation.GLOBAL_UPDATE, session);
         if (!ret) {
@@ -116,6 +139,7 @@ public class DataBaseSessionManager extends AbstractSessionManager
      */
     @Override
     public void removeGlobalSession(GlobalSession session) throws TransactionException {
+        ownedSessions.remove(session.getXid());
         boolean ret = transactionStoreManager.writeSession(LogOperation.GLOBAL_REMOVE, session);
         if (!ret) {
             throw new StoreException("removeGlobalSession failed.");
@@ -162,6 +186,13 @@ public class DataBaseSessionManager extends AbstractSessionManager
 
     @Override
     public GlobalSession findGlobalSession(String xid, boolean withBranchSessions) {
+        GlobalSession session = ownedSessions.get(xid);
+        if (session != null) {
+            if (isOwned(session)) {
+                return session;
+            }
+            ownedSessions.remove(xid, session);
+        }
         return transactionStoreManager.readSession(xid, withBranchSessions);
     }
 
@@ -176,6 +207,8 @@ public class DataBaseSessionManager extends AbstractSessionManager
             return findGlobalSessions(new SessionCondition(new GlobalStatus[] {GlobalStatus.RollbackRetrying,
                 GlobalStatus.Rollbacking, GlobalStatus.TimeoutRollbacking, GlobalStatus.TimeoutRollbackRetrying}));
         } else {
+            // the sessions timed out on this node may be rolled back by the timeout check of the other nodes
+            ownedSessions.values().removeIf(session -> !isOwned(session));
             // all data
             return findGlobalSessions(new SessionCondition(new GlobalStatus[] {
                 GlobalStatus.UnKnown, GlobalStatus.Begin,
@@ -194,10 +227,27 @@ public class DataBaseSessionManager extends AbstractSessionManager
     @Override
     public <T> T lockAndExecute(GlobalSession globalSession, GlobalSession.LockCallable<T> lockCallable)
             throws TransactionException {
-        return lockCallable.call();
+        if (!isOwnerCacheEnabled()) {
+            return lockCallable.call();
+        }
+        // the cached sessions are shared by the requests of their transaction
+        globalSession.lock();
+        try {
+            return lockCallable.call();
+        } finally {
+            globalSession.unlock();
+        }
     }
 
     @Override
     public void reload() {
     }
+
+    private boolean isOwnerCacheEnabled() {
+        return ownerCacheEnable && StringUtils.isBlank(taskName);
+    }
+
+    private static boolean isOwned(GlobalSession session) {
+        return session.isActive() && session.getStatus() == GlobalStatus.Begin && !session.isTimeout();
+    }
 }
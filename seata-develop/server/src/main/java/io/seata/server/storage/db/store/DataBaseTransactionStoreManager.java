@@ -29,6 +29,7 @@ import io.seata.common.util.StringUtils;
 import io.seata.config.Configuration;
 import io.seata.config.ConfigurationFactory;
 import io.seata.core.constants.ConfigurationKeys;
+import io.seata.core.metrics.StageMetrics;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
 import io.seata.core.model.GlobalStatus;
@@ -101,6 +102,17 @@ public class DataBaseTransactionStoreManager extends AbstractTransactionStoreMan
 
     @Override
     public boolean writeSession(LogOperation logOperation, SessionStorable session) {
+        long begin = StageMetrics.begin();
+        boolean success = false;
+        try {
+            success = doWriteSession(logOperation, session);
+            return success;
+        } finally {
+            recordWriteSession(session, begin, success);
+        }
+    }
+
+    private boolean doWriteSession(LogOperation logOperation, SessionStorable session) {
         if (LogOperation.GLOBAL_ADD.equals(logOperation)) {
             return logStore.insertGlobalTransactionDO(convertGlobalTransactionDO(session));
         } else if (LogOperation.GLOBAL_UPDATE.equals(logOperation)) {
@@ -22,11 +22,10 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 import io.netty.util.internal.ConcurrentSet;
-import io.seata.common.exception.FrameworkException;
 import io.seata.common.util.CollectionUtils;
-import io.seata.core.exception.TransactionException;
 import io.seata.core.lock.AbstractLocker;
 import io.seata.core.lock.RowLock;
+import io.seata.server.lock.HotRowDetector;
 import io.seata.server.session.BranchSession;
 
 /**
@@ -100,12 +99,9 @@ public class FileLocker extends AbstractLocker {
                 continue;
             } else {
                 LOGGER.info("Global lock on [" + tableName + ":" + pk + "] is holding by " + previousLockTransactionId);
-                try {
-                    // Release all acquired locks.
-                    branchSession.unlock();
-                } catch (TransactionException e) {
-                    throw new FrameworkException(e);
-                }
+                HotRowDetector.getInstance().recordConflict(resourceId, tableName, pk);
+                // Release all acquired locks, without waking the waiters of the rows, the branch retries or queues
+                releaseLock(rowLocks);
                 return false;
             }
         }
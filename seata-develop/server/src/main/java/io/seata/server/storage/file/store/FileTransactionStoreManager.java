@@ -35,6 +35,7 @@ import java.util.concurrent.locks.ReentrantLock;
 import io.seata.common.exception.StoreException;
 import io.seata.common.thread.NamedThreadFactory;
 import io.seata.common.util.CollectionUtils;
+import io.seata.core.metrics.StageMetrics;
 import io.seata.server.session.BranchSession;
 import io.seata.server.session.GlobalSession;
 import io.seata.server.session.SessionCondition;
@@ -168,6 +169,17 @@ public class FileTransactionStoreManager extends AbstractTransactionStoreManager
 
     @Override
     public boolean writeSession(LogOperation logOperation, SessionStorable session) {
+        long begin = StageMetrics.begin();
+        boolean success = false;
+        try {
+            success = doWriteSession(logOperation, session);
+            return success;
+        } finally {
+            recordWriteSession(session, begin, success);
+        }
+    }
+
+    private boolean doWriteSession(LogOperation logOperation, SessionStorable session) {
         writeSessionLock.lock();
         long curFileTrxNum;
         try {
@@ -15,6 +15,9 @@
  */
 package io.seata.server.store;
 
+import io.seata.core.metrics.Stage;
+import io.seata.core.metrics.StageMetrics;
+import io.seata.server.session.BranchSession;
 import io.seata.server.session.GlobalSession;
 import io.seata.server.session.SessionCondition;
 
@@ -45,4 +48,21 @@ public abstract class AbstractTransactionStoreManager implements TransactionStor
     @Override
     public void shutdown() {
     }
+
+    /**
+     * Record the elapsed time of a session write, branch writes are tagged with the branch type and resource.
+     *
+     * @param session the written session
+     * @param begin   the value returned by {@link StageMetrics#begin()}
+     * @param success whether the write succeeded
+     */
+    protected void recordWriteSession(SessionStorable session, long begin, boolean success) {
+        if (session instanceof BranchSession) {
+            BranchSession branchSession = (BranchSession)session;
+            StageMetrics.end(Stage.SESSION_WRITE, branchSession.getBranchType(), branchSession.getResourceId(), begin,
+                success);
+        } else {
+            StageMetrics.end(Stage.SESSION_WRITE, begin, success);
+        }
+    }
 }
@@ -27,6 +27,7 @@ import io.seata.core.protocol.transaction.GlobalCommitResponse;
 import io.seata.core.protocol.transaction.GlobalRollbackRequest;
 import io.seata.core.protocol.transaction.GlobalRollbackResponse;
 import io.seata.core.rpc.RpcContext;
+import io.seata.metrics.IdConstants;
 import io.seata.metrics.Measurement;
 import io.seata.server.metrics.MetricsManager;
 import io.seata.server.session.SessionHolder;
@@ -53,10 +54,13 @@ public class DefaultCoordinatorMetricsTest {
             GlobalBeginResponse response = new GlobalBeginResponse();
             coordinator.doGlobalBegin(request, response, new RpcContext());
 
+            Map<String, Measurement> stageMeasurements = new HashMap<>();
             Map<String, Measurement> measurements = new HashMap<>();
-            MetricsManager.get().getRegistry().measure().forEach(
-                    measurement -> measurements.put(measurement.getId().toString(), measurement));
+            measure(measurements, stageMeasurements);
 
+            Assertions.assertEquals(1,
+                    stageMeasurements.get("seata.stage(meter=timer,role=tc,stage=sessionWrite,statistic=count)").getValue(),
+                    0);
             Assertions.assertEquals(1, measurements.size());
             Assertions.assertEquals(1,
                     measurements.get("seata.transaction(meter=counter,role=tc,status=active)").getValue(), 0);
@@ -70,9 +74,8 @@ public class DefaultCoordinatorMetricsTest {
             Thread.sleep(200);
 
             measurements.clear();
-            MetricsManager.get().getRegistry().measure().forEach(
-                    measurement -> measurements.put(measurement.getId().toString(), measurement));
-            Assertions.assertEquals(9, measurements.size());
+            measure(measurements, stageMeasurements);
+            Assertions.assertEquals(12, measurements.size());
             Assertions.assertEquals(0,
                     measurements.get("seata.transaction(meter=counter,role=tc,status=active)").getValue(), 0);
             Assertions
@@ -101,9 +104,8 @@ public class DefaultCoordinatorMetricsTest {
             Thread.sleep(200);
 
             measurements.clear();
-            MetricsManager.get().getRegistry().measure().forEach(
-                    measurement -> measurements.put(measurement.getId().toString(), measurement));
-            Assertions.assertEquals(17, measurements.size());
+            measure(measurements, stageMeasurements);
+            Assertions.assertEquals(23, measurements.size());
             Assertions.assertEquals(0,
                     measurements.get("seata.transaction(meter=counter,role=tc,status=active)").getValue(), 0);
 
@@ -135,4 +137,15 @@ public class DefaultCoordinatorMetricsTest {
         }
     }
 
+    private static void measure(Map<String, Measurement> measurements, Map<String, Measurement> stageMeasurements) {
+        stageMeasurements.clear();
+        MetricsManager.get().getRegistry().measure().forEach(measurement -> {
+            if (IdConstants.SEATA_STAGE.equals(measurement.getId().getName())) {
+                stageMeasurements.put(measurement.getId().toString(), measurement);
+            } else {
+                measurements.put(measurement.getId().toString(), measurement);
+            }
+        });
+    }
+
 }
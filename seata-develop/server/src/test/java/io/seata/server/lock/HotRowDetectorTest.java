@@ -0,0 +1,101 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.lock;
+
+import java.util.Arrays;
+import java.util.List;
+
+import io.seata.core.lock.RowLock;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Hot row detector test.
+ *
+ * @author agent
+ */
+public class HotRowDetectorTest {
+
+    private static final String RESOURCE_ID = "jdbc:mysql://127.0.0.1:3306/seata";
+
+    @Test
+    public void testDisabled() {
+        HotRowDetector detector = new HotRowDetector(0, 10000L, true);
+        Assertions.assertFalse(detector.isEnabled());
+        Assertions.assertFalse(detector.isFastFailEnabled());
+        detector.recordConflict(RESOURCE_ID, "t_stock", "1");
+        Assertions.assertFalse(detector.hasHotRows());
+        Assertions.assertTrue(detector.topK(10).isEmpty());
+    }
+
+    @Test
+    public void testHotRows() {
+        HotRowDetector detector = new HotRowDetector(3, 10000L, true);
+        detector.recordConflict(RESOURCE_ID, "t_stock", "1");
+        detector.recordConflict(RESOURCE_ID, "t_stock", "1");
+        detector.recordConflict(RESOURCE_ID, "t_stock", "2");
+        Assertions.assertFalse(detector.hasHotRows());
+        Assertions.assertFalse(detector.isHot(rowLock("1")));
+
+        detector.recordConflict(RESOURCE_ID, "t_stock", "1");
+        Assertions.assertTrue(detector.hasHotRows());
+        Assertions.assertTrue(detector.isHot(rowLock("1")));
+        Assertions.assertFalse(detector.isHot(rowLock("2")));
+
+        List<RowLock> hotRows = detector.filterHotRows(Arrays.asList(rowLock("1"), rowLock("2"), rowLock("3")));
+        Assertions.assertEquals(1, hotRows.size());
+        Assertions.assertEquals("1", hotRows.get(0).getPk());
+    }
+
+    @Test
+    public void testTopK() {
+        HotRowDetector detector = new HotRowDetector(100, 10000L, false);
+        for (int pk = 1; pk <= 5; pk++) {
+            for (int i = 0; i < pk; i++) {
+                detector.recordConflict(RESOURCE_ID, "t_stock", String.valueOf(pk));
+            }
+        }
+        List<HotRowDetector.HotRow> top = detector.topK(3);
+        Assertions.assertEquals(3, top.size());
+        Assertions.assertEquals("5", top.get(0).getPk());
+        Assertions.assertEquals(5, top.get(0).getConflicts());
+        Assertions.assertEquals("4", top.get(1).getPk());
+        Assertions.assertEquals("3", top.get(2).getPk());
+        Assertions.assertEquals("t_stock", top.get(0).getTableName());
+        Assertions.assertEquals(RESOURCE_ID, top.get(0).getResourceId());
+        Assertions.assertTrue(detector.topK(0).isEmpty());
+    }
+
+    @Test
+    public void testWindowSlides() throws InterruptedException {
+        HotRowDetector detector = new HotRowDetector(2, 100L, true);
+        detector.recordConflict(RESOURCE_ID, "t_stock", "1");
+        detector.recordConflict(RESOURCE_ID, "t_stock", "1");
+        Assertions.assertTrue(detector.isHot(rowLock("1")));
+        Thread.sleep(250L);
+        Assertions.assertFalse(detector.hasHotRows());
+        Assertions.assertFalse(detector.isHot(rowLock("1")));
+        Assertions.assertTrue(detector.topK(10).isEmpty());
+    }
+
+    private static RowLock rowLock(String pk) {
+        RowLock rowLock = new RowLock();
+        rowLock.setResourceId(RESOURCE_ID);
+        rowLock.setTableName("t_stock");
+        rowLock.setPk(pk);
+        return rowLock;
+    }
+}
@@ -15,6 +15,7 @@
  */
 package io.seata.server.lock;
 
+import java.lang.reflect.Field;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -67,6 +68,30 @@ public class LockManagerTest {
         Assertions.assertFalse(lockManager.acquireLock(branchSession2));
     }
 
+    /**
+     * A branch fast failed on a locked hot row counts as a conflict of the row, the row stays hot.
+     *
+     * @param branchSession1 the branch session 1
+     * @param branchSession2 the branch session 2
+     * @throws Exception the exception
+     */
+    @ParameterizedTest
+    @MethodSource("hotRowBranchSessionsProvider")
+    public void hotRowFastFailTest(BranchSession branchSession1, BranchSession branchSession2) throws Exception {
+        LockManager lockManager = new FileLockManagerForTest();
+        HotRowDetector hotRowDetector = new HotRowDetector(2, 10000, true);
+        Field field = AbstractLockManager.class.getDeclaredField("hotRowDetector");
+        field.setAccessible(true);
+        field.set(lockManager, hotRowDetector);
+
+        Assertions.assertTrue(lockManager.acquireLock(branchSession1));
+        hotRowDetector.recordConflict("tb_hot", "t", "9");
+        hotRowDetector.recordConflict("tb_hot", "t", "9");
+        Assertions.assertFalse(lockManager.acquireLock(branchSession2));
+        Assertions.assertEquals(3, hotRowDetector.topK(1).get(0).getConflicts());
+        Assertions.assertTrue(lockManager.releaseLock(branchSession1));
+    }
+
     /**
      * deadlock test.
      *
@@ -244,6 +269,10 @@ public class LockManagerTest {
         return baseBranchSessionsProvider("tb_1", "t:1,2", "t:1,2");
     }
 
+    static Stream<Arguments> hotRowBranchSessionsProvider() {
+        return baseBranchSessionsProvider("tb_hot", "t:9", "t:9");
+    }
+
     static Stream<Arguments> deadlockBranchSessionsProvider() {
         return baseBranchSessionsProvider("tb_2", "t:1,2,3,4,5", "t:5,4,3,2,1");
     }
@@ -0,0 +1,113 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.lock;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.core.model.BranchType;
+import io.seata.server.coordinator.DefaultCore;
+import io.seata.server.coordinator.DefaultCoordinatorTest;
+import io.seata.server.session.GlobalSession;
+import io.seata.server.session.SessionHolder;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The lock wait of branch registers through the core with the file lock manager.
+ *
+ * @author agent
+ */
+public class LockWaitBranchRegisterTest {
+
+    private static final String RESOURCE_ID = "jdbc:mysql://127.0.0.1:3306/lock_wait";
+
+    private static final String TABLE_NAME = "t_lock_wait";
+
+    private static final String LOCK_KEY = TABLE_NAME + ":1";
+
+    private static DefaultCore core;
+
+    private static LockWaitQueue originalQueue;
+
+    @BeforeAll
+    public static void init() throws Exception {
+        SessionHolder.init(null);
+        core = new DefaultCore(new DefaultCoordinatorTest.MockServerMessageSender());
+        originalQueue = setLockWaitQueue(new LockWaitQueue(5000, 10));
+    }
+
+    @AfterAll
+    public static void destroy() throws Exception {
+        setLockWaitQueue(originalQueue);
+        SessionHolder.destroy();
+    }
+
+    @Test
+    public void testRegistersServedInOrder() throws Exception {
+        String holderXid = core.begin("app", "my_test_tx_group", "holder", 60000);
+        String waiterXid = core.begin("app", "my_test_tx_group", "waiter", 60000);
+        String freshXid = core.begin("app", "my_test_tx_group", "fresh", 60000);
+        long holderBranchId = core.branchRegister(BranchType.AT, RESOURCE_ID, "c_1", holderXid, null, LOCK_KEY);
+
+        CompletableFuture<Long> waiter = CompletableFuture.supplyAsync(() -> register(waiterXid));
+        Thread.sleep(300);
+        Assertions.assertFalse(waiter.isDone());
+        // the waiter neither spins on the row nor wakes itself up
+        Assertions.assertTrue(conflicts() < 10, "conflicts: " + conflicts());
+
+        // a fresh register queues behind the waiter although the row gets free
+        CompletableFuture<Long> fresh = CompletableFuture.supplyAsync(() -> register(freshXid));
+        Thread.sleep(100);
+        SessionHolder.findGlobalSession(holderXid).getBranch(holderBranchId).unlock();
+        long waiterBranchId = waiter.get(1, TimeUnit.SECONDS);
+        Thread.sleep(300);
+        Assertions.assertFalse(fresh.isDone());
+
+        SessionHolder.findGlobalSession(waiterXid).getBranch(waiterBranchId).unlock();
+        Assertions.assertNotNull(fresh.get(1, TimeUnit.SECONDS));
+        for (String xid : new String[] {holderXid, waiterXid, freshXid}) {
+            GlobalSession globalSession = SessionHolder.findGlobalSession(xid);
+            globalSession.end();
+        }
+    }
+
+    private static Long register(String xid) {
+        try {
+            return core.branchRegister(BranchType.AT, RESOURCE_ID, "c_1", xid, null, LOCK_KEY);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int conflicts() {
+        return HotRowDetector.getInstance().topK(Integer.MAX_VALUE).stream()
+            .filter(hotRow -> TABLE_NAME.equals(hotRow.getTableName()))
+            .mapToInt(HotRowDetector.HotRow::getConflicts).sum();
+    }
+
+    private static LockWaitQueue setLockWaitQueue(LockWaitQueue lockWaitQueue) throws Exception {
+        Field field = AbstractLockManager.class.getDeclaredField("lockWaitQueue");
+        field.setAccessible(true);
+        LockManager lockManager = LockerManagerFactory.getLockManager();
+        LockWaitQueue previous = (LockWaitQueue) field.get(lockManager);
+        field.set(lockManager, lockWaitQueue);
+        return previous;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.server.lock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.seata.core.lock.RowLock;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The type Lock wait queue test.
+ *
+ * @author agent
+ */
+public class LockWaitQueueTest {
+
+    @Test
+    public void testDisabled() {
+        LockWaitQueue lockWaitQueue = new LockWaitQueue(0, 10);
+        Assertions.assertFalse(lockWaitQueue.isEnabled());
+        Assertions.assertFalse(lockWaitQueue.await(1L, () -> rowLocks("1")));
+        Assertions.assertFalse(lockWaitQueue.hasWaiters());
+    }
+
+    @Test
+    public void testHeadOfAllQueues() throws Exception {
+        LockWaitQueue lockWaitQueue = new LockWaitQueue(5000, 10);
+        // the head of all its queues retries at once
+        Assertions.assertTrue(lockWaitQueue.await(1L, () -> rowLocks("1")));
+        CompletableFuture<Boolean> second = CompletableFuture.supplyAsync(
+            () -> lockWaitQueue.await(2L, () -> rowLocks("1")));
+        // not the head, the rechecks and the releases of the row do not let it retry
+        lockWaitQueue.signal(rowLocks("1"));
+        Thread.sleep(300);
+        Assertions.assertFalse(second.isDone());
+
+        lockWaitQueue.leave(1L, false);
+        Assertions.assertTrue(second.get(1, TimeUnit.SECONDS));
+        lockWaitQueue.leave(2L, true);
+        Assertions.assertFalse(lockWaitQueue.hasWaiters());
+    }
+
+    @Test
+    public void testFreshBranchQueued() {
+        LockWaitQueue lockWaitQueue = new LockWaitQueue(5000, 10);
+        Assertions.assertTrue(lockWaitQueue.getQueuedRows(2L, rowLocks("1")).isEmpty());
+        Assertions.assertTrue(lockWaitQueue.await(1L, () -> rowLocks("1")));
+        Assertions.assertEquals(1, lockWaitQueue.getQueuedRows(2L, rowLocks("1")).size());
+        Assertions.assertTrue(lockWaitQueue.getQueuedRows(2L, rowLocks("2")).isEmpty());
+        // a waiter is not queued behind itself
+        Assertions.assertTrue(lockWaitQueue.getQueuedRows(1L, rowLocks("1")).isEmpty());
+        lockWaitQueue.leave(1L, true);
+        Assertions.assertTrue(lockWaitQueue.getQueuedRows(2L, rowLocks("1")).isEmpty());
+    }
+
+    @Test
+    public void testMaxWaiters() {
+        LockWaitQueue lockWaitQueue = new LockWaitQueue(5000, 1);
+        Assertions.assertTrue(lockWaitQueue.await(1L, () -> rowLocks("1")));
+        Assertions.assertFalse(lockWaitQueue.await(2L, () -> rowLocks("2")));
+        lockWaitQueue.leave(1L, true);
+        Assertions.assertTrue(lockWaitQueue.await(2L, () -> rowLocks("2")));
+        lockWaitQueue.leave(2L, true);
+        Assertions.assertFalse(lockWaitQueue.hasWaiters());
+    }
+
+    @Test
+    public void testCapMaxWaiters() {
+        Assertions.assertEquals(10, LockWaitQueue.capMaxWaiters(10, 50));
+        Assertions.assertEquals(12, LockWaitQueue.capMaxWaiters(100, 50));
+        Assertions.assertEquals(1, LockWaitQueue.capMaxWaiters(100, 2));
+    }
+
+    @Test
+    public void testWaitersNotStarveWorkers() throws Exception {
+        int workerThreads = 8;
+        ExecutorService workers = Executors.newFixedThreadPool(workerThreads);
+        try {
+            LockWaitQueue lockWaitQueue = new LockWaitQueue(10000,
+                LockWaitQueue.capMaxWaiters(100, workerThreads));
+            AtomicBoolean rowFree = new AtomicBoolean();
+            List<Future<Boolean>> registers = new ArrayList<>();
+            // as many conflicting registers as workers
+            for (int i = 0; i < workerThreads; i++) {
+                long branchId = i;
+                registers.add(workers.submit(() -> {
+                    while (!rowFree.get()) {
+                        if (!lockWaitQueue.await(branchId, () -> rowLocks("1"))) {
+                            return false;
+                        }
+                    }
+                    lockWaitQueue.leave(branchId, true);
+                    return true;
+                }));
+            }
+            Thread.sleep(200);
+            // the release of the lock holder still gets a worker long before the waits time out
+            workers.submit(() -> {
+                rowFree.set(true);
+                lockWaitQueue.signal(rowLocks("1"));
+            }).get(1, TimeUnit.SECONDS);
+
+            int waited = 0;
+            for (Future<Boolean> register : registers) {
+                if (register.get(1, TimeUnit.SECONDS)) {
+                    waited++;
+                }
+            }
+            Assertions.assertEquals(LockWaitQueue.capMaxWaiters(100, workerThreads), waited);
+            Assertions.assertFalse(lockWaitQueue.hasWaiters());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTimeout() throws InterruptedException {
+        LockWaitQueue lockWaitQueue = new LockWaitQueue(50, 10);
+        Assertions.assertTrue(lockWaitQueue.await(1L, () -> rowLocks("1")));
+        Thread.sleep(60);
+        Assertions.assertFalse(lockWaitQueue.await(1L, () -> rowLocks("1")));
+        Assertions.assertFalse(lockWaitQueue.hasWaiters());
+    }
+
+    private static List<RowLock> rowLocks(String pk) {
+        RowLock rowLock = new RowLock();
+        rowLock.setResourceId("jdbc:mysql://127.0.0.1:3306/seata");
+        rowLock.setTableName("t_account");
+        rowLock.setPk(pk);
+        return Collections.singletonList(rowLock);
+    }
+}
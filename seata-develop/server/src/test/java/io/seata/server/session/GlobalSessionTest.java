@@ -15,16 +15,20 @@
  */
 package io.seata.server.session;
 
+import io.seata.core.lock.RowLock;
 import io.seata.core.model.BranchStatus;
 import io.seata.core.model.BranchType;
 import io.seata.core.model.GlobalStatus;
 import io.seata.server.storage.file.session.FileSessionManager;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Stream;
 
 /**
@@ -46,6 +50,59 @@ public class GlobalSessionTest {
         Assertions.assertFalse(globalSession.canBeCommittedAsync());
     }
 
+    /**
+     * Held lock keys test.
+     */
+    @Test
+    public void heldLockKeysTest() {
+        GlobalSession globalSession = new GlobalSession("demo-app", "my_test_tx_group", "test", 6000);
+        Assertions.assertFalse(globalSession.isRowLockHeld("res_1", rowLocks("t_order", "1")));
+
+        globalSession.addHeldRowLocks("res_1", rowLocks("t_order", "1", "2"));
+        globalSession.addHeldRowLocks("res_1", rowLocks("t_item", "5"));
+        Assertions.assertTrue(globalSession.isRowLockHeld("res_1", rowLocks("t_order", "1")));
+        Assertions.assertTrue(globalSession.isRowLockHeld("res_1", rowLocks("t_order", "2", "1")));
+        Assertions.assertFalse(globalSession.isRowLockHeld("res_1", rowLocks("t_order", "1", "3")));
+        Assertions.assertFalse(globalSession.isRowLockHeld("res_2", rowLocks("t_order", "1")));
+        Assertions.assertFalse(globalSession.isRowLockHeld("res_1", new ArrayList<>()));
+
+        globalSession.removeHeldLockKeys("res_1", "t_order:1");
+        Assertions.assertFalse(globalSession.isRowLockHeld("res_1", rowLocks("t_order", "1")));
+        Assertions.assertTrue(globalSession.isRowLockHeld("res_1", rowLocks("t_order", "2")));
+        Assertions.assertTrue(globalSession.isRowLockHeld("res_1", rowLocks("t_item", "5")));
+    }
+
+    /**
+     * The held rows are bounded, the rows beyond the bound are left to the lock manager.
+     */
+    @Test
+    public void heldLockKeysBoundTest() {
+        GlobalSession globalSession = new GlobalSession("demo-app", "my_test_tx_group", "test", 6000);
+        String[] pks = new String[1000];
+        for (int i = 0; i < pks.length; i++) {
+            pks[i] = String.valueOf(i);
+        }
+        globalSession.addHeldRowLocks("res_1", rowLocks("t_order", pks));
+        globalSession.addHeldRowLocks("res_1", rowLocks("t_order", "1000"));
+        Assertions.assertTrue(globalSession.isRowLockHeld("res_1", rowLocks("t_order", "999")));
+        Assertions.assertFalse(globalSession.isRowLockHeld("res_1", rowLocks("t_order", "1000")));
+
+        globalSession.removeHeldLockKeys("res_1", "t_order:0");
+        globalSession.addHeldRowLocks("res_1", rowLocks("t_order", "1000"));
+        Assertions.assertTrue(globalSession.isRowLockHeld("res_1", rowLocks("t_order", "1000")));
+    }
+
+    private static List<RowLock> rowLocks(String tableName, String... pks) {
+        List<RowLock> rowLocks = new ArrayList<>();
+        for (String pk : pks) {
+            RowLock rowLock = new RowLock();
+            rowLock.setTableName(tableName);
+            rowLock.setPk(pk);
+            rowLocks.add(rowLock);
+        }
+        return rowLocks;
+    }
+
     /**
      * Begin test.
      *
@@ -34,6 +34,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Assertions;
 
+import java.lang.reflect.Field;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -263,6 +264,48 @@ public class DataBaseSessionManagerTest {
     }
 
 
+    @Test
+    public void test_findOwnedGlobalSession() throws Exception {
+        DataBaseSessionManager ownerSessionManager = new DataBaseSessionManager();
+        ownerSessionManager.setTransactionStoreManager(DataBaseTransactionStoreManager.getInstance());
+        Field ownerCacheEnable = DataBaseSessionManager.class.getDeclaredField("ownerCacheEnable");
+        ownerCacheEnable.setAccessible(true);
+        ownerCacheEnable.set(ownerSessionManager, true);
+
+        GlobalSession session = GlobalSession.createGlobalSession("test",
+                "test", "test123", 60000);
+        String xid = XID.generateXID(session.getTransactionId());
+        session.setXid(xid);
+        session.setBeginTime(System.currentTimeMillis());
+        session.setStatus(GlobalStatus.Begin);
+        ownerSessionManager.addGlobalSession(session);
+
+        // the active session this node began is served without reading the store
+        Assertions.assertSame(session, ownerSessionManager.findGlobalSession(xid));
+        Assertions.assertSame(session, ownerSessionManager.findGlobalSession(xid, false));
+
+        // a session out of Begin leaves the cache
+        ownerSessionManager.updateGlobalSessionStatus(session, GlobalStatus.Committing);
+        GlobalSession globalSession_db = ownerSessionManager.findGlobalSession(xid);
+        Assertions.assertNotSame(session, globalSession_db);
+        Assertions.assertEquals(GlobalStatus.Committing, globalSession_db.getStatus());
+
+        // a timed out session leaves the cache, the timeout check of any node may roll it back
+        GlobalSession timeoutSession = GlobalSession.createGlobalSession("test",
+                "test", "test123", 1);
+        String timeoutXid = XID.generateXID(timeoutSession.getTransactionId());
+        timeoutSession.setXid(timeoutXid);
+        timeoutSession.setBeginTime(System.currentTimeMillis());
+        timeoutSession.setStatus(GlobalStatus.Begin);
+        ownerSessionManager.addGlobalSession(timeoutSession);
+        Thread.sleep(10);
+        Assertions.assertNotSame(timeoutSession, ownerSessionManager.findGlobalSession(timeoutXid));
+
+        ownerSessionManager.removeGlobalSession(session);
+        ownerSessionManager.removeGlobalSession(timeoutSession);
+        Assertions.assertNull(ownerSessionManager.findGlobalSession(xid));
+    }
+
     @Test
     public void test_addBranchSession() throws Exception {
         GlobalSession globalSession = GlobalSession.createGlobalSession("test",
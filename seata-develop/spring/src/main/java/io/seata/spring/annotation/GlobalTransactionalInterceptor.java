@@ -17,8 +17,11 @@ package io.seata.spring.annotation;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import io.seata.common.exception.ShouldNeverHappenException;
 import io.seata.common.util.StringUtils;
@@ -40,6 +43,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.support.AopUtils;
 import org.springframework.core.BridgeMethodResolver;
+import org.springframework.core.MethodClassKey;
 import org.springframework.util.ClassUtils;
 
 import static io.seata.core.constants.DefaultValues.DEFAULT_DISABLE_GLOBAL_TRANSACTION;
@@ -66,6 +70,11 @@ public class GlobalTransactionalInterceptor implements ConfigurationChangeListen
     private final FailureHandler failureHandler;
     private volatile boolean disable;
 
+    /**
+     * the resolved annotations and transaction info of each invoked method and target class
+     */
+    private final ConcurrentMap<MethodClassKey, MethodMetadata> methodMetadataCache = new ConcurrentHashMap<>();
+
     /**
      * 实例化一个新的全局事务拦截器
      * Instantiates a new Global transactional interceptor.
@@ -84,17 +93,12 @@ public class GlobalTransactionalInterceptor implements ConfigurationChangeListen
         // 获取目标类
         Class<?> targetClass = methodInvocation.getThis() != null ? AopUtils.getTargetClass(methodInvocation.getThis())
             : null;
-        Method specificMethod = ClassUtils.getMostSpecificMethod(methodInvocation.getMethod(), targetClass);
-        final Method method = BridgeMethodResolver.findBridgedMethod(specificMethod);
-
-        final GlobalTransactional globalTransactionalAnnotation =
-            getAnnotation(method, targetClass, GlobalTransactional.class);
-        final GlobalLock globalLockAnnotation = getAnnotation(method, targetClass, GlobalLock.class);
+        MethodMetadata methodMetadata = getMethodMetadata(methodInvocation.getMethod(), targetClass);
 
-        if (!disable && globalTransactionalAnnotation != null) { // 全局事务注解
+        if (!disable && methodMetadata.transactionInfo != null) { // 全局事务注解
             /** 全局事务开启的处理 */
-            return handleGlobalTransaction(methodInvocation, globalTransactionalAnnotation);
-        } else if (!disable && globalLockAnnotation != null) {  // 全局锁注解
+            return handleGlobalTransaction(methodInvocation, methodMetadata.transactionInfo);
+        } else if (!disable && methodMetadata.globalLock) {  // 全局锁注解
             /** 全局锁开启的处理 */
             return handleGlobalLock(methodInvocation);
         } else {
@@ -103,6 +107,67 @@ public class GlobalTransactionalInterceptor implements ConfigurationChangeListen
         }
     }
 
+    /**
+     * resolve the annotations of the method once, the later invocations share the cached metadata
+     *
+     * @param invokedMethod the method of the invocation
+     * @param targetClass the target class
+     * @return the method metadata
+     */
+    MethodMetadata getMethodMetadata(Method invokedMethod, Class<?> targetClass) {
+        MethodClassKey cacheKey = new MethodClassKey(invokedMethod, targetClass);
+        MethodMetadata methodMetadata = methodMetadataCache.get(cacheKey);
+        if (methodMetadata == null) {
+            methodMetadata = methodMetadataCache.computeIfAbsent(cacheKey,
+                key -> resolveMethodMetadata(invokedMethod, targetClass));
+        }
+        return methodMetadata;
+    }
+
+    private MethodMetadata resolveMethodMetadata(Method invokedMethod, Class<?> targetClass) {
+        Method specificMethod = ClassUtils.getMostSpecificMethod(invokedMethod, targetClass);
+        final Method method = BridgeMethodResolver.findBridgedMethod(specificMethod);
+
+        final GlobalTransactional globalTransactionalAnnotation =
+            getAnnotation(method, targetClass, GlobalTransactional.class);
+        final GlobalLock globalLockAnnotation = getAnnotation(method, targetClass, GlobalLock.class);
+
+        TransactionInfo transactionInfo = globalTransactionalAnnotation == null ? null
+            : buildTransactionInfo(globalTransactionalAnnotation, invokedMethod);
+        return new MethodMetadata(transactionInfo, globalLockAnnotation != null);
+    }
+
+    /**
+     * 获取当前全局事务的信息（例如：超时时间，名称等等）
+     *
+     * @param globalTrxAnno the global transactional annotation
+     * @param invokedMethod the method of the invocation
+     * @return the transaction info shared by all the invocations of the method, must not be modified
+     */
+    private TransactionInfo buildTransactionInfo(GlobalTransactional globalTrxAnno, Method invokedMethod) {
+        TransactionInfo transactionInfo = new TransactionInfo();
+        transactionInfo.setTimeOut(globalTrxAnno.timeoutMills());
+        String name = globalTrxAnno.name();
+        transactionInfo.setName(StringUtils.isNullOrEmpty(name) ? formatMethod(invokedMethod) : name);
+        // 从@GlobalTransactional注解上获取全局事务的传播性（默认值是REQUIRED——需要）
+        transactionInfo.setPropagation(globalTrxAnno.propagation());
+        Set<RollbackRule> rollbackRules = new LinkedHashSet<>();
+        for (Class<?> rbRule : globalTrxAnno.rollbackFor()) {
+            rollbackRules.add(new RollbackRule(rbRule));
+        }
+        for (String rbRule : globalTrxAnno.rollbackForClassName()) {
+            rollbackRules.add(new RollbackRule(rbRule));
+        }
+        for (Class<?> rbRule : globalTrxAnno.noRollbackFor()) {
+            rollbackRules.add(new NoRollbackRule(rbRule));
+        }
+        for (String rbRule : globalTrxAnno.noRollbackForClassName()) {
+            rollbackRules.add(new NoRollbackRule(rbRule));
+        }
+        transactionInfo.setRollbackRules(Collections.unmodifiableSet(rollbackRules));
+        return transactionInfo;
+    }
+
     /**
      * 全局锁开启的处理
      * @param methodInvocation
@@ -125,12 +190,12 @@ public class GlobalTransactionalInterceptor implements ConfigurationChangeListen
     /**
      * 处理全局事务
      * @param methodInvocation
-     * @param globalTrxAnno
+     * @param transactionInfo
      * @return
      * @throws Throwable
      */
     private Object handleGlobalTransaction(final MethodInvocation methodInvocation,
-                                           final GlobalTransactional globalTrxAnno) throws Throwable {
+                                           final TransactionInfo transactionInfo) throws Throwable {
         try {
             /** 事务化模板：通过 GlobalTransaction 和 GlobalTransactionContext API 把一个业务服务的调用包装成带有分布式事务支持的服务 */
             return transactionalTemplate.execute(new TransactionalExecutor() {
@@ -139,39 +204,8 @@ public class GlobalTransactionalInterceptor implements ConfigurationChangeListen
                     return methodInvocation.proceed();
                 }
 
-                public String name() {
-                    String name = globalTrxAnno.name();
-                    if (!StringUtils.isNullOrEmpty(name)) {
-                        return name;
-                    }
-                    return formatMethod(methodInvocation.getMethod());
-                }
-
-                /**
-                 * 获取当前全局事务的信息（例如：超时时间，名称等等）
-                 * @return
-                 */
                 @Override
                 public TransactionInfo getTransactionInfo() {
-                    TransactionInfo transactionInfo = new TransactionInfo();
-                    transactionInfo.setTimeOut(globalTrxAnno.timeoutMills());
-                    transactionInfo.setName(name());
-                    // 从@GlobalTransactional注解上获取全局事务的传播性（默认值是REQUIRED——需要）
-                    transactionInfo.setPropagation(globalTrxAnno.propagation());
-                    Set<RollbackRule> rollbackRules = new LinkedHashSet<>();
-                    for (Class<?> rbRule : globalTrxAnno.rollbackFor()) {
-                        rollbackRules.add(new RollbackRule(rbRule));
-                    }
-                    for (String rbRule : globalTrxAnno.rollbackForClassName()) {
-                        rollbackRules.add(new RollbackRule(rbRule));
-                    }
-                    for (Class<?> rbRule : globalTrxAnno.noRollbackFor()) {
-                        rollbackRules.add(new NoRollbackRule(rbRule));
-                    }
-                    for (String rbRule : globalTrxAnno.noRollbackForClassName()) {
-                        rollbackRules.add(new NoRollbackRule(rbRule));
-                    }
-                    transactionInfo.setRollbackRules(rollbackRules);
                     return transactionInfo;
                 }
             });
@@ -219,6 +253,21 @@ public class GlobalTransactionalInterceptor implements ConfigurationChangeListen
         return sb.append(")").toString();
     }
 
+    static final class MethodMetadata {
+
+        /**
+         * null if the method is not annotated with {@link GlobalTransactional}
+         */
+        final TransactionInfo transactionInfo;
+
+        final boolean globalLock;
+
+        MethodMetadata(TransactionInfo transactionInfo, boolean globalLock) {
+            this.transactionInfo = transactionInfo;
+            this.globalLock = globalLock;
+        }
+    }
+
     @Override
     public void onChangeEvent(ConfigurationChangeEvent event) {
         if (ConfigurationKeys.DISABLE_GLOBAL_TRANSACTION.equals(event.getDataId())) {
@@ -0,0 +1,152 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.spring.annotation;
+
+import java.lang.reflect.Method;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import io.seata.core.context.RootContext;
+import io.seata.tm.api.transaction.NoRollbackRule;
+import io.seata.tm.api.transaction.RollbackRule;
+import io.seata.tm.api.transaction.TransactionInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.BridgeMethodResolver;
+import org.springframework.util.ClassUtils;
+
+/**
+ * JMH benchmark of {@link GlobalTransactionalInterceptor}.
+ * The per-invocation annotation resolution and transaction info building is measured against the cached
+ * method metadata, and the whole interception is measured as a participant of a bound xid so no TC is needed.
+ *
+ * @author agent
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-XX:+UseParallelGC")
+public class GlobalTransactionalInterceptorBenchmark {
+
+    private static final String XID = "127.0.0.1:8091:2000";
+
+    private GlobalTransactionalInterceptor interceptor;
+
+    private BenchmarkService target;
+
+    private BenchmarkService proxy;
+
+    private Method method;
+
+    private final Throwable exception = new IllegalArgumentException();
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        interceptor = new GlobalTransactionalInterceptor(null);
+        target = new BenchmarkServiceImpl();
+        ProxyFactory proxyFactory = new ProxyFactory(target);
+        proxyFactory.addAdvice(interceptor);
+        proxy = (BenchmarkService)proxyFactory.getProxy();
+        method = BenchmarkService.class.getMethod("doBiz", String.class);
+        RootContext.bind(XID);
+    }
+
+    @TearDown
+    public void tearDown() {
+        RootContext.unbind();
+    }
+
+    @Benchmark
+    public TransactionInfo resolvePerInvocation() {
+        Class<?> targetClass = AopUtils.getTargetClass(target);
+        Method specificMethod = ClassUtils.getMostSpecificMethod(method, targetClass);
+        Method bridgedMethod = BridgeMethodResolver.findBridgedMethod(specificMethod);
+        GlobalTransactional globalTrxAnno = bridgedMethod.getAnnotation(GlobalTransactional.class);
+        bridgedMethod.getAnnotation(GlobalLock.class);
+
+        TransactionInfo transactionInfo = new TransactionInfo();
+        transactionInfo.setTimeOut(globalTrxAnno.timeoutMills());
+        transactionInfo.setName(globalTrxAnno.name());
+        transactionInfo.setPropagation(globalTrxAnno.propagation());
+        Set<RollbackRule> rollbackRules = new LinkedHashSet<>();
+        for (Class<?> rbRule : globalTrxAnno.rollbackFor()) {
+            rollbackRules.add(new RollbackRule(rbRule));
+        }
+        for (String rbRule : globalTrxAnno.rollbackForClassName()) {
+            rollbackRules.add(new RollbackRule(rbRule));
+        }
+        for (Class<?> rbRule : globalTrxAnno.noRollbackFor()) {
+            rollbackRules.add(new NoRollbackRule(rbRule));
+        }
+        for (String rbRule : globalTrxAnno.noRollbackForClassName()) {
+            rollbackRules.add(new NoRollbackRule(rbRule));
+        }
+        transactionInfo.setRollbackRules(rollbackRules);
+        return transactionInfo;
+    }
+
+    @Benchmark
+    public TransactionInfo resolveCached() {
+        return interceptor.getMethodMetadata(method, AopUtils.getTargetClass(target)).transactionInfo;
+    }
+
+    @Benchmark
+    public boolean rollbackOn() {
+        return interceptor.getMethodMetadata(method, BenchmarkServiceImpl.class).transactionInfo.rollbackOn(exception);
+    }
+
+    @Benchmark
+    public String invokeAsParticipant() {
+        return proxy.doBiz("benchmark");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(GlobalTransactionalInterceptorBenchmark.class.getSimpleName())
+            .addProfiler("gc").build()).run();
+    }
+
+    public interface BenchmarkService {
+
+        String doBiz(String msg);
+    }
+
+    public static class BenchmarkServiceImpl implements BenchmarkService {
+
+        @Override
+        @GlobalTransactional(name = "benchmark-doBiz", rollbackFor = IllegalStateException.class,
+            noRollbackFor = IllegalArgumentException.class, noRollbackForClassName = "IOException")
+        public String doBiz(String msg) {
+            return msg;
+        }
+    }
+}
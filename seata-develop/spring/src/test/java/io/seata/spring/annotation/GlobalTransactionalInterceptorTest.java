@@ -0,0 +1,84 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.spring.annotation;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+import io.seata.tm.api.transaction.Propagation;
+import io.seata.tm.api.transaction.TransactionInfo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author agent
+ */
+public class GlobalTransactionalInterceptorTest {
+
+    @Test
+    public void testGetMethodMetadata() throws NoSuchMethodException {
+        GlobalTransactionalInterceptor interceptor = new GlobalTransactionalInterceptor(null);
+        Method method = Business.class.getMethod("doBiz", String.class);
+
+        GlobalTransactionalInterceptor.MethodMetadata metadata =
+            interceptor.getMethodMetadata(method, BusinessImpl.class);
+        TransactionInfo transactionInfo = metadata.transactionInfo;
+        Assertions.assertNotNull(transactionInfo);
+        Assertions.assertEquals("busi-doBiz", transactionInfo.getName());
+        Assertions.assertEquals(300000, transactionInfo.getTimeOut());
+        Assertions.assertEquals(Propagation.REQUIRED, transactionInfo.getPropagation());
+        Assertions.assertFalse(metadata.globalLock);
+        // resolved once, shared by the later invocations
+        Assertions.assertSame(metadata, interceptor.getMethodMetadata(method, BusinessImpl.class));
+
+        Method lockMethod = RuleBusiness.class.getMethod("doLock");
+        GlobalTransactionalInterceptor.MethodMetadata lockMetadata =
+            interceptor.getMethodMetadata(lockMethod, RuleBusiness.class);
+        Assertions.assertNull(lockMetadata.transactionInfo);
+        Assertions.assertTrue(lockMetadata.globalLock);
+    }
+
+    @Test
+    public void testRollbackRules() throws NoSuchMethodException {
+        GlobalTransactionalInterceptor interceptor = new GlobalTransactionalInterceptor(null);
+        Method method = RuleBusiness.class.getMethod("doBiz", String.class);
+
+        TransactionInfo transactionInfo = interceptor.getMethodMetadata(method, RuleBusiness.class).transactionInfo;
+        Assertions.assertEquals("doBiz(java.lang.String)", transactionInfo.getName());
+        Assertions.assertEquals(3, transactionInfo.getRollbackRules().size());
+        Assertions.assertThrows(UnsupportedOperationException.class,
+            () -> transactionInfo.getRollbackRules().clear());
+
+        Assertions.assertTrue(transactionInfo.rollbackOn(new IllegalStateException()));
+        Assertions.assertFalse(transactionInfo.rollbackOn(new IllegalArgumentException()));
+        Assertions.assertFalse(transactionInfo.rollbackOn(new IOException()));
+        // the cached decision of the exception class
+        Assertions.assertFalse(transactionInfo.rollbackOn(new IllegalArgumentException()));
+    }
+
+    public static class RuleBusiness {
+
+        @GlobalTransactional(rollbackFor = IllegalStateException.class,
+            noRollbackFor = IllegalArgumentException.class, noRollbackForClassName = "IOException")
+        public String doBiz(String msg) {
+            return msg;
+        }
+
+        @GlobalLock
+        public void doLock() {
+        }
+    }
+}
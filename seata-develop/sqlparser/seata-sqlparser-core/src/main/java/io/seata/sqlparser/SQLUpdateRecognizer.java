@@ -15,8 +15,11 @@
  */
 package io.seata.sqlparser;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import io.seata.sqlparser.struct.Null;
+
 /**
  * The interface Sql update recognizer.
  *
@@ -37,4 +40,32 @@ public interface SQLUpdateRecognizer extends WhereRecognizer {
      * @return the update values
      */
     List<Object> getUpdateValues();
+
+    /**
+     * Gets update values, the placeholders are resolved from the bound parameters.
+     * By default the values of {@link #getUpdateValues()} are used for a plain statement, and null is returned
+     * for a prepared statement, whose placeholders can only be resolved by the implementation.
+     *
+     * @param parametersHolder the parameters holder, null for a plain statement
+     * @return the update values with {@link Null} for null, or null if any value is an
+     * expression which can only be evaluated by the database
+     */
+    default List<Object> getUpdateValues(ParametersHolder parametersHolder) {
+        if (parametersHolder != null && parametersHolder.getParameters() != null
+            && parametersHolder.getParameters().length > 0) {
+            return null;
+        }
+        List<Object> values;
+        try {
+            values = getUpdateValues();
+        } catch (SQLParsingException e) {
+            // an expression value
+            return null;
+        }
+        List<Object> resolved = new ArrayList<>(values.size());
+        for (Object value : values) {
+            resolved.add(value == null ? Null.get() : value);
+        }
+        return resolved;
+    }
 }
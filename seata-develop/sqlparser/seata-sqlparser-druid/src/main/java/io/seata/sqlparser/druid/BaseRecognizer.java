@@ -15,13 +15,22 @@
  */
 package io.seata.sqlparser.druid;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.alibaba.druid.sql.ast.SQLExpr;
 import com.alibaba.druid.sql.ast.expr.SQLBetweenExpr;
 import com.alibaba.druid.sql.ast.expr.SQLBinaryOpExpr;
 import com.alibaba.druid.sql.ast.expr.SQLExistsExpr;
 import com.alibaba.druid.sql.ast.expr.SQLInListExpr;
+import com.alibaba.druid.sql.ast.expr.SQLNullExpr;
+import com.alibaba.druid.sql.ast.expr.SQLValuableExpr;
+import com.alibaba.druid.sql.ast.expr.SQLVariantRefExpr;
+import com.alibaba.druid.sql.ast.statement.SQLUpdateSetItem;
 import com.alibaba.druid.sql.visitor.SQLASTVisitor;
+import io.seata.sqlparser.ParametersHolder;
 import io.seata.sqlparser.SQLRecognizer;
+import io.seata.sqlparser.struct.Null;
 
 /**
  * The type Base recognizer.
@@ -70,6 +79,39 @@ public abstract class BaseRecognizer implements SQLRecognizer {
         }
     }
 
+    /**
+     * Resolve the values of the update set items, literals as they are and placeholders from the bound parameters.
+     *
+     * @param updateSetItems   the update set items
+     * @param parametersHolder the parameters holder
+     * @return the values, or null if any value can not be resolved before execution
+     */
+    protected List<Object> resolveUpdateValues(List<SQLUpdateSetItem> updateSetItems,
+                                               ParametersHolder parametersHolder) {
+        List<Object> list = new ArrayList<>(updateSetItems.size());
+        for (SQLUpdateSetItem updateSetItem : updateSetItems) {
+            SQLExpr expr = updateSetItem.getValue();
+            if (expr instanceof SQLNullExpr) {
+                list.add(Null.get());
+            } else if (expr instanceof SQLValuableExpr) {
+                Object value = ((SQLValuableExpr) expr).getValue();
+                list.add(value == null ? Null.get() : value);
+            } else if (expr instanceof SQLVariantRefExpr && "?".equals(((SQLVariantRefExpr) expr).getName())
+                && parametersHolder != null) {
+                List<Object> oneParamValues = parametersHolder.getParameters()[((SQLVariantRefExpr) expr).getIndex()];
+                // executeBatch binds more than one value
+                if (oneParamValues.size() != 1) {
+                    return null;
+                }
+                Object value = oneParamValues.get(0);
+                list.add(value == null ? Null.get() : value);
+            } else {
+                return null;
+            }
+        }
+        return list;
+    }
+
     @Override
     public String getOriginalSQL() {
         return originalSQL;
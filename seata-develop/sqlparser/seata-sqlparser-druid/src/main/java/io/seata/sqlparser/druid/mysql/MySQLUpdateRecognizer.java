@@ -97,6 +97,11 @@ public class MySQLUpdateRecognizer extends BaseMySQLRecognizer implements SQLUpd
         return list;
     }
 
+    @Override
+    public List<Object> getUpdateValues(ParametersHolder parametersHolder) {
+        return resolveUpdateValues(ast.getItems(), parametersHolder);
+    }
+
     @Override
     public String getWhereCondition(final ParametersHolder parametersHolder,
                                     final ArrayList<List<Object>> paramAppenderList) {
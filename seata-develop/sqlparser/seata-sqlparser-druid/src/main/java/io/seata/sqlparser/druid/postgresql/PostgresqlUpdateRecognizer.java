@@ -93,6 +93,11 @@ public class PostgresqlUpdateRecognizer extends BasePostgresqlRecognizer impleme
         return list;
     }
 
+    @Override
+    public List<Object> getUpdateValues(ParametersHolder parametersHolder) {
+        return resolveUpdateValues(ast.getItems(), parametersHolder);
+    }
+
     @Override
     public String getWhereCondition(final ParametersHolder parametersHolder,
         final ArrayList<List<Object>> paramAppenderList) {
@@ -30,6 +30,7 @@ import io.seata.sqlparser.ParametersHolder;
 import io.seata.sqlparser.SQLParsingException;
 import io.seata.sqlparser.SQLType;
 import io.seata.sqlparser.druid.mysql.MySQLUpdateRecognizer;
+import io.seata.sqlparser.struct.Null;
 import io.seata.sqlparser.util.JdbcConstants;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -297,6 +298,43 @@ public class MySQLUpdateRecognizerTest extends AbstractMySQLRecognizerTest {
         });
     }
 
+    @Test
+    public void testGetUpdateValuesWithParameters() {
+        String sql = "update t set a = ?, b = 'b', c = null, d = ? where id = ?";
+        List<SQLStatement> asts = SQLUtils.parseStatements(sql, JdbcConstants.MYSQL);
+        MySQLUpdateRecognizer recognizer = new MySQLUpdateRecognizer(sql, asts.get(0));
+        ParametersHolder parametersHolder = new ParametersHolder() {
+            @Override
+            public ArrayList<Object>[] getParameters() {
+                return new ArrayList[] {new ArrayList<>(Collections.singletonList(1)),
+                    new ArrayList<>(Collections.singletonList(Null.get())),
+                    new ArrayList<>(Collections.singletonList("id1"))};
+            }
+        };
+        Assertions.assertEquals(Arrays.asList(1, "b", Null.get(), Null.get()),
+            recognizer.getUpdateValues(parametersHolder));
+
+        // not resolvable without the parameters
+        Assertions.assertNull(recognizer.getUpdateValues(null));
+
+        // evaluated by the database
+        sql = "update t set a = a + 1 where id = ?";
+        asts = SQLUtils.parseStatements(sql, JdbcConstants.MYSQL);
+        recognizer = new MySQLUpdateRecognizer(sql, asts.get(0));
+        Assertions.assertNull(recognizer.getUpdateValues(parametersHolder));
+
+        // executeBatch
+        sql = "update t set a = ? where id = ?";
+        asts = SQLUtils.parseStatements(sql, JdbcConstants.MYSQL);
+        recognizer = new MySQLUpdateRecognizer(sql, asts.get(0));
+        Assertions.assertNull(recognizer.getUpdateValues(new ParametersHolder() {
+            @Override
+            public ArrayList<Object>[] getParameters() {
+                return new ArrayList[] {new ArrayList<>(Arrays.asList(1, 2)), new ArrayList<>(Arrays.asList(1, 2))};
+            }
+        }));
+    }
+
     @Test
     public void testGetTableAlias() {
         String sql = "update t set a = ?, b = ?, c = ?";
@@ -0,0 +1,350 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.loadgen;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import io.seata.common.Constants;
+import io.seata.common.thread.NamedThreadFactory;
+import io.seata.common.util.StringUtils;
+import io.seata.core.constants.ConfigurationKeys;
+import io.seata.core.exception.TransactionException;
+import io.seata.core.model.BranchStatus;
+import io.seata.core.model.BranchType;
+import io.seata.core.model.GlobalStatus;
+import io.seata.core.model.ResourceManager;
+import io.seata.core.model.TransactionManager;
+import io.seata.rm.DefaultResourceManager;
+import io.seata.rm.RMClient;
+import io.seata.server.Server;
+import io.seata.tm.DefaultTransactionManager;
+import io.seata.tm.TMClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * End-to-end load generator of the TC.
+ * It starts {@link Server} in process with the file store or the db store on an embedded h2 database,
+ * and drives the global transactions of a {@link Scenario} through the real TM and RM rpc clients.
+ * The branches are registered by simulated RMs whose phase two succeeds at once, so the numbers are
+ * the cost of the TC and the rpc round trips.
+ * <p>
+ * The TM and RM rpc clients are singletons per JVM, so the simulated TMs and RMs are worker threads sharing
+ * one TM and one RM connection, and the RM resources are spread over {@code --resources} resource ids.
+ * <p>
+ * Run it in the test module, e.g.
+ * <pre>
+ * mvn -pl test test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.seata.loadgen.LoadGenerator
+ *     -Dexec.args="--scenario ROLLBACK_STORM --storeMode db --threads 64 --duration 120"
+ * </pre>
+ *
+ * @author agent
+ */
+public class LoadGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final String APPLICATION_ID = "seata-loadgen";
+
+    private static final String TX_SERVICE_GROUP = "my_test_tx_group";
+
+    private static final String H2_URL = "jdbc:h2:mem:seata_loadgen;DB_CLOSE_DELAY=-1";
+
+    private static final String H2_SCRIPT = "loadgen/server_h2.sql";
+
+    private static final int GLOBAL_TIMEOUT = 60000;
+
+    private static final long SERVER_START_TIMEOUT_MILLS = 30000L;
+
+    private static final long WORKER_STOP_TIMEOUT_SECONDS = 30L;
+
+    @Parameter(names = "--help", help = true)
+    private boolean help;
+
+    @Parameter(names = {"--scenario", "-s"}, description = "The preset scenario.", order = 1)
+    private Scenario scenario = Scenario.MIXED;
+
+    @Parameter(names = {"--storeMode", "-m"}, description = "The TC store mode: file, db.", order = 2)
+    private String storeMode = "file";
+
+    @Parameter(names = {"--threads", "-t"}, description = "The concurrent simulated TMs.", order = 3)
+    private int threads = 32;
+
+    @Parameter(names = {"--resources", "-r"}, description = "The AT and TCC resources of the simulated RMs.",
+        order = 4)
+    private int resources = 8;
+
+    @Parameter(names = {"--warmup", "-w"}, description = "The warm up seconds.", order = 5)
+    private int warmupSeconds = 10;
+
+    @Parameter(names = {"--duration", "-d"}, description = "The measurement seconds.", order = 6)
+    private int durationSeconds = 60;
+
+    @Parameter(names = {"--port", "-p"}, description = "The port of the in-process TC.", order = 7)
+    private int port = 8091;
+
+    private final AtomicLong transactionSequence = new AtomicLong();
+
+    private final TransactionManager transactionManager = new DefaultTransactionManager();
+
+    private final List<SimulatedResourceManager> simulatedResourceManagers = new ArrayList<>();
+
+    private String[] atResourceIds;
+
+    private String[] tccResourceIds;
+
+    private String sagaResourceId;
+
+    private volatile LoadReport report;
+
+    private volatile boolean stopped;
+
+    public static void main(String[] args) throws Exception {
+        LoadGenerator generator = new LoadGenerator();
+        JCommander jCommander = JCommander.newBuilder().addObject(generator).build();
+        jCommander.parse(args);
+        if (generator.help) {
+            jCommander.setProgramName(LoadGenerator.class.getName());
+            jCommander.usage();
+            return;
+        }
+        generator.run();
+        System.exit(0);
+    }
+
+    private void run() throws Exception {
+        prepareStore();
+        startServer();
+        initClients();
+
+        // the warm up transactions are not recorded
+        report = new LoadReport();
+        ExecutorService workers = Executors.newFixedThreadPool(threads,
+            new NamedThreadFactory("LoadGeneratorWorker", threads));
+        for (int i = 0; i < threads; i++) {
+            workers.execute(this::work);
+        }
+
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        LoadReport measurement = new LoadReport();
+        measurement.start();
+        report = measurement;
+        TimeUnit.SECONDS.sleep(durationSeconds);
+        measurement.stop();
+
+        stopped = true;
+        workers.shutdown();
+        workers.awaitTermination(WORKER_STOP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        System.out.println(String.format("====== scenario: %s, store mode: %s, threads: %d, duration: %ds",
+            scenario, storeMode, threads, durationSeconds));
+        measurement.print(System.out);
+        for (SimulatedResourceManager resourceManager : simulatedResourceManagers) {
+            System.out.println(String.format("%s phase two received: commit %d, rollback %d",
+                resourceManager.getBranchType(), resourceManager.getCommitted(), resourceManager.getRollbacked()));
+        }
+    }
+
+    private void prepareStore() throws IOException, SQLException {
+        if ("db".equalsIgnoreCase(storeMode)) {
+            System.setProperty(ConfigurationKeys.STORE_DB_DATASOURCE_TYPE, "dbcp");
+            System.setProperty(ConfigurationKeys.STORE_DB_TYPE, "h2");
+            System.setProperty(ConfigurationKeys.STORE_DB_DRIVER_CLASS_NAME, "org.h2.Driver");
+            System.setProperty(ConfigurationKeys.STORE_DB_URL, H2_URL);
+            System.setProperty(ConfigurationKeys.STORE_DB_USER, "sa");
+            System.setProperty(ConfigurationKeys.STORE_DB_PASSWORD, "");
+            System.setProperty(ConfigurationKeys.STORE_DB_MIN_CONN, String.valueOf(Math.min(threads, 10)));
+            System.setProperty(ConfigurationKeys.STORE_DB_MAX_CONN, String.valueOf(Math.max(threads, 10)));
+            createTables();
+        } else {
+            System.setProperty(ConfigurationKeys.STORE_FILE_DIR,
+                Files.createTempDirectory("seata-loadgen").toString());
+        }
+        System.setProperty(ConfigurationKeys.SERVICE_PREFIX + "default" + ConfigurationKeys.GROUPLIST_POSTFIX,
+            "127.0.0.1:" + port);
+    }
+
+    private void createTables() throws IOException, SQLException {
+        StringBuilder script = new StringBuilder();
+        try (InputStream in = LoadGenerator.class.getClassLoader().getResourceAsStream(H2_SCRIPT)) {
+            if (in == null) {
+                throw new IOException("Not found: " + H2_SCRIPT);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().startsWith("--")) {
+                    script.append(line).append('\n');
+                }
+            }
+        }
+        try (Connection conn = DriverManager.getConnection(H2_URL, "sa", "");
+             Statement statement = conn.createStatement()) {
+            for (String sql : script.toString().split(";")) {
+                if (StringUtils.isNotBlank(sql)) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    private void startServer() throws InterruptedException {
+        Thread serverThread = new Thread(() -> {
+            try {
+                Server.main(new String[] {"-p", String.valueOf(port), "-m", storeMode});
+            } catch (IOException e) {
+                LOGGER.error("in-process server start error:{}", e.getMessage(), e);
+            }
+        }, "LoadGeneratorServer");
+        serverThread.setDaemon(true);
+        serverThread.start();
+
+        long deadline = System.currentTimeMillis() + SERVER_START_TIMEOUT_MILLS;
+        while (true) {
+            try (Socket socket = new Socket()) {
+                socket.connect(new InetSocketAddress("127.0.0.1", port), 1000);
+                return;
+            } catch (IOException e) {
+                if (System.currentTimeMillis() > deadline) {
+                    throw new IllegalStateException("in-process server not started on port " + port, e);
+                }
+                TimeUnit.MILLISECONDS.sleep(100);
+            }
+        }
+    }
+
+    private void initClients() {
+        // load the SPI resource managers first, so they can not replace the simulated ones later
+        DefaultResourceManager defaultResourceManager = DefaultResourceManager.get();
+        for (BranchType branchType : new BranchType[] {BranchType.AT, BranchType.TCC, BranchType.SAGA}) {
+            SimulatedResourceManager resourceManager = new SimulatedResourceManager(branchType);
+            DefaultResourceManager.mockResourceManager(branchType, resourceManager);
+            simulatedResourceManagers.add(resourceManager);
+        }
+
+        TMClient.init(APPLICATION_ID, TX_SERVICE_GROUP);
+        RMClient.init(APPLICATION_ID, TX_SERVICE_GROUP);
+
+        atResourceIds = new String[resources];
+        tccResourceIds = new String[resources];
+        for (int i = 0; i < resources; i++) {
+            atResourceIds[i] = "jdbc:h2:mem:loadgen_" + i;
+            defaultResourceManager.registerResource(new SimulatedResourceManager.SimulatedResource(
+                "loadgen", atResourceIds[i], BranchType.AT));
+            tccResourceIds[i] = "loadgenTccAction" + i;
+            defaultResourceManager.registerResource(new SimulatedResourceManager.SimulatedResource(
+                null, tccResourceIds[i], BranchType.TCC));
+        }
+        // the TC sends the saga phase two to the resource of the application
+        sagaResourceId = APPLICATION_ID + "#" + TX_SERVICE_GROUP;
+        defaultResourceManager.registerResource(new SimulatedResourceManager.SimulatedResource(
+            null, sagaResourceId, BranchType.SAGA));
+    }
+
+    private void work() {
+        Random random = ThreadLocalRandom.current();
+        while (!stopped) {
+            BranchType branchType = scenario.nextBranchType(random);
+            boolean rollback = random.nextDouble() < scenario.getRollbackRatio();
+            long begin = System.nanoTime();
+            try {
+                GlobalStatus status = runTransaction(random, branchType, rollback);
+                if (isExpected(status, rollback)) {
+                    report.recordSuccess(branchType, rollback, (System.nanoTime() - begin) / 1000);
+                } else {
+                    LOGGER.warn("unexpected global status:{} of {} transaction", status, branchType);
+                    report.recordFailure(branchType);
+                }
+            } catch (TransactionException e) {
+                LOGGER.warn("{} transaction failed:{}", branchType, e.getMessage());
+                report.recordFailure(branchType);
+            }
+        }
+    }
+
+    private GlobalStatus runTransaction(Random random, BranchType branchType, boolean rollback)
+        throws TransactionException {
+        String name = BranchType.SAGA == branchType ? Constants.SAGA_TRANS_NAME_PREFIX + "loadgen"
+            : "loadgen" + branchType.name();
+        String xid = transactionManager.begin(APPLICATION_ID, TX_SERVICE_GROUP, name, GLOBAL_TIMEOUT);
+        long sequence = transactionSequence.incrementAndGet();
+        ResourceManager resourceManager = DefaultResourceManager.get();
+        for (int i = 0; i < scenario.getBranchCount(); i++) {
+            switch (branchType) {
+                case AT:
+                    resourceManager.branchRegister(branchType, atResourceIds[random.nextInt(resources)], null, xid,
+                        null, buildLockKeys(sequence, i));
+                    break;
+                case TCC:
+                    resourceManager.branchRegister(branchType, tccResourceIds[random.nextInt(resources)], null, xid,
+                        null, null);
+                    break;
+                default:
+                    Long branchId = resourceManager.branchRegister(branchType, sagaResourceId, null, xid, null,
+                        null);
+                    resourceManager.branchReport(branchType, xid, branchId, BranchStatus.PhaseOne_Done, null);
+                    break;
+            }
+        }
+        if (BranchType.SAGA == branchType) {
+            // the saga engine runs the compensation itself and reports the result
+            return transactionManager.globalReport(xid, rollback ? GlobalStatus.Rollbacked : GlobalStatus.Committed);
+        }
+        return rollback ? transactionManager.rollback(xid) : transactionManager.commit(xid);
+    }
+
+    /**
+     * rows never conflict across global transactions, so the lock cost is measured without lock waits
+     */
+    private String buildLockKeys(long sequence, int branchIndex) {
+        StringBuilder lockKeys = new StringBuilder("t_loadgen_").append(branchIndex).append(':');
+        for (int row = 0; row < scenario.getLockRowsPerBranch(); row++) {
+            if (row > 0) {
+                lockKeys.append(',');
+            }
+            lockKeys.append(sequence).append('_').append(row);
+        }
+        return lockKeys.toString();
+    }
+
+    private static boolean isExpected(GlobalStatus status, boolean rollback) {
+        if (rollback) {
+            return GlobalStatus.Rollbacked == status;
+        }
+        return GlobalStatus.Committed == status || GlobalStatus.AsyncCommitting == status;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.loadgen;
+
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.seata.core.model.BranchType;
+import io.seata.metrics.registry.compact.HistogramValue;
+
+/**
+ * Throughput, latency percentiles and GC activity of one measurement window of the {@link LoadGenerator}.
+ * The GC numbers are of the whole JVM, so they include the in-process TC.
+ *
+ * @author agent
+ */
+public class LoadReport {
+
+    private static final double[] QUANTILES = {0.5D, 0.9D, 0.99D, 0.999D};
+
+    private static final BranchType[] BRANCH_TYPES = {BranchType.AT, BranchType.TCC, BranchType.SAGA};
+
+    private final Map<BranchType, Stats> statsMap = new EnumMap<>(BranchType.class);
+
+    private final Stats total = new Stats();
+
+    private volatile boolean running;
+
+    private long startNanos;
+
+    private long elapsedNanos;
+
+    private Map<String, long[]> gcAtStart;
+
+    private Map<String, long[]> gcAtStop;
+
+    public LoadReport() {
+        for (BranchType branchType : BRANCH_TYPES) {
+            statsMap.put(branchType, new Stats());
+        }
+    }
+
+    public void start() {
+        gcAtStart = gcSnapshot();
+        startNanos = System.nanoTime();
+        running = true;
+    }
+
+    public void stop() {
+        running = false;
+        elapsedNanos = System.nanoTime() - startNanos;
+        gcAtStop = gcSnapshot();
+    }
+
+    /**
+     * record a global transaction that ended as expected
+     *
+     * @param branchType    the branch type of the global transaction
+     * @param rollback      whether the global transaction was rolled back
+     * @param latencyMicros the time from begin to the end of the global transaction
+     */
+    public void recordSuccess(BranchType branchType, boolean rollback, long latencyMicros) {
+        if (!running) {
+            return;
+        }
+        statsMap.get(branchType).record(rollback, latencyMicros);
+        total.record(rollback, latencyMicros);
+    }
+
+    /**
+     * record a global transaction that failed or ended with an unexpected status
+     *
+     * @param branchType the branch type of the global transaction
+     */
+    public void recordFailure(BranchType branchType) {
+        if (!running) {
+            return;
+        }
+        statsMap.get(branchType).failed.increment();
+        total.failed.increment();
+    }
+
+    public void print(PrintStream out) {
+        double seconds = elapsedNanos / 1000_000_000D;
+        out.println(String.format("%-6s %10s %10s %10s %8s %10s %10s %10s %10s %10s %10s", "type", "committed",
+            "rollbacked", "failed", "tps", "avg(ms)", "p50(ms)", "p90(ms)", "p99(ms)", "p999(ms)", "max(ms)"));
+        for (BranchType branchType : BRANCH_TYPES) {
+            statsMap.get(branchType).print(out, branchType.name(), seconds);
+        }
+        total.print(out, "TOTAL", seconds);
+
+        for (Map.Entry<String, long[]> entry : gcAtStop.entrySet()) {
+            long[] start = gcAtStart.getOrDefault(entry.getKey(), new long[2]);
+            long count = entry.getValue()[0] - start[0];
+            long time = entry.getValue()[1] - start[1];
+            out.println(String.format("gc %s: count %d, time %dms, %.2f%% of the wall time", entry.getKey(), count,
+                time, seconds > 0 ? time / (seconds * 10) : 0D));
+        }
+    }
+
+    private static Map<String, long[]> gcSnapshot() {
+        Map<String, long[]> snapshot = new LinkedHashMap<>();
+        for (GarbageCollectorMXBean gcBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            snapshot.put(gcBean.getName(), new long[] {gcBean.getCollectionCount(), gcBean.getCollectionTime()});
+        }
+        return snapshot;
+    }
+
+    private static class Stats {
+
+        private final HistogramValue latency = new HistogramValue();
+
+        private final LongAdder committed = new LongAdder();
+
+        private final LongAdder rollbacked = new LongAdder();
+
+        private final LongAdder failed = new LongAdder();
+
+        private void record(boolean rollback, long latencyMicros) {
+            latency.record(latencyMicros);
+            if (rollback) {
+                rollbacked.increment();
+            } else {
+                committed.increment();
+            }
+        }
+
+        private void print(PrintStream out, String name, double seconds) {
+            long[] percentiles = latency.getPercentiles(QUANTILES);
+            out.println(String.format("%-6s %10d %10d %10d %8.1f %10.3f %10.3f %10.3f %10.3f %10.3f %10.3f", name,
+                committed.sum(), rollbacked.sum(), failed.sum(), seconds > 0 ? latency.getCount() / seconds : 0D,
+                latency.getAverage() / 1000D, percentiles[0] / 1000D, percentiles[1] / 1000D, percentiles[2] / 1000D,
+                percentiles[3] / 1000D, latency.getMax() / 1000D));
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.loadgen;
+
+import java.util.Random;
+
+import io.seata.core.model.BranchType;
+
+/**
+ * The preset load scenarios of the {@link LoadGenerator}.
+ * A scenario decides the mix of the AT, TCC and saga global transactions, the branches of a global transaction,
+ * the rows locked by an AT branch and the share of the global transactions that are rolled back.
+ *
+ * @author agent
+ */
+public enum Scenario {
+
+    /**
+     * mixed AT/TCC/saga global transactions with a few branches and rows
+     */
+    MIXED(50, 30, 20, 3, 5, 0.05D),
+
+    /**
+     * many small branches per global transaction, each AT branch locks a single row
+     */
+    SMALL_BRANCHES(60, 30, 10, 20, 1, 0.05D),
+
+    /**
+     * AT global transactions holding huge lock sets
+     */
+    HUGE_LOCK_SETS(100, 0, 0, 2, 500, 0D),
+
+    /**
+     * most of the global transactions are rolled back, phase two runs through the RMs
+     */
+    ROLLBACK_STORM(50, 40, 10, 3, 5, 0.8D);
+
+    private final int atWeight;
+
+    private final int tccWeight;
+
+    private final int sagaWeight;
+
+    private final int branchCount;
+
+    private final int lockRowsPerBranch;
+
+    private final double rollbackRatio;
+
+    Scenario(int atWeight, int tccWeight, int sagaWeight, int branchCount, int lockRowsPerBranch,
+             double rollbackRatio) {
+        this.atWeight = atWeight;
+        this.tccWeight = tccWeight;
+        this.sagaWeight = sagaWeight;
+        this.branchCount = branchCount;
+        this.lockRowsPerBranch = lockRowsPerBranch;
+        this.rollbackRatio = rollbackRatio;
+    }
+
+    /**
+     * pick the branch type of the next global transaction by the weights of the scenario
+     *
+     * @param random the random of the worker
+     * @return AT, TCC or SAGA
+     */
+    public BranchType nextBranchType(Random random) {
+        int value = random.nextInt(atWeight + tccWeight + sagaWeight);
+        if (value < atWeight) {
+            return BranchType.AT;
+        }
+        if (value < atWeight + tccWeight) {
+            return BranchType.TCC;
+        }
+        return BranchType.SAGA;
+    }
+
+    public int getBranchCount() {
+        return branchCount;
+    }
+
+    public int getLockRowsPerBranch() {
+        return lockRowsPerBranch;
+    }
+
+    public double getRollbackRatio() {
+        return rollbackRatio;
+    }
+}
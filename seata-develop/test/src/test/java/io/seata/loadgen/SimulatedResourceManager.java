@@ -0,0 +1,132 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.loadgen;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.seata.core.model.BranchStatus;
+import io.seata.core.model.BranchType;
+import io.seata.core.model.Resource;
+import io.seata.rm.AbstractResourceManager;
+
+/**
+ * The resource manager of a simulated RM, phase two of every branch succeeds at once without any resource work.
+ * Branch register and report go through the real {@link io.seata.core.rpc.netty.RmRpcClient}.
+ *
+ * @author agent
+ */
+public class SimulatedResourceManager extends AbstractResourceManager {
+
+    private final BranchType branchType;
+
+    private final Map<String, Resource> managedResources = new ConcurrentHashMap<>();
+
+    private final LongAdder committed = new LongAdder();
+
+    private final LongAdder rollbacked = new LongAdder();
+
+    public SimulatedResourceManager(BranchType branchType) {
+        this.branchType = branchType;
+    }
+
+    @Override
+    public BranchStatus branchCommit(BranchType branchType, String xid, long branchId, String resourceId,
+                                     String applicationData) {
+        committed.increment();
+        return BranchStatus.PhaseTwo_Committed;
+    }
+
+    @Override
+    public BranchStatus branchRollback(BranchType branchType, String xid, long branchId, String resourceId,
+                                       String applicationData) {
+        rollbacked.increment();
+        return BranchStatus.PhaseTwo_Rollbacked;
+    }
+
+    @Override
+    public void registerResource(Resource resource) {
+        managedResources.put(resource.getResourceId(), resource);
+        super.registerResource(resource);
+    }
+
+    @Override
+    public void unregisterResource(Resource resource) {
+        managedResources.remove(resource.getResourceId());
+    }
+
+    @Override
+    public Map<String, Resource> getManagedResources() {
+        return managedResources;
+    }
+
+    @Override
+    public BranchType getBranchType() {
+        return branchType;
+    }
+
+    /**
+     * the phase two commits the TC sent to this resource manager
+     *
+     * @return the commit count
+     */
+    public long getCommitted() {
+        return committed.sum();
+    }
+
+    /**
+     * the phase two rollbacks the TC sent to this resource manager
+     *
+     * @return the rollback count
+     */
+    public long getRollbacked() {
+        return rollbacked.sum();
+    }
+
+    /**
+     * A resource of the simulated RM.
+     */
+    public static class SimulatedResource implements Resource {
+
+        private final String resourceGroupId;
+
+        private final String resourceId;
+
+        private final BranchType branchType;
+
+        public SimulatedResource(String resourceGroupId, String resourceId, BranchType branchType) {
+            this.resourceGroupId = resourceGroupId;
+            this.resourceId = resourceId;
+            this.branchType = branchType;
+        }
+
+        @Override
+        public String getResourceGroupId() {
+            return resourceGroupId;
+        }
+
+        @Override
+        public String getResourceId() {
+            return resourceId;
+        }
+
+        @Override
+        public BranchType getBranchType() {
+            return branchType;
+        }
+    }
+}
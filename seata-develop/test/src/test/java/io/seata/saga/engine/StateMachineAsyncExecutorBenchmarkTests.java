@@ -0,0 +1,125 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.seata.common.thread.VirtualThreadExecutors;
+import io.seata.saga.proctrl.ProcessContext;
+import io.seata.saga.statelang.domain.ExecutionStatus;
+import io.seata.saga.statelang.domain.StateMachineInstance;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+
+/**
+ * Compare the saga throughput of the fixed thread pool and the virtual-thread-per-task executor,
+ * with thousands of concurrently running state machines blocked in their service tasks.
+ * It takes a few seconds and is skipped by the normal build, run it with {@code -Dsaga.benchmark=true}.
+ *
+ * @author agent
+ */
+@EnabledIfSystemProperty(named = "saga.benchmark", matches = "true")
+public class StateMachineAsyncExecutorBenchmarkTests {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StateMachineAsyncExecutorBenchmarkTests.class);
+
+    private static final int INSTANCE_COUNT = 2000;
+
+    private static final int SERVICE_SLEEP_MILLIS = 50;
+
+    private static ClassPathXmlApplicationContext applicationContext;
+
+    @BeforeAll
+    public static void initApplicationContext() {
+        Assumptions.assumeTrue(VirtualThreadExecutors.isSupported(), "virtual threads require JDK 21+");
+        applicationContext = new ClassPathXmlApplicationContext(
+            "classpath:saga/spring/statemachine_engine_executor_benchmark.xml");
+    }
+
+    @AfterAll
+    public static void closeApplicationContext() {
+        if (applicationContext != null) {
+            // shuts down the executors of the state machine configs
+            applicationContext.close();
+        }
+    }
+
+    @Test
+    public void testThreadPoolVsVirtualThread() throws InterruptedException {
+        StateMachineEngine threadPoolEngine = applicationContext.getBean("threadPoolStateMachineEngine",
+            StateMachineEngine.class);
+        StateMachineEngine virtualThreadEngine = applicationContext.getBean("virtualThreadStateMachineEngine",
+            StateMachineEngine.class);
+
+        // warm up
+        runConcurrently(threadPoolEngine, 100);
+        runConcurrently(virtualThreadEngine, 100);
+
+        long threadPoolCost = runConcurrently(threadPoolEngine, INSTANCE_COUNT);
+        long virtualThreadCost = runConcurrently(virtualThreadEngine, INSTANCE_COUNT);
+
+        LOGGER.info("thread pool cost: {}ms, tps: {}", threadPoolCost,
+            INSTANCE_COUNT * 1000L / Math.max(threadPoolCost, 1));
+        LOGGER.info("virtual thread cost: {}ms, tps: {}", virtualThreadCost,
+            INSTANCE_COUNT * 1000L / Math.max(virtualThreadCost, 1));
+        // the blocked services hold the 200 pool threads, a virtual thread per task is not bounded by them
+        Assertions.assertTrue(virtualThreadCost < threadPoolCost);
+    }
+
+    private long runConcurrently(StateMachineEngine stateMachineEngine, int count) throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(count);
+        AtomicInteger succeed = new AtomicInteger();
+        AsyncCallback callback = new AsyncCallback() {
+            @Override
+            public void onFinished(ProcessContext context, StateMachineInstance stateMachineInstance) {
+                if (ExecutionStatus.SU.equals(stateMachineInstance.getStatus())) {
+                    succeed.incrementAndGet();
+                }
+                latch.countDown();
+            }
+
+            @Override
+            public void onError(ProcessContext context, StateMachineInstance stateMachineInstance, Exception exp) {
+                latch.countDown();
+            }
+        };
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> paramMap = new HashMap<>(4);
+            paramMap.put("a", 1);
+            paramMap.put("fooSleepTime", SERVICE_SLEEP_MILLIS);
+            paramMap.put("barSleepTime", SERVICE_SLEEP_MILLIS);
+            stateMachineEngine.startAsync("simpleCompensationStateMachine", null, paramMap, callback);
+        }
+        Assertions.assertTrue(latch.await(5, TimeUnit.MINUTES));
+        long cost = System.currentTimeMillis() - start;
+
+        Assertions.assertEquals(count, succeed.get());
+        return cost;
+    }
+}
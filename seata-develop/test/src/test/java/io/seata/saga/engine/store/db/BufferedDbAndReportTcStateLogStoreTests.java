@@ -0,0 +1,175 @@
+/*
+ *  Copyright 1999-2019 Seata.io Group.
+ *
+ *  Licensed under the Apache License, Version 2.0 (the "License");
+ *  you may not use this file except in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing, software
+ *  distributed under the License is distributed on an "AS IS" BASIS,
+ *  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *  See the License for the specific language governing permissions and
+ *  limitations under the License.
+ */
+package io.seata.saga.engine.store.db;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.seata.saga.proctrl.impl.ProcessContextImpl;
+import io.seata.saga.statelang.domain.ExecutionStatus;
+import io.seata.saga.statelang.domain.StateInstance;
+import io.seata.saga.statelang.domain.impl.StateInstanceImpl;
+import io.seata.saga.statelang.domain.impl.StateMachineInstanceImpl;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Flush points of the buffered state log store
+ *
+ * @author agent
+ */
+public class BufferedDbAndReportTcStateLogStoreTests {
+
+    private static final String MACHINE_INST_ID = "machine-1";
+
+    private RecordingStateLogStore stateLogStore;
+
+    @BeforeEach
+    public void init() {
+        stateLogStore = new RecordingStateLogStore();
+        stateLogStore.setTablePrefix("seata_");
+        stateLogStore.setDbType("h2");
+    }
+
+    @Test
+    public void testFlushOnNotSuccessfulUpdate() {
+        stateLogStore.insertStateInstance(state("s1", null), new ProcessContextImpl());
+        stateLogStore.updateStateInstance(state("s1", ExecutionStatus.SU), new ProcessContextImpl());
+        Assertions.assertTrue(stateLogStore.flushes.isEmpty());
+
+        stateLogStore.updateStateInstance(state("s1", ExecutionStatus.FA), new ProcessContextImpl());
+        Assertions.assertEquals(1, stateLogStore.flushes.size());
+        Assertions.assertEquals("insert:s1,update:s1,update:s1", stateLogStore.flushes.get(0));
+    }
+
+    @Test
+    public void testFlushBeforeCompensation() {
+        stateLogStore.insertStateInstance(state("s1", null), new ProcessContextImpl());
+        StateInstance compensation = state("c1", null);
+        compensation.setStateIdCompensatedFor("s1");
+        stateLogStore.insertStateInstance(compensation, new ProcessContextImpl());
+        // the forward state is durable, the compensation state is still buffered
+        Assertions.assertEquals(1, stateLogStore.flushes.size());
+        Assertions.assertEquals("insert:s1", stateLogStore.flushes.get(0));
+
+        stateLogStore.flush(MACHINE_INST_ID);
+        Assertions.assertEquals("insert:c1", stateLogStore.flushes.get(1));
+    }
+
+    @Test
+    public void testFlushAtFinishAndRestart() {
+        stateLogStore.insertStateInstance(state("s1", null), new ProcessContextImpl());
+        stateLogStore.recordStateMachineFinished(machine(), new ProcessContextImpl());
+        Assertions.assertEquals(1, stateLogStore.flushes.size());
+
+        stateLogStore.insertStateInstance(state("s2", null), new ProcessContextImpl());
+        stateLogStore.recordStateMachineRestarted(machine(), new ProcessContextImpl());
+        Assertions.assertEquals(2, stateLogStore.flushes.size());
+        Assertions.assertEquals("insert:s2", stateLogStore.flushes.get(1));
+    }
+
+    @Test
+    public void testFlushWhenFull() {
+        stateLogStore.setBufferSize(2);
+        stateLogStore.insertStateInstance(state("s1", null), new ProcessContextImpl());
+        Assertions.assertTrue(stateLogStore.flushes.isEmpty());
+        stateLogStore.updateStateInstance(state("s1", ExecutionStatus.SU), new ProcessContextImpl());
+        Assertions.assertEquals(1, stateLogStore.flushes.size());
+    }
+
+    @Test
+    public void testFlushBeforeRead() {
+        stateLogStore.insertStateInstance(state("s1", null), new ProcessContextImpl());
+        stateLogStore.getStateInstance("s1", MACHINE_INST_ID);
+        Assertions.assertEquals(1, stateLogStore.flushes.size());
+
+        stateLogStore.insertStateInstance(state("s2", null), new ProcessContextImpl());
+        stateLogStore.queryStateInstanceListByMachineInstanceId(MACHINE_INST_ID);
+        Assertions.assertEquals(2, stateLogStore.flushes.size());
+
+        stateLogStore.insertStateInstance(state("s3", null), new ProcessContextImpl());
+        stateLogStore.getStateMachineInstance(MACHINE_INST_ID);
+        Assertions.assertEquals(3, stateLogStore.flushes.size());
+    }
+
+    @Test
+    public void testFlushExpired() throws InterruptedException {
+        stateLogStore.setMaxBufferAgeMillis(500);
+        stateLogStore.insertStateInstance(state("s1", null), new ProcessContextImpl());
+        Thread.sleep(1100);
+        // a state of another instance flushes the buffer of the instance which never finished
+        StateInstance other = state("s2", null);
+        other.setMachineInstanceId("machine-2");
+        stateLogStore.insertStateInstance(other, new ProcessContextImpl());
+        Assertions.assertEquals(1, stateLogStore.flushes.size());
+        Assertions.assertEquals("insert:s1", stateLogStore.flushes.get(0));
+    }
+
+    private static StateInstance state(String id, ExecutionStatus status) {
+        StateInstance stateInstance = new StateInstanceImpl();
+        stateInstance.setId(id);
+        stateInstance.setMachineInstanceId(MACHINE_INST_ID);
+        stateInstance.setStatus(status);
+        return stateInstance;
+    }
+
+    private static StateMachineInstanceImpl machine() {
+        StateMachineInstanceImpl machineInstance = new StateMachineInstanceImpl();
+        machineInstance.setId(MACHINE_INST_ID);
+        machineInstance.setGmtUpdated(new Date());
+        return machineInstance;
+    }
+
+    /**
+     * records the flushed batches instead of writing them, the other statements affect nothing
+     */
+    private static class RecordingStateLogStore extends BufferedDbAndReportTcStateLogStore {
+
+        private final List<String> flushes = new ArrayList<>();
+
+        @Override
+        protected void batchSaveStateInstances(List<StateInstance> stateInstancesToInsert,
+                                               List<StateInstance> stateInstancesToUpdate) {
+            List<String> batch = stateInstancesToInsert.stream().map(s -> "insert:" + s.getId())
+                .collect(Collectors.toList());
+            stateInstancesToUpdate.forEach(s -> batch.add("update:" + s.getId()));
+            flushes.add(String.join(",", batch));
+        }
+
+        @Override
+        protected <T> T selectOne(String sql, ResultSetToObject<T> resultSetToObject, Object... args) {
+            return null;
+        }
+
+        @Override
+        protected <T> List<T> selectList(String sql, ResultSetToObject<T> resultSetToObject, Object... args) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        protected <T> int executeUpdate(String sql, ObjectToStatement<T> objectToStatement, T o) {
+            return 0;
+        }
+
+        @Override
+        protected int executeUpdate(String sql, Object... args) {
+            return 1;
+        }
+    }
+}
@@ -51,7 +51,11 @@ public class RollbackRule implements Serializable {
 
 
     public int getDepth(Throwable ex) {
-        return getDepth(ex.getClass(), 0);
+        return getDepth(ex.getClass());
+    }
+
+    public int getDepth(Class<?> exceptionClass) {
+        return getDepth(exceptionClass, 0);
     }
 
 
@@ -18,7 +18,10 @@ package io.seata.tm.api.transaction;
 import io.seata.common.util.CollectionUtils;
 
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 /**
  * @author guoyao
@@ -35,6 +38,12 @@ public final class TransactionInfo implements Serializable {
 
     private Propagation propagation;
 
+    /**
+     * the rollback decision of each exception class, the rules match on the class hierarchy only.
+     * the classes are weakly referenced, so the cache neither pins them nor their class loaders
+     */
+    private transient volatile Map<Class<?>, Boolean> rollbackOnCache;
+
     public int getTimeOut() {
         return timeOut;
     }
@@ -57,9 +66,19 @@ public final class TransactionInfo implements Serializable {
 
     public void setRollbackRules(Set<RollbackRule> rollbackRules) {
         this.rollbackRules = rollbackRules;
+        this.rollbackOnCache = null;
     }
 
     public boolean rollbackOn(Throwable ex) {
+        Map<Class<?>, Boolean> cache = rollbackOnCache;
+        if (cache == null) {
+            cache = Collections.synchronizedMap(new WeakHashMap<>());
+            rollbackOnCache = cache;
+        }
+        return cache.computeIfAbsent(ex.getClass(), this::rollbackOn);
+    }
+
+    private boolean rollbackOn(Class<?> exceptionClass) {
 
         RollbackRule winner = null;
         int deepest = Integer.MAX_VALUE;
@@ -67,7 +86,7 @@ public final class TransactionInfo implements Serializable {
         if (CollectionUtils.isNotEmpty(rollbackRules)) {
             winner = NoRollbackRule.DEFAULT_NO_ROLLBACK_RULE;
             for (RollbackRule rule : this.rollbackRules) {
-                int depth = rule.getDepth(ex);
+                int depth = rule.getDepth(exceptionClass);
                 if (depth >= 0 && depth < deepest) {
                     deepest = depth;
                     winner = rule;